@@ -1,10 +1,8 @@
 package org.sunbird.common.cacheloader;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.sunbird.cache.CacheFactory;
 import org.sunbird.cache.interfaces.Cache;
 import org.sunbird.cassandra.CassandraOperation;
-import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
@@ -13,6 +11,7 @@ import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.DataCacheHandler;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,14 +28,14 @@ public class PageCacheLoaderService implements Runnable {
   public Map<String, Map<String, Object>> cacheLoader(String tableName) {
     Map<String, Map<String, Object>> map = new HashMap<>();
     try {
-      Response response = cassandraOperation.getAllRecords(null, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), tableName);
-      List<Map<String, Object>> responseList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      if (CollectionUtils.isNotEmpty(responseList)) {
+      Iterator<Map<String, Object>> records =
+          cassandraOperation.getRecordsIterator(
+              null, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), tableName, null, null, 0, false);
+      if (null != records) {
         if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
-          loadPageSectionInCache(responseList, map);
+          loadPageSectionInCache(records, map);
         } else if (tableName.equalsIgnoreCase(JsonKey.PAGE_MANAGEMENT)) {
-          loadPagesInCache(responseList, map);
+          loadPagesInCache(records, map);
         }
       }
     } catch (Exception e) {
@@ -46,18 +45,20 @@ public class PageCacheLoaderService implements Runnable {
   }
 
   void loadPageSectionInCache(
-      List<Map<String, Object>> responseList, Map<String, Map<String, Object>> map) {
+      Iterator<Map<String, Object>> records, Map<String, Map<String, Object>> map) {
 
-    for (Map<String, Object> resultMap : responseList) {
+    while (records.hasNext()) {
+      Map<String, Object> resultMap = records.next();
       removeUnwantedData(resultMap, "");
       map.put((String) resultMap.get(JsonKey.ID), resultMap);
     }
   }
 
   void loadPagesInCache(
-      List<Map<String, Object>> responseList, Map<String, Map<String, Object>> map) {
+      Iterator<Map<String, Object>> records, Map<String, Map<String, Object>> map) {
 
-    for (Map<String, Object> resultMap : responseList) {
+    while (records.hasNext()) {
+      Map<String, Object> resultMap = records.next();
       String pageName = (String) resultMap.get(JsonKey.PAGE_NAME);
       String orgId = (String) resultMap.get(JsonKey.ORGANISATION_ID);
       if (orgId == null) {
@@ -128,7 +128,7 @@ public class BackgroundJobManager extends BaseActor {
 
   private boolean updateDataToElastic(RequestContext requestContext, String indexName, String typeName, String identifier, Map<String, Object> data) {
     Future<Boolean> responseF = esService.update(requestContext, typeName, identifier, data);
-    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
+    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF, "background_job");
     if (response) {
       return true;
     }
@@ -150,7 +150,7 @@ public class BackgroundJobManager extends BaseActor {
   private boolean insertDataToElastic(RequestContext requestContext, String index, String type, String identifier, Map<String, Object> data) {
     logger.info(requestContext, "BackgroundJobManager:insertDataToElastic: type = " + type + " identifier = " + identifier);
     Future<String> responseF = esService.save(requestContext, type, identifier, data);
-    String response = (String) ElasticSearchHelper.getResponseFromFuture(responseF);
+    String response = (String) ElasticSearchHelper.getResponseFromFuture(responseF, "background_job");
     logger.debug(requestContext, "ES save response for identifier :" + identifier, null, new HashMap<String, Object>() {{put("response", response);}});
     if (!StringUtils.isBlank(response)) {
       return true;
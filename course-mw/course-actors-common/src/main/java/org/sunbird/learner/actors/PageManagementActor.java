@@ -32,7 +32,6 @@ import org.sunbird.userorg.UserOrgService;
 import org.sunbird.userorg.UserOrgServiceImpl;
 import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
-import scala.concurrent.Promise;
 
 import java.io.IOException;
 import java.text.ParseException;
@@ -599,14 +598,20 @@ public class PageManagementActor extends BaseActor {
           },
           getContext().dispatcher());
     } else {
-      Map<String, Object> esResponse = searchFromES(requestContext, (Map<String, Object>) searchQueryMap.get(JsonKey.REQUEST), dataSource);
-      section.put(JsonKey.COUNT, esResponse.get(JsonKey.COUNT));
-      section.put(JsonKey.CONTENTS, esResponse.get(JsonKey.CONTENT));
-      removeUnwantedData(section, "getPageData");
-      final Promise promise = Futures.promise();
-      promise.success(section);
-      result = promise.future();
-      return result;
+      return searchFromES(requestContext, (Map<String, Object>) searchQueryMap.get(JsonKey.REQUEST), dataSource)
+          .map(
+              new Mapper<Map<String, Object>, Map<String, Object>>() {
+                @Override
+                public Map<String, Object> apply(Map<String, Object> esResponse) {
+                  if (MapUtils.isNotEmpty(esResponse)) {
+                    section.put(JsonKey.COUNT, esResponse.get(JsonKey.COUNT));
+                    section.put(JsonKey.CONTENTS, esResponse.get(JsonKey.CONTENT));
+                  }
+                  removeUnwantedData(section, "getPageData");
+                  return section;
+                }
+              },
+              getContext().dispatcher());
     }
   }
 
@@ -617,7 +622,7 @@ public class PageManagementActor extends BaseActor {
     }
   }
 
-  private Map<String, Object> searchFromES(RequestContext requestContext, Map<String, Object> map, String dataSource) {
+  private Future<Map<String, Object>> searchFromES(RequestContext requestContext, Map<String, Object> map, String dataSource) {
     SearchDTO searcDto = new SearchDTO();
     searcDto.setQuery((String) map.get(JsonKey.QUERY));
     searcDto.setLimit((Integer) map.get(JsonKey.LIMIT));
@@ -627,13 +632,14 @@ public class PageManagementActor extends BaseActor {
     if (JsonKey.BATCH.equalsIgnoreCase(dataSource)) {
       type = ProjectUtil.EsType.courseBatch.getTypeName();
     } else {
-      return null;
+      return Futures.successful(null);
     }
 
-    Future<Map<String, Object>> resultF = esService.search(requestContext, searcDto, type);
-    Map<String, Object> result =
-        (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
-    return result;
+    return ElasticSearchHelper.withTimeout(
+        esService.search(requestContext, searcDto, type),
+        "page_search",
+        getContext().system().scheduler(),
+        getContext().dispatcher());
   }
 
   @SuppressWarnings("unchecked")
@@ -2,6 +2,7 @@ package org.sunbird.learner.actors.coursebatch.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.models.user.courses.UserCourses;
@@ -39,6 +40,22 @@ public interface UserCoursesDao {
 
   Response updateV2(RequestContext requestContext, String userId, String courseId, String batchId, Map<String, Object> updateAttributes);
 
+  /**
+   * Non blocking variant of insertV2
+   *
+   * @param requestContext
+   * @param userCoursesDetails User courses information
+   */
+  CompletionStage<Response> insertV2Async(RequestContext requestContext, Map<String, Object> userCoursesDetails);
+
+  /**
+   * Non blocking variant of updateV2
+   *
+   * @param requestContext
+   * @param updateAttributes Map containing user courses attributes which needs to be updated
+   */
+  CompletionStage<Response> updateV2Async(RequestContext requestContext, String userId, String courseId, String batchId, Map<String, Object> updateAttributes);
+
   /**
    * Get all active participant IDs in given batch
    *
@@ -62,6 +79,28 @@ public interface UserCoursesDao {
    * @param active
    */
   List<String> getBatchParticipants(RequestContext requestContext, String batchId, boolean active);
+
+  /**
+   * Non blocking variant of getBatchParticipants, the pages are read one after the other
+   * @param requestContext
+   * @param batchId Batch ID
+   * @param active
+   * @return CompletionStage of the participant IDs, null if the batch has none
+   */
+  CompletionStage<List<String>> getBatchParticipantsAsync(RequestContext requestContext, String batchId, boolean active);
+
+  /**
+   * Get one page of participant IDs in given batch
+   * @param requestContext
+   * @param batchId Batch ID
+   * @param active
+   * @param limit Maximum number of participant IDs in the page
+   * @param cursor Cursor of the page to read, null for the first page
+   * @return Map with the participant IDs of the page and the cursor of the next page (null on the
+   *     last page)
+   */
+  Map<String, Object> getBatchParticipants(
+      RequestContext requestContext, String batchId, boolean active, int limit, String cursor);
   
   
   List<Map<String, Object>> listEnrolments(RequestContext requestContext, String userId, List<String> courseIdList);
@@ -12,6 +12,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.constants.CourseJsonKey;
+import org.sunbird.learner.util.CourseBatchCache;
 import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
@@ -33,8 +34,11 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
   public Response create(RequestContext requestContext, CourseBatch courseBatch) {
     Map<String, Object> map = CourseBatchUtil.cassandraCourseMapping(courseBatch, dateFormat);
     map = CassandraUtil.changeCassandraColumnMapping(map);
-    return cassandraOperation.insertRecord(
+    Response response =
+        cassandraOperation.insertRecord(
             requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), map);
+    CourseBatchCache.getInstance().invalidate(courseBatch.getCourseId(), courseBatch.getBatchId());
+    return response;
   }
 
   @Override
@@ -47,29 +51,41 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
     attributeMap.remove(JsonKey.COURSE_ID);
     attributeMap.remove(JsonKey.BATCH_ID);
     attributeMap = CassandraUtil.changeCassandraColumnMapping(attributeMap);
-    return cassandraOperation.updateRecord(
+    Response response =
+        cassandraOperation.updateRecord(
             requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), attributeMap, primaryKey);
+    CourseBatchCache.getInstance().invalidate(courseId, batchId);
+    return response;
   }
 
   @Override
   public CourseBatch readById(String courseId, String batchId, RequestContext requestContext) {
-    Map<String, Object> primaryKey = new HashMap<>();
-    primaryKey.put(JsonKey.COURSE_ID, courseId);
-    primaryKey.put(JsonKey.BATCH_ID, batchId);
-    Response courseBatchResult =
-        cassandraOperation.getRecordByIdentifier(
-                requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), primaryKey,null);
-    List<Map<String, Object>> courseList =
-        (List<Map<String, Object>>) courseBatchResult.get(JsonKey.RESPONSE);
-    if (courseList.isEmpty()) {
-      throw new ProjectCommonException(
-          ResponseCode.invalidCourseBatchId.getErrorCode(),
-          ResponseCode.invalidCourseBatchId.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    } else {
-      courseList.get(0).remove(JsonKey.PARTICIPANT);
-      return mapper.convertValue(courseList.get(0), CourseBatch.class);
-    }
+    Map<String, Object> courseBatch =
+        CourseBatchCache.getInstance()
+            .getRow(
+                courseId,
+                batchId,
+                () -> {
+                  Map<String, Object> primaryKey = new HashMap<>();
+                  primaryKey.put(JsonKey.COURSE_ID, courseId);
+                  primaryKey.put(JsonKey.BATCH_ID, batchId);
+                  Response courseBatchResult =
+                      cassandraOperation.getRecordByIdentifier(
+                          requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), primaryKey, null);
+                  List<Map<String, Object>> courseList =
+                      (List<Map<String, Object>>) courseBatchResult.get(JsonKey.RESPONSE);
+                  if (courseList.isEmpty()) {
+                    throw new ProjectCommonException(
+                        ResponseCode.invalidCourseBatchId.getErrorCode(),
+                        ResponseCode.invalidCourseBatchId.getErrorMessage(),
+                        ResponseCode.CLIENT_ERROR.getResponseCode());
+                  }
+                  courseList.get(0).remove(JsonKey.PARTICIPANT);
+                  return courseList.get(0);
+                },
+                "readById");
+    // convertValue creates a new object, so callers can modify the batch without changing the cache
+    return mapper.convertValue(courseBatch, CourseBatch.class);
   }
 
   @Override
@@ -104,6 +120,7 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
         CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN,
         templateId,
         templateDetails);
+    CourseBatchCache.getInstance().invalidate(courseId, batchId);
   }
 
   @Override
@@ -118,5 +135,6 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
         primaryKey,
         CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN,
         templateId);
+    CourseBatchCache.getInstance().invalidate(courseId, batchId);
   }
 }
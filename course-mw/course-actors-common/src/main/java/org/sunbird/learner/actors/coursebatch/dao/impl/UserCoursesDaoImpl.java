@@ -2,9 +2,11 @@ package org.sunbird.learner.actors.coursebatch.dao.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.collections.CollectionUtils;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.Constants;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.RequestContext;
@@ -23,6 +25,7 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
   private static final String TABLE_NAME =
       Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB).getTableName();
   private static final String USER_ENROLMENTS = Util.dbInfoMap.get(JsonKey.USER_ENROLMENTS_DB).getTableName();
+  private static final List<String> PARTICIPANT_FIELDS = Collections.singletonList("userid");
   public static UserCoursesDao getInstance() {
     if (userCoursesDao == null) {
       userCoursesDao = new UserCoursesDaoImpl();
@@ -83,16 +86,36 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
 
   @Override
   public Response updateV2(RequestContext requestContext, String userId, String courseId, String batchId, Map<String, Object> updateAttributes) {
+    Map<String, Object> primaryKey = getEnrolmentKey(userId, courseId, batchId);
+    return cassandraOperation.updateRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, getEnrolmentUpdateList(updateAttributes), primaryKey);
+  }
+
+  @Override
+  public CompletionStage<Response> insertV2Async(RequestContext requestContext, Map<String, Object> userCoursesDetails) {
+    return cassandraOperation.insertRecordAsync(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, userCoursesDetails);
+  }
+
+  @Override
+  public CompletionStage<Response> updateV2Async(RequestContext requestContext, String userId, String courseId, String batchId, Map<String, Object> updateAttributes) {
+    Map<String, Object> primaryKey = getEnrolmentKey(userId, courseId, batchId);
+    return cassandraOperation.updateRecordV2Async(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, primaryKey, getEnrolmentUpdateList(updateAttributes), false);
+  }
+
+  private Map<String, Object> getEnrolmentKey(String userId, String courseId, String batchId) {
     Map<String, Object> primaryKey = new HashMap<>();
     primaryKey.put(JsonKey.USER_ID, userId);
     primaryKey.put(JsonKey.COURSE_ID, courseId);
     primaryKey.put(JsonKey.BATCH_ID, batchId);
+    return primaryKey;
+  }
+
+  private Map<String, Object> getEnrolmentUpdateList(Map<String, Object> updateAttributes) {
     Map<String, Object> updateList = new HashMap<>();
     updateList.putAll(updateAttributes);
     updateList.remove(JsonKey.BATCH_ID_KEY);
     updateList.remove(JsonKey.COURSE_ID_KEY);
     updateList.remove(JsonKey.USER_ID_KEY);
-    return cassandraOperation.updateRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, updateList, primaryKey);
+    return updateList;
   }
 
   @Override
@@ -116,22 +139,68 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
 
   @Override
   public List<String> getBatchParticipants(RequestContext requestContext, String batchId, boolean active) {
-    Map<String, Object> queryMap = new HashMap<>();
-    queryMap.put(JsonKey.BATCH_ID, batchId);
-    Response response =
-            cassandraOperation.getRecordsByIndexedProperty(KEYSPACE_NAME, USER_ENROLMENTS, "batchid", batchId, requestContext);
-        /*cassandraOperation.getRecords(
-                requestContext, KEYSPACE_NAME, USER_ENROLMENTS, queryMap, Arrays.asList(JsonKey.USER_ID, JsonKey.ACTIVE));*/
-    List<Map<String, Object>> userCoursesList =
-        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-    if (CollectionUtils.isEmpty(userCoursesList)) {
+    // Rows are streamed page by page, only the user ids are kept in memory.
+    Iterator<Map<String, Object>> userCourses =
+        cassandraOperation.getRecordsIterator(
+            requestContext, KEYSPACE_NAME, USER_ENROLMENTS, getParticipantsFilter(batchId, active), PARTICIPANT_FIELDS, 0, true);
+    if (null == userCourses || !userCourses.hasNext()) {
       return null;
     }
-    return userCoursesList
-        .stream()
-        .filter(userCourse -> (active == (boolean) userCourse.get(JsonKey.ACTIVE)))
-        .map(userCourse -> (String) userCourse.get(JsonKey.USER_ID))
-        .collect(Collectors.toList());
+    List<String> participants = new ArrayList<>();
+    while (userCourses.hasNext()) {
+      participants.add((String) userCourses.next().get(JsonKey.USER_ID));
+    }
+    return participants;
+  }
+
+  @Override
+  public CompletionStage<List<String>> getBatchParticipantsAsync(RequestContext requestContext, String batchId, boolean active) {
+    return getBatchParticipantsAsync(requestContext, getParticipantsFilter(batchId, active), null, new ArrayList<>())
+        .thenApply(participants -> participants.isEmpty() ? null : participants);
+  }
+
+  private CompletionStage<List<String>> getBatchParticipantsAsync(
+      RequestContext requestContext, Map<String, Object> filters, String pagingState, List<String> participants) {
+    return cassandraOperation
+        .getRecordsPageAsync(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, filters, PARTICIPANT_FIELDS, 0, pagingState, true)
+        .thenCompose(
+            response -> {
+              for (Map<String, Object> userCourse : (List<Map<String, Object>>) response.get(JsonKey.RESPONSE)) {
+                participants.add((String) userCourse.get(JsonKey.USER_ID));
+              }
+              String nextPagingState = (String) response.get(Constants.PAGING_STATE);
+              return null == nextPagingState
+                  ? CompletableFuture.completedFuture(participants)
+                  : getBatchParticipantsAsync(requestContext, filters, nextPagingState, participants);
+            });
+  }
+
+  @Override
+  public Map<String, Object> getBatchParticipants(
+      RequestContext requestContext, String batchId, boolean active, int limit, String cursor) {
+    Response response =
+        cassandraOperation.getRecordsPage(
+            requestContext, KEYSPACE_NAME, USER_ENROLMENTS, getParticipantsFilter(batchId, active), PARTICIPANT_FIELDS, limit, cursor, true);
+    List<Map<String, Object>> userCourses = (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    List<String> participants = new ArrayList<>(userCourses.size());
+    for (Map<String, Object> userCourse : userCourses) {
+      participants.add((String) userCourse.get(JsonKey.USER_ID));
+    }
+    Map<String, Object> page = new HashMap<>();
+    page.put(JsonKey.PARTICIPANTS, participants);
+    page.put(JsonKey.CURSOR, response.get(Constants.PAGING_STATE));
+    return page;
+  }
+
+  /**
+   * Batch id is served by the secondary index, the active flag is filtered by cassandra so that
+   * only the matching rows are read back.
+   */
+  private Map<String, Object> getParticipantsFilter(String batchId, boolean active) {
+    Map<String, Object> queryMap = new HashMap<>();
+    queryMap.put("batchid", batchId);
+    queryMap.put("active", active);
+    return queryMap;
   }
 
   @Override
@@ -16,6 +16,7 @@ import scala.concurrent.Future;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 public class UserCoursesService {
   private UserCoursesDao userCourseDao = UserCoursesDaoImpl.getInstance();
@@ -75,7 +76,7 @@ public class UserCoursesService {
     SearchDTO searchDto = new SearchDTO();
     searchDto.getAdditionalProperties().put(JsonKey.FILTERS, filter);
     Future<Map<String, Object>> resultF = esService.search(null, searchDto, ProjectUtil.EsType.usercourses.getTypeName());
-    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
+    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF, "user_courses");
     return result;
   }
 
@@ -84,13 +85,17 @@ public class UserCoursesService {
     courseMap.put(JsonKey.ID, id);
     courseMap.put(JsonKey.IDENTIFIER, id);
     Future<Boolean> responseF = esService.upsert(requestContext, ProjectUtil.EsType.usercourses.getTypeName(), id, courseMap);
-    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
+    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF, "user_courses");
   }
 
   public List<String> getEnrolledUserFromBatch(RequestContext requestContext, String batchId) {
     return userCourseDao.getAllActiveUserOfBatch(requestContext, batchId);
   }
 
+  public CompletionStage<List<String>> getEnrolledUserFromBatchAsync(RequestContext requestContext, String batchId) {
+    return userCourseDao.getBatchParticipantsAsync(requestContext, batchId, true);
+  }
+
   public Integer getBatchSize(String key) {
     Integer batchSize = ProjectUtil.DEFAULT_BATCH_SIZE;
     try {
@@ -103,4 +108,9 @@ public class UserCoursesService {
   public List<String> getParticipantsList(String batchId, boolean active, RequestContext requestContext) {
     return userCourseDao.getBatchParticipants(requestContext, batchId, active);
   }
+
+  public Map<String, Object> getParticipantsPage(
+      String batchId, boolean active, int limit, String cursor, RequestContext requestContext) {
+    return userCourseDao.getBatchParticipants(requestContext, batchId, active, limit, cursor);
+  }
 }
@@ -80,7 +80,7 @@ public class HealthActor extends BaseActor {
     responseList.add(ProjectUtil.createCheckResponse(JsonKey.ACTOR_SERVICE, false, null));
     try {
       Future<Boolean> esResponseF = esUtil.healthCheck();
-      boolean esResponse = (boolean) ElasticSearchHelper.getResponseFromFuture(esResponseF);
+      boolean esResponse = (boolean) ElasticSearchHelper.getResponseFromFuture(esResponseF, "health");
 
       responseList.add(ProjectUtil.createCheckResponse(JsonKey.ES_SERVICE, esResponse, null));
       isallHealthy = esResponse;
@@ -158,7 +158,7 @@ public class HealthActor extends BaseActor {
     // check the elastic search
     try {
       Future<Boolean> responseF = esUtil.healthCheck();
-      boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
+      boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF, "health");
       responseList.add(ProjectUtil.createCheckResponse(JsonKey.ES_SERVICE, !response, null));
       isallHealthy = response;
     } catch (Exception e) {
@@ -1,8 +1,11 @@
 package org.sunbird.learner.actors.search;
 
+import org.apache.pekko.dispatch.Mapper;
+import org.apache.pekko.pattern.Patterns;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang.BooleanUtils;
+import org.apache.commons.lang.StringUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.factory.EsClientFactory;
@@ -19,12 +22,15 @@ import org.sunbird.telemetry.util.TelemetryWriter;
 import org.sunbird.userorg.UserOrgService;
 import org.sunbird.userorg.UserOrgServiceImpl;
 import scala.concurrent.Future;
+import scala.jdk.javaapi.FutureConverters;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 /**
@@ -94,36 +100,64 @@ public class SearchHandlerActor extends BaseActor {
         searchQueryMap.put(JsonKey.LIMIT, 30);
       }
       SearchDTO searchDto = Util.createSearchDto(searchQueryMap);
+      if (StringUtils.isNotBlank(searchDto.getCursor())) {
+        // an invalid cursor is a client error, rejected before the search is sent
+        ElasticSearchHelper.decodeCursor(searchDto.getCursor());
+      }
 
-      Map<String, Object> result = null;
       logger.info(request.getRequestContext(), "SearchHandlerActor:onReceive  request search instant duration="
               + (Instant.now().toEpochMilli() - instant.toEpochMilli()));
       String searchType = (types != null && types.length > 0) ? types[0] : "";
-      Future<Map<String, Object>> resultF = esService.search(request.getRequestContext(), searchDto, searchType);
-      result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
-      logger.info(request.getRequestContext(), 
-          "SearchHandlerActor:onReceive search complete instant duration=" + (Instant.now().toEpochMilli() - instant.toEpochMilli()));
       if (EsType.courseBatch.getTypeName().equalsIgnoreCase(filterObjectType)) {
+        Future<Map<String, Object>> resultF =
+            ElasticSearchHelper.withTimeout(
+                esService.search(request.getRequestContext(), searchDto, searchType),
+                "composite_search",
+                getContext().system().scheduler(),
+                getContext().dispatcher());
         if (JsonKey.PARTICIPANTS.equalsIgnoreCase((String) request.getContext().get(JsonKey.PARTICIPANTS))) {
-          List<Map<String, Object>> courseBatchList = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
-          for (Map<String, Object> courseBatch : courseBatchList) {
-            courseBatch.put(JsonKey.PARTICIPANTS, getParticipantList(request.getRequestContext(), (String) courseBatch.get(JsonKey.BATCH_ID)));
-          }
+          resultF =
+              resultF.flatMap(
+                  new Mapper<Map<String, Object>, Future<Map<String, Object>>>() {
+                    @Override
+                    public Future<Map<String, Object>> apply(Map<String, Object> searchResult) {
+                      return FutureConverters.asScala(
+                          addParticipants(request.getRequestContext(), searchResult));
+                    }
+                  },
+                  getContext().dispatcher());
         }
-        Response response = new Response();
-        if (result != null) {
-          if (BooleanUtils.isTrue(showCreator))
-            populateCreatorDetails(convertToJavaMap(request.getContext()), result, request.getRequestContext());
-          if (!searchQueryMap.containsKey(JsonKey.FIELDS))
-            addCollectionId(result);
-          response.put(JsonKey.RESPONSE, result);
-        } else {
-          result = new HashMap<>();
-          response.put(JsonKey.RESPONSE, result);
-        }
-        sender().tell(response, self());
-        // create search telemetry event here ...
-        generateSearchTelemetryEvent(searchDto, types, result, convertToJavaMap(request.getContext()));
+        Map<String, Object> requestMap = searchQueryMap;
+        String[] objectTypes = types;
+        Future<Response> responseF =
+            resultF.map(
+                new Mapper<Map<String, Object>, Response>() {
+                  @Override
+                  public Response apply(Map<String, Object> searchResult) {
+                    logger.info(request.getRequestContext(),
+                        "SearchHandlerActor:onReceive search complete instant duration=" + (Instant.now().toEpochMilli() - instant.toEpochMilli()));
+                    Map<String, Object> result = searchResult;
+                    Response response = new Response();
+                    if (result != null) {
+                      if (BooleanUtils.isTrue(showCreator))
+                        populateCreatorDetails(convertToJavaMap(request.getContext()), result, request.getRequestContext());
+                      if (!requestMap.containsKey(JsonKey.FIELDS))
+                        addCollectionId(result);
+                      response.put(JsonKey.RESPONSE, result);
+                    } else {
+                      result = new HashMap<>();
+                      response.put(JsonKey.RESPONSE, result);
+                    }
+                    // create search telemetry event here ...
+                    generateSearchTelemetryEvent(searchDto, objectTypes, result, convertToJavaMap(request.getContext()));
+                    return response;
+                  }
+                },
+                getContext().dispatcher());
+        Patterns.pipe(
+                ElasticSearchHelper.recoverWithError(responseF, "composite_search", getContext().dispatcher()),
+                getContext().dispatcher())
+            .to(sender());
       }
     } else {
       onReceiveUnsupportedOperation(request.getOperation());
@@ -150,9 +184,20 @@ public class SearchHandlerActor extends BaseActor {
     }
   }
 
-  private List<String> getParticipantList(RequestContext requestContext, String id) {
+  /** Reads the participants of the batches one batch after the other, without blocking the dispatcher. */
+  private CompletionStage<Map<String, Object>> addParticipants(RequestContext requestContext, Map<String, Object> result) {
     UserCoursesService userCourseService = new UserCoursesService();
-    return userCourseService.getEnrolledUserFromBatch(requestContext, id);
+    CompletionStage<Void> participantsF = CompletableFuture.completedFuture(null);
+    List<Map<String, Object>> courseBatchList = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+    for (Map<String, Object> courseBatch : courseBatchList) {
+      participantsF =
+          participantsF.thenCompose(
+              v ->
+                  userCourseService
+                      .getEnrolledUserFromBatchAsync(requestContext, (String) courseBatch.get(JsonKey.BATCH_ID))
+                      .thenAccept(participants -> courseBatch.put(JsonKey.PARTICIPANTS, participants)));
+    }
+    return participantsF.thenApply(v -> result);
   }
 
   private void generateSearchTelemetryEvent(SearchDTO searchDto, String[] types, Map<String, Object> result, Map<String, Object> context) {
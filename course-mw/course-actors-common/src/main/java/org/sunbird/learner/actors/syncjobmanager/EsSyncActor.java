@@ -9,9 +9,8 @@ import org.apache.commons.collections.CollectionUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.CassandraUtil;
+import org.sunbird.common.EsBulkIndexer;
 import org.sunbird.common.exception.ProjectCommonException;
-import org.sunbird.common.factory.EsClientFactory;
-import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
@@ -31,8 +30,7 @@ import java.util.*;
 public class EsSyncActor extends BaseActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-  private ElasticSearchService esService = EsClientFactory.getInstance();
-  private static final int BATCH_SIZE = 100;
+  private EsBulkIndexer bulkIndexer = EsBulkIndexer.getInstance();
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -133,24 +131,19 @@ public class EsSyncActor extends BaseActor {
     return new FutureCallback<ResultSet>() {
       @Override
       public void onSuccess(ResultSet result) {
-        List<Map<String, Object>> docList = new ArrayList<>();
         Map<String, String> columnMap = CassandraUtil.fetchColumnsMapping(result);
+        String index = getType(objectType);
         long count = 0;
         try {
+          // the indexer blocks the iteration while its bulks are in flight
           Iterator<Row> resultIterator = result.iterator();
           while (resultIterator.hasNext()) {
             Row row = resultIterator.next();
             Map<String, Object> doc = syncDataForEachRow(requestContext, row, columnMap, objectType);
-            docList.add(doc);
+            bulkIndexer.index(requestContext, index, (String) doc.get(JsonKey.ID), doc);
             count++;
-            if (docList.size() >= BATCH_SIZE) {
-              esService.bulkInsert(requestContext, getType(objectType), docList);
-              docList.clear();
-            }
-          }
-          if (!docList.isEmpty()) {
-            esService.bulkInsert(requestContext, getType(objectType), docList);
           }
+          bulkIndexer.flush();
           logger.info(requestContext, "getSyncCallback sync successful objectType=" + objectType + " count=" + count);
         } catch (Exception e) {
           logger.error(requestContext, "Exception occurred while getSyncCallback on count" + count, e);
@@ -0,0 +1,306 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.util.StatsRegistry;
+
+/**
+ * Cache of course batch records, shared by all actors of the node. It keeps the cassandra rows by
+ * course and batch id and the elasticsearch documents by batch id for a ttl
+ * (course_batch_cache_ttl seconds). Concurrent misses of the same batch are collapsed into one
+ * read. The batch writes of this service invalidate the batch, changes made by other nodes or jobs
+ * are seen after the ttl. A read running while its batch is invalidated is not cached, each
+ * invalidation bumps the generation of the key and a read whose key changed generation removes
+ * what it cached. Hits and misses are counted per call site.
+ */
+public final class CourseBatchCache {
+
+  private static final long DEFAULT_MAX_SIZE = 10000;
+  private static final long DEFAULT_TTL = 60;
+  // keys share the generation of their slot, a collision only skips caching a read
+  private static final int GENERATION_SLOTS = 1024;
+  private static volatile CourseBatchCache instance = null;
+
+  private final Cache<String, Map<String, Object>> rows;
+  private final Cache<String, Map<String, Object>> documents;
+  private final Map<String, CompletableFuture<Map<String, Object>>> loadingDocuments =
+      new ConcurrentHashMap<>();
+  private final Map<String, LongAdder[]> callSiteStats = new ConcurrentHashMap<>();
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+  private final AtomicLong allGeneration = new AtomicLong();
+
+  CourseBatchCache(long maxSize, long ttl) {
+    rows =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl, TimeUnit.SECONDS)
+            .build();
+    documents =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl, TimeUnit.SECONDS)
+            .build();
+  }
+
+  public static CourseBatchCache getInstance() {
+    if (null == instance) {
+      synchronized (CourseBatchCache.class) {
+        if (null == instance) {
+          instance =
+              new CourseBatchCache(
+                  NumberUtils.toLong(
+                      ProjectUtil.getConfigValue("course_batch_cache_size"), DEFAULT_MAX_SIZE),
+                  NumberUtils.toLong(
+                      ProjectUtil.getConfigValue("course_batch_cache_ttl"), DEFAULT_TTL));
+          StatsRegistry.register("course-batch-cache", instance::getStats);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the cassandra row of the batch, reading it with the loader on a miss. Exceptions of the
+   * loader are thrown to all callers waiting for the read and nothing is cached.
+   *
+   * @param courseId Course id
+   * @param batchId Batch id
+   * @param loader Reads the row of the batch
+   * @param callSite Name of the caller for the hit metrics
+   * @return Row of the batch, shared and not to be modified
+   */
+  public Map<String, Object> getRow(
+      String courseId, String batchId, Callable<Map<String, Object>> loader, String callSite) {
+    String key = courseId + ":" + batchId;
+    Map<String, Object> row = rows.getIfPresent(key);
+    record(callSite, null != row);
+    if (null != row) {
+      return row;
+    }
+    long generation = getGeneration(key);
+    try {
+      row = rows.get(key, loader);
+      if (generation != getGeneration(key)) {
+        rows.invalidate(key);
+      }
+      return row;
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the elasticsearch documents of the batches. The batches which are neither cached nor
+   * being read by another caller are read with one call of the loader, the callers of batches being
+   * read wait for that read.
+   *
+   * @param batchIds Batch ids
+   * @param loader Reads the documents of the given batch ids
+   * @param callSite Name of the caller for the hit metrics
+   * @return Documents of the found batches, shared and not to be modified
+   */
+  public List<Map<String, Object>> getDocuments(
+      Collection<String> batchIds,
+      Function<List<String>, List<Map<String, Object>>> loader,
+      String callSite) {
+    try {
+      return getDocumentsAsync(
+              batchIds, ids -> CompletableFuture.completedFuture(loader.apply(ids)), callSite)
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Same as {@link #getDocuments} for a loader which does not block, the returned future completes
+   * when the documents of all batches are available.
+   *
+   * @param batchIds Batch ids
+   * @param loader Reads the documents of the given batch ids
+   * @param callSite Name of the caller for the hit metrics
+   * @return Future of the documents of the found batches, shared and not to be modified
+   */
+  public CompletableFuture<List<Map<String, Object>>> getDocumentsAsync(
+      Collection<String> batchIds,
+      Function<List<String>, CompletionStage<List<Map<String, Object>>>> loader,
+      String callSite) {
+    List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>();
+    Map<String, CompletableFuture<Map<String, Object>>> loading = new LinkedHashMap<>();
+    for (String batchId : new LinkedHashSet<>(batchIds)) {
+      Map<String, Object> document = documents.getIfPresent(batchId);
+      record(callSite, null != document);
+      if (null != document) {
+        results.add(CompletableFuture.completedFuture(document));
+        continue;
+      }
+      CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+      CompletableFuture<Map<String, Object>> existing =
+          loadingDocuments.putIfAbsent(batchId, future);
+      if (null != existing) {
+        results.add(existing);
+      } else {
+        loading.put(batchId, future);
+        results.add(future);
+      }
+    }
+    if (MapUtils.isNotEmpty(loading)) {
+      Map<String, Long> loadingGenerations = new HashMap<>();
+      loading.keySet().forEach(batchId -> loadingGenerations.put(batchId, getGeneration(batchId)));
+      CompletionStage<List<Map<String, Object>>> loaded;
+      try {
+        loaded = loader.apply(new ArrayList<>(loading.keySet()));
+      } catch (RuntimeException e) {
+        loaded = CompletableFuture.failedFuture(e);
+      }
+      loaded.whenComplete(
+          (loadedDocuments, error) ->
+              complete(loading, loadingGenerations, loadedDocuments, error));
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(
+            done ->
+                results
+                    .stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+  }
+
+  /**
+   * Removes the row and the document of the batch. To be called after the batch is written.
+   *
+   * @param courseId Course id
+   * @param batchId Batch id
+   */
+  public void invalidate(String courseId, String batchId) {
+    String key = courseId + ":" + batchId;
+    bumpGeneration(key);
+    rows.invalidate(key);
+    invalidateDocument(batchId);
+  }
+
+  /**
+   * Removes the document of the batch. A read of the document which is running is not cached and
+   * the next callers read the document again instead of waiting for it.
+   */
+  public void invalidateDocument(String batchId) {
+    if (StringUtils.isNotBlank(batchId)) {
+      bumpGeneration(batchId);
+      loadingDocuments.remove(batchId);
+      documents.invalidate(batchId);
+    }
+  }
+
+  public void invalidateAll() {
+    allGeneration.incrementAndGet();
+    loadingDocuments.clear();
+    rows.invalidateAll();
+    documents.invalidateAll();
+  }
+
+  /** @return Map of call site and its hit and miss counts and hit rate */
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    callSiteStats.forEach(
+        (callSite, counts) -> {
+          long hitCount = counts[0].sum();
+          long missCount = counts[1].sum();
+          Map<String, Object> callSiteStat = new HashMap<>();
+          callSiteStat.put("hitCount", hitCount);
+          callSiteStat.put("missCount", missCount);
+          callSiteStat.put(
+              "hitRate",
+              (hitCount + missCount) == 0 ? 1.0 : (double) hitCount / (hitCount + missCount));
+          stats.put(callSite, callSiteStat);
+        });
+    stats.put("rowSize", rows.size());
+    stats.put("documentSize", documents.size());
+    return stats;
+  }
+
+  private void complete(
+      Map<String, CompletableFuture<Map<String, Object>>> loading,
+      Map<String, Long> loadingGenerations,
+      List<Map<String, Object>> loadedDocuments,
+      Throwable error) {
+    Map<String, Map<String, Object>> loaded = new HashMap<>();
+    if (null == error && null != loadedDocuments) {
+      for (Map<String, Object> document : loadedDocuments) {
+        loaded.put((String) document.get(JsonKey.BATCH_ID), document);
+      }
+    }
+    loading.forEach(
+        (batchId, future) -> {
+          Map<String, Object> document = loaded.get(batchId);
+          if (null != document) {
+            // put before the check, an invalidation after the check removes the document itself
+            documents.put(batchId, document);
+            if (loadingGenerations.get(batchId) != getGeneration(batchId)) {
+              documents.invalidate(batchId);
+            }
+          }
+          loadingDocuments.remove(batchId, future);
+          if (null != error) {
+            future.completeExceptionally(
+                error instanceof CompletionException && null != error.getCause()
+                    ? error.getCause()
+                    : error);
+          } else {
+            future.complete(document);
+          }
+        });
+  }
+
+  private long getGeneration(String key) {
+    return allGeneration.get() + generations.get(getGenerationSlot(key));
+  }
+
+  private void bumpGeneration(String key) {
+    generations.incrementAndGet(getGenerationSlot(key));
+  }
+
+  private static int getGenerationSlot(String key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_SLOTS;
+  }
+
+  private void record(String callSite, boolean hit) {
+    LongAdder[] counts =
+        callSiteStats.computeIfAbsent(
+            callSite, k -> new LongAdder[] {new LongAdder(), new LongAdder()});
+    counts[hit ? 0 : 1].increment();
+  }
+}
@@ -74,7 +74,7 @@ public final class CourseBatchSchedulerUtil {
     boolean flag = true;
     try {
       Future<Boolean> flagF = esService.update(requestContext, ProjectUtil.EsType.course.getTypeName(), (String) map.get(JsonKey.ID), map);
-      flag = (boolean) ElasticSearchHelper.getResponseFromFuture(flagF);
+      flag = (boolean) ElasticSearchHelper.getResponseFromFuture(flagF, "batch_scheduler");
     } catch (Exception e) {
       logger.error(requestContext, "CourseBatchSchedulerUtil:updateDataIntoES: Exception occurred while saving course batch data to ES", e);
       flag = false;
@@ -89,8 +89,10 @@ public final class CourseBatchSchedulerUtil {
     CassandraOperation cassandraOperation = ServiceFactory.getInstance();
     Util.DbInfo courseBatchDBInfo = Util.dbInfoMap.get(JsonKey.COURSE_BATCH_DB);
     cassandraOperation.updateRecord(requestContext, courseBatchDBInfo.getKeySpace(), courseBatchDBInfo.getTableName(), map);
+    String batchId = (String) map.getOrDefault(JsonKey.BATCH_ID, map.get(JsonKey.ID));
+    CourseBatchCache.getInstance().invalidate((String) map.get(JsonKey.COURSE_ID), batchId);
     logger.info(requestContext, "CourseBatchSchedulerUtil:updateDataIntoCassandra: Update Successful for batchId "
-            + map.get(JsonKey.ID));
+            + batchId);
   }
 
   private static void addHeaderProps(Map<String, String> header, String key, String value) {
@@ -120,6 +122,8 @@ public final class CourseBatchSchedulerUtil {
         logger.info(requestContext, "No channel value available in content with Id " + courseId);
       }
       response = updateCourseContent(requestContext, courseId, contentName, val);
+      // The cached metadata of the course has the old batch count.
+      CourseMetadataCache.getInstance().evict(courseId);
     } else {
       logger.info(requestContext, "EKstep content not found for course id==" + courseId);
     }
@@ -161,6 +165,10 @@ public final class CourseBatchSchedulerUtil {
     return JsonKey.SUCCESS.equalsIgnoreCase(response);
   }
 
+  /**
+   * Reads the course from the search service, not from {@link CourseMetadataCache}, since its batch
+   * count is read, changed and written back.
+   */
   @SuppressWarnings("unchecked")
   public static Map<String, Object> getCourseObject(RequestContext requestContext, String courseId, Map<String, String> headers) {
     logger.debug(requestContext, "getCourseObject: Requested course id is ==" + courseId);
@@ -170,7 +178,6 @@ public final class CourseBatchSchedulerUtil {
         Map<String, Object> result = ContentUtil.searchContent(query, headers);
         if (null != result && !result.isEmpty() && result.get(JsonKey.CONTENTS) != null) {
           return ((List<Map<String, Object>>) result.get(JsonKey.CONTENTS)).get(0);
-          // return (Map<String, Object>) contentObject;
         } else {
           logger.info(requestContext, "CourseEnrollmentActor:getCourseObjectFromEkStep: Content not found for requested courseId "
                   + courseId);
@@ -42,14 +42,15 @@ public class CourseBatchUtil {
     req.put(JsonKey.ID, uniqueId);
     req.put(JsonKey.IDENTIFIER, uniqueId);
     Future<String> esResponseF = esUtil.save(requestContext, ProjectUtil.EsType.courseBatch.getTypeName(), uniqueId, req);
-    String esResponse = (String) ElasticSearchHelper.getResponseFromFuture(esResponseF);
+    String esResponse = (String) ElasticSearchHelper.getResponseFromFuture(esResponseF, "batch_sync");
+    CourseBatchCache.getInstance().invalidateDocument(uniqueId);
     logger.info(requestContext, "CourseBatchManagementActor::syncCourseBatchForeground: Sync response for course batch ID = "
             + uniqueId + " received response = " + esResponse);
   }
 
   public static Map<String, Object> validateCourseBatch(RequestContext requestContext, String courseId, String batchId) {
     Future<Map<String, Object>> resultF = esUtil.getDataByIdentifier(requestContext, EsType.courseBatch.getTypeName(), batchId);
-    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
+    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF, "batch_validate");
     if (MapUtils.isEmpty(result)) {
       ProjectCommonException.throwClientErrorException(ResponseCode.CLIENT_ERROR, "No such batchId exists");
     }
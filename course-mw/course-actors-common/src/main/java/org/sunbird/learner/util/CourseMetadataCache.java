@@ -0,0 +1,196 @@
+package org.sunbird.learner.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.util.StatsRegistry;
+
+/**
+ * Cache of the metadata of live, trackable collections as returned by the composite search. Course
+ * metadata changes rarely, so it is shared by all actors of the node and kept for a ttl
+ * (course_metadata_cache_ttl seconds). Lookups of several courses fetch only the missing ids, with
+ * one search call. The cached maps are shared and must not be modified by the callers.
+ */
+public final class CourseMetadataCache {
+
+  private static final long DEFAULT_MAX_SIZE = 5000;
+  private static final long DEFAULT_TTL = 300;
+  private static LoggerUtil logger = new LoggerUtil(CourseMetadataCache.class);
+  private static ObjectMapper mapper = new ObjectMapper();
+  private static volatile CourseMetadataCache instance = null;
+
+  private final Cache<String, Map<String, Object>> cache;
+
+  CourseMetadataCache(long maxSize, long ttl) {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  public static CourseMetadataCache getInstance() {
+    if (null == instance) {
+      synchronized (CourseMetadataCache.class) {
+        if (null == instance) {
+          instance =
+              new CourseMetadataCache(
+                  NumberUtils.toLong(
+                      ProjectUtil.getConfigValue("course_metadata_cache_size"), DEFAULT_MAX_SIZE),
+                  NumberUtils.toLong(
+                      ProjectUtil.getConfigValue("course_metadata_cache_ttl"), DEFAULT_TTL));
+          StatsRegistry.register("course-metadata-cache", instance::getStats);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the metadata of the given course.
+   *
+   * @param requestContext Request context for logging
+   * @param courseId Course id
+   * @param headers Headers of the search call on a cache miss
+   * @return Course metadata, or null if there is no live trackable collection with the id
+   */
+  public Map<String, Object> get(
+      RequestContext requestContext, String courseId, Map<String, String> headers)
+      throws UnirestException, JsonProcessingException {
+    return getAll(requestContext, Collections.singletonList(courseId), null, headers).get(courseId);
+  }
+
+  /**
+   * Returns the metadata of the given courses. The courses which are not cached are fetched with
+   * one search call and cached.
+   *
+   * @param requestContext Request context for logging
+   * @param courseIds Course ids
+   * @param urlQueryString Query string of the search call, it is part of the cache key since it
+   *     changes the returned metadata (e.g. orgdetails)
+   * @param headers Headers of the search call on a cache miss
+   * @return Map of course id and metadata, in order of the given ids, without the ids which are not
+   *     a live trackable collection
+   */
+  public Map<String, Map<String, Object>> getAll(
+      RequestContext requestContext,
+      Collection<String> courseIds,
+      String urlQueryString,
+      Map<String, String> headers)
+      throws UnirestException, JsonProcessingException {
+    Map<String, Map<String, Object>> courses = new LinkedHashMap<>();
+    List<String> missingIds = new ArrayList<>();
+    for (String courseId : new LinkedHashSet<>(courseIds)) {
+      if (StringUtils.isBlank(courseId)) {
+        continue;
+      }
+      Map<String, Object> course = cache.getIfPresent(getCacheKey(urlQueryString, courseId));
+      if (null != course) {
+        courses.put(courseId, course);
+      } else {
+        courses.put(courseId, null);
+        missingIds.add(courseId);
+      }
+    }
+    if (CollectionUtils.isNotEmpty(missingIds)) {
+      Map<String, Map<String, Object>> fetched =
+          search(requestContext, missingIds, urlQueryString, headers);
+      for (String courseId : missingIds) {
+        Map<String, Object> course = fetched.get(courseId);
+        if (null != course) {
+          cache.put(getCacheKey(urlQueryString, courseId), course);
+        }
+        courses.put(courseId, course);
+      }
+    }
+    courses.values().removeIf(course -> null == course);
+    return courses;
+  }
+
+  /**
+   * Removes the metadata of the course, for all query strings. To be called after an update of the
+   * course by this service.
+   *
+   * @param courseId Course id
+   */
+  public void evict(String courseId) {
+    cache.asMap().keySet().removeIf(key -> key.endsWith(":" + courseId));
+  }
+
+  public void evictAll() {
+    cache.invalidateAll();
+  }
+
+  public Map<String, Object> getStats() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> result = new HashMap<>();
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("evictionCount", stats.evictionCount());
+    result.put("size", cache.size());
+    return result;
+  }
+
+  private static String getCacheKey(String urlQueryString, String courseId) {
+    return StringUtils.defaultString(urlQueryString) + ":" + courseId;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Map<String, Object>> search(
+      RequestContext requestContext,
+      List<String> courseIds,
+      String urlQueryString,
+      Map<String, String> headers)
+      throws UnirestException, JsonProcessingException {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.IDENTIFIER, courseIds);
+    filters.put(JsonKey.STATUS, "Live");
+    filters.put(JsonKey.MIME_TYPE, JsonKey.COLLECTION_MIME_TYPE);
+    filters.put(JsonKey.TRACKABLE_ENABLED, JsonKey.YES);
+    Map<String, Object> request = new HashMap<>();
+    request.put(JsonKey.FILTERS, filters);
+    request.put(JsonKey.LIMIT, courseIds.size());
+    String requestBody =
+        mapper.writeValueAsString(Collections.singletonMap(JsonKey.REQUEST, request));
+    Map<String, Object> result =
+        ContentSearchUtil.searchContentSync(
+            requestContext,
+            urlQueryString,
+            requestBody,
+            null == headers ? new HashMap<>() : new HashMap<>(headers));
+    List<Map<String, Object>> contents =
+        (List<Map<String, Object>>) result.getOrDefault(JsonKey.CONTENTS, new ArrayList<>());
+    Map<String, Map<String, Object>> courses = new HashMap<>();
+    if (null != contents) {
+      for (Map<String, Object> content : contents) {
+        courses.put(
+            (String) content.get(JsonKey.IDENTIFIER), Collections.unmodifiableMap(content));
+      }
+    }
+    logger.debug(
+        requestContext,
+        "CourseMetadataCache:search: fetched " + courses.size() + " of courses " + courseIds);
+    return courses;
+  }
+}
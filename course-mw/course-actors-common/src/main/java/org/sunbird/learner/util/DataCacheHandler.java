@@ -2,13 +2,13 @@
 package org.sunbird.learner.util;
 
 import org.sunbird.cassandra.CassandraOperation;
-import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.TableNameUtil;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.helper.ServiceFactory;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,11 +40,12 @@ public class DataCacheHandler implements Runnable {
   @SuppressWarnings("unchecked")
   private void cache(Map<String, Map<String, Object>> map, String tableName) {
     try {
-      Response response = cassandraOperation.getAllRecords(null, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), tableName);
-      List<Map<String, Object>> responseList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      if (null != responseList && !responseList.isEmpty()) {
-        for (Map<String, Object> resultMap : responseList) {
+      Iterator<Map<String, Object>> records =
+          cassandraOperation.getRecordsIterator(
+              null, ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), tableName, null, null, 0, false);
+      if (null != records) {
+        while (records.hasNext()) {
+          Map<String, Object> resultMap = records.next();
           if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
             map.put((String) resultMap.get(JsonKey.ID), resultMap);
           } else {
@@ -360,6 +360,12 @@ public final class Util {
         search.setLimit(((BigInteger) searchQueryMap.get(JsonKey.LIMIT)).intValue());
       }
     }
+    if (searchQueryMap.containsKey(JsonKey.CURSOR)) {
+      // pages are read after the cursor, empty cursor for the first page
+      Object cursor = searchQueryMap.get(JsonKey.CURSOR);
+      search.setCursor(null == cursor ? "" : String.valueOf(cursor));
+      search.setOffset(0);
+    }
     if (search.getLimit() > DEFAULT_ELASTIC_DATA_LIMIT) {
       search.setLimit(DEFAULT_ELASTIC_DATA_LIMIT);
     }
@@ -155,6 +155,10 @@ public class CustomObjectBuilder {
       return response;
     }
 
+    public Iterator<Map<String, Object>> asCassandraIterator() {
+      return ((List<Map<String, Object>>) t).iterator();
+    }
+
     public T get() {
       return t;
     }
@@ -35,6 +35,7 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.util.KeycloakRequiredActionLinkUtil;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
@@ -45,10 +46,12 @@ import scala.concurrent.Promise;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.*;
 
@@ -153,6 +156,49 @@ public class SearchHandlerActorTest {
     assertTrue(null != res.get(JsonKey.RESPONSE));
   }
 
+  @Test
+  public void searchCourseBatchFailure() {
+    when(esService.search(Mockito.any(), Mockito.any(SearchDTO.class), Mockito.anyVararg()))
+        .thenReturn(Futures.failed(new IllegalStateException("es is down")));
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+
+    Request reqObj = new Request();
+    reqObj.setOperation(ActorOperations.COMPOSITE_SEARCH.getValue());
+    HashMap<String, Object> innerMap = new HashMap<>();
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.OBJECT_TYPE, Arrays.asList(ProjectUtil.EsType.courseBatch.getTypeName()));
+    innerMap.put(JsonKey.FILTERS, filters);
+    reqObj.setRequest(innerMap);
+
+    subject.tell(reqObj, probe.getRef());
+    ProjectCommonException exc =
+        probe.expectMsgClass(java.time.Duration.ofSeconds(10), ProjectCommonException.class);
+    assertEquals(ResponseCode.SERVER_ERROR.getResponseCode(), exc.getResponseCode());
+  }
+
+  @Test
+  public void searchCourseBatchInvalidCursor() {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+
+    Request reqObj = new Request();
+    reqObj.setOperation(ActorOperations.COMPOSITE_SEARCH.getValue());
+    HashMap<String, Object> innerMap = new HashMap<>();
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.OBJECT_TYPE, Arrays.asList(ProjectUtil.EsType.courseBatch.getTypeName()));
+    innerMap.put(JsonKey.FILTERS, filters);
+    innerMap.put(JsonKey.CURSOR, "not a cursor");
+    reqObj.setRequest(innerMap);
+
+    subject.tell(reqObj, probe.getRef());
+    ProjectCommonException exc =
+        probe.expectMsgClass(java.time.Duration.ofSeconds(10), ProjectCommonException.class);
+    assertEquals(ResponseCode.CLIENT_ERROR.getResponseCode(), exc.getResponseCode());
+    Mockito.verify(esService, Mockito.never())
+        .search(Mockito.any(), Mockito.any(SearchDTO.class), Mockito.anyVararg());
+  }
+
   @Test
   public void testInvalidOperation() {
     TestKit probe = new TestKit(system);
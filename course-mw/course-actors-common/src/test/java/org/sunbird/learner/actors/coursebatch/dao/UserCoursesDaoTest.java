@@ -9,11 +9,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -178,24 +180,24 @@ public class UserCoursesDaoTest {
   @Test
   public void getAllActiveUserWithoutParticipantsSuccess() {
 
-    when(cassandraOperation.getRecordsByIndexedProperty(
-            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(new Response());
+    when(cassandraOperation.getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(Collections.emptyIterator());
     List<String> participants = userCoursesDao.getAllActiveUserOfBatch(null, JsonKey.BATCH_ID);
     Assert.assertEquals(null, participants);
   }
 
   @Test
   public void getAllActiveUserSuccess() {
-    Response readResponse = new Response();
     Map<String, Object> userCoursesMap = new HashMap<>();
     userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
     userCoursesMap.put(JsonKey.ACTIVE, true);
 
-    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
-    when(cassandraOperation.getRecordsByIndexedProperty(
-            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(readResponse);
+    when(cassandraOperation.getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(Arrays.asList(userCoursesMap).iterator());
     List<String> participants = userCoursesDao.getAllActiveUserOfBatch(null, JsonKey.BATCH_ID);
     Assert.assertEquals(1, participants.size());
   }
@@ -207,46 +209,88 @@ public class UserCoursesDaoTest {
 
   @Test
   public void getBatchParticipantsSuccess() {
-    Response readResponse = new Response();
     Map<String, Object> userCoursesMap = new HashMap<>();
     userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
     userCoursesMap.put(JsonKey.ACTIVE, true);
 
-    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
-    when(cassandraOperation.getRecordsByIndexedProperty(
-            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(readResponse);
+    when(cassandraOperation.getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(Arrays.asList(userCoursesMap).iterator());
     List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true);
     Assert.assertEquals(1, participants.size());
   }
 
   @Test
   public void getBatchParticipantsWithInactiveSuccess() {
-    Response readResponse = new Response();
     Map<String, Object> userCoursesMap = new HashMap<>();
     userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
     userCoursesMap.put(JsonKey.ACTIVE, false);
 
-    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
-    when(cassandraOperation.getRecordsByIndexedProperty(
-            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(readResponse);
+    when(cassandraOperation.getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(Arrays.asList(userCoursesMap).iterator());
     List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, false);
     Assert.assertEquals(1, participants.size());
   }
 
   @Test
   public void getBatchParticipantsWithEmptySuccess() {
-    Response readResponse = new Response();
+    when(cassandraOperation.getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(Collections.emptyIterator());
+    List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true);
+    Assert.assertEquals(null, participants);
+    ArgumentCaptor<Map> filters = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(cassandraOperation)
+        .getRecordsIterator(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), filters.capture(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.eq(true));
+    Assert.assertEquals(JsonKey.BATCH_ID, filters.getValue().get("batchid"));
+    Assert.assertEquals(true, filters.getValue().get("active"));
+  }
+
+  @Test
+  public void getBatchParticipantsPageSuccess() {
     Map<String, Object> userCoursesMap = new HashMap<>();
     userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
-    userCoursesMap.put(JsonKey.ACTIVE, false);
-
+    Response readResponse = new Response();
     readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
-    when(cassandraOperation.getRecordsByIndexedProperty(
-            Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
+    readResponse.put("pagingState", "nextPage");
+    when(cassandraOperation.getRecordsPage(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.eq(10), Mockito.eq("firstPage"), Mockito.eq(true)))
         .thenReturn(readResponse);
-    List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true);
-    Assert.assertEquals(0, participants.size());
+    Map<String, Object> page =
+        userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true, 10, "firstPage");
+    Assert.assertEquals(Arrays.asList(JsonKey.USER_ID), page.get(JsonKey.PARTICIPANTS));
+    Assert.assertEquals("nextPage", page.get(JsonKey.CURSOR));
+  }
+
+  @Test
+  public void getBatchParticipantsAsyncReadsAllPages() throws Exception {
+    Map<String, Object> firstUser = new HashMap<>();
+    firstUser.put(JsonKey.USER_ID, "user1");
+    Response firstPage = new Response();
+    firstPage.put(JsonKey.RESPONSE, Arrays.asList(firstUser));
+    firstPage.put("pagingState", "nextPage");
+    Map<String, Object> secondUser = new HashMap<>();
+    secondUser.put(JsonKey.USER_ID, "user2");
+    Response lastPage = new Response();
+    lastPage.put(JsonKey.RESPONSE, Arrays.asList(secondUser));
+    lastPage.put("pagingState", null);
+    when(cassandraOperation.getRecordsPageAsync(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.isNull(), Mockito.eq(true)))
+        .thenReturn(CompletableFuture.completedFuture(firstPage));
+    when(cassandraOperation.getRecordsPageAsync(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+            Mockito.anyInt(), Mockito.eq("nextPage"), Mockito.eq(true)))
+        .thenReturn(CompletableFuture.completedFuture(lastPage));
+    List<String> participants =
+        userCoursesDao.getBatchParticipantsAsync(null, JsonKey.BATCH_ID, true).toCompletableFuture().get();
+    Assert.assertEquals(Arrays.asList("user1", "user2"), participants);
   }
 }
@@ -0,0 +1,202 @@
+package org.sunbird.learner.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.responsecode.ResponseCode;
+
+public class CourseBatchCacheTest {
+
+  private static Map<String, Object> batch(String batchId) {
+    Map<String, Object> batch = new HashMap<>();
+    batch.put(JsonKey.BATCH_ID, batchId);
+    batch.put(JsonKey.STATUS, 1);
+    return batch;
+  }
+
+  @Test
+  public void testGetRowCollapsesConcurrentMisses() throws Exception {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      executor.submit(
+          () -> {
+            started.await();
+            return cache.getRow(
+                "do_1",
+                "0123",
+                () -> {
+                  loads.incrementAndGet();
+                  Thread.sleep(100);
+                  return batch("0123");
+                },
+                "readById");
+          });
+    }
+    started.countDown();
+    executor.shutdown();
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals("0123", cache.getRow("do_1", "0123", () -> null, "readById").get(JsonKey.BATCH_ID));
+    Map<String, Object> stats = (Map<String, Object>) cache.getStats().get("readById");
+    Assert.assertEquals(1L, stats.get("hitCount"));
+    Assert.assertEquals(4L, stats.get("missCount"));
+  }
+
+  @Test
+  public void testGetRowLoaderExceptionIsNotCached() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    try {
+      cache.getRow(
+          "do_1",
+          "0123",
+          () -> {
+            throw new ProjectCommonException(
+                ResponseCode.invalidCourseBatchId.getErrorCode(),
+                ResponseCode.invalidCourseBatchId.getErrorMessage(),
+                ResponseCode.CLIENT_ERROR.getResponseCode());
+          },
+          "readById");
+      Assert.fail("exception of the loader must be thrown");
+    } catch (ProjectCommonException e) {
+      Assert.assertEquals(ResponseCode.invalidCourseBatchId.getErrorCode(), e.getCode());
+    }
+    Assert.assertEquals(0L, cache.getStats().get("rowSize"));
+  }
+
+  @Test
+  public void testGetDocumentsLoadsOnlyMissingBatches() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    List<List<String>> loadedIds = new ArrayList<>();
+    Assert.assertEquals(
+        1,
+        cache
+            .getDocuments(
+                Arrays.asList("0123"),
+                ids -> {
+                  loadedIds.add(ids);
+                  return Arrays.asList(batch("0123"));
+                },
+                "getBatches")
+            .size());
+    List<Map<String, Object>> documents =
+        cache.getDocuments(
+            Arrays.asList("0123", "0456", "0789"),
+            ids -> {
+              loadedIds.add(ids);
+              return Arrays.asList(batch("0456"));
+            },
+            "getBatches");
+
+    Assert.assertEquals(2, documents.size());
+    Assert.assertEquals(Arrays.asList("0456", "0789"), loadedIds.get(1));
+    Assert.assertEquals(2, loadedIds.size());
+    // batches which are not found are not cached
+    cache.getDocuments(
+        Arrays.asList("0789"),
+        ids -> {
+          loadedIds.add(ids);
+          return new ArrayList<>();
+        },
+        "getBatches");
+    Assert.assertEquals(3, loadedIds.size());
+    Map<String, Object> stats = (Map<String, Object>) cache.getStats().get("getBatches");
+    Assert.assertEquals(1L, stats.get("hitCount"));
+    Assert.assertEquals(4L, stats.get("missCount"));
+  }
+
+  @Test
+  public void testGetDocumentsAsyncWaitsForRunningLoad() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    CompletableFuture<List<Map<String, Object>>> search = new CompletableFuture<>();
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<List<Map<String, Object>>> first =
+        cache.getDocumentsAsync(
+            Arrays.asList("0123"),
+            ids -> {
+              loads.incrementAndGet();
+              return search;
+            },
+            "getBatches");
+    CompletableFuture<List<Map<String, Object>>> second =
+        cache.getDocumentsAsync(
+            Arrays.asList("0123"),
+            ids -> {
+              loads.incrementAndGet();
+              return new CompletableFuture<>();
+            },
+            "getBatches");
+    Assert.assertFalse(second.isDone());
+    search.complete(Arrays.asList(batch("0123")));
+
+    Assert.assertEquals(1, first.join().size());
+    Assert.assertEquals(1, second.join().size());
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(1L, cache.getStats().get("documentSize"));
+  }
+
+  @Test
+  public void testInvalidateRemovesRowAndDocument() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    cache.getRow("do_1", "0123", () -> batch("0123"), "readById");
+    cache.getDocuments(Arrays.asList("0123"), ids -> Arrays.asList(batch("0123")), "getBatches");
+    Assert.assertEquals(1L, cache.getStats().get("rowSize"));
+    Assert.assertEquals(1L, cache.getStats().get("documentSize"));
+    cache.invalidate("do_1", "0123");
+    Assert.assertEquals(0L, cache.getStats().get("rowSize"));
+    Assert.assertEquals(0L, cache.getStats().get("documentSize"));
+  }
+
+  @Test
+  public void testInvalidateDuringDocumentLoadIsNotCached() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    CompletableFuture<List<Map<String, Object>>> search = new CompletableFuture<>();
+    CompletableFuture<List<Map<String, Object>>> first =
+        cache.getDocumentsAsync(Arrays.asList("0123"), ids -> search, "getBatches");
+    cache.invalidateDocument("0123");
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<List<Map<String, Object>>> second =
+        cache.getDocumentsAsync(
+            Arrays.asList("0123"),
+            ids -> {
+              loads.incrementAndGet();
+              return CompletableFuture.completedFuture(Arrays.asList(batch("0123")));
+            },
+            "getBatches");
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(1, second.join().size());
+    cache.invalidateDocument("0123");
+    search.complete(Arrays.asList(batch("0123")));
+
+    Assert.assertEquals(1, first.join().size());
+    Assert.assertEquals(0L, cache.getStats().get("documentSize"));
+  }
+
+  @Test
+  public void testInvalidateDuringRowLoadIsNotCached() {
+    CourseBatchCache cache = new CourseBatchCache(10, 60);
+    cache.getRow(
+        "do_1",
+        "0123",
+        () -> {
+          cache.invalidate("do_1", "0123");
+          return batch("0123");
+        },
+        "readById");
+    Assert.assertEquals(0L, cache.getStats().get("rowSize"));
+  }
+}
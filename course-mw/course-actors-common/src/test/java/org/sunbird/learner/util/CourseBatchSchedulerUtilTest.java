@@ -133,4 +133,21 @@ public class CourseBatchSchedulerUtilTest {
     PowerMockito.verifyStatic(ContentUtil.class);
     ContentUtil.searchContent(Mockito.anyString(), Mockito.anyMap());
   }
+
+  @Test
+  public void updateDataIntoCassandraInvalidatesBatchTest() {
+    Map<String, Object> courseBatch = CustomObjectBuilder.getRandomCourseBatch().get();
+    String courseId = (String) courseBatch.get(JsonKey.COURSE_ID);
+    String batchId = (String) courseBatch.get(JsonKey.BATCH_ID);
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .updateRecord(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap()))
+        .thenReturn(new Response());
+    CourseBatchCache.getInstance().getRow(courseId, batchId, () -> new HashMap<>(), "test");
+    CourseBatchSchedulerUtil.updateDataIntoCassandra(null, courseBatch);
+    Map<String, Object> row =
+        CourseBatchCache.getInstance().getRow(courseId, batchId, () -> courseBatch, "test");
+    Assert.assertSame(courseBatch, row);
+  }
 }
@@ -0,0 +1,98 @@
+package org.sunbird.learner.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.models.util.JsonKey;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ContentSearchUtil.class})
+@PowerMockIgnore("javax.management.*")
+public class CourseMetadataCacheTest {
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(ContentSearchUtil.class);
+  }
+
+  private static Map<String, Object> searchResult(String... courseIds) {
+    List<Map<String, Object>> contents = new ArrayList<>();
+    for (String courseId : courseIds) {
+      Map<String, Object> content = new HashMap<>();
+      content.put(JsonKey.IDENTIFIER, courseId);
+      content.put(JsonKey.LEAF_NODE_COUNT, 2);
+      contents.add(content);
+    }
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.CONTENTS, contents);
+    return result;
+  }
+
+  @Test
+  public void testGetAllFetchesOnlyMissingCourses() throws Exception {
+    CourseMetadataCache cache = new CourseMetadataCache(10, 60);
+    ArgumentCaptor<String> requestBody = ArgumentCaptor.forClass(String.class);
+    PowerMockito.when(
+            ContentSearchUtil.searchContentSync(
+                Mockito.any(), Mockito.any(), requestBody.capture(), Mockito.anyMap()))
+        .thenReturn(searchResult("do_1"))
+        .thenReturn(searchResult("do_2"));
+
+    Assert.assertEquals(1, cache.getAll(null, Arrays.asList("do_1"), null, null).size());
+    Map<String, Map<String, Object>> courses =
+        cache.getAll(null, Arrays.asList("do_1", "do_2", "do_3"), null, new HashMap<>());
+
+    Assert.assertEquals(Arrays.asList("do_1", "do_2"), new ArrayList<>(courses.keySet()));
+    Assert.assertEquals(2, courses.get("do_2").get(JsonKey.LEAF_NODE_COUNT));
+    Assert.assertTrue(requestBody.getValue().contains("[\"do_2\",\"do_3\"]"));
+    PowerMockito.verifyStatic(ContentSearchUtil.class, Mockito.times(2));
+    ContentSearchUtil.searchContentSync(
+        Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.anyMap());
+    Assert.assertEquals(1L, cache.getStats().get("hitCount"));
+  }
+
+  @Test
+  public void testGetAfterEvict() throws Exception {
+    CourseMetadataCache cache = new CourseMetadataCache(10, 60);
+    PowerMockito.when(
+            ContentSearchUtil.searchContentSync(
+                Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.anyMap()))
+        .thenReturn(searchResult("do_1"));
+
+    Assert.assertNotNull(cache.get(null, "do_1", null));
+    Assert.assertNotNull(
+        cache.getAll(null, Arrays.asList("do_1"), "?orgdetails=orgName", null).get("do_1"));
+    Assert.assertEquals(2L, cache.getStats().get("size"));
+    cache.evict("do_1");
+    Assert.assertEquals(0L, cache.getStats().get("size"));
+    Assert.assertNotNull(cache.get(null, "do_1", null));
+    PowerMockito.verifyStatic(ContentSearchUtil.class, Mockito.times(3));
+    ContentSearchUtil.searchContentSync(
+        Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.anyMap());
+  }
+
+  @Test
+  public void testGetNotFoundIsNotCached() throws Exception {
+    CourseMetadataCache cache = new CourseMetadataCache(10, 60);
+    PowerMockito.when(
+            ContentSearchUtil.searchContentSync(
+                Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.anyMap()))
+        .thenReturn(new HashMap<>());
+
+    Assert.assertNull(cache.get(null, "do_1", null));
+    Assert.assertNull(cache.get(null, "do_1", null));
+    Assert.assertEquals(0L, cache.getStats().get("size"));
+  }
+}
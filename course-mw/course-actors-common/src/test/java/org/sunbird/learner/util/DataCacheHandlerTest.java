@@ -31,13 +31,17 @@ public class DataCacheHandlerTest {
     PowerMockito.when(
             group
                 .getCassandraMockerService()
-                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_management")))
-        .thenReturn(CustomObjectBuilder.getRandomPageManagements(10).asCassandraResponse());
+                .getRecordsIterator(
+                    Mockito.any(), Mockito.anyString(), Mockito.eq("page_management"), Mockito.any(),
+                    Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(CustomObjectBuilder.getRandomPageManagements(10).asCassandraIterator());
     PowerMockito.when(
             group
                 .getCassandraMockerService()
-                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_section")))
-        .thenReturn(CustomObjectBuilder.getRandomPageSections(4).asCassandraResponse());
+                .getRecordsIterator(
+                    Mockito.any(), Mockito.anyString(), Mockito.eq("page_section"), Mockito.any(),
+                    Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(CustomObjectBuilder.getRandomPageSections(4).asCassandraIterator());
     DataCacheHandler cacheHandler = new DataCacheHandler();
     cacheHandler.run();
     Assert.assertNotNull(cacheHandler.getPageMap());
@@ -92,4 +92,17 @@ public class UtilTest {
     SearchDTO dto = Util.createSearchDto(queryMap);
     Assert.assertNotNull(dto);
   }
+
+  @Test
+  public void createSearchDTOWithCursorTest() {
+    Map queryMap = new HashMap<>();
+    queryMap.put(JsonKey.FILTERS, new HashMap<>());
+    queryMap.put(JsonKey.LIMIT, 9000);
+    queryMap.put(JsonKey.OFFSET, 6000);
+    queryMap.put(JsonKey.CURSOR, null);
+    SearchDTO dto = Util.createSearchDto(queryMap);
+    Assert.assertEquals("", dto.getCursor());
+    Assert.assertEquals(0, (int) dto.getOffset());
+    Assert.assertEquals(9000, (int) dto.getLimit());
+  }
 }
@@ -1,6 +1,5 @@
 package org.sunbird.learner.actors.bulkupload;
 
-import org.apache.pekko.actor.ActorRef;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections.CollectionUtils;
@@ -8,6 +7,7 @@ import org.apache.commons.collections.MapUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.ElasticSearchHelper;
+import org.sunbird.common.EsBulkIndexer;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.response.Response;
@@ -30,8 +30,6 @@ import org.sunbird.userorg.UserOrgService;
 import org.sunbird.userorg.UserOrgServiceImpl;
 import scala.concurrent.Future;
 
-import javax.inject.Inject;
-import javax.inject.Named;
 import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.*;
@@ -49,13 +47,10 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
   private final CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private ObjectMapper mapper = new ObjectMapper();
   private static ElasticSearchService esService = EsClientFactory.getInstance();
+  private static EsBulkIndexer bulkIndexer = EsBulkIndexer.getInstance();
   private UserCoursesDao userCourseDao = UserCoursesDaoImpl.getInstance();
   private UserOrgService userOrgService = UserOrgServiceImpl.getInstance();
 
-  @Inject
-  @Named("background-job-manager-actor")
-  private ActorRef backgroundJobManagerActorRef;
-
   @Override
   public void onReceive(Request request) throws Throwable {
     Util.initializeContext(request, TelemetryEnvKey.USER, this.getClass().getName());
@@ -106,7 +101,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
 
       String batchId = (String) batchMap.get(JsonKey.BATCH_ID);
       Future<Map<String, Object>> resultF = esService.getDataByIdentifier(requestContext, ProjectUtil.EsType.courseBatch.getTypeName(), batchId);
-      Map<String, Object> courseBatchObject = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
+      Map<String, Object> courseBatchObject = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF, "bulk_upload");
       String msg = validateBatchInfo(courseBatchObject);
       if (msg.equals(JsonKey.SUCCESS)) {
         try {
@@ -139,6 +134,8 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
       }
     }
 
+    // send the buffered enrolments, the bulk indexer writes them in the background
+    bulkIndexer.flush();
     // Insert record to BulkDb table
     Map<String, Object> map = new HashMap<>();
     map.put(JsonKey.ID, processId);
@@ -188,7 +185,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
           updateAttributes.put(JsonKey.COURSE_ENROLL_DATE, ProjectUtil.getFormattedDate());
           userCourseDao.update(requestContext, batchId, userId, updateAttributes);
           String id = UserCoursesService.generateUserCourseESId(batchId, userId);
-          esService.update(requestContext, EsType.usercourses.getTypeName(), id, updateAttributes);
+          bulkIndexer.update(requestContext, EsType.usercourses.getTypeName(), id, updateAttributes);
         }
       } else {
         addUserCourses(
@@ -258,25 +255,11 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
   }
 
   private void insertUserCoursesToES(RequestContext requestContext, Map<String, Object> courseMap) {
-    Request request = new Request(requestContext);
-    request.setOperation(ActorOperations.INSERT_USR_COURSES_INFO_ELASTIC.getValue());
-    request.getRequest().put(JsonKey.USER_COURSES, courseMap);
-    try {
-      backgroundJobManagerActorRef.tell(request, getSelf());
-    } catch (Exception ex) {
-      logger.error(requestContext, "Exception Occurred during saving user count to Es : ", ex);
-    }
+    bulkIndexer.index(requestContext, EsType.usercourses.getTypeName(), (String) courseMap.get(JsonKey.ID), courseMap);
   }
 
   private void updateUserCoursesToES(RequestContext requestContext, Map<String, Object> courseMap) {
-    Request request = new Request(requestContext);
-    request.setOperation(ActorOperations.UPDATE_USR_COURSES_INFO_ELASTIC.getValue());
-    request.getRequest().put(JsonKey.USER_COURSES, courseMap);
-    try {
-      backgroundJobManagerActorRef.tell(request, getSelf());
-    } catch (Exception ex) {
-      logger.error(requestContext, "Exception Occurred during saving user count to Es : ", ex);
-    }
+    bulkIndexer.update(requestContext, EsType.usercourses.getTypeName(), (String) courseMap.get(JsonKey.ID), courseMap);
   }
 
   @SuppressWarnings("unchecked")
@@ -1,10 +1,13 @@
 package org.sunbird.learner.actors.coursebatch;
 
 import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.dispatch.Mapper;
+import org.apache.pekko.pattern.Patterns;
 import com.typesafe.config.ConfigFactory;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -22,7 +25,9 @@ import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.constants.CourseJsonKey;
 import org.sunbird.learner.util.ContentUtil;
+import org.sunbird.learner.util.CourseBatchCache;
 import org.sunbird.learner.util.CourseBatchUtil;
+import org.sunbird.learner.util.CourseMetadataCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 import org.sunbird.telemetry.util.TelemetryUtil;
@@ -46,6 +51,8 @@ public class CourseBatchManagementActor extends BaseActor {
   private String dateFormat = "yyyy-MM-dd";
   private List<String> validCourseStatus = Arrays.asList("Live", "Unlisted");
   private String timeZone = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_TIMEZONE);
+  private int participantsMaxLimit =
+      NumberUtils.toInt(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_BATCH_PARTICIPANTS_MAX_LIMIT), 10000);
 
   @Inject
   @Named("course-batch-notification-actor")
@@ -164,6 +171,8 @@ public class CourseBatchManagementActor extends BaseActor {
         request.containsKey(JsonKey.BATCH_ID)
             ? (String) request.get(JsonKey.BATCH_ID)
             : (String) request.get(JsonKey.ID);
+    // the update is based on the stored batch, read it from cassandra and not from the cache
+    CourseBatchCache.getInstance().invalidate((String) request.get(JsonKey.COURSE_ID), batchId);
     CourseBatch oldBatch =
         courseBatchDao.readById((String) request.get(JsonKey.COURSE_ID), batchId, actorMessage.getRequestContext());
     CourseBatch courseBatch = getUpdateCourseBatch(actorMessage.getRequestContext(), request, oldBatch);
@@ -245,12 +254,24 @@ public class CourseBatchManagementActor extends BaseActor {
     Future<Map<String, Object>> resultF =
         esService.getDataByIdentifier(actorMessage.getRequestContext(), ProjectUtil.EsType.courseBatch.getTypeName(),
             (String) actorMessage.getContext().get(JsonKey.BATCH_ID));
-    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
-    if (result.containsKey(JsonKey.COURSE_ID))
-      result.put(JsonKey.COLLECTION_ID, result.getOrDefault(JsonKey.COURSE_ID, ""));
-    Response response = new Response();
-    response.put(JsonKey.RESPONSE, result);
-    sender().tell(response, self());
+    Future<Response> responseF =
+        ElasticSearchHelper.withTimeout(resultF, "batch_read", getContext().system().scheduler(), getContext().dispatcher())
+            .map(
+                new Mapper<Map<String, Object>, Response>() {
+                  @Override
+                  public Response apply(Map<String, Object> result) {
+                    if (result.containsKey(JsonKey.COURSE_ID))
+                      result.put(JsonKey.COLLECTION_ID, result.getOrDefault(JsonKey.COURSE_ID, ""));
+                    Response response = new Response();
+                    response.put(JsonKey.RESPONSE, result);
+                    return response;
+                  }
+                },
+                getContext().dispatcher());
+    Patterns.pipe(
+            ElasticSearchHelper.recoverWithError(responseF, "batch_read", getContext().dispatcher()),
+            getContext().dispatcher())
+        .to(sender());
   }
 
 
@@ -580,20 +601,38 @@ public class CourseBatchManagementActor extends BaseActor {
       active = (boolean) request.get(JsonKey.ACTIVE);
     }
     String batchID = (String) request.get(JsonKey.BATCH_ID);
-    List<String> participants = userCoursesService.getParticipantsList(batchID, active, actorMessage.getRequestContext());
+    String cursor = (String) request.get(JsonKey.CURSOR);
+    Map<String, Object> result = new HashMap<String, Object>();
+    List<String> participants;
+    if (null != request.get(JsonKey.LIMIT) || StringUtils.isNotBlank(cursor)) {
+      Map<String, Object> page =
+          userCoursesService.getParticipantsPage(
+              batchID, active, getParticipantsLimit(request), cursor, actorMessage.getRequestContext());
+      participants = (List<String>) page.get(JsonKey.PARTICIPANTS);
+      result.put(JsonKey.CURSOR, page.get(JsonKey.CURSOR));
+    } else {
+      participants = userCoursesService.getParticipantsList(batchID, active, actorMessage.getRequestContext());
+    }
 
     if (CollectionUtils.isEmpty(participants)) {
       participants = new ArrayList<>();
     }
 
     Response response = new Response();
-    Map<String, Object> result = new HashMap<String, Object>();
     result.put(JsonKey.COUNT, participants.size());
     result.put(JsonKey.PARTICIPANTS, participants);
     response.put(JsonKey.BATCH, result);
     sender().tell(response, self());
   }
 
+  private int getParticipantsLimit(Map<String, Object> request) {
+    Object limit = request.get(JsonKey.LIMIT);
+    if (limit instanceof Number && ((Number) limit).intValue() > 0) {
+      return Math.min(((Number) limit).intValue(), participantsMaxLimit);
+    }
+    return participantsMaxLimit;
+  }
+
   private CourseBatch mapESFieldsToObject(CourseBatch courseBatch) {
     Map<String, Object> certificateTemplates = courseBatch.getCertTemplates();
     if(MapUtils.isNotEmpty(certificateTemplates)) {
@@ -638,6 +677,7 @@ public class CourseBatchManagementActor extends BaseActor {
     batches.removeIf(map -> StringUtils.equalsIgnoreCase((String) courseBatch.getOrDefault(JsonKey.BATCH_ID, ""), (String) map.get("batchId")));
     batches.add(data);
     ContentUtil.updateCollection(requestContext, (String) courseBatch.getOrDefault(JsonKey.COURSE_ID, ""), new HashMap<String, Object>() {{ put("batches", batches);}});
+    CourseMetadataCache.getInstance().evict((String) courseBatch.getOrDefault(JsonKey.COURSE_ID, ""));
   }
 
   private Object getEnrollmentEndDate(String enrollmentEndDate, String endDate) {
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.sunbird.common.models.response.Response;
@@ -124,6 +125,10 @@ public class CustomObjectBuilder {
       return response;
     }
 
+    public Iterator<Map<String, Object>> asCassandraIterator() {
+      return ((List<Map<String, Object>>) t).iterator();
+    }
+
     public T get() {
       return t;
     }
@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,11 +25,13 @@ import org.sunbird.builder.mocker.ESMocker;
 import org.sunbird.builder.mocker.MockerBuilder;
 import org.sunbird.builder.mocker.UserOrgMocker;
 import org.sunbird.builder.object.CustomObjectBuilder;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.kafka.client.InstructionEventGenerator;
 import org.sunbird.kafka.client.KafkaClient;
@@ -138,6 +141,20 @@ public class CourseBatchManagementActorTest extends SunbirdApplicationActorTest
     Assert.assertNotNull(response);
   }
 
+  @Test
+  @PrepareForTest({EsClientFactory.class})
+  public void getBatchFailure() {
+    group = MockerBuilder.getFreshMockerGroup().withESMock(new ESMocker());
+    when(group.getESMockerService().getDataByIdentifier(Mockito.any(), Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(Futures.failed(new TimeoutException("es timeout")));
+    Request req = new Request();
+    req.setOperation("getBatch");
+    req.getContext().put(JsonKey.BATCH_ID, "randomBatchId");
+    ProjectCommonException exception = executeInTenSeconds(req, ProjectCommonException.class);
+    Assert.assertEquals(ResponseCode.operationTimeout.getErrorCode(), exception.getCode());
+    Assert.assertEquals(ResponseCode.SERVER_ERROR.getResponseCode(), exception.getResponseCode());
+  }
+
   private void mockCourseEnrollmentActor(){
     Map<String, Object> courseMap = new HashMap<String, Object>() {{
       put("content", new HashMap<String, Object>() {{
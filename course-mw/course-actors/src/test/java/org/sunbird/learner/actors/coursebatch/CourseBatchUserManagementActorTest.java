@@ -51,9 +51,10 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
     group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
     when(group
             .getCassandraMockerService()
-            .getRecordsByIndexedProperty(
-                    Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(CustomObjectBuilder.getRandomUserCoursesList(5).asCassandraResponse());
+            .getRecordsIterator(
+                    Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+                    Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(CustomObjectBuilder.getRandomUserCoursesList(5).asCassandraIterator());
     Request req = new Request();
     HashMap<String, Object> innerMap = new HashMap<>();
     innerMap.put(JsonKey.BATCH_ID, "randomBatchId");
@@ -79,9 +80,10 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
     group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
     when(group
             .getCassandraMockerService()
-            .getRecordsByIndexedProperty(
-                    Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
-        .thenReturn(CustomObjectBuilder.getUserCoursesBuilder().buildList().asCassandraResponse());
+            .getRecordsIterator(
+                    Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+                    Mockito.anyInt(), Mockito.anyBoolean()))
+        .thenReturn(CustomObjectBuilder.getUserCoursesBuilder().buildList().asCassandraIterator());
     Request req = new Request();
     HashMap<String, Object> innerMap = new HashMap<>();
     innerMap.put(JsonKey.BATCH_ID, "randomBatchId");
@@ -100,4 +102,33 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
     List<String> participants = (List<String>) result.get(JsonKey.PARTICIPANTS);
     Assert.assertTrue(participants.isEmpty());
   }
+
+  @Test
+  @PrepareForTest({ServiceFactory.class})
+  public void getBatchParticipantsPageSuccess() {
+    group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
+    Response page = CustomObjectBuilder.getRandomUserCoursesList(5).asCassandraResponse();
+    page.put("pagingState", "nextPage");
+    when(group
+            .getCassandraMockerService()
+            .getRecordsPage(
+                    Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(),
+                    Mockito.eq(5), Mockito.eq("firstPage"), Mockito.anyBoolean()))
+        .thenReturn(page);
+    Request req = new Request();
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.BATCH_ID, "randomBatchId");
+    innerMap.put(JsonKey.LIMIT, 5);
+    innerMap.put(JsonKey.CURSOR, "firstPage");
+    HashMap<String, Object> batchMap = new HashMap<>();
+    batchMap.put(JsonKey.BATCH, innerMap);
+    req.setOperation("getParticipants");
+    req.setRequest(batchMap);
+    Response response = executeInTenSeconds(req, Response.class);
+    Assert.assertNotNull(response);
+    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.BATCH);
+    Assert.assertEquals(5, (int) result.get(JsonKey.COUNT));
+    Assert.assertEquals(5, ((List<String>) result.get(JsonKey.PARTICIPANTS)).size());
+    Assert.assertEquals("nextPage", result.get(JsonKey.CURSOR));
+  }
 }
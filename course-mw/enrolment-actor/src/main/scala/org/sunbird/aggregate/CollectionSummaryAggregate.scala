@@ -224,11 +224,12 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
     val defaultEndDate = sd.format(sd.parse(dateTimeFormate.print(DateTime.now(DateTimeZone.UTC).plusDays(1)))) // Adding 1 Day extra
 
     if (StringUtils.equalsIgnoreCase(date, "ALL")) {
-      val batchOldStartDate: String = Option(courseBatchDao.readById(courseId, batchId, requestContext).getOldStartDate).map(date => if (date.nonEmpty) date else defaultStartDate).getOrElse(defaultStartDate)
-      val batchOldEndDate: String = Option(courseBatchDao.readById(courseId, batchId, requestContext).getOldEndDate).map(date => if (date.nonEmpty) date else defaultEndDate).getOrElse(defaultEndDate)
+      val batch = courseBatchDao.readById(courseId, batchId, requestContext)
+      val batchOldStartDate: String = Option(batch.getOldStartDate).map(date => if (date.nonEmpty) date else defaultStartDate).getOrElse(defaultStartDate)
+      val batchOldEndDate: String = Option(batch.getOldEndDate).map(date => if (date.nonEmpty) date else defaultEndDate).getOrElse(defaultEndDate)
 
-      val batchLatestStartDate: Date = courseBatchDao.readById(courseId, batchId, requestContext).getStartDate
-      val batchLatestEndDate: Date = courseBatchDao.readById(courseId, batchId, requestContext).getEndDate
+      val batchLatestStartDate: Date = batch.getStartDate
+      val batchLatestEndDate: Date = batch.getEndDate
 
       val startDate: String = Option(batchLatestStartDate).map(date => sd.format(date)).getOrElse(batchOldStartDate)
       val endDate: String = Option(batchLatestEndDate).map(date => sd.format(date)).getOrElse(batchOldEndDate)
@@ -1,6 +1,7 @@
 package org.sunbird.enrolments
 
 import org.apache.commons.collections4.CollectionUtils
+import org.apache.pekko.pattern.pipe
 import org.sunbird.actor.base.BaseActor
 import org.sunbird.common.ElasticSearchHelper
 import org.sunbird.common.factory.EsClientFactory
@@ -8,24 +9,79 @@ import org.sunbird.common.inf.ElasticSearchService
 import org.sunbird.common.models.util.{JsonKey, ProjectUtil}
 import org.sunbird.common.request.RequestContext
 import org.sunbird.dto.SearchDTO
+import org.sunbird.learner.util.CourseBatchCache
 
 import java.util
+import java.util.concurrent.{CompletionException, CompletionStage, TimeUnit}
+import scala.collection.JavaConverters._
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, ExecutionContext, Future}
+import scala.jdk.FutureConverters._
 
 abstract class BaseEnrolmentActor extends BaseActor {
 
     var esService = EsClientFactory.getInstance()
+    private val batchSearchCallSite = "batch_search"
+    // captured on construction, the batch search may be started from a future callback outside the actor
+    private val dispatcher: ExecutionContext = context.dispatcher
+    private val scheduler = context.system.scheduler
     
+    /**
+     * Returns the batch documents, served from the shared batch cache. The full documents are cached, the
+     * requested fields are projected into new maps so callers can modify the result. It waits for the search
+     * of the missing batches, actors should use getBatchesAsync where they can.
+     */
     def getBatches(requestContext: RequestContext, batchIds: java.util.List[String], requestedFields: java.util.List[String]): java.util.List[java.util.Map[String, AnyRef]] = {
+        val documents = CourseBatchCache.getInstance().getDocuments(batchIds, new java.util.function.Function[util.List[String], util.List[util.Map[String, AnyRef]]] {
+            override def apply(ids: util.List[String]): util.List[util.Map[String, AnyRef]] =
+                Await.result(searchBatches(requestContext, ids), Duration(ElasticSearchHelper.getWaitTime(batchSearchCallSite), TimeUnit.SECONDS))
+        }, "getBatches")
+        projectFields(documents, requestedFields)
+    }
+
+    /** Same as getBatches, without blocking the dispatcher while the missing batches are searched. */
+    def getBatchesAsync(requestContext: RequestContext, batchIds: java.util.List[String], requestedFields: java.util.List[String]): Future[java.util.List[java.util.Map[String, AnyRef]]] = {
+        implicit val ec: ExecutionContext = dispatcher
+        CourseBatchCache.getInstance().getDocumentsAsync(batchIds, new java.util.function.Function[util.List[String], CompletionStage[util.List[util.Map[String, AnyRef]]]] {
+            override def apply(ids: util.List[String]): CompletionStage[util.List[util.Map[String, AnyRef]]] = searchBatches(requestContext, ids).asJava
+        }, "getBatches").asScala.map(documents => projectFields(documents, requestedFields))
+    }
+
+    private def projectFields(documents: java.util.List[java.util.Map[String, AnyRef]], requestedFields: java.util.List[String]): java.util.List[java.util.Map[String, AnyRef]] = {
+        documents.asScala.map(document => {
+            if (CollectionUtils.isNotEmpty(requestedFields)) {
+                val batch = new util.HashMap[String, AnyRef]()
+                requestedFields.asScala.filter(field => document.containsKey(field)).foreach(field => batch.put(field, document.get(field)))
+                batch.asInstanceOf[util.Map[String, AnyRef]]
+            } else new util.HashMap[String, AnyRef](document).asInstanceOf[util.Map[String, AnyRef]]
+        }).asJava
+    }
+
+    private def searchBatches(requestContext: RequestContext, batchIds: java.util.List[String]): Future[java.util.List[java.util.Map[String, AnyRef]]] = {
+        implicit val ec: ExecutionContext = dispatcher
         val dto = new SearchDTO
         dto.setLimit(batchIds.size())
         dto.getAdditionalProperties().put(JsonKey.FILTERS, new java.util.HashMap[String, AnyRef](){{ put(JsonKey.BATCH_ID, batchIds)}})
-        if(CollectionUtils.isNotEmpty(requestedFields))
-            dto.setFields(requestedFields)
         val future = esService.search(requestContext, dto, ProjectUtil.EsType.courseBatch.getTypeName)
-        val response = ElasticSearchHelper.getResponseFromFuture(future).asInstanceOf[java.util.Map[String, AnyRef]]
-        response.getOrDefault(JsonKey.CONTENT, new java.util.ArrayList[util.Map[String, AnyRef]]).asInstanceOf[util.List[util.Map[String, AnyRef]]]
+        ElasticSearchHelper.withTimeout(future, batchSearchCallSite, scheduler, ec).map(response =>
+            response.getOrDefault(JsonKey.CONTENT, new java.util.ArrayList[util.Map[String, AnyRef]]).asInstanceOf[util.List[util.Map[String, AnyRef]]])
     }
     
+    /**
+     * Replies to the current sender once the future completes. Failures are sent as the exception,
+     * the same way BaseActor does for the blocking operations.
+     */
+    def pipeResponse(future: Future[AnyRef], requestContext: RequestContext, operation: String): Unit = {
+        implicit val ec: ExecutionContext = context.dispatcher
+        val replyTo = sender()
+        future.recover {
+            case e: Exception =>
+                val cause = if (e.isInstanceOf[CompletionException] && null != e.getCause) e.getCause else e
+                logger.error(requestContext, "Error while processing the message : " + operation, cause)
+                cause
+        }.pipeTo(replyTo)(self)
+    }
+
     def setEsService(es: ElasticSearchService) = {
         esService = es
         this
@@ -1,10 +1,10 @@
 package org.sunbird.enrolments
 
 import com.fasterxml.jackson.databind.ObjectMapper
-import org.apache.commons.collections4.{CollectionUtils, MapUtils}
+import org.apache.commons.collections4.CollectionUtils
 import org.apache.commons.lang3.StringUtils
+import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.cassandra.CassandraOperation
-import org.sunbird.common.CassandraUtil
 import org.sunbird.common.exception.ProjectCommonException
 import org.sunbird.common.models.response.Response
 import org.sunbird.common.models.util._
@@ -12,36 +12,42 @@ import org.sunbird.common.request.{Request, RequestContext}
 import org.sunbird.common.responsecode.ResponseCode
 import org.sunbird.common.util.JsonUtil
 import org.sunbird.helper.ServiceFactory
-import org.sunbird.kafka.client.{InstructionEventGenerator, KafkaClient}
-import org.sunbird.learner.constants.{CourseJsonKey, InstructionEvent}
+import org.sunbird.kafka.client.{KafkaClient, KafkaEventWriter}
 import org.sunbird.learner.util.Util
 
 import java.util
-import java.util.{Date, TimeZone, UUID}
+import java.time.Instant
+import java.time.format.DateTimeFormatter
+import java.util.{Date, TimeZone}
 import javax.inject.Inject
 import scala.collection.JavaConverters._
 import scala.collection.convert.ImplicitConversions._
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.FutureConverters._
 
 case class InternalContentConsumption(courseId: String, batchId: String, contentId: String) {
   def validConsumption() = StringUtils.isNotBlank(courseId) && StringUtils.isNotBlank(batchId) && StringUtils.isNotBlank(contentId)
 }
 
-class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
+class ContentConsumptionActor @Inject()(implicit val cacheUtil: RedisCacheUtil) extends BaseEnrolmentActor {
     private val mapper = new ObjectMapper
     private var cassandraOperation = ServiceFactory.getInstance
     private var pushTokafkaEnabled: Boolean = true //TODO: to be removed once all are in scala
-    private val consumptionDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB)
     private val assessmentAggregatorDBInfo = Util.dbInfoMap.get(JsonKey.ASSESSMENT_AGGREGATOR_DB)
     private val enrolmentDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB)
-    val dateFormatter = ProjectUtil.getDateFormatter
     val jsonFields = Set[String]("progressdetails")
+    private implicit val ec: ExecutionContext = context.dispatcher
+    private lazy val writer = new ContentStateWriter(cassandraOperation, cacheUtil, pushTokafkaEnabled)
+    private val coalescer: Option[ContentStateCoalescer] =
+        if (ContentStateCoalescer.isEnabled) Option(ContentStateCoalescer.getInstance(context.system)) else None
+
+    override def postStop(): Unit = {
+        if (null != cacheUtil) cacheUtil.closePool()
+    }
 
     override def onReceive(request: Request): Unit = {
         Util.initializeContext(request, TelemetryEnvKey.BATCH, this.getClass.getName)
 
-        dateFormatter.setTimeZone(
-            TimeZone.getTimeZone(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_TIMEZONE)))
-
         request.getOperation match {
             case "updateConsumption" => updateConsumption(request)
             case "getConsumption" => getConsumption(request)
@@ -76,11 +82,15 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
             } else contentList
             logger.info(requestContext, "Final content-consumption data: " + finalContentList)
             // Update consumption first and then push the assessment events if there are any. This will help us handling failures of max attempts (for assessment content).
-            val contentConsumptionResponse = processContents(finalContentList, requestContext, requestBy, requestedFor)
-            val assessmentResponse = processAssessments(assessmentEvents, requestContext, requestBy, requestedFor)
-            val finalResponse = assessmentResponse.getOrElse(new Response())
-            finalResponse.putAll(contentConsumptionResponse.getOrElse(new Response()).getResult)
-            sender().tell(finalResponse, self)
+            // Consumptions derived from assessment events are written before the events are pushed, they are never coalesced.
+            val finalResponse = processContents(finalContentList, requestContext, requestBy, requestedFor, CollectionUtils.isEmpty(assessmentEvents)).flatMap(contentConsumptionResponse => {
+                processAssessments(assessmentEvents, requestContext, requestBy, requestedFor).map(assessmentResponse => {
+                    val finalResponse = assessmentResponse.getOrElse(new Response())
+                    finalResponse.putAll(contentConsumptionResponse.getOrElse(new Response()).getResult)
+                    finalResponse
+                })
+            })
+            pipeResponse(finalResponse, requestContext, request.getOperation)
         }
     }
     def updateAssessEventUserid(data: List[java.util.Map[String, AnyRef]], requestedBy: String, requestedFor: String): Map[String, List[util.Map[String, AnyRef]]] = {
@@ -104,106 +114,110 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         updatedData.toList.groupBy(d => d.get(JsonKey.USER_ID).asInstanceOf[String])
     }
 
-    def processAssessments(assessmentEvents: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String): Option[Response] = {
+    def processAssessments(assessmentEvents: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String): Future[Option[Response]] = {
         if(CollectionUtils.isNotEmpty(assessmentEvents)) {
             val batchAssessmentList: Map[String, List[java.util.Map[String, AnyRef]]] = assessmentEvents.filter(event => StringUtils.isNotBlank(event.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String])).toList.groupBy(event => event.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val batchIds = batchAssessmentList.keySet.toList.asJava
-            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getBatches(requestContext ,new java.util.ArrayList[String](batchIds), null).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
-            val invalidBatchIds = batchAssessmentList.keySet.diff(batches.keySet).toList.asJava
-            val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filter { case (key, _) => batchIds.contains(key) }
-            val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
-            val invalidAssessments = new java.util.ArrayList[java.util.Map[String, AnyRef]]()
-            val validUserIds = List(requestedBy, requestedFor).filter(p => StringUtils.isNotBlank(p))
-            val responseMessage = new java.util.HashMap[String, AnyRef]()
-            batchAssessmentList.foreach(input => {
-                val batchId = input._1
-                if(!invalidBatchIds.contains(batchId) && !completedBatchIds.contains(batchId)) {
-                    val userAssessments = updateAssessEventUserid(input._2, requestedBy, requestedFor)
-                    userAssessments.foreach(assessments => {
-                        val userId = assessments._1
-                        if(validUserIds.contains(userId)){
-                            assessments._2.foreach(assessment => {
-                                syncAssessmentData(assessment)
-                                responseMessage.put(batchId, JsonKey.SUCCESS)
-                            })
-                        } else {
-                            invalidAssessments.addAll(assessments._2.asJava)
-                        }
-                    })
-                }
+            getBatchesAsync(requestContext, new java.util.ArrayList[String](batchIds), null).map(batchList => {
+                val batches:Map[String, List[java.util.Map[String, AnyRef]]] = batchList.toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
+                val invalidBatchIds = batchAssessmentList.keySet.diff(batches.keySet).toList.asJava
+                val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filter { case (key, _) => batchIds.contains(key) }
+                val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
+                val invalidAssessments = new java.util.ArrayList[java.util.Map[String, AnyRef]]()
+                val validUserIds = List(requestedBy, requestedFor).filter(p => StringUtils.isNotBlank(p))
+                val responseMessage = new java.util.HashMap[String, AnyRef]()
+                batchAssessmentList.foreach(input => {
+                    val batchId = input._1
+                    if(!invalidBatchIds.contains(batchId) && !completedBatchIds.contains(batchId)) {
+                        val userAssessments = updateAssessEventUserid(input._2, requestedBy, requestedFor)
+                        userAssessments.foreach(assessments => {
+                            val userId = assessments._1
+                            if(validUserIds.contains(userId)){
+                                assessments._2.foreach(assessment => {
+                                    syncAssessmentData(assessment)
+                                    responseMessage.put(batchId, JsonKey.SUCCESS)
+                                })
+                            } else {
+                                invalidAssessments.addAll(assessments._2.asJava)
+                            }
+                        })
+                    }
                 
+                })
+                if(CollectionUtils.isNotEmpty(completedBatchIds)) responseMessage.put("NOT_A_ON_GOING_BATCH", completedBatchIds)
+                if(CollectionUtils.isNotEmpty(invalidBatchIds)) responseMessage.put("BATCH_NOT_EXISTS", invalidBatchIds)
+                if(CollectionUtils.isNotEmpty(invalidAssessments)) {
+                    val map = new java.util.HashMap[String, AnyRef]() {{
+                        put("validUserIds", validUserIds)
+                        put("invalidAssessments", invalidAssessments)
+                        put("ets", System.currentTimeMillis.asInstanceOf[AnyRef])
+                    }}
+                    pushInvalidDataToKafka(requestContext, map, "Assessments")
+                }
+                val response = new Response()
+                response.putAll(responseMessage)
+                Option(response)
             })
-            if(CollectionUtils.isNotEmpty(completedBatchIds)) responseMessage.put("NOT_A_ON_GOING_BATCH", completedBatchIds)
-            if(CollectionUtils.isNotEmpty(invalidBatchIds)) responseMessage.put("BATCH_NOT_EXISTS", invalidBatchIds)
-            if(CollectionUtils.isNotEmpty(invalidAssessments)) {
-                val map = new java.util.HashMap[String, AnyRef]() {{
-                    put("validUserIds", validUserIds)
-                    put("invalidAssessments", invalidAssessments)
-                    put("ets", System.currentTimeMillis.asInstanceOf[AnyRef])
-                }}
-                pushInvalidDataToKafka(requestContext, map, "Assessments")
-            }
-            val response = new Response()
-            response.putAll(responseMessage)
-            Option(response)
-        } else None
+        } else Future.successful(None)
     }
 
-    def processContents(contentList: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String): Option[Response] = {
+    def processContents(contentList: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String, coalesce: Boolean = false): Future[Option[Response]] = {
         if(CollectionUtils.isNotEmpty(contentList)) {
             val batchContentList: Map[String, List[java.util.Map[String, AnyRef]]] = contentList.filter(event => StringUtils.isNotBlank(event.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String])).toList.groupBy(event => event.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val batchIds = batchContentList.keySet.toList.asJava
-            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getBatches(requestContext ,new java.util.ArrayList[String](batchIds), null).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
-            val invalidBatchIds = batchContentList.keySet.diff(batches.keySet).toList.asJava
-            val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filter { case (key, _) => batchIds.contains(key) }
-            val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
-            val responseMessage = new java.util.HashMap[String, AnyRef]()
-            val invalidContents = new java.util.ArrayList[java.util.Map[String, AnyRef]]()
-            val validUserIds = List(requestedBy, requestedFor).filter(p => StringUtils.isNotBlank(p))
-            batchContentList.foreach(input => {
-                val batchId = input._1
-                if(!invalidBatchIds.contains(batchId) && !completedBatchIds.contains(batchId)) {
-                    val userContents = getDataGroupedByUserId(input._2, requestedBy, requestedFor)
-                    userContents.foreach(entry => {
-                        val userId = entry._1
-                        if(validUserIds.contains(userId)) {
-                            val courseId = if (entry._2.head.containsKey(JsonKey.COURSE_ID)) entry._2.head.getOrDefault(JsonKey.COURSE_ID, "").asInstanceOf[String] else entry._2.head.getOrDefault(JsonKey.COLLECTION_ID, "").asInstanceOf[String]
-                            if(entry._2.head.containsKey(JsonKey.COLLECTION_ID)) entry._2.head.remove(JsonKey.COLLECTION_ID)
-                            val contentIds = entry._2.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct.asJava
-                            val existingContents = getContentsConsumption(userId, courseId, contentIds, batchId, requestContext).groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
-                            val contents:List[java.util.Map[String, AnyRef]] = entry._2.toList.map(inputContent => {
-                                val existingContent = existingContents.getOrElse(inputContent.get("contentId").asInstanceOf[String], new java.util.HashMap[String, AnyRef])
-                                CassandraUtil.changeCassandraColumnMapping(processContentConsumption(inputContent, existingContent, userId))
-                            })
-                            // First push the event to kafka and then update cassandra user_content_consumption table
-                            pushInstructionEvent(requestContext, userId, batchId, courseId, contents.asJava)
-                            cassandraOperation.batchInsertLogged(requestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents)
-                            val updateData = getLatestReadDetails(userId, batchId, contents)
-                            cassandraOperation.updateRecordV2(requestContext, enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, updateData._1, updateData._2, true)
-                            contentIds.map(id => responseMessage.put(id,JsonKey.SUCCESS))
-
-                        } else {
-                            logger.info(requestContext, "ContentConsumptionActor: addContent : User Id is invalid : " + userId)
-                            invalidContents.addAll(entry._2.asJava)
-                        }
-                    })
-                   
+            getBatchesAsync(requestContext, new java.util.ArrayList[String](batchIds), null).flatMap(batchList => {
+                val batches:Map[String, List[java.util.Map[String, AnyRef]]] = batchList.toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
+                val invalidBatchIds = batchContentList.keySet.diff(batches.keySet).toList.asJava
+                val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filter { case (key, _) => batchIds.contains(key) }
+                val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
+                val invalidContents = new java.util.ArrayList[java.util.Map[String, AnyRef]]()
+                val validUserIds = List(requestedBy, requestedFor).filter(p => StringUtils.isNotBlank(p))
+                val userUpdates: List[Future[java.util.List[String]]] = batchContentList.toList.flatMap(input => {
+                    val batchId = input._1
+                    if(!invalidBatchIds.contains(batchId) && !completedBatchIds.contains(batchId)) {
+                        val userContents = getDataGroupedByUserId(input._2, requestedBy, requestedFor)
+                        userContents.toList.flatMap(entry => {
+                            val userId = entry._1
+                            if(validUserIds.contains(userId)) {
+                                val courseId = if (entry._2.head.containsKey(JsonKey.COURSE_ID)) entry._2.head.getOrDefault(JsonKey.COURSE_ID, "").asInstanceOf[String] else entry._2.head.getOrDefault(JsonKey.COLLECTION_ID, "").asInstanceOf[String]
+                                if(entry._2.head.containsKey(JsonKey.COLLECTION_ID)) entry._2.head.remove(JsonKey.COLLECTION_ID)
+                                // Contents taken by the coalescer are written with its next flush, the others are written now.
+                                val directContents = coalescer.filter(_ => coalesce).map(c => entry._2.filterNot(content =>
+                                    c.offer(ContentStateKey(userId, courseId, batchId, content.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]), content, requestContext))).getOrElse(entry._2)
+                                val contentIds = entry._2.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct.asJava
+                                if (directContents.isEmpty) Option(Future.successful(contentIds))
+                                else if (directContents.size == entry._2.size) Option(writer.updateUserContents(userId, batchId, courseId, contentIds, entry._2, requestContext))
+                                else {
+                                    val directContentIds = directContents.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct.asJava
+                                    Option(writer.updateUserContents(userId, batchId, courseId, directContentIds, directContents, requestContext).map(_ => contentIds))
+                                }
+                            } else {
+                                logger.info(requestContext, "ContentConsumptionActor: addContent : User Id is invalid : " + userId)
+                                invalidContents.addAll(entry._2.asJava)
+                                None
+                            }
+                        })
+                    } else List()
+                })
+                if(CollectionUtils.isNotEmpty(invalidContents)) {
+                    val map = new java.util.HashMap[String, AnyRef]() {{
+                        put("validUserIds", validUserIds)
+                        put("invalidContents", invalidContents)
+                        put("ets", System.currentTimeMillis.asInstanceOf[AnyRef])
+                    }}
+                    pushInvalidDataToKafka(requestContext, map, "Contents")
                 }
+                Future.sequence(userUpdates).map(updatedContentIds => {
+                    val responseMessage = new java.util.HashMap[String, AnyRef]()
+                    updatedContentIds.foreach(contentIds => contentIds.foreach(id => responseMessage.put(id, JsonKey.SUCCESS)))
+                    if(CollectionUtils.isNotEmpty(completedBatchIds)) responseMessage.put("NOT_A_ON_GOING_BATCH", completedBatchIds)
+                    if(CollectionUtils.isNotEmpty(invalidBatchIds)) responseMessage.put("BATCH_NOT_EXISTS", invalidBatchIds)
+                    val response = new Response()
+                    response.putAll(responseMessage)
+                    Option(response)
+                })
             })
-            if(CollectionUtils.isNotEmpty(completedBatchIds)) responseMessage.put("NOT_A_ON_GOING_BATCH", completedBatchIds)
-            if(CollectionUtils.isNotEmpty(invalidBatchIds)) responseMessage.put("BATCH_NOT_EXISTS", invalidBatchIds)
-            if(CollectionUtils.isNotEmpty(invalidContents)) {
-                val map = new java.util.HashMap[String, AnyRef]() {{
-                    put("validUserIds", validUserIds)
-                    put("invalidContents", invalidContents)
-                    put("ets", System.currentTimeMillis.asInstanceOf[AnyRef])
-                }}
-                pushInvalidDataToKafka(requestContext, map, "Contents")
-            }
-            val response = new Response()
-            response.putAll(responseMessage)
-            Option(response)
-        } else None
+        } else Future.successful(None)
     }
 
     def getDataGroupedByUserId(data: List[java.util.Map[String, AnyRef]], requestedBy: String, requestedFor: String) = {
@@ -219,7 +233,7 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
 
     def syncAssessmentData(assessment: java.util.Map[String, AnyRef]) = {
         val topic = ProjectUtil.getConfigValue("kafka_assessment_topic")
-        if (StringUtils.isNotBlank(topic)) KafkaClient.send(mapper.writeValueAsString(assessment), topic)
+        if (StringUtils.isNotBlank(topic)) KafkaClient.send(null, KafkaEventWriter.writeValue(assessment), topic)
         else throw new ProjectCommonException("BE_JOB_REQUEST_EXCEPTION", "Invalid topic id.", ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -235,157 +249,38 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         }
     }
 
-    def getContentsConsumption(userId: String, courseId : String, contentIds: java.util.List[String], batchId: String, requestContext: RequestContext):java.util.List[java.util.Map[String, AnyRef]] = {
-        val filters = new java.util.HashMap[String, AnyRef]() {{
-            put("userid", userId)
-            put("courseid", courseId)
-            put("batchid", batchId)
-            if(CollectionUtils.isNotEmpty(contentIds))
-                put("contentid", contentIds)
-        }}
-        val response = cassandraOperation.getRecords(requestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, filters, null)
-        response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
-    }
-
-    def processContentConsumption(inputContent: java.util.Map[String, AnyRef], existingContent: java.util.Map[String, AnyRef], userId: String) = {
-        val inputStatus = inputContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
-        val updatedContent = new java.util.HashMap[String, AnyRef]()
-        updatedContent.putAll(inputContent)
-        val parsedMap = new java.util.HashMap[String, AnyRef]()
-        jsonFields.foreach(field =>
-            if(inputContent.containsKey(field)) {
-                parsedMap.put(field, mapper.writeValueAsString(inputContent.get(field)))
-            }
-        )
-        updatedContent.putAll(parsedMap)
-        val inputCompletedTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_COMPLETED_TIME, "").asInstanceOf[String])
-        val inputAccessTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_ACCESS_TIME, "").asInstanceOf[String])
-        if(MapUtils.isNotEmpty(existingContent)) {
-            val existingAccessTime = if(parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_ACCESS_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date])
-            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(existingAccessTime, inputAccessTime))
-            val inputProgress = inputContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
-            val existingProgress = Option(existingContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
-            updatedContent.put(JsonKey.PROGRESS, List(inputProgress, existingProgress).max.asInstanceOf[AnyRef])
-            val existingStatus = Option(existingContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
-            val existingCompletedTime = if (parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_COMPLETED_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date])
-            if(inputStatus >= existingStatus) {
-                if(inputStatus >= 2) {
-                    updatedContent.put(JsonKey.STATUS, 2.asInstanceOf[AnyRef])
-                    updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
-                    updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(existingCompletedTime, inputCompletedTime))
-                }
-            } else {
-                updatedContent.put(JsonKey.STATUS, existingStatus.asInstanceOf[AnyRef])
-            }
-        } else {
-            if(inputStatus >= 2) {
-                updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
-                updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(null, inputCompletedTime))
-            } else {
-                updatedContent.put(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef])
-            }
-            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(null, inputAccessTime))
-        }
-        updatedContent.put(JsonKey.LAST_UPDATED_TIME, ProjectUtil.getTimeStamp)
-        updatedContent.put(JsonKey.USER_ID, userId)
-        updatedContent
-    }
-
-    def parseDate(dateString: String) = {
-        if(StringUtils.isNotBlank(dateString) && !StringUtils.equalsIgnoreCase(JsonKey.NULL, dateString)) {
-            dateFormatter.parse(dateString)
-        } else null
-    }
-
-    def parseDate(date: Date) = {
-        if(date != null) {
-            dateFormatter.parse(dateFormatter.format(date))
-        } else null
-    }
-
-    def compareTime(existingTime: java.util.Date, inputTime: java.util.Date): Date = {
-        if (null == existingTime && null == inputTime) {
-            ProjectUtil.getTimeStamp
-        } else if (null == existingTime) inputTime
-        else if (null == inputTime) existingTime
-        else {
-            if (inputTime.after(existingTime)) inputTime
-            else existingTime
-        }
-    }
-
-    def getLatestReadDetails(userId: String, batchId: String, contents: List[java.util.Map[String, AnyRef]]) = {
-       val lastAccessContent: java.util.Map[String, AnyRef] = contents.groupBy(x => x.getOrDefault(JsonKey.LAST_ACCESS_TIME_KEY, null).asInstanceOf[Date]).maxBy(_._1)._2.get(0)
-       val updateMap = new java.util.HashMap[String, AnyRef] () {{
-            put("lastreadcontentid", lastAccessContent.get(JsonKey.CONTENT_ID_KEY))
-            put("lastreadcontentstatus", lastAccessContent.get("status"))
-            put(JsonKey.LAST_CONTENT_ACCESS_TIME, lastAccessContent.get(JsonKey.LAST_ACCESS_TIME_KEY))
-
-       }}
-      val selectMap = new util.HashMap[String, AnyRef]() {{
-        put("batchId", batchId)
-        put("userId", userId)
-        put("courseId", lastAccessContent.get(JsonKey.COURSE_ID_KEY))
-      }}
-      (selectMap, updateMap)
-    }
-
-    @throws[Exception]
-    private def pushInstructionEvent(requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
-        val data = new java.util.HashMap[String, AnyRef]
-        data.put(CourseJsonKey.ACTOR, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.ID, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorId)
-            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorType)
-        }})
-        data.put(CourseJsonKey.OBJECT, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.ID, batchId + CourseJsonKey.UNDERSCORE + userId)
-            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getType)
-        }})
-        data.put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
-        val contentsMap = contents.map(c => new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.CONTENT_ID, c.get(JsonKey.CONTENT_ID_KEY))
-            put(JsonKey.STATUS, c.get(JsonKey.STATUS))
-        }}).asJava
-        data.put(CourseJsonKey.E_DATA, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.USER_ID, userId)
-            put(JsonKey.BATCH_ID, batchId)
-            put(JsonKey.COURSE_ID, courseId)
-            put(JsonKey.CONTENTS, contentsMap)
-            put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
-            put(CourseJsonKey.ITERATION, 1.asInstanceOf[AnyRef])
-        }})
-        val topic = ProjectUtil.getConfigValue("kafka_topics_instruction")
-        logger.info(requestContext,"LearnerStateUpdateActor: pushInstructionEvent :Event Data " + data + " and Topic " + topic)
-        if(pushTokafkaEnabled)
-            InstructionEventGenerator.pushInstructionEvent(userId, topic, data)
-    }
-
     def getConsumption(request: Request): Unit = {
         val userId = request.get(JsonKey.USER_ID).asInstanceOf[String]
         val batchId = request.get(JsonKey.BATCH_ID).asInstanceOf[String]
         val courseId = request.get(JsonKey.COURSE_ID).asInstanceOf[String]
         val contentIds = request.getRequest.getOrDefault(JsonKey.CONTENT_IDS, new java.util.ArrayList[String]()).asInstanceOf[java.util.List[String]]
         val fields = request.getRequest.getOrDefault(JsonKey.FIELDS, new java.util.ArrayList[String](){{ add(JsonKey.PROGRESS) }}).asInstanceOf[java.util.List[String]]
-        val contentsConsumed = getContentsConsumption(userId, courseId, contentIds, batchId, request.getRequestContext)
-        val response = new Response
-        if(CollectionUtils.isNotEmpty(contentsConsumed)) {
-            val filteredContents = contentsConsumed.map(m => {
-                ProjectUtil.removeUnwantedFields(m, JsonKey.DATE_TIME, JsonKey.USER_ID, JsonKey.ADDED_BY, JsonKey.LAST_UPDATED_TIME, JsonKey.OLD_LAST_ACCESS_TIME, JsonKey.OLD_LAST_UPDATED_TIME, JsonKey.OLD_LAST_COMPLETED_TIME)
-                m.put(JsonKey.COLLECTION_ID, m.getOrDefault(JsonKey.COURSE_ID, ""))
-                jsonFields.foreach(field =>
-                    if(m.get(field) != null)
-                        m.put(field, mapper.readTree(m.get(field).asInstanceOf[String]))
-                )
-                val formattedMap = JsonUtil.convertWithDateFormat(m, classOf[util.Map[String, Object]], dateFormatter)
-                if (fields.contains(JsonKey.ASSESSMENT_SCORE))
-                    formattedMap.putAll(mapAsJavaMap(Map(JsonKey.ASSESSMENT_SCORE -> getScore(userId, courseId, m.get("contentId").asInstanceOf[String], batchId, request.getRequestContext))))
-                formattedMap
-            }).asJava
-            response.put(JsonKey.RESPONSE, filteredContents)
-        } else {
-            response.put(JsonKey.RESPONSE, new java.util.ArrayList[AnyRef]())
-        }
-        sender().tell(response, self)
+        val futureResponse = writer.getContentsConsumptionAsync(userId, courseId, contentIds, batchId, request.getRequestContext).map(contentsConsumed => {
+            val response = new Response
+            if(CollectionUtils.isNotEmpty(contentsConsumed)) {
+                val filteredContents = contentsConsumed.map(m => {
+                    ProjectUtil.removeUnwantedFields(m, JsonKey.DATE_TIME, JsonKey.USER_ID, JsonKey.ADDED_BY, JsonKey.LAST_UPDATED_TIME, JsonKey.OLD_LAST_ACCESS_TIME, JsonKey.OLD_LAST_UPDATED_TIME, JsonKey.OLD_LAST_COMPLETED_TIME)
+                    m.put(JsonKey.COLLECTION_ID, m.getOrDefault(JsonKey.COURSE_ID, ""))
+                    jsonFields.foreach(field =>
+                        if(m.get(field) != null)
+                            m.put(field, mapper.readTree(m.get(field).asInstanceOf[String]))
+                    )
+                    m.entrySet().foreach(entry => entry.getValue match {
+                        case date: Date => entry.setValue(ContentConsumptionActor.dateTimeFormatter.format(Instant.ofEpochMilli(date.getTime)))
+                        case _ =>
+                    })
+                    val formattedMap = JsonUtil.convert(m, classOf[util.Map[String, Object]])
+                    if (fields.contains(JsonKey.ASSESSMENT_SCORE))
+                        formattedMap.putAll(mapAsJavaMap(Map(JsonKey.ASSESSMENT_SCORE -> getScore(userId, courseId, m.get("contentId").asInstanceOf[String], batchId, request.getRequestContext))))
+                    formattedMap
+                }).asJava
+                response.put(JsonKey.RESPONSE, filteredContents)
+            } else {
+                response.put(JsonKey.RESPONSE, new java.util.ArrayList[AnyRef]())
+            }
+            response
+        })
+        pipeResponse(futureResponse, request.getRequestContext, request.getOperation)
     }
     
     //TODO: to be removed once all in scala
@@ -422,13 +317,13 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         val courseId: String = request.getOrDefault(JsonKey.COURSE_ID, "").asInstanceOf[String]
         val batchId: String = request.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String]
         val filters = Map[String, AnyRef]("userid"-> userId, "courseid"-> courseId, "batchid"-> batchId).asJava
-        val result = cassandraOperation
-          .getRecords(request.getRequestContext, enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, filters,
-              null)
-        val resp = result.getResult
-          .getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]])
-          .asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
-        val response = {
+        val response = cassandraOperation
+          .getRecordsAsync(request.getRequestContext, enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, filters,
+              null).asScala
+          .map(result => {
+            val resp = result.getResult
+              .getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]])
+              .asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
             if (CollectionUtils.isNotEmpty(resp)) {
                 pushEnrolmentSyncEvent(userId, courseId, batchId)
                 successResponse()
@@ -436,21 +331,25 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
                 new ProjectCommonException(ResponseCode.invalidRequestData.getErrorCode,
                     s"""No Enrolment found for userId: $userId, batchId: $batchId, courseId: $courseId""", ResponseCode.CLIENT_ERROR.getResponseCode)
             }
-        }
-        sender().tell(response, self)
+          })
+        pipeResponse(response, request.getRequestContext, request.getOperation)
     }
 
     def pushEnrolmentSyncEvent(userId: String, courseId: String, batchId: String) = {
-        val now = System.currentTimeMillis()
-        val event =
-            s"""{"eid":"BE_JOB_REQUEST","ets":$now,"mid":"LP.$now.${UUID.randomUUID()}"
-               |,"actor":{"type":"System","id":"Course Batch Updater"},"context":{"pdata":{"ver":"1.0","id":"org.sunbird.platform"}}
-               |,"object":{"type":"CourseBatchEnrolment","id":"${batchId}_${userId}"},"edata":{"action":"user-enrolment-sync"
-               |,"iteration":1,"batchId":"$batchId","userId":"$userId","courseId":"$courseId"}}""".stripMargin
-              .replaceAll("\n", "")
         if(pushTokafkaEnabled){
+            val event = KafkaEventWriter.writeInstructionEvent("Course Batch Updater", "System", batchId + "_" + userId,
+                "CourseBatchEnrolment", "user-enrolment-sync", generator => {
+                    generator.writeStringField("batchId", batchId)
+                    generator.writeStringField("userId", userId)
+                    generator.writeStringField("courseId", courseId)
+                })
             val topic = ProjectUtil.getConfigValue("kafka_enrolment_sync_topic")
             KafkaClient.send(userId, event, topic)
         }
     }
 }
+
+object ContentConsumptionActor {
+    val dateTimeFormatter: DateTimeFormatter =
+        ProjectUtil.getDateTimeFormatter(TimeZone.getTimeZone(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_TIMEZONE)).toZoneId)
+}
@@ -0,0 +1,156 @@
+package org.sunbird.enrolments
+
+import org.apache.commons.lang3.StringUtils
+import org.apache.pekko.Done
+import org.apache.pekko.actor.{ActorSystem, CoordinatedShutdown}
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.common.models.util.{LoggerUtil, ProjectUtil}
+import org.sunbird.common.request.RequestContext
+import org.sunbird.common.util.StatsRegistry
+import org.sunbird.helper.ServiceFactory
+
+import java.util
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{Executors, TimeUnit}
+import scala.collection.JavaConverters._
+import scala.concurrent.{ExecutionContext, Future}
+
+case class ContentStateKey(userId: String, courseId: String, batchId: String, contentId: String)
+
+case class PendingContentState(key: ContentStateKey, content: util.Map[String, AnyRef], requestContext: RequestContext)
+
+/**
+ * Holds the content state updates of a short window, keyed by user, course, batch and content.
+ * Updates of the same key are merged with the given merge function, so a single write and event is
+ * made per key and window. The number of pending keys is bounded by maxPending, updates of new keys
+ * beyond it are rejected and have to be written directly by the caller.
+ *
+ * The request of a coalesced update is answered before the update is written, a write which fails
+ * at the flush is logged and the update is lost, so coalescing trades the durability of the latest
+ * progress of a window for fewer writes and is disabled by default.
+ */
+class ContentStateCoalescer(val maxPending: Int, merge: (util.Map[String, AnyRef], util.Map[String, AnyRef]) => util.Map[String, AnyRef]) {
+
+    private val pending = new util.LinkedHashMap[ContentStateKey, PendingContentState]()
+    private val offeredCount = new AtomicLong()
+    private val coalescedCount = new AtomicLong()
+    private val rejectedCount = new AtomicLong()
+    private val flushedCount = new AtomicLong()
+
+    /**
+     * Adds the update to the pending state of its key.
+     *
+     * @return false if the update was not taken because the pending keys are at the limit
+     */
+    def offer(key: ContentStateKey, content: util.Map[String, AnyRef], requestContext: RequestContext): Boolean = {
+        offeredCount.incrementAndGet()
+        pending.synchronized {
+            val existing = pending.get(key)
+            if (null != existing) {
+                pending.put(key, PendingContentState(key, merge(existing.content, content), requestContext))
+                coalescedCount.incrementAndGet()
+                true
+            } else if (pending.size() < maxPending) {
+                pending.put(key, PendingContentState(key, content, requestContext))
+                true
+            } else {
+                rejectedCount.incrementAndGet()
+                false
+            }
+        }
+    }
+
+    /** Removes and returns all pending updates in arrival order of their keys. */
+    def drain(): List[PendingContentState] = {
+        val drained = pending.synchronized {
+            val values = pending.values().asScala.toList
+            pending.clear()
+            values
+        }
+        flushedCount.addAndGet(drained.size)
+        drained
+    }
+
+    def size(): Int = pending.synchronized(pending.size())
+
+    def getStats(): util.Map[String, AnyRef] = {
+        val stats = new util.HashMap[String, AnyRef]()
+        stats.put("offered", offeredCount.get().asInstanceOf[AnyRef])
+        stats.put("coalesced", coalescedCount.get().asInstanceOf[AnyRef])
+        stats.put("rejected", rejectedCount.get().asInstanceOf[AnyRef])
+        stats.put("flushed", flushedCount.get().asInstanceOf[AnyRef])
+        stats.put("pending", size().asInstanceOf[AnyRef])
+        stats.put("maxPending", maxPending.asInstanceOf[AnyRef])
+        stats
+    }
+}
+
+object ContentStateCoalescer {
+    private val logger = new LoggerUtil(classOf[ContentStateCoalescer])
+    val isEnabled: Boolean = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("content_state_coalescing_enable")))
+        (ProjectUtil.getConfigValue("content_state_coalescing_enable")).toBoolean else false
+    val windowMs: Long = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("content_state_coalescing_window_ms")))
+        (ProjectUtil.getConfigValue("content_state_coalescing_window_ms")).toLong else 2000
+    val maxPending: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("content_state_coalescing_max_pending")))
+        (ProjectUtil.getConfigValue("content_state_coalescing_max_pending")).toInt else 10000
+    private var instance: ContentStateCoalescer = _
+
+    /**
+     * Returns the coalescer shared by all instances of ContentConsumptionActor. Its flush runs on its own
+     * thread with its own writer and redis pool, so it outlives the actor instances and their restarts.
+     * It is flushed every window and once more when the actor system shuts down, after the http requests
+     * are drained. A flush starts only after the previous one completed, a window whose previous flush is
+     * still writing is skipped, so the read-merge-write of a key is never interleaved with another.
+     */
+    def getInstance(system: ActorSystem): ContentStateCoalescer = synchronized {
+        if (null == instance) {
+            val executor = Executors.newSingleThreadScheduledExecutor(runnable => {
+                val thread = new Thread(runnable, "content-state-flush")
+                thread.setDaemon(true)
+                thread
+            })
+            implicit val ec: ExecutionContext = ExecutionContext.fromExecutor(executor)
+            val writer = new ContentStateWriter(ServiceFactory.getInstance, new RedisCacheUtil(), true)
+            val coalescer = new ContentStateCoalescer(maxPending, writer.mergeContentInput)
+            val flusher = new SerialFlusher(coalescer, writer)
+            executor.scheduleWithFixedDelay(() => flusher.flushIfIdle(), windowMs, windowMs, TimeUnit.MILLISECONDS)
+            CoordinatedShutdown(system).addTask(CoordinatedShutdown.PhaseServiceStop, "flush-content-state")(() =>
+                flusher.flush().map(_ => Done))
+            StatsRegistry.register("content-state-coalescer", () => coalescer.getStats())
+            instance = coalescer
+        }
+        instance
+    }
+
+    /** Runs the flushes of a coalescer one after the other. A failed flush is logged and does not stop the next ones. */
+    private[enrolments] class SerialFlusher(coalescer: ContentStateCoalescer, writer: ContentStateWriter)(implicit ec: ExecutionContext) {
+        private var last: Future[Unit] = Future.unit
+
+        /** Starts a flush once the flush in flight, if any, completed. */
+        def flush(): Future[Unit] = synchronized {
+            last = last.transformWith(_ => Future.delegate(ContentStateCoalescer.flush(coalescer, writer)).recover({
+                case e: Throwable => logger.error(null, "ContentStateCoalescer: flush : failed to flush the pending contents", e)
+            }))
+            last
+        }
+
+        /** Starts a flush unless one is in flight, the pending contents are then taken by the next window. */
+        def flushIfIdle(): Unit = synchronized {
+            if (last.isCompleted) flush()
+        }
+    }
+
+    /** Writes the pending contents of the coalescer, grouped by user and batch like a request. */
+    private[enrolments] def flush(coalescer: ContentStateCoalescer, writer: ContentStateWriter)(implicit ec: ExecutionContext): Future[Unit] = {
+        val groups = coalescer.drain().groupBy(pending => (pending.key.userId, pending.key.batchId, pending.key.courseId))
+        Future.traverse(groups.toList)({ case ((userId, batchId, courseId), contents) =>
+            val requestContext = contents.last.requestContext
+            val contentIds = contents.map(_.key.contentId).asJava
+            writer.updateUserContents(userId, batchId, courseId, contentIds, contents.map(_.content), requestContext).recover({
+                case e: Throwable =>
+                    logger.error(requestContext, "ContentStateCoalescer: flush : failed to write contents " + contentIds + " of userId: " + userId + ", batchId: " + batchId, e)
+                    contentIds
+            })
+        }).map(_ => ())
+    }
+}
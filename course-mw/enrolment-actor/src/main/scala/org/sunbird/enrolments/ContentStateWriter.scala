@@ -0,0 +1,207 @@
+package org.sunbird.enrolments
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.commons.collections4.{CollectionUtils, MapUtils}
+import org.apache.commons.lang3.StringUtils
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.cassandra.CassandraOperation
+import org.sunbird.common.CassandraUtil
+import org.sunbird.common.models.response.Response
+import org.sunbird.common.models.util._
+import org.sunbird.common.request.RequestContext
+import org.sunbird.kafka.client.{InstructionEventGenerator, KafkaEventWriter}
+import org.sunbird.learner.constants.{CourseJsonKey, InstructionEvent}
+import org.sunbird.learner.util.Util
+
+import java.nio.charset.StandardCharsets
+import java.time.Instant
+import java.util
+import java.util.Date
+import scala.collection.JavaConverters._
+import scala.collection.convert.ImplicitConversions._
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.FutureConverters._
+
+/**
+ * Writes the content states of a user in a batch: the consumption of the contents, the last read
+ * details of the enrolment and the state update event. It holds no actor state, so it is used both
+ * by ContentConsumptionActor and by the flush of the shared ContentStateCoalescer.
+ */
+class ContentStateWriter(cassandraOperation: CassandraOperation, cacheUtil: RedisCacheUtil, pushToKafkaEnabled: Boolean)(implicit ec: ExecutionContext) {
+
+    private val logger = new LoggerUtil(classOf[ContentStateWriter])
+    private val mapper = new ObjectMapper
+    private val consumptionDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB)
+    private val enrolmentDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB)
+    val jsonFields = Set[String]("progressdetails")
+
+    /**
+     * Reads the existing consumption and the enrolment of the user in parallel, merges the input into
+     * the consumption and writes the consumption and the enrolment's last read details concurrently.
+     * The enrolment is updated only if the read found it, so the update never creates a row, and then
+     * the cached enrolment list of the user is invalidated.
+     */
+    def updateUserContents(userId: String, batchId: String, courseId: String, contentIds: java.util.List[String], inputContents: List[java.util.Map[String, AnyRef]], requestContext: RequestContext): Future[java.util.List[String]] = {
+        val consumptionFuture = getContentsConsumptionAsync(userId, courseId, contentIds, batchId, requestContext)
+        val enrolmentFuture = isEnrolledAsync(userId, courseId, batchId, requestContext)
+        consumptionFuture.zip(enrolmentFuture).flatMap({ case (consumedContents, enrolled) =>
+            val existingContents = consumedContents.groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
+            val contents:List[java.util.Map[String, AnyRef]] = inputContents.map(inputContent => {
+                val existingContent = existingContents.getOrElse(inputContent.get("contentId").asInstanceOf[String], new java.util.HashMap[String, AnyRef])
+                CassandraUtil.changeCassandraColumnMapping(processContentConsumption(inputContent, existingContent, userId))
+            })
+            // The event is sent without waiting for its delivery, KafkaClient logs and counts a failed delivery.
+            // The consumption and the enrolment are written concurrently with it.
+            pushInstructionEvent(requestContext, userId, batchId, courseId, contents.asJava)
+            val consumptionWrite = cassandraOperation.batchInsertLoggedAsync(requestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents).asScala
+            val enrolmentWrite = if (enrolled) {
+                val updateData = getLatestReadDetails(userId, batchId, contents)
+                cassandraOperation.updateRecordV2Async(requestContext, enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, updateData._1, updateData._2, false).asScala
+            } else {
+                logger.info(requestContext, "ContentStateWriter: updateUserContents : no enrolment found for userId: " + userId + ", batchId: " + batchId + ", courseId: " + courseId)
+                Future.successful(new Response())
+            }
+            consumptionWrite.zip(enrolmentWrite).map(_ => {
+                if (enrolled && EnrolmentListCache.isCacheEnabled) EnrolmentListCache.instance.invalidate(userId, cacheUtil)
+                contentIds
+            })
+        })
+    }
+
+    private def isEnrolledAsync(userId: String, courseId: String, batchId: String, requestContext: RequestContext): Future[Boolean] = {
+        val filters = Map[String, AnyRef]("userid"-> userId, "courseid"-> courseId, "batchid"-> batchId).asJava
+        cassandraOperation.getRecordsAsync(requestContext, enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, filters, java.util.Arrays.asList("active")).asScala
+          .map(response => CollectionUtils.isNotEmpty(response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]))
+    }
+
+    def getContentsConsumptionAsync(userId: String, courseId : String, contentIds: java.util.List[String], batchId: String, requestContext: RequestContext): Future[java.util.List[java.util.Map[String, AnyRef]]] = {
+        val filters = new java.util.HashMap[String, AnyRef]() {{
+            put("userid", userId)
+            put("courseid", courseId)
+            put("batchid", batchId)
+            if(CollectionUtils.isNotEmpty(contentIds))
+                put("contentid", contentIds)
+        }}
+        cassandraOperation.getRecordsAsync(requestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, filters, null).asScala
+          .map(response => response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]])
+    }
+
+    /**
+     * Merges two inputs of the same content with the rules of processContentConsumption: the higher
+     * status and progress and the later access and completion times are kept, the other fields are
+     * taken from the latest input.
+     */
+    def mergeContentInput(previous: java.util.Map[String, AnyRef], latest: java.util.Map[String, AnyRef]): java.util.Map[String, AnyRef] = {
+        val merged = new java.util.HashMap[String, AnyRef](previous)
+        merged.putAll(latest)
+        List(JsonKey.STATUS, JsonKey.PROGRESS).foreach(field => {
+            val value = List(previous, latest).map(content => Option(content.get(field).asInstanceOf[Number]).map(_.intValue()).getOrElse(0)).max
+            merged.put(field, value.asInstanceOf[AnyRef])
+        })
+        List(JsonKey.LAST_ACCESS_TIME, JsonKey.LAST_COMPLETED_TIME).foreach(field => {
+            val previousTime = parseDate(previous.getOrDefault(field, "").asInstanceOf[String])
+            val latestTime = parseDate(latest.getOrDefault(field, "").asInstanceOf[String])
+            if (null != previousTime && (null == latestTime || previousTime.isAfter(latestTime)))
+                merged.put(field, previous.get(field))
+        })
+        merged
+    }
+
+    def processContentConsumption(inputContent: java.util.Map[String, AnyRef], existingContent: java.util.Map[String, AnyRef], userId: String) = {
+        val inputStatus = inputContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
+        val updatedContent = new java.util.HashMap[String, AnyRef]()
+        updatedContent.putAll(inputContent)
+        val parsedMap = new java.util.HashMap[String, AnyRef]()
+        jsonFields.foreach(field =>
+            if(inputContent.containsKey(field)) {
+                parsedMap.put(field, mapper.writeValueAsString(inputContent.get(field)))
+            }
+        )
+        updatedContent.putAll(parsedMap)
+        val inputCompletedTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_COMPLETED_TIME, "").asInstanceOf[String])
+        val inputAccessTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_ACCESS_TIME, "").asInstanceOf[String])
+        if(MapUtils.isNotEmpty(existingContent)) {
+            val existingAccessTime = Option(parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date])).getOrElse(parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_ACCESS_TIME, "").asInstanceOf[String]))
+            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(existingAccessTime, inputAccessTime))
+            val inputProgress = inputContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
+            val existingProgress = Option(existingContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
+            updatedContent.put(JsonKey.PROGRESS, List(inputProgress, existingProgress).max.asInstanceOf[AnyRef])
+            val existingStatus = Option(existingContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
+            val existingCompletedTime = Option(parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date])).getOrElse(parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_COMPLETED_TIME, "").asInstanceOf[String]))
+            if(inputStatus >= existingStatus) {
+                if(inputStatus >= 2) {
+                    updatedContent.put(JsonKey.STATUS, 2.asInstanceOf[AnyRef])
+                    updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
+                    updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(existingCompletedTime, inputCompletedTime))
+                }
+            } else {
+                updatedContent.put(JsonKey.STATUS, existingStatus.asInstanceOf[AnyRef])
+            }
+        } else {
+            if(inputStatus >= 2) {
+                updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
+                updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(null, inputCompletedTime))
+            } else {
+                updatedContent.put(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef])
+            }
+            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(null, inputAccessTime))
+        }
+        updatedContent.put(JsonKey.LAST_UPDATED_TIME, ProjectUtil.getTimeStamp)
+        updatedContent.put(JsonKey.USER_ID, userId)
+        updatedContent
+    }
+
+    def parseDate(dateString: String): Instant = {
+        if(StringUtils.isNotBlank(dateString) && !StringUtils.equalsIgnoreCase(JsonKey.NULL, dateString)) {
+            Instant.from(ContentConsumptionActor.dateTimeFormatter.parse(dateString))
+        } else null
+    }
+
+    def parseDate(date: Date): Instant = if(date != null) Instant.ofEpochMilli(date.getTime) else null
+
+    def compareTime(existingTime: Instant, inputTime: Instant): Date = {
+        if (null == existingTime && null == inputTime) {
+            ProjectUtil.getTimeStamp
+        } else if (null == existingTime || (null != inputTime && inputTime.isAfter(existingTime))) Date.from(inputTime)
+        else Date.from(existingTime)
+    }
+
+    def getLatestReadDetails(userId: String, batchId: String, contents: List[java.util.Map[String, AnyRef]]) = {
+       val lastAccessContent: java.util.Map[String, AnyRef] = contents.groupBy(x => x.getOrDefault(JsonKey.LAST_ACCESS_TIME_KEY, null).asInstanceOf[Date]).maxBy(_._1)._2.get(0)
+       val updateMap = new java.util.HashMap[String, AnyRef] () {{
+            put("lastreadcontentid", lastAccessContent.get(JsonKey.CONTENT_ID_KEY))
+            put("lastreadcontentstatus", lastAccessContent.get("status"))
+            put(JsonKey.LAST_CONTENT_ACCESS_TIME, lastAccessContent.get(JsonKey.LAST_ACCESS_TIME_KEY))
+
+       }}
+      val selectMap = new util.HashMap[String, AnyRef]() {{
+        put("batchId", batchId)
+        put("userId", userId)
+        put("courseId", lastAccessContent.get(JsonKey.COURSE_ID_KEY))
+      }}
+      (selectMap, updateMap)
+    }
+
+    @throws[Exception]
+    private def pushInstructionEvent(requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
+        val event = KafkaEventWriter.writeInstructionEvent(InstructionEvent.BATCH_USER_STATE_UPDATE.getActorId,
+            InstructionEvent.BATCH_USER_STATE_UPDATE.getActorType, batchId + CourseJsonKey.UNDERSCORE + userId,
+            InstructionEvent.BATCH_USER_STATE_UPDATE.getType, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction, generator => {
+                generator.writeStringField(JsonKey.USER_ID, userId)
+                generator.writeStringField(JsonKey.BATCH_ID, batchId)
+                generator.writeStringField(JsonKey.COURSE_ID, courseId)
+                generator.writeArrayFieldStart(JsonKey.CONTENTS)
+                contents.foreach(c => {
+                    generator.writeStartObject()
+                    generator.writeObjectField(JsonKey.CONTENT_ID, c.get(JsonKey.CONTENT_ID_KEY))
+                    generator.writeObjectField(JsonKey.STATUS, c.get(JsonKey.STATUS))
+                    generator.writeEndObject()
+                })
+                generator.writeEndArray()
+            })
+        val topic = ProjectUtil.getConfigValue("kafka_topics_instruction")
+        logger.debug(requestContext, () => "LearnerStateUpdateActor: pushInstructionEvent :Event Data " + new String(event, StandardCharsets.UTF_8) + " and Topic " + topic)
+        if(pushToKafkaEnabled)
+            InstructionEventGenerator.pushInstructionEvent(userId, topic, event)
+    }
+}
@@ -2,7 +2,7 @@ package org.sunbird.enrolments
 
 import org.apache.pekko.actor.ActorRef
 import com.fasterxml.jackson.databind.ObjectMapper
-import org.apache.commons.collections4.CollectionUtils
+import org.apache.commons.collections4.{CollectionUtils, MapUtils}
 import org.apache.commons.lang3.StringUtils
 import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.common.CassandraUtil
@@ -29,6 +29,9 @@ import java.util.Date
 import javax.inject.{Inject, Named}
 import scala.collection.JavaConverters._
 import scala.collection.convert.ImplicitConversions._
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.FutureConverters._
+import scala.util.{Failure, Success, Try}
 
 class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") courseBatchNotificationActorRef: ActorRef
                                     )(implicit val  cacheUtil: RedisCacheUtil ) extends BaseEnrolmentActor {
@@ -40,11 +43,10 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
     var courseBatchDao: CourseBatchDao = new CourseBatchDaoImpl()
     var userCoursesDao: UserCoursesDao = new UserCoursesDaoImpl()
     var groupDao: GroupDaoImpl = new GroupDaoImpl()
-    val isCacheEnabled = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")))
-        (ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")).toBoolean else true
-    val ttl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")))
-        (ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")).toInt else 60
+    var enrolmentListCache: EnrolmentListCache = EnrolmentListCache.instance
+    val isCacheEnabled = EnrolmentListCache.isCacheEnabled
     private val DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd")
+    private implicit val ec: ExecutionContext = context.dispatcher
 
 
     override def preStart { println("Starting CourseEnrolmentActor") }
@@ -80,12 +82,18 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         val enrolmentData: UserCourses = userCoursesDao.read(request.getRequestContext, userId, courseId, batchId)
         validateEnrolment(batchData, enrolmentData, true)
         val data: java.util.Map[String, AnyRef] = createUserEnrolmentMap(userId, courseId, batchId, enrolmentData, request.getContext.getOrDefault(JsonKey.REQUEST_ID, "").asInstanceOf[String])
-        upsertEnrollment(userId, courseId, batchId, data, (null == enrolmentData), request.getRequestContext)
-        logger.info(request.getRequestContext, "CourseEnrolmentActor :: enroll :: Deleting redis for key " + getCacheKey(userId))
-        cacheUtil.delete(getCacheKey(userId))
-        sender().tell(successResponse(), self)
-        generateTelemetryAudit(userId, courseId, batchId, data, "enrol", JsonKey.CREATE, request.getContext)
-        notifyUser(userId, batchData, JsonKey.ADD)
+        val response = upsertEnrollment(userId, courseId, batchId, data, (null == enrolmentData), request.getRequestContext).map(_ => {
+            logger.info(request.getRequestContext, "CourseEnrolmentActor :: enroll :: Deleting cache for key " + getCacheKey(userId))
+            enrolmentListCache.invalidate(userId, cacheUtil)
+            successResponse()
+        })
+        pipeResponse(response, request.getRequestContext, request.getOperation)
+        // The callback runs outside of the actor, so it only uses values captured here.
+        val selfRef = self
+        response.foreach(_ => {
+            generateTelemetryAudit(userId, courseId, batchId, data, "enrol", JsonKey.CREATE, request.getContext)
+            notifyUser(userId, batchData, JsonKey.ADD, selfRef)
+        })
     }
     
     
@@ -95,15 +103,20 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         val batchId: String = request.get(JsonKey.BATCH_ID).asInstanceOf[String]
         val batchData: CourseBatch = courseBatchDao.readById(courseId, batchId, request.getRequestContext)
         val enrolmentData: UserCourses = userCoursesDao.read(request.getRequestContext, userId, courseId, batchId)
-        getUpdatedStatus(enrolmentData)
+        getUpdatedStatus(enrolmentData, request.getRequestContext)
         validateEnrolment(batchData, enrolmentData, false)
         val data: java.util.Map[String, AnyRef] = new java.util.HashMap[String, AnyRef]() {{ put(JsonKey.ACTIVE, ProjectUtil.ActiveStatus.INACTIVE.getValue.asInstanceOf[AnyRef]) }}
-        upsertEnrollment(userId,courseId, batchId, data, false, request.getRequestContext)
-        logger.info(request.getRequestContext, "CourseEnrolmentActor :: unEnroll :: Deleting redis for key " + getCacheKey(userId))
-        cacheUtil.delete(getCacheKey(userId))
-        sender().tell(successResponse(), self)
-        generateTelemetryAudit(userId, courseId, batchId, data, "unenrol", JsonKey.UPDATE, request.getContext)
-        notifyUser(userId, batchData, JsonKey.REMOVE)
+        val response = upsertEnrollment(userId,courseId, batchId, data, false, request.getRequestContext).map(_ => {
+            logger.info(request.getRequestContext, "CourseEnrolmentActor :: unEnroll :: Deleting cache for key " + getCacheKey(userId))
+            enrolmentListCache.invalidate(userId, cacheUtil)
+            successResponse()
+        })
+        pipeResponse(response, request.getRequestContext, request.getOperation)
+        val selfRef = self
+        response.foreach(_ => {
+            generateTelemetryAudit(userId, courseId, batchId, data, "unenrol", JsonKey.UPDATE, request.getContext)
+            notifyUser(userId, batchData, JsonKey.REMOVE, selfRef)
+        })
     }
 
     def list(request: Request): Unit = {
@@ -136,10 +149,14 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
     }
 
     def addCourseDetails(activeEnrolments: java.util.List[java.util.Map[String, AnyRef]], courseIds: java.util.List[String] , request:Request): java.util.List[java.util.Map[String, AnyRef]] = {
-        val requestBody: String =  prepareSearchRequest(courseIds, request)
-        val searchResult:java.util.Map[String, AnyRef] = ContentSearchUtil.searchContentSync(request.getRequestContext, request.getContext.getOrDefault(JsonKey.URL_QUERY_STRING,"").asInstanceOf[String], requestBody, request.get(JsonKey.HEADER).asInstanceOf[java.util.Map[String, String]])
-        val coursesList: java.util.List[java.util.Map[String, AnyRef]] = searchResult.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]()).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
-        val coursesMap = {
+        val urlQueryString = request.getContext.getOrDefault(JsonKey.URL_QUERY_STRING,"").asInstanceOf[String]
+        val headers = request.get(JsonKey.HEADER).asInstanceOf[java.util.Map[String, String]]
+        val coursesMap: Map[String, java.util.Map[String, AnyRef]] = if (MapUtils.isEmpty(request.getRequest.get(JsonKey.FILTERS).asInstanceOf[java.util.Map[String, AnyRef]])) {
+            CourseMetadataCache.getInstance().getAll(request.getRequestContext, courseIds, urlQueryString, headers).asScala.toMap
+        } else {
+            val requestBody: String =  prepareSearchRequest(courseIds, request)
+            val searchResult:java.util.Map[String, AnyRef] = ContentSearchUtil.searchContentSync(request.getRequestContext, urlQueryString, requestBody, headers)
+            val coursesList: java.util.List[java.util.Map[String, AnyRef]] = searchResult.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]()).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
             if(CollectionUtils.isNotEmpty(coursesList)) {
                 coursesList.map(ev => ev.get(JsonKey.IDENTIFIER).asInstanceOf[String] -> ev).toMap
             } else Map()
@@ -224,12 +241,12 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         if(!isEnrol && ProjectUtil.ProgressStatus.COMPLETED.getValue == enrolmentData.getStatus) ProjectCommonException.throwClientErrorException(ResponseCode.courseBatchAlreadyCompleted, ResponseCode.courseBatchAlreadyCompleted.getErrorMessage)
     }
 
-    def upsertEnrollment(userId: String, courseId: String, batchId: String, data: java.util.Map[String, AnyRef], isNew: Boolean, requestContext: RequestContext): Unit = {
+    def upsertEnrollment(userId: String, courseId: String, batchId: String, data: java.util.Map[String, AnyRef], isNew: Boolean, requestContext: RequestContext): Future[Response] = {
         val dataMap = CassandraUtil.changeCassandraColumnMapping(data)
         if(isNew) {
-            userCoursesDao.insertV2(requestContext, dataMap)
+            userCoursesDao.insertV2Async(requestContext, dataMap).asScala
         } else {
-            userCoursesDao.updateV2(requestContext, userId, courseId, batchId, dataMap)
+            userCoursesDao.updateV2Async(requestContext, userId, courseId, batchId, dataMap).asScala
         }
     }
 
@@ -248,7 +265,7 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
             }
         }}
 
-    def notifyUser(userId: String, batchData: CourseBatch, operationType: String): Unit = {
+    def notifyUser(userId: String, batchData: CourseBatch, operationType: String, from: ActorRef): Unit = {
         val isNotifyUser = java.lang.Boolean.parseBoolean(PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_COURSE_BATCH_NOTIFICATIONS_ENABLED))
         if(isNotifyUser){
             val request = new Request()
@@ -256,7 +273,7 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
             request.put(JsonKey.USER_ID, userId)
             request.put(JsonKey.COURSE_BATCH, batchData)
             request.put(JsonKey.OPERATION_TYPE, operationType)
-            courseBatchNotificationActorRef.tell(request, getSelf())
+            courseBatchNotificationActorRef.tell(request, from)
         }
     }
 
@@ -298,20 +315,10 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         case _ => 100
     }
 
-    def getCacheKey(userId: String) = s"$userId:user-enrolments"
+    def getCacheKey(userId: String) = EnrolmentListCache.getCacheKey(userId)
 
-    def getCachedEnrolmentList(userId: String, handleEmptyCache: () => Response): Response = {
-        val key = getCacheKey(userId)
-        val responseString = cacheUtil.get(key)
-        if (StringUtils.isNotBlank(responseString)) {
-            JsonUtil.deserialize(responseString, classOf[Response])
-        } else {
-            val response = handleEmptyCache()
-            val responseString = JsonUtil.serialize(response)
-            cacheUtil.set(key, responseString, ttl)
-            response
-        }
-    }
+    def getCachedEnrolmentList(userId: String, handleEmptyCache: () => Response): Response =
+        enrolmentListCache.get(userId, cacheUtil, handleEmptyCache)
 
     def getEnrolmentList(request: Request, userId: String, courseIdList: java.util.List[String]): Response = {
         logger.info(request.getRequestContext,"CourseEnrolmentActor :: getCachedEnrolmentList :: fetching data from cassandra with userId " + userId)
@@ -341,14 +348,28 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         this
     }
 
+    def setEnrolmentListCache(cache: EnrolmentListCache) = {
+        enrolmentListCache = cache
+        this
+    }
+
 
-    def getUpdatedStatus(enrolmentData: UserCourses) = {
-        val query = "{\"request\": {\"filters\":{\"identifier\": \"" + enrolmentData.getCourseId +"\", \"status\": \"Live\"},\"fields\": [\"leafNodesCount\"],\"limit\": 1}}"
-        val result = ContentUtil.searchContent(query, CourseBatchSchedulerUtil.headerMap)
-        val contents = result.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
-        val leafNodesCount = {if(CollectionUtils.isNotEmpty(contents)){
-            contents.get(0).asInstanceOf[java.util.Map[String, AnyRef]].getOrDefault(JsonKey.LEAF_NODE_COUNT, 0.asInstanceOf[AnyRef]).asInstanceOf[Int]
-        } else 0}
+    def getUpdatedStatus(enrolmentData: UserCourses, requestContext: RequestContext) = {
+        // A course the cache fails to read or does not hold, e.g. not trackable, is searched directly.
+        val course = Try(CourseMetadataCache.getInstance().get(requestContext, enrolmentData.getCourseId, CourseBatchSchedulerUtil.headerMap)) match {
+            case Success(course) => course
+            case Failure(e) =>
+                logger.error(requestContext, "CourseEnrolmentActor :: getUpdatedStatus :: failed to read course " + enrolmentData.getCourseId + " from the cache", e)
+                null
+        }
+        val leafNodesCount = if (null != course) course.getOrDefault(JsonKey.LEAF_NODE_COUNT, 0.asInstanceOf[AnyRef]).asInstanceOf[Int] else {
+            val query = "{\"request\": {\"filters\":{\"identifier\": \"" + enrolmentData.getCourseId +"\", \"status\": \"Live\"},\"fields\": [\"leafNodesCount\"],\"limit\": 1}}"
+            val result = ContentUtil.searchContent(query, CourseBatchSchedulerUtil.headerMap)
+            val contents = result.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+            if(CollectionUtils.isNotEmpty(contents)){
+                contents.get(0).asInstanceOf[java.util.Map[String, AnyRef]].getOrDefault(JsonKey.LEAF_NODE_COUNT, 0.asInstanceOf[AnyRef]).asInstanceOf[Int]
+            } else 0
+        }
         enrolmentData.setStatus(getCompletionStatus(enrolmentData.getProgress, leafNodesCount))
     }
 }
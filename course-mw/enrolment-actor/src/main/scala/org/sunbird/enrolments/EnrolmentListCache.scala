@@ -0,0 +1,133 @@
+package org.sunbird.enrolments
+
+import com.google.common.cache.{Cache, CacheBuilder}
+import com.google.common.util.concurrent.{ExecutionError, UncheckedExecutionException}
+import org.apache.commons.lang3.StringUtils
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.common.models.response.Response
+import org.sunbird.common.models.util.{LoggerUtil, ProjectUtil}
+import org.sunbird.common.util.StatsRegistry
+import org.sunbird.learner.util.JsonUtil
+
+import java.util
+import java.util.concurrent.atomic.{AtomicLong, AtomicLongArray}
+import java.util.concurrent.{Callable, ExecutionException, TimeUnit}
+
+/**
+ * Two tier cache of the enrolment list response of a user. The near tier is a bounded in-process
+ * cache in front of redis with a shorter ttl, so other instances see the invalidation of a user's
+ * list after at most the near ttl. A miss of both tiers is loaded once per user: concurrent lists of
+ * the same user wait for the running load instead of querying cassandra, search and es again.
+ * A load running while the user is invalidated is not cached, each invalidation bumps the generation
+ * of the user and a load whose user changed generation removes what it cached in both tiers.
+ */
+class EnrolmentListCache(val maxSize: Long, val nearTtl: Int, val redisTtl: Int) {
+
+    private val logger = new LoggerUtil(classOf[EnrolmentListCache])
+    private val nearCache: Cache[String, String] = CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(nearTtl, TimeUnit.SECONDS)
+      .recordStats()
+      .build[String, String]()
+    private val redisHitCount = new AtomicLong()
+    private val redisMissCount = new AtomicLong()
+    private val invalidationCount = new AtomicLong()
+    // users share the generation of their slot, a collision only skips caching a load
+    private val generations = new AtomicLongArray(EnrolmentListCache.generationSlots)
+
+    /**
+     * Returns the cached response of the user, reading the near tier, then redis and at last the loader.
+     * The loaded response is written to both tiers.
+     */
+    def get(userId: String, cacheUtil: RedisCacheUtil, loader: () => Response): Response = {
+        val key = EnrolmentListCache.getCacheKey(userId)
+        val generation = getGeneration(key)
+        val responseString = try {
+            val cachedString = nearCache.get(key, new Callable[String] {
+                override def call(): String = {
+                    val cached = cacheUtil.get(key)
+                    if (StringUtils.isNotBlank(cached)) {
+                        redisHitCount.incrementAndGet()
+                        cached
+                    } else {
+                        redisMissCount.incrementAndGet()
+                        val loadGeneration = getGeneration(key)
+                        val loaded = JsonUtil.serialize(loader())
+                        // set before the check, an invalidation after the check deletes the key itself
+                        cacheUtil.set(key, loaded, redisTtl)
+                        if (loadGeneration != getGeneration(key)) deleteRedisKey(key, cacheUtil)
+                        loaded
+                    }
+                }
+            })
+            if (generation != getGeneration(key)) nearCache.invalidate(key)
+            cachedString
+        } catch {
+            case e@(_: ExecutionException | _: UncheckedExecutionException | _: ExecutionError) => throw e.getCause
+        }
+        JsonUtil.deserialize(responseString, classOf[Response])
+    }
+
+    /**
+     * Removes the response of the user from both tiers. Failures of redis are logged and not thrown, the
+     * write which triggered the invalidation is already done and the redis entry expires with its ttl.
+     */
+    def invalidate(userId: String, cacheUtil: RedisCacheUtil): Unit = {
+        val key = EnrolmentListCache.getCacheKey(userId)
+        generations.incrementAndGet(getGenerationSlot(key))
+        nearCache.invalidate(key)
+        invalidationCount.incrementAndGet()
+        deleteRedisKey(key, cacheUtil)
+    }
+
+    private def deleteRedisKey(key: String, cacheUtil: RedisCacheUtil): Unit = {
+        try {
+            if (null != cacheUtil) cacheUtil.delete(key)
+        } catch {
+            case e: Exception => logger.error(null, "EnrolmentListCache: invalidate : failed to delete redis key " + key, e)
+        }
+    }
+
+    private def getGeneration(key: String): Long = generations.get(getGenerationSlot(key))
+
+    private def getGenerationSlot(key: String): Int = (key.hashCode & Int.MaxValue) % EnrolmentListCache.generationSlots
+
+    def getStats(): util.Map[String, AnyRef] = {
+        val nearStats = nearCache.stats()
+        val redisRequests = redisHitCount.get() + redisMissCount.get()
+        val stats = new util.HashMap[String, AnyRef]()
+        stats.put("nearHitCount", nearStats.hitCount().asInstanceOf[AnyRef])
+        stats.put("nearMissCount", nearStats.missCount().asInstanceOf[AnyRef])
+        stats.put("nearHitRatio", nearStats.hitRate().asInstanceOf[AnyRef])
+        stats.put("nearSize", nearCache.size().asInstanceOf[AnyRef])
+        stats.put("nearEvictionCount", nearStats.evictionCount().asInstanceOf[AnyRef])
+        stats.put("redisHitCount", redisHitCount.get().asInstanceOf[AnyRef])
+        stats.put("redisMissCount", redisMissCount.get().asInstanceOf[AnyRef])
+        stats.put("redisHitRatio", (if (redisRequests == 0) 1.0 else redisHitCount.get().toDouble / redisRequests).asInstanceOf[AnyRef])
+        stats.put("loadExceptionCount", nearStats.loadExceptionCount().asInstanceOf[AnyRef])
+        stats.put("invalidationCount", invalidationCount.get().asInstanceOf[AnyRef])
+        stats
+    }
+}
+
+object EnrolmentListCache {
+    val isCacheEnabled: Boolean = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")))
+        (ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")).toBoolean else true
+    val ttl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")))
+        (ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")).toInt else 60
+    val nearCacheSize: Long = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_near_cache_size")))
+        (ProjectUtil.getConfigValue("user_enrolments_near_cache_size")).toLong else 10000
+    val nearCacheTtl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_near_cache_ttl")))
+        (ProjectUtil.getConfigValue("user_enrolments_near_cache_ttl")).toInt else 10
+
+    /** Shared by the enrolment and the consumption actors, so a consumption write invalidates the near tier of the list. */
+    lazy val instance: EnrolmentListCache = {
+        val cache = new EnrolmentListCache(nearCacheSize, Math.min(nearCacheTtl, ttl), ttl)
+        StatsRegistry.register("enrolment-list-cache", () => cache.getStats())
+        cache
+    }
+
+    private val generationSlots = 1024
+
+    def getCacheKey(userId: String) = s"$userId:user-enrolments"
+}
@@ -0,0 +1,86 @@
+package org.sunbird.enrolments
+
+import org.apache.pekko.actor.ActorSystem
+import org.scalamock.scalatest.MockFactory
+import org.scalatest.{FlatSpec, Matchers}
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.cassandra.CassandraOperation
+import org.sunbird.common.request.RequestContext
+
+import scala.concurrent.{ExecutionContext, Future, Promise}
+
+class ContentStateCoalescerTest extends FlatSpec with Matchers with MockFactory {
+    implicit val system: ActorSystem = ActorSystem.create("system")
+    implicit val cacheUtil: RedisCacheUtil = mock[RedisCacheUtil]
+
+    def content(contentId: String, status: Int, progress: Int, lastAccessTime: String): java.util.Map[String, AnyRef] = {
+        new java.util.HashMap[String, AnyRef] {{
+            put("contentId", contentId)
+            put("status", status.asInstanceOf[AnyRef])
+            put("progress", progress.asInstanceOf[AnyRef])
+            put("lastAccessTime", lastAccessTime)
+        }}
+    }
+
+    "coalescer" should "keep one pending state per key" in {
+        val coalescer = new ContentStateCoalescer(10, (_, latest) => latest)
+        val key = ContentStateKey("user1", "do_123", "0123", "do_456")
+        coalescer.offer(key, content("do_456", 1, 10, null), null) should be (true)
+        coalescer.offer(key, content("do_456", 1, 20, null), null) should be (true)
+        coalescer.offer(key.copy(contentId = "do_789"), content("do_789", 1, 10, null), null) should be (true)
+        val pending = coalescer.drain()
+        pending.map(_.key.contentId) should be (List("do_456", "do_789"))
+        pending.head.content.get("progress") should be (20)
+        coalescer.size() should be (0)
+        coalescer.getStats().get("coalesced") should be (1L)
+    }
+
+    "coalescer" should "reject new keys beyond the limit" in {
+        val coalescer = new ContentStateCoalescer(1, (_, latest) => latest)
+        val key = ContentStateKey("user1", "do_123", "0123", "do_456")
+        coalescer.offer(key, content("do_456", 1, 10, null), null) should be (true)
+        coalescer.offer(key.copy(contentId = "do_789"), content("do_789", 1, 10, null), null) should be (false)
+        coalescer.offer(key, content("do_456", 1, 20, null), null) should be (true)
+        coalescer.getStats().get("rejected") should be (1L)
+    }
+
+    "serial flusher" should "not start a flush while the previous one is writing" in {
+        val write = Promise[java.util.List[String]]()
+        var writes = 0
+        // runs the callbacks on the calling thread, so each step below has completed when it returns
+        val sameThread = ExecutionContext.fromExecutor((runnable: Runnable) => runnable.run())
+        val writer = new ContentStateWriter(mock[CassandraOperation], cacheUtil, false)(sameThread) {
+            override def updateUserContents(userId: String, batchId: String, courseId: String, contentIds: java.util.List[String], inputContents: List[java.util.Map[String, AnyRef]], requestContext: RequestContext): Future[java.util.List[String]] = {
+                writes += 1
+                write.future
+            }
+        }
+        val coalescer = new ContentStateCoalescer(10, (_, latest) => latest)
+        val flusher = new ContentStateCoalescer.SerialFlusher(coalescer, writer)(sameThread)
+        val key = ContentStateKey("user1", "do_123", "0123", "do_456")
+        coalescer.offer(key, content("do_456", 1, 10, null), null)
+        val first = flusher.flush()
+        writes should be (1)
+        coalescer.offer(key, content("do_456", 1, 20, null), null)
+        flusher.flushIfIdle()
+        val second = flusher.flush()
+        writes should be (1)
+        coalescer.size() should be (1)
+        write.success(java.util.Arrays.asList("do_456"))
+        first.isCompleted should be (true)
+        second.isCompleted should be (true)
+        writes should be (2)
+        coalescer.size() should be (0)
+    }
+
+    "merge content input" should "keep the highest status, progress and latest access time" in {
+        val writer = new ContentStateWriter(mock[CassandraOperation], cacheUtil, false)(system.dispatcher)
+        val merged = writer.mergeContentInput(content("do_456", 2, 100, "2021-01-02 10:00:00:000+0000"), content("do_456", 1, 40, "2021-01-01 10:00:00:000+0000"))
+        merged.get("status") should be (2)
+        merged.get("progress") should be (100)
+        merged.get("lastAccessTime") should be ("2021-01-02 10:00:00:000+0000")
+        val latest = writer.mergeContentInput(content("do_456", 1, 40, "2021-01-01 10:00:00:000+0000"), content("do_456", 1, 50, "2021-01-03 10:00:00:000+0000"))
+        latest.get("progress") should be (50)
+        latest.get("lastAccessTime") should be ("2021-01-03 10:00:00:000+0000")
+    }
+}
@@ -1,11 +1,12 @@
 package org.sunbird.enrolments
 
-import java.util.concurrent.TimeUnit
+import java.util.concurrent.{CompletableFuture, TimeUnit}
 
 import org.apache.pekko.actor.{ActorSystem, Props}
 import org.apache.pekko.testkit.TestKit
 import org.scalamock.scalatest.MockFactory
-import org.scalatest.{FlatSpec, Matchers}
+import org.scalatest.{BeforeAndAfterEach, FlatSpec, Matchers}
+import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.cassandra.CassandraOperation
 import org.sunbird.common.Constants
 import org.sunbird.common.exception.ProjectCommonException
@@ -15,13 +16,19 @@ import org.sunbird.common.models.util.{JsonKey, ProjectUtil}
 import org.sunbird.common.request.{Request, RequestContext}
 import org.sunbird.common.responsecode.ResponseCode
 import org.sunbird.dto.SearchDTO
+import org.sunbird.learner.util.CourseBatchCache
 
 import scala.concurrent.ExecutionContext
 import scala.concurrent.duration.FiniteDuration
 
-class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory {
+class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory with BeforeAndAfterEach {
     implicit val ec: ExecutionContext = ExecutionContext.global
     val system = ActorSystem.create("system")
+    implicit val cacheUtil: RedisCacheUtil = mock[RedisCacheUtil]
+
+    override def beforeEach(): Unit = {
+        CourseBatchCache.getInstance().invalidateAll()
+    }
     
     "get Consumption" should "return success on not giving contentIds" in {
         val cassandraOperation = mock[CassandraOperation]
@@ -40,7 +47,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
                 put("contentId", "do_789")
             }})
         }})
-        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecords(requestContext, keyspace, table, filters, fields)).expects(*,*,*,*,*).returns(response)
+        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecordsAsync(requestContext, keyspace, table, filters, fields)).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(response))
         val result = callActor(getStateReadRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false)))
         assert(null!= result)
     }
@@ -49,7 +56,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         val cassandraOperation = mock[CassandraOperation]
         val response = new Response()
         response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]])
-        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecords(requestContext, keyspace, table, filters, fields)).expects(*,*,*,*,*).returns(response)
+        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecordsAsync(requestContext, keyspace, table, filters, fields)).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(response))
         val result = callActor(getStateReadRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false)))
         println("RRRR ="+result.getResult)
         assert(null!= result)
@@ -75,9 +82,26 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
             }})
         }})
         (esService.search(_:RequestContext, _: SearchDTO, _: String)).expects(*,*,*).returns(concurrent.Future{validBatchData()})
-        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
-        (cassandraOperation.batchInsertLogged(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*)
-        (cassandraOperation.updateRecordV2(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,true)
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,"user_content_consumption",*,*).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,"sunbird_courses","user_enrolments",*,*).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.batchInsertLoggedAsync(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*).returns(CompletableFuture.completedFuture(new Response()))
+        (cassandraOperation.updateRecordV2Async(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,false).returns(CompletableFuture.completedFuture(new Response()))
+        (cacheUtil.delete(_: String)).expects(*).once()
+        val result = callActor(getStateUpdateRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
+        assert(null!= result)
+    }
+
+    "update Consumption" should "not update the enrolment which does not exist" in {
+        val cassandraOperation = mock[CassandraOperation]
+        val esService = mock[ElasticSearchService]
+        val response = new Response()
+        response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]]())
+        (esService.search(_:RequestContext, _: SearchDTO, _: String)).expects(*,*,*).returns(concurrent.Future{validBatchData()})
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,"user_content_consumption",*,*).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,"sunbird_courses","user_enrolments",*,*).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.batchInsertLoggedAsync(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*).returns(CompletableFuture.completedFuture(new Response()))
+        (cassandraOperation.updateRecordV2Async(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,*,*,*,*,*).never()
+        (cacheUtil.delete(_: String)).expects(*).never()
         val result = callActor(getStateUpdateRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
         assert(null!= result)
     }
@@ -100,7 +124,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
                 put("contentId", "do_789")
             }})
         }})
-        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(response))
         val result = callActor(getEnrolmentSyncRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
         
     }
@@ -110,7 +134,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         val esService = mock[ElasticSearchService]
         val response = new Response()
         response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]]())
-        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(response))
         val result = callActorForFailure(getEnrolmentSyncRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
         assert(null!= result)
         assert(ResponseCode.CLIENT_ERROR.getResponseCode == result.getResponseCode)
@@ -122,9 +146,11 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         ((requestContext: RequestContext, searchDTO: _root_.org.sunbird.dto.SearchDTO, index: _root_.scala.Predef.String) => esService.search(requestContext, searchDTO, index)).expects(*,*,*).returns(concurrent.Future{validBatchData()}).anyNumberOfTimes()
         val response = new Response()
         response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]]())
-        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
-        (cassandraOperation.batchInsertLogged(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*)
-        (cassandraOperation.updateRecordV2(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,true)
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,"user_content_consumption",*,*).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,"sunbird_courses","user_enrolments",*,*).returns(CompletableFuture.completedFuture(enrolmentResponse()))
+        (cassandraOperation.batchInsertLoggedAsync(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*).returns(CompletableFuture.completedFuture(new Response()))
+        (cassandraOperation.updateRecordV2Async(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,false).returns(CompletableFuture.completedFuture(new Response()))
+        (cacheUtil.delete(_: String)).expects(*).once()
         val result = callActorForFailure(getAssementUpdateRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
         assert(result.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
@@ -197,6 +223,16 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         }}
     }
 
+    def enrolmentResponse(): Response = {
+        val response = new Response()
+        response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]] {{
+            add(new java.util.HashMap[String, AnyRef] {{
+                put("active", true.asInstanceOf[AnyRef])
+            }})
+        }})
+        response
+    }
+
     def getAssementUpdateRequest(): Request = {
         val request = new Request
         request.setOperation("updateConsumption")
@@ -245,7 +281,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
                 put("contentId", "do_789")
             }})
         }})
-        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
+        (cassandraOperation.getRecordsAsync(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(response))
         (cassandraOperation.getRecordsWithLimit(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String], _: Int)).expects(*, *, *, *, *, *).returns(response).anyNumberOfTimes()
         val result = callActor(getStateReadRequestWithFields(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false)))
         println("result : " + result)
@@ -285,7 +321,7 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
             }
         })
 
-        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecords(requestContext, keyspace, table, filters, fields)).expects(*, *, *, *, *).returns(response)
+        ((requestContext: RequestContext, keyspace: _root_.scala.Predef.String, table: _root_.scala.Predef.String, filters: _root_.java.util.Map[_root_.scala.Predef.String, AnyRef], fields: _root_.java.util.List[_root_.scala.Predef.String]) => cassandraOperation.getRecordsAsync(requestContext, keyspace, table, filters, fields)).expects(*, *, *, *, *).returns(CompletableFuture.completedFuture(response))
         val result = callActor(getStateReadRequestWithProgressField(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false)))
 
         result.getResult().get("response").toString.shouldEqual("[{progressDetails={key1=val1, key2=val2}, contentId=do_456, batchId=0123, courseId=do_123, collectionId=do_123, progressdetails={}}]")
@@ -333,9 +369,11 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         (esService.search(_: RequestContext, _: SearchDTO, _: String)).expects(*, *, *).returns(concurrent.Future {
             validBatchData()
         })
-        (cassandraOperation.getRecords(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*, *, *, *, *).returns(response)
-        (cassandraOperation.batchInsertLogged(_: RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*, *, *, *)
-        (cassandraOperation.updateRecordV2(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*, "sunbird_courses", "user_enrolments", *, *, true)
+        (cassandraOperation.getRecordsAsync(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*, *, "user_content_consumption", *, *).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.getRecordsAsync(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*, "sunbird_courses", "user_enrolments", *, *).returns(CompletableFuture.completedFuture(response))
+        (cassandraOperation.batchInsertLoggedAsync(_: RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*, *, *, *).returns(CompletableFuture.completedFuture(new Response()))
+        (cassandraOperation.updateRecordV2Async(_: RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*, "sunbird_courses", "user_enrolments", *, *, false).returns(CompletableFuture.completedFuture(new Response()))
+        (cacheUtil.delete(_: String)).expects(*).once()
         val result = callActor(getStateUpdateRequestWithProgress(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
         assert(null != result)
     }
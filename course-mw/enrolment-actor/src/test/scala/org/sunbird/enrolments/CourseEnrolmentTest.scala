@@ -22,7 +22,7 @@ import java.text.SimpleDateFormat
 import java.time.LocalDateTime
 import java.time.format.DateTimeFormatter
 import java.util.Date
-import java.util.concurrent.TimeUnit
+import java.util.concurrent.{CompletableFuture, TimeUnit}
 import scala.concurrent.duration.FiniteDuration
 
 class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
@@ -43,7 +43,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEnrollmentType("invite-only")
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        (userDao.insertV2(_: RequestContext, _: java.util.Map[String, AnyRef])).expects(*, *)
+        (userDao.insertV2Async(_: RequestContext, _: java.util.Map[String, AnyRef])).expects(*, *).returns(CompletableFuture.completedFuture(new Response()))
         (cacheUtil.delete(_: String)).expects(*).once()
         val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
@@ -111,7 +111,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEnrollmentType("invite-only")
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
-        (userDao.updateV2(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*)
+        (userDao.updateV2Async(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(new Response()))
         (cacheUtil.delete(_: String)).expects(*).once()
         val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
@@ -124,7 +124,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEnrollmentType("invite-only")
         (courseDao.readById(_: String, _: String, _: RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
-        (userDao.updateV2(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*)
+        (userDao.updateV2Async(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*).returns(CompletableFuture.completedFuture(new Response()))
         (cacheUtil.delete(_: String)).expects(*).once()
         val response = callActor(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
@@ -220,7 +220,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(getRedisString())
         val request = getListEnrolRequest()
         request.getContext.put("cache", true.asInstanceOf[AnyRef])
-        val response = callActor(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setEnrolmentListCache(new EnrolmentListCache(100, 10, 60))))
         println(response)
         assert(null != response)
     }
@@ -235,7 +235,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
         val request = getListEnrolRequest()
         request.getContext.put("cache", true.asInstanceOf[AnyRef])
-        val response = callActor(request, Props(new CourseEnrolmentActor(null)( cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setEnrolmentListCache(new EnrolmentListCache(100, 10, 60))))
         println(response)
         assert(null != response)
     }
@@ -243,7 +243,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
     "CourseEnrolmentActor: enrol at the enrolmentEndDate and batchEndDate" should "return success on enrol" in {
         (courseDao.readById(_: String, _: String, _: RequestContext)).expects(*,*,*).returns(getBatchWithValidEnrolmentEndDateAndBatchEndDate())
         (userDao.read(_: RequestContext,_: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        (userDao.insertV2(_: RequestContext,_: java.util.Map[String, AnyRef])).expects(*,*)
+        (userDao.insertV2Async(_: RequestContext,_: java.util.Map[String, AnyRef])).expects(*,*).returns(CompletableFuture.completedFuture(new Response()))
         (cacheUtil.delete(_: String)).expects(*).once()
         val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
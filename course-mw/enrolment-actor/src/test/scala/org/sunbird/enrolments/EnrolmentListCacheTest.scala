@@ -0,0 +1,97 @@
+package org.sunbird.enrolments
+
+import org.scalamock.scalatest.MockFactory
+import org.scalatest.{FlatSpec, Matchers}
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.common.exception.ProjectCommonException
+import org.sunbird.common.models.response.Response
+import org.sunbird.common.responsecode.ResponseCode
+import org.sunbird.learner.util.JsonUtil
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{CountDownLatch, Executors, TimeUnit}
+
+class EnrolmentListCacheTest extends FlatSpec with Matchers with MockFactory {
+
+    def response(courseId: String): Response = {
+        val response = new Response()
+        response.put("courses", java.util.Arrays.asList(courseId))
+        response
+    }
+
+    "enrolment list cache" should "serve the near tier without reading redis" in {
+        val cacheUtil = mock[RedisCacheUtil]
+        val cache = new EnrolmentListCache(100, 10, 60)
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects("user1:user-enrolments", *, *).returns(JsonUtil.serialize(response("do_123"))).once()
+        cache.get("user1", cacheUtil, () => fail("loader must not be called")).get("courses") should be (java.util.Arrays.asList("do_123"))
+        cache.get("user1", cacheUtil, () => fail("loader must not be called")).get("courses") should be (java.util.Arrays.asList("do_123"))
+        val stats = cache.getStats()
+        stats.get("nearHitCount") should be (1L)
+        stats.get("nearMissCount") should be (1L)
+        stats.get("redisHitCount") should be (1L)
+        stats.get("redisMissCount") should be (0L)
+    }
+
+    "enrolment list cache" should "load once for concurrent misses of a user" in {
+        val cacheUtil = mock[RedisCacheUtil]
+        val cache = new EnrolmentListCache(100, 10, 60)
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(null).once()
+        (cacheUtil.set(_: String, _: String, _: Int)).expects("user1:user-enrolments", *, 60).once()
+        val loads = new AtomicInteger()
+        val started = new CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(4)
+        (1 to 4).foreach(_ => executor.submit(new Runnable {
+            override def run(): Unit = {
+                started.await()
+                cache.get("user1", cacheUtil, () => {
+                    loads.incrementAndGet()
+                    Thread.sleep(100)
+                    response("do_123")
+                })
+            }
+        }))
+        started.countDown()
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS) should be (true)
+        loads.get() should be (1)
+        cache.getStats().get("redisMissCount") should be (1L)
+    }
+
+    "enrolment list cache" should "invalidate both tiers" in {
+        val cacheUtil = mock[RedisCacheUtil]
+        val cache = new EnrolmentListCache(100, 10, 60)
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(JsonUtil.serialize(response("do_123"))).once()
+        (cacheUtil.delete(_: String)).expects(*).once()
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(null).once()
+        (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
+        cache.get("user1", cacheUtil, () => response("do_456")).get("courses") should be (java.util.Arrays.asList("do_123"))
+        cache.invalidate("user1", cacheUtil)
+        cache.get("user1", cacheUtil, () => response("do_456")).get("courses") should be (java.util.Arrays.asList("do_456"))
+        cache.getStats().get("invalidationCount") should be (1L)
+    }
+
+    "enrolment list cache" should "throw the exception of the loader" in {
+        val cacheUtil = mock[RedisCacheUtil]
+        val cache = new EnrolmentListCache(100, 10, 60)
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(null).once()
+        val exception = intercept[ProjectCommonException] {
+            cache.get("user1", cacheUtil, () => throw new ProjectCommonException(ResponseCode.internalError.getErrorCode,
+                ResponseCode.internalError.getErrorMessage, ResponseCode.SERVER_ERROR.getResponseCode))
+        }
+        exception.getResponseCode should be (ResponseCode.SERVER_ERROR.getResponseCode)
+        cache.getStats().get("nearSize") should be (0L)
+    }
+
+    "enrolment list cache" should "not keep a load which ran while the user was invalidated" in {
+        val cacheUtil = mock[RedisCacheUtil]
+        val cache = new EnrolmentListCache(100, 10, 60)
+        (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(null).once()
+        (cacheUtil.set(_: String, _: String, _: Int)).expects("user1:user-enrolments", *, 60).once()
+        (cacheUtil.delete(_: String)).expects(*).twice()
+        cache.get("user1", cacheUtil, () => {
+            cache.invalidate("user1", cacheUtil)
+            response("do_123")
+        }).get("courses") should be (java.util.Arrays.asList("do_123"))
+        cache.getStats().get("nearSize") should be (0L)
+    }
+}
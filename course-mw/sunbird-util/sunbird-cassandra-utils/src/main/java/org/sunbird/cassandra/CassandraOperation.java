@@ -3,8 +3,10 @@ package org.sunbird.cassandra;
 
 import com.datastax.driver.core.ResultSet;
 import com.google.common.util.concurrent.FutureCallback;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.request.RequestContext;
 
@@ -194,7 +196,8 @@ public interface CassandraOperation {
   public Response batchUpdate(String keyspaceName, String tableName, List<Map<String, Map<String, Object>>> list, RequestContext requestContext);
 
   /**
-   * Apply callback on cassandra async read call.
+   * Apply callback on cassandra async read call. The callback runs on a small pool of its own, it
+   * may block, e.g. to fetch the next pages of the result set, without holding up other async reads.
    * @param requestContext
    * @param keySpace Keyspace name
    * @param table Table name
@@ -290,4 +293,108 @@ public interface CassandraOperation {
    */
   Response batchInsertLogged(RequestContext requestContext, String keyspaceName, String tableName, List<Map<String, Object>> records);
 
+  /**
+   * Non blocking variant of getRecords. The query is executed with executeAsync and the returned
+   * stage is completed once the result set is mapped, failures complete it with a
+   * ProjectCommonException.
+   *
+   * @param requestContext
+   * @param keyspace Keyspace name
+   * @param table Table name
+   * @param filters Column name and value (or list of values) to filter on
+   * @param fields Columns to select, all columns if empty
+   * @return CompletionStage of the Response
+   */
+  CompletionStage<Response> getRecordsAsync(
+          RequestContext requestContext, String keyspace, String table, Map<String, Object> filters, List<String> fields);
+
+  /**
+   * Non blocking variant of insertRecord.
+   *
+   * @param requestContext
+   * @param keyspaceName Keyspace name
+   * @param tableName Table name
+   * @param request Map<String,Object>(i.e map of column name and their value)
+   * @return CompletionStage of the Response
+   */
+  CompletionStage<Response> insertRecordAsync(
+          RequestContext requestContext, String keyspaceName, String tableName, Map<String, Object> request);
+
+  /**
+   * Non blocking variant of updateRecordV2.
+   *
+   * @param requestContext
+   * @param keyspace Keyspace name
+   * @param table Table name
+   * @param selectMap Primary key columns and values
+   * @param updateMap Columns and values to update
+   * @param ifExists True to update the row only if it exists (IF EXISTS, a lightweight transaction)
+   * @return CompletionStage of the Response
+   */
+  CompletionStage<Response> updateRecordV2Async(
+          RequestContext requestContext, String keyspace, String table, Map<String, Object> selectMap, Map<String, Object> updateMap, boolean ifExists);
+
+  /**
+   * Non blocking variant of batchInsertLogged, partial writes of BATCH/SIMPLE WriteType are
+   * treated as success as in the blocking method. Other failures complete the stage with a
+   * ProjectCommonException.
+   *
+   * @param requestContext
+   * @param keyspaceName Keyspace name
+   * @param tableName Table name
+   * @param records List of records in the batch insert operation
+   * @return CompletionStage of the Response
+   */
+  CompletionStage<Response> batchInsertLoggedAsync(
+          RequestContext requestContext, String keyspaceName, String tableName, List<Map<String, Object>> records);
+
+  /**
+   * Streams the records matching the filters. Rows are fetched from cassandra fetchSize at a time
+   * while the iterator is consumed, so only the current page is held in memory.
+   *
+   * @param requestContext
+   * @param keyspace Keyspace name
+   * @param table Table name
+   * @param filters Column name and value (or list of values) to filter on, all records if empty
+   * @param fields Columns to select, all columns if empty
+   * @param fetchSize Rows per page, the configured fetchSize is used if not positive
+   * @param allowFiltering Whether the query needs ALLOW FILTERING
+   * @return Iterator of records, keyed by property name
+   */
+  Iterator<Map<String, Object>> getRecordsIterator(
+          RequestContext requestContext, String keyspace, String table, Map<String, Object> filters, List<String> fields, int fetchSize, boolean allowFiltering);
+
+  /**
+   * Reads a single page of the records matching the filters. The records are put under response
+   * and the opaque paging state of the next page under pagingState (null for the last page).
+   *
+   * @param requestContext
+   * @param keyspace Keyspace name
+   * @param table Table name
+   * @param filters Column name and value (or list of values) to filter on
+   * @param fields Columns to select, all columns if empty
+   * @param limit Rows per page, the configured fetchSize is used if not positive
+   * @param pagingState Paging state returned by the previous page, null for the first page
+   * @param allowFiltering Whether the query needs ALLOW FILTERING
+   * @return Response with the records of the page and the next paging state
+   */
+  Response getRecordsPage(
+          RequestContext requestContext, String keyspace, String table, Map<String, Object> filters, List<String> fields, int limit, String pagingState, boolean allowFiltering);
+
+  /**
+   * Non blocking variant of getRecordsPage.
+   *
+   * @param requestContext
+   * @param keyspace Keyspace name
+   * @param table Table name
+   * @param filters Column name and value (or list of values) to filter on
+   * @param fields Columns to select, all columns if empty
+   * @param limit Rows per page, the configured fetchSize is used if not positive
+   * @param pagingState Paging state returned by the previous page, null for the first page
+   * @param allowFiltering Whether the query needs ALLOW FILTERING
+   * @return CompletionStage of the Response with the records of the page and the next paging state
+   */
+  CompletionStage<Response> getRecordsPageAsync(
+          RequestContext requestContext, String keyspace, String table, Map<String, Object> filters, List<String> fields, int limit, String pagingState, boolean allowFiltering);
+
 }
@@ -1,24 +1,33 @@
 package org.sunbird.cassandraimpl;
 
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.datastax.driver.core.querybuilder.Update;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.CassandraUtil;
 import org.sunbird.common.Constants;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
 
@@ -30,37 +39,129 @@ public class CassandraDACImpl extends CassandraOperationImpl {
     Response response = new Response();
     Session session = connectionManager.getSession(keySpace);
     try {
-      Select select;
-      if (CollectionUtils.isNotEmpty(fields)) {
-        select = QueryBuilder.select(fields.toArray()).from(keySpace, table);
-      } else {
-        select = QueryBuilder.select().all().from(keySpace, table);
-      }
+      ResultSet results =
+          session.execute(getSelectStatement(requestContext, keySpace, table, filters, fields, false));
+      response = CassandraUtil.createResponse(results);
+    } catch (Exception e) {
+      throw getFetchException(requestContext, table, e);
+    }
+    return response;
+  }
 
-      if (MapUtils.isNotEmpty(filters)) {
-        Select.Where where = select.where();
-        for (Map.Entry<String, Object> filter : filters.entrySet()) {
-          Object value = filter.getValue();
-          if (value instanceof List) {
-            where = where.and(QueryBuilder.in(filter.getKey(), ((List) filter.getValue())));
-          } else {
-            where = where.and(QueryBuilder.eq(filter.getKey(), filter.getValue()));
-          }
-        }
-      }
+  @Override
+  public CompletionStage<Response> getRecordsAsync(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields) {
+    try {
+      return executeAsync(keySpace, getSelectStatement(requestContext, keySpace, table, filters, fields, false))
+          .handle(
+              (results, e) -> {
+                if (e != null) {
+                  throw getFetchException(requestContext, table, unwrap(e));
+                }
+                return CassandraUtil.createResponse(results);
+              });
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(getFetchException(requestContext, table, e));
+    }
+  }
 
-      ResultSet results = null;
-      logger.debug(requestContext, select.getQueryString());
-      results = session.execute(select);
-      response = CassandraUtil.createResponse(results);
+  @Override
+  public Iterator<Map<String, Object>> getRecordsIterator(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields, int fetchSize, boolean allowFiltering) {
+    Session session = connectionManager.getSession(keySpace);
+    try {
+      Statement statement = getSelectStatement(requestContext, keySpace, table, filters, fields, allowFiltering);
+      statement.setFetchSize(fetchSize > 0 ? fetchSize : getDefaultFetchSize());
+      return CassandraUtil.createResponseIterator(session.execute(statement));
     } catch (Exception e) {
-      logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
+      throw getFetchException(requestContext, table, e);
+    }
+  }
+
+  @Override
+  public Response getRecordsPage(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields, int limit, String pagingState, boolean allowFiltering) {
+    Session session = connectionManager.getSession(keySpace);
+    Statement statement =
+        getPageStatement(requestContext, keySpace, table, filters, fields, limit, pagingState, allowFiltering);
+    try {
+      return CassandraUtil.createPagedResponse(session.execute(statement));
+    } catch (Exception e) {
+      throw getFetchException(requestContext, table, e);
+    }
+  }
+
+  @Override
+  public CompletionStage<Response> getRecordsPageAsync(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields, int limit, String pagingState, boolean allowFiltering) {
+    try {
+      Statement statement =
+          getPageStatement(requestContext, keySpace, table, filters, fields, limit, pagingState, allowFiltering);
+      return executeAsync(keySpace, statement)
+          .handle(
+              (results, e) -> {
+                if (e != null) {
+                  throw getFetchException(requestContext, table, unwrap(e));
+                }
+                return CassandraUtil.createPagedResponse(results);
+              });
+    } catch (ProjectCommonException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private Statement getPageStatement(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields, int limit, String pagingState, boolean allowFiltering) {
+    try {
+      Statement statement = getSelectStatement(requestContext, keySpace, table, filters, fields, allowFiltering);
+      statement.setFetchSize(limit > 0 ? limit : getDefaultFetchSize());
+      if (StringUtils.isNotBlank(pagingState)) {
+        statement.setPagingState(PagingState.fromString(pagingState));
+      }
+      return statement;
+    } catch (PagingStateException e) {
+      logger.error(requestContext, "CassandraDACImpl:getRecordsPage: invalid paging state for " + table, e);
       throw new ProjectCommonException(
-          ResponseCode.SERVER_ERROR.getErrorCode(),
-          ResponseCode.SERVER_ERROR.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
+          ResponseCode.invalidParameterValue.getErrorCode(),
+          ProjectUtil.formatMessage(
+              ResponseCode.invalidParameterValue.getErrorMessage(), pagingState, Constants.PAGING_STATE),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    } catch (Exception e) {
+      throw getFetchException(requestContext, table, e);
     }
-    return response;
+  }
+
+  private Statement getSelectStatement(
+          RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields, boolean allowFiltering) {
+    Select select;
+    if (CollectionUtils.isNotEmpty(fields)) {
+      select = QueryBuilder.select(fields.toArray()).from(keySpace, table);
+    } else {
+      select = QueryBuilder.select().all().from(keySpace, table);
+    }
+
+    List<Object> bindValues = new ArrayList<>();
+    if (MapUtils.isNotEmpty(filters)) {
+      Select.Where where = select.where();
+      for (Map.Entry<String, Object> filter : filters.entrySet()) {
+        where = where.and(
+            CassandraUtil.createBindClause(filter.getKey(), filter.getValue(), bindValues));
+      }
+    }
+    if (allowFiltering) {
+      select.allowFiltering();
+    }
+    logger.debug(requestContext, select.getQueryString());
+    return bindStatement(keySpace, select.getQueryString(), bindValues.toArray());
+  }
+
+  private ProjectCommonException getFetchException(
+          RequestContext requestContext, String table, Throwable e) {
+    logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
+    return new ProjectCommonException(
+        ResponseCode.SERVER_ERROR.getErrorCode(),
+        ResponseCode.SERVER_ERROR.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
   }
 
   public void applyOperationOnRecordsAsync(
@@ -71,33 +172,12 @@ public class CassandraDACImpl extends CassandraOperationImpl {
           FutureCallback<ResultSet> callback) {
     Session session = connectionManager.getSession(keySpace);
     try {
-      Select select;
-      if (CollectionUtils.isNotEmpty(fields)) {
-        select = QueryBuilder.select(fields.toArray()).from(keySpace, table);
-      } else {
-        select = QueryBuilder.select().all().from(keySpace, table);
-      }
-
-      if (MapUtils.isNotEmpty(filters)) {
-        Select.Where where = select.where();
-        for (Map.Entry<String, Object> filter : filters.entrySet()) {
-          Object value = filter.getValue();
-          if (value instanceof List) {
-            where = where.and(QueryBuilder.in(filter.getKey(), ((List) filter.getValue())));
-          } else {
-            where = where.and(QueryBuilder.eq(filter.getKey(), filter.getValue()));
-          }
-        }
-      }
-      logger.debug(requestContext, select.getQueryString());
-      ResultSetFuture future = session.executeAsync(select);
-      Futures.addCallback(future, callback, Executors.newFixedThreadPool(1));
+      Statement statement = getSelectStatement(requestContext, keySpace, table, filters, fields, false);
+      statement.setFetchSize(getDefaultFetchSize());
+      ResultSetFuture future = session.executeAsync(statement);
+      Futures.addCallback(future, callback, recordsCallbackExecutor);
     } catch (Exception e) {
-      logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
-      throw new ProjectCommonException(
-          ResponseCode.SERVER_ERROR.getErrorCode(),
-          ResponseCode.SERVER_ERROR.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
+      throw getFetchException(requestContext, table, e);
     }
   }
 
@@ -125,10 +205,14 @@ public class CassandraDACImpl extends CassandraOperationImpl {
           Object value,
           boolean add) {
     Update update = QueryBuilder.update(keySpace, table);
+    List<Object> bindValues = new ArrayList<>();
     if (add) {
-      update.with(QueryBuilder.put(column, key, value));
+      update.with(QueryBuilder.put(column, QueryBuilder.bindMarker(), QueryBuilder.bindMarker()));
+      bindValues.add(key);
+      bindValues.add(value);
     } else {
-      update.with(QueryBuilder.remove(column, key));
+      update.with(QueryBuilder.removeAll(column, QueryBuilder.bindMarker()));
+      bindValues.add(Collections.singleton(key));
     }
     if (MapUtils.isEmpty(primaryKey)) {
       logger.error(requestContext, 
@@ -140,18 +224,16 @@ public class CassandraDACImpl extends CassandraOperationImpl {
     }
     Update.Where where = update.where();
     for (Map.Entry<String, Object> filter : primaryKey.entrySet()) {
-      Object filterValue = filter.getValue();
-      if (filterValue instanceof List) {
-        where = where.and(QueryBuilder.in(filter.getKey(), ((List) filter.getValue())));
-      } else {
-        where = where.and(QueryBuilder.eq(filter.getKey(), filter.getValue()));
-      }
+      where = where.and(
+          CassandraUtil.createBindClause(filter.getKey(), filter.getValue(), bindValues));
     }
     try {
       Response response = new Response();
-      logger.info(requestContext, "Remove Map-Key Query: " + update.toString());
+      logger.info(requestContext, "Remove Map-Key Query: " + update.getQueryString());
       logger.debug(requestContext, update.getQueryString());
-      connectionManager.getSession(keySpace).execute(update);
+      connectionManager
+          .getSession(keySpace)
+          .execute(bindStatement(keySpace, update.getQueryString(), bindValues.toArray()));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
       return response;
     } catch (Exception e) {
@@ -177,21 +259,20 @@ public class CassandraDACImpl extends CassandraOperationImpl {
         select = QueryBuilder.select().all().from(keySpace, table);
       }
 
+      List<Object> bindValues = new ArrayList<>();
       if (MapUtils.isNotEmpty(filters)) {
         Select.Where where = select.where();
         for (Map.Entry<String, Object> filter : filters.entrySet()) {
-          Object value = filter.getValue();
-          if (value instanceof List) {
-            where = where.and(QueryBuilder.in(filter.getKey(), ((List) filter.getValue())));
-          } else {
-            where = where.and(QueryBuilder.eq(filter.getKey(), filter.getValue()));
-          }
+          where = where.and(
+              CassandraUtil.createBindClause(filter.getKey(), filter.getValue(), bindValues));
         }
       }
-      select.limit(limit);
+      select.limit(QueryBuilder.bindMarker());
+      bindValues.add(limit);
       ResultSet results = null;
       logger.debug(requestContext, select.getQueryString());
-      results = session.execute(select);
+      results =
+          session.execute(bindStatement(keySpace, select.getQueryString(), bindValues.toArray()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
@@ -3,10 +3,11 @@ package org.sunbird.cassandraimpl;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.WriteType;
 import com.datastax.driver.core.Session;
-import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.exceptions.WriteTimeoutException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
@@ -16,14 +17,21 @@ import com.datastax.driver.core.querybuilder.Select.Builder;
 import com.datastax.driver.core.querybuilder.Select.Where;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.CassandraUtil;
 import org.sunbird.common.Constants;
@@ -35,6 +43,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.CassandraConnectionManager;
 import org.sunbird.helper.CassandraConnectionManagerImpl;
 import org.sunbird.helper.CassandraConnectionMngrFactory;
+import org.sunbird.helper.PreparedStatementCache;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 
@@ -47,6 +56,22 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
   protected CassandraConnectionManager connectionManager = CassandraConnectionMngrFactory.getInstance();;
   protected LoggerUtil logger = new LoggerUtil(this.getClass()); 
   protected List<String> writeType = new ArrayList<String>(){{add(WriteType.BATCH.name());add(WriteType.SIMPLE.name());}};
+  protected PreparedStatementCache statementCache = PreparedStatementCache.getInstance();
+  private static final int DEFAULT_FETCH_SIZE = 1000;
+  // Async results are mapped off the driver I/O threads, fetching further pages there would block them.
+  protected static final ExecutorService asyncExecutor =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder().setNameFormat("cassandra-async-%d").setDaemon(true).build());
+  // The callbacks of applyOperationOnRecordsAsync iterate all the pages of a read and may wait on
+  // their consumer, e.g. the bulk indexer, so they do not run on the pool of the other async reads.
+  protected static final ExecutorService recordsCallbackExecutor =
+      Executors.newFixedThreadPool(
+          2,
+          new ThreadFactoryBuilder()
+              .setNameFormat("cassandra-records-callback-%d")
+              .setDaemon(true)
+              .build());
 
   @Override
   public Response insertRecord(RequestContext requestContext, String keyspaceName, String tableName, Map<String, Object> request) {
@@ -55,39 +80,62 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
         "Cassandra Service insertRecord method started at ==" + startTime);
     Response response = new Response();
     try {
-      String query = CassandraUtil.getPreparedStatement(keyspaceName, tableName, request);
-      PreparedStatement statement = connectionManager.getSession(keyspaceName).prepare(query);
-      BoundStatement boundStatement = new BoundStatement(statement);
-      Iterator<Object> iterator = request.values().iterator();
-      Object[] array = new Object[request.keySet().size()];
-      int i = 0;
-      while (iterator.hasNext()) {
-        array[i++] = iterator.next();
-      }
-      if(null != statement) logger.debug(requestContext, statement.getQueryString());
-      connectionManager.getSession(keyspaceName).execute(boundStatement.bind(array));
+      connectionManager
+          .getSession(keyspaceName)
+          .execute(getInsertStatement(requestContext, keyspaceName, tableName, request));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
     } catch (Exception e) {
-      if (e.getMessage().contains(JsonKey.UNKNOWN_IDENTIFIER)
-          || e.getMessage().contains(JsonKey.UNDEFINED_IDENTIFIER)) {
-        logger.error(requestContext, 
-            "Exception occured while inserting record to " + tableName + " : " + e.getMessage(), e);
-        throw new ProjectCommonException(
-            ResponseCode.invalidPropertyError.getErrorCode(),
-            CassandraUtil.processExceptionForUnknownIdentifier(e),
-            ResponseCode.CLIENT_ERROR.getResponseCode());
-      }
-      logger.error(requestContext, 
-          "Exception occured while inserting record to " + tableName + " : " + e.getMessage(), e);
-      throw new ProjectCommonException(
-          ResponseCode.dbInsertionError.getErrorCode(),
-          ResponseCode.dbInsertionError.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
+      throw getInsertException(requestContext, tableName, e);
     }
     logQueryElapseTime("insertRecord", startTime);
     return response;
   }
 
+  @Override
+  public CompletionStage<Response> insertRecordAsync(
+      RequestContext requestContext, String keyspaceName, String tableName, Map<String, Object> request) {
+    long startTime = System.currentTimeMillis();
+    try {
+      return executeAsync(
+              keyspaceName, getInsertStatement(requestContext, keyspaceName, tableName, request))
+          .handle(
+              (resultSet, e) -> {
+                if (e != null) {
+                  throw getInsertException(requestContext, tableName, unwrap(e));
+                }
+                logQueryElapseTime("insertRecordAsync", startTime);
+                return getSuccessResponse();
+              });
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(getInsertException(requestContext, tableName, e));
+    }
+  }
+
+  private Statement getInsertStatement(
+      RequestContext requestContext, String keyspaceName, String tableName, Map<String, Object> request) {
+    String query = CassandraUtil.getPreparedStatement(keyspaceName, tableName, request);
+    logger.debug(requestContext, query);
+    return bindStatement(keyspaceName, query, request.values().toArray());
+  }
+
+  private ProjectCommonException getInsertException(
+      RequestContext requestContext, String tableName, Throwable e) {
+    logger.error(requestContext,
+        "Exception occured while inserting record to " + tableName + " : " + e.getMessage(), e);
+    String message = String.valueOf(e.getMessage());
+    if (message.contains(JsonKey.UNKNOWN_IDENTIFIER)
+        || message.contains(JsonKey.UNDEFINED_IDENTIFIER)) {
+      return new ProjectCommonException(
+          ResponseCode.invalidPropertyError.getErrorCode(),
+          CassandraUtil.processExceptionForUnknownIdentifier(e),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    return new ProjectCommonException(
+        ResponseCode.dbInsertionError.getErrorCode(),
+        ResponseCode.dbInsertionError.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+
   @Override
   public Response updateRecord(RequestContext requestContext, String keyspaceName, String tableName, Map<String, Object> request) {
     long startTime = System.currentTimeMillis();
@@ -97,7 +145,6 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       String query = CassandraUtil.getUpdateQueryStatement(keyspaceName, tableName, request);
       logger.debug(requestContext, query);
-      PreparedStatement statement = connectionManager.getSession(keyspaceName).prepare(query);
       Object[] array = new Object[request.size()];
       int i = 0;
       String str = "";
@@ -111,8 +158,9 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
         array[i++] = request.get(key.trim());
       }
       array[i] = request.get(Constants.IDENTIFIER);
-      BoundStatement boundStatement = statement.bind(array);
-      connectionManager.getSession(keyspaceName).execute(boundStatement);
+      connectionManager
+          .getSession(keyspaceName)
+          .execute(bindStatement(keyspaceName, query, array));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
     } catch (Exception e) {
       e.printStackTrace();
@@ -147,9 +195,11 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       Delete.Where delete =
           QueryBuilder.delete()
               .from(keyspaceName, tableName)
-              .where(eq(Constants.IDENTIFIER, identifier));
+              .where(eq(Constants.IDENTIFIER, bindMarker()));
       logger.debug(requestContext, delete.getQueryString());
-      connectionManager.getSession(keyspaceName).execute(delete);
+      connectionManager
+          .getSession(keyspaceName)
+          .execute(bindStatement(keyspaceName, delete.getQueryString(), identifier));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_DELETE + tableName + " : " + e.getMessage(), e);
@@ -178,17 +228,16 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       } else {
         selectBuilder = QueryBuilder.select().all();
       }
+      List<Object> bindValues = new ArrayList<>();
       Where selectStatement =
               selectBuilder.from(keyspaceName, tableName).where();
-      if(propertyValue instanceof List) {
-        selectStatement.and(QueryBuilder.in(propertyName, propertyValue));
-      } else {
-        selectStatement.and(QueryBuilder.eq(propertyName, propertyValue));
-      }
+      selectStatement.and(CassandraUtil.createBindClause(propertyName, propertyValue, bindValues));
       ResultSet results = null;
       Select selectQuery = selectStatement.allowFiltering();
       if (null != selectStatement) logger.debug(requestContext, selectStatement.getQueryString());
-      results = session.execute(selectQuery);
+      results =
+          session.execute(
+              bindStatement(keyspaceName, selectQuery.getQueryString(), bindValues.toArray()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -222,25 +271,21 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
         selectBuilder = QueryBuilder.select().all();
       }
       Select selectQuery = selectBuilder.from(keyspaceName, tableName);
+      List<Object> bindValues = new ArrayList<>();
       if (MapUtils.isNotEmpty(propertyMap)) {
         Where selectWhere = selectQuery.where();
         for (Entry<String, Object> entry : propertyMap.entrySet()) {
-          if (entry.getValue() instanceof List) {
-            List<Object> list = (List) entry.getValue();
-            if (null != list) {
-              Object[] propertyValues = list.toArray(new Object[list.size()]);
-              Clause clause = QueryBuilder.in(entry.getKey(), propertyValues);
-              selectWhere.and(clause);
-            }
-          } else {
-            Clause clause = eq(entry.getKey(), entry.getValue());
-            selectWhere.and(clause);
-          }
+          selectWhere.and(
+              CassandraUtil.createBindClause(entry.getKey(), entry.getValue(), bindValues));
         }
       }
       selectQuery = selectQuery.allowFiltering();
       if (null != selectQuery) logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results =
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(
+                  bindStatement(keyspaceName, selectQuery.getQueryString(), bindValues.toArray()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -262,11 +307,11 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     Response response = new Response();
     try {
       String selectQuery = CassandraUtil.getSelectStatement(keyspaceName, tableName, properties);
-      PreparedStatement statement = connectionManager.getSession(keyspaceName).prepare(selectQuery);
-      logger.debug(requestContext, statement.getQueryString());
-      BoundStatement boundStatement = new BoundStatement(statement);
+      logger.debug(requestContext, selectQuery);
       ResultSet results =
-          connectionManager.getSession(keyspaceName).execute(boundStatement.bind(id));
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(bindStatement(keyspaceName, selectQuery, id));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -287,7 +332,10 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       Select selectQuery = QueryBuilder.select().all().from(keyspaceName, tableName);
       logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results =
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(bindStatement(keyspaceName, selectQuery.getQueryString()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -306,34 +354,73 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       logger.debug(requestContext,"Cassandra Service updateRecordV2 method started at ==" + startTime);
       Response response = new Response();
       try {
-        Update updateQuery = QueryBuilder.update(keyspace, table);
-        Update.Assignments assignments = updateQuery.with();
-        for (Map.Entry<String, Object> entry : updateMap.entrySet())
-          assignments.and(set(entry.getKey(),entry.getValue()));
-        Update.Where where = updateQuery.where();
-        for (Map.Entry<String, Object> entry: selectMap.entrySet())
-          where.and(eq(entry.getKey(), entry.getValue()));
-        logger.debug(requestContext, updateQuery.getQueryString());
-        connectionManager.getSession(keyspace).execute(updateQuery);
+        connectionManager
+            .getSession(keyspace)
+            .execute(getUpdateV2Statement(requestContext, keyspace, table, selectMap, updateMap, ifExists));
         response.put(Constants.RESPONSE, Constants.SUCCESS);
       } catch (Exception e) {
-        if (e.getMessage().contains(JsonKey.UNKNOWN_IDENTIFIER)) {
-            logger.error(requestContext,Constants.EXCEPTION_MSG_UPSERT + table + " : " + e.getMessage(), e);
-            throw new ProjectCommonException(
-                    ResponseCode.invalidPropertyError.getErrorCode(),
-                    CassandraUtil.processExceptionForUnknownIdentifier(e),
-                    ResponseCode.CLIENT_ERROR.getResponseCode());
-        }
-        logger.error(requestContext,Constants.EXCEPTION_MSG_UPSERT + table + " : " + e.getMessage(), e);
-        throw new ProjectCommonException(
-                ResponseCode.SERVER_ERROR.getErrorCode(),
-                ResponseCode.SERVER_ERROR.getErrorMessage(),
-                ResponseCode.SERVER_ERROR.getResponseCode());
+        throw getUpdateV2Exception(requestContext, table, e);
     }
     logQueryElapseTime("upsertRecord", startTime);
     return response;
   }
 
+  @Override
+  public CompletionStage<Response> updateRecordV2Async(
+      RequestContext requestContext, String keyspace, String table, Map<String, Object> selectMap, Map<String, Object> updateMap, boolean ifExists) {
+    long startTime = System.currentTimeMillis();
+    try {
+      return executeAsync(
+              keyspace, getUpdateV2Statement(requestContext, keyspace, table, selectMap, updateMap, ifExists))
+          .handle(
+              (resultSet, e) -> {
+                if (e != null) {
+                  throw getUpdateV2Exception(requestContext, table, unwrap(e));
+                }
+                logQueryElapseTime("updateRecordV2Async", startTime);
+                return getSuccessResponse();
+              });
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(getUpdateV2Exception(requestContext, table, e));
+    }
+  }
+
+  private Statement getUpdateV2Statement(
+      RequestContext requestContext, String keyspace, String table, Map<String, Object> selectMap, Map<String, Object> updateMap, boolean ifExists) {
+    Update updateQuery = QueryBuilder.update(keyspace, table);
+    List<Object> bindValues = new ArrayList<>();
+    Update.Assignments assignments = updateQuery.with();
+    for (Map.Entry<String, Object> entry : updateMap.entrySet()) {
+      assignments.and(set(entry.getKey(), bindMarker()));
+      bindValues.add(entry.getValue());
+    }
+    Update.Where where = updateQuery.where();
+    for (Map.Entry<String, Object> entry: selectMap.entrySet()) {
+      where.and(eq(entry.getKey(), bindMarker()));
+      bindValues.add(entry.getValue());
+    }
+    if (ifExists) {
+      where.ifExists();
+    }
+    logger.debug(requestContext, updateQuery.getQueryString());
+    return bindStatement(keyspace, updateQuery.getQueryString(), bindValues.toArray());
+  }
+
+  private ProjectCommonException getUpdateV2Exception(
+      RequestContext requestContext, String table, Throwable e) {
+    logger.error(requestContext,Constants.EXCEPTION_MSG_UPSERT + table + " : " + e.getMessage(), e);
+    if (String.valueOf(e.getMessage()).contains(JsonKey.UNKNOWN_IDENTIFIER)) {
+      return new ProjectCommonException(
+          ResponseCode.invalidPropertyError.getErrorCode(),
+          CassandraUtil.processExceptionForUnknownIdentifier(e),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    return new ProjectCommonException(
+        ResponseCode.SERVER_ERROR.getErrorCode(),
+        ResponseCode.SERVER_ERROR.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+
   @Override
   public Response upsertRecord(String keyspaceName, String tableName, Map<String, Object> request, RequestContext requestContext) {
     long startTime = System.currentTimeMillis();
@@ -341,17 +428,10 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     Response response = new Response();
     try {
       String query = CassandraUtil.getPreparedStatement(keyspaceName, tableName, request);
-      PreparedStatement statement = connectionManager.getSession(keyspaceName).prepare(query);
       logger.debug(requestContext, query);
-      BoundStatement boundStatement = new BoundStatement(statement);
-      Iterator<Object> iterator = request.values().iterator();
-      Object[] array = new Object[request.keySet().size()];
-      int i = 0;
-      while (iterator.hasNext()) {
-        array[i++] = iterator.next();
-      }
-
-      connectionManager.getSession(keyspaceName).execute(boundStatement.bind(array));
+      connectionManager
+          .getSession(keyspaceName)
+          .execute(bindStatement(keyspaceName, query, request.values().toArray()));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
 
     } catch (Exception e) {
@@ -385,6 +465,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       Session session = connectionManager.getSession(keyspaceName);
       Update update = QueryBuilder.update(keyspaceName, tableName);
+      List<Object> bindValues = new ArrayList<>();
       Assignments assignments = update.with();
       Update.Where where = update.where();
       request
@@ -392,18 +473,19 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
           .stream()
           .forEach(
               x -> {
-                assignments.and(QueryBuilder.set(x.getKey(), x.getValue()));
+                assignments.and(QueryBuilder.set(x.getKey(), bindMarker()));
+                bindValues.add(x.getValue());
               });
       compositeKey
           .entrySet()
           .stream()
           .forEach(
               x -> {
-                where.and(eq(x.getKey(), x.getValue()));
+                where.and(eq(x.getKey(), bindMarker()));
+                bindValues.add(x.getValue());
               });
-      Statement updateQuery = where;
       logger.debug(requestContext, where.getQueryString());
-      session.execute(updateQuery);
+      session.execute(bindStatement(keyspaceName, where.getQueryString(), bindValues.toArray()));
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_UPDATE + tableName + " : " + e.getMessage(), e);
       if (e.getMessage().contains(JsonKey.UNKNOWN_IDENTIFIER)) {
@@ -437,8 +519,9 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       }
       Select selectQuery = selectBuilder.from(keyspaceName, tableName);
       Where selectWhere = selectQuery.where();
+      List<Object> bindValues = new ArrayList<>();
       if (key instanceof String) {
-        selectWhere.and(eq(Constants.IDENTIFIER, key));
+        selectWhere.and(CassandraUtil.createBindClause(Constants.IDENTIFIER, key, bindValues));
       } else if (key instanceof Map) {
         Map<String, Object> compositeKey = (Map<String, Object>) key;
         compositeKey
@@ -446,11 +529,13 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
             .stream()
             .forEach(
                 x -> {
-                  CassandraUtil.createQuery(x.getKey(), x.getValue(), selectWhere);
+                  CassandraUtil.createBindQuery(x.getKey(), x.getValue(), selectWhere, bindValues);
                 });
       }
       logger.debug(requestContext, selectWhere.getQueryString());
-      ResultSet results = session.execute(selectWhere);
+      ResultSet results =
+          session.execute(
+              bindStatement(keyspaceName, selectWhere.getQueryString(), bindValues.toArray()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -477,14 +562,8 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
 
     try {
       for (Map<String, Object> map : records) {
-        Insert insert = QueryBuilder.insertInto(keyspaceName, tableName);
-        map.entrySet()
-            .stream()
-            .forEach(
-                x -> {
-                  insert.value(x.getKey(), x.getValue());
-                });
-        batchStatement.add(insert);
+        String query = CassandraUtil.getPreparedStatement(keyspaceName, tableName, map);
+        batchStatement.add(bindStatement(keyspaceName, query, map.values().toArray()));
       }
       resultSet = session.execute(batchStatement);
       response.put(Constants.RESPONSE, Constants.SUCCESS);
@@ -516,8 +595,12 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       for (Map<String, Map<String, Object>> record : list) {
         Map<String, Object> primaryKey = record.get(JsonKey.PRIMARY_KEY);
         Map<String, Object> nonPKRecord = record.get(JsonKey.NON_PRIMARY_KEY);
+        List<Object> bindValues = new ArrayList<>();
+        RegularStatement update =
+            CassandraUtil.createUpdateQuery(
+                primaryKey, nonPKRecord, keyspaceName, tableName, bindValues);
         batchStatement.add(
-            CassandraUtil.createUpdateQuery(primaryKey, nonPKRecord, keyspaceName, tableName));
+            bindStatement(keyspaceName, update.getQueryString(), bindValues.toArray()));
       }
       resultSet = session.execute(batchStatement);
       response.put(Constants.RESPONSE, Constants.SUCCESS);
@@ -532,6 +615,68 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     return response;
   }
 
+  /**
+   * Binds the values to the statement prepared for the given query, the statement is prepared
+   * only once per session and reused from {@link PreparedStatementCache} afterwards.
+   *
+   * @param keyspaceName Keyspace name
+   * @param query CQL query with bind markers
+   * @param values Values in the order of the bind markers
+   * @return BoundStatement ready to execute
+   */
+  protected BoundStatement bindStatement(String keyspaceName, String query, Object... values) {
+    PreparedStatement statement =
+        statementCache.getPreparedStatement(connectionManager.getSession(keyspaceName), query);
+    return CassandraUtil.bind(statement, values);
+  }
+
+  /**
+   * Executes the statement with executeAsync, the returned future is completed on the async
+   * executor so that callers can safely iterate the result set.
+   *
+   * @param keyspaceName Keyspace name
+   * @param statement Statement to execute
+   * @return CompletableFuture of the ResultSet
+   */
+  protected CompletableFuture<ResultSet> executeAsync(String keyspaceName, Statement statement) {
+    CompletableFuture<ResultSet> result = new CompletableFuture<>();
+    Futures.addCallback(
+        connectionManager.getSession(keyspaceName).executeAsync(statement),
+        new FutureCallback<ResultSet>() {
+          @Override
+          public void onSuccess(ResultSet resultSet) {
+            result.complete(resultSet);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            result.completeExceptionally(t);
+          }
+        },
+        asyncExecutor);
+    return result;
+  }
+
+  /** Fetch size used for streamed reads when the caller does not pass one. */
+  protected static int getDefaultFetchSize() {
+    String value = PropertiesCache.getInstance().readProperty(Constants.FETCH_SIZE);
+    try {
+      return StringUtils.isNotBlank(value) ? Integer.parseInt(value.trim()) : DEFAULT_FETCH_SIZE;
+    } catch (NumberFormatException e) {
+      return DEFAULT_FETCH_SIZE;
+    }
+  }
+
+  protected static Throwable unwrap(Throwable e) {
+    return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+  }
+
+  private static Response getSuccessResponse() {
+    Response response = new Response();
+    response.put(Constants.RESPONSE, Constants.SUCCESS);
+    return response;
+  }
+
   private void logQueryElapseTime(String operation, long startTime) {
 
     long stopTime = System.currentTimeMillis();
@@ -551,11 +696,13 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     Response response = new Response();
     try {
       Select selectQuery = QueryBuilder.select().all().from(keyspaceName, tableName);
-      selectQuery.where().and(eq(propertyName, propertyValue));
+      selectQuery.where().and(eq(propertyName, bindMarker()));
       selectQuery.allowFiltering();
       if (null != selectQuery) logger.debug(requestContext, selectQuery.getQueryString());
       ResultSet results =
-          connectionManager.getSession(keyspaceName).execute(selectQuery.allowFiltering());
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(bindStatement(keyspaceName, selectQuery.getQueryString(), propertyValue));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, 
@@ -582,16 +729,21 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       Delete delete = QueryBuilder.delete().from(keyspaceName, tableName);
       Delete.Where deleteWhere = delete.where();
+      List<Object> bindValues = new ArrayList<>();
       compositeKeyMap
           .entrySet()
           .stream()
           .forEach(
               x -> {
-                Clause clause = eq(x.getKey(), x.getValue());
+                Clause clause = eq(x.getKey(), bindMarker());
                 deleteWhere.and(clause);
+                bindValues.add(x.getValue());
               });
       logger.debug(requestContext, deleteWhere.getQueryString());
-      connectionManager.getSession(keyspaceName).execute(deleteWhere);
+      connectionManager
+          .getSession(keyspaceName)
+          .execute(
+              bindStatement(keyspaceName, deleteWhere.getQueryString(), bindValues.toArray()));
     } catch (Exception e) {
       logger.error(requestContext, 
           "CassandraOperationImpl: deleteRecord by composite key. "
@@ -616,10 +768,13 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       Delete delete = QueryBuilder.delete().from(keyspaceName, tableName);
       Delete.Where deleteWhere = delete.where();
-      Clause clause = QueryBuilder.in(JsonKey.ID, identifierList);
+      Clause clause = QueryBuilder.in(JsonKey.ID, bindMarker());
       deleteWhere.and(clause);
       logger.debug(requestContext, deleteWhere.getQueryString());
-      resultSet = connectionManager.getSession(keyspaceName).execute(deleteWhere);
+      resultSet =
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(bindStatement(keyspaceName, deleteWhere.getQueryString(), identifierList));
     } catch (Exception e) {
       logger.error(requestContext, 
           "CassandraOperationImpl: deleteRecords by list of primary key. "
@@ -647,12 +802,18 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       Builder selectBuilder = QueryBuilder.select().all();
       Select selectQuery = selectBuilder.from(keyspaceName, tableName);
       Where selectWhere = selectQuery.where();
+      List<Object> bindValues = new ArrayList<>();
       for (Entry<String, Object> entry : compositeKeyMap.entrySet()) {
-        Clause clause = eq(entry.getKey(), entry.getValue());
+        Clause clause = eq(entry.getKey(), bindMarker());
         selectWhere.and(clause);
+        bindValues.add(entry.getValue());
       }
       logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results =
+          connectionManager
+              .getSession(keyspaceName)
+              .execute(
+                  bindStatement(keyspaceName, selectQuery.getQueryString(), bindValues.toArray()));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, 
@@ -701,25 +862,21 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
           String value,
           Map<String, Object> propertyMap, RequestContext requestContext) {
     Select selectQuery = QueryBuilder.select().all().from(keyspace, tableName);
-    Clause clause = QueryBuilder.contains(key, value);
+    List<Object> bindValues = new ArrayList<>();
+    Clause clause = QueryBuilder.contains(key, bindMarker());
+    bindValues.add(value);
     selectQuery.where(clause);
     if (MapUtils.isNotEmpty(propertyMap)) {
       for (Entry<String, Object> entry : propertyMap.entrySet()) {
-        if (entry.getValue() instanceof List) {
-          List<Object> list = (List) entry.getValue();
-          if (null != list) {
-            Object[] propertyValues = list.toArray(new Object[list.size()]);
-            Clause clauseList = QueryBuilder.in(entry.getKey(), propertyValues);
-            selectQuery.where(clauseList);
-          }
-        } else {
-          Clause clauseMap = eq(entry.getKey(), entry.getValue());
-          selectQuery.where(clauseMap);
-        }
+        selectQuery.where(
+            CassandraUtil.createBindClause(entry.getKey(), entry.getValue(), bindValues));
       }
     }
     logger.debug(requestContext, selectQuery.getQueryString());
-    ResultSet resultSet = connectionManager.getSession(keyspace).execute(selectQuery);
+    ResultSet resultSet =
+        connectionManager
+            .getSession(keyspace)
+            .execute(bindStatement(keyspace, selectQuery.getQueryString(), bindValues.toArray()));
     Response response = CassandraUtil.createResponse(resultSet);
     return response;
   }
@@ -739,29 +896,16 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
 
     Session session = connectionManager.getSession(keyspaceName);
     Response response = new Response();
-    BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.LOGGED);
-    batchStatement.setConsistencyLevel(CassandraConnectionManagerImpl.getConsistencyLevel());
-    ResultSet resultSet = null;
 
     try {
-      for (Map<String, Object> map : records) {
-        Insert insert = QueryBuilder.insertInto(keyspaceName, tableName);
-        map.entrySet()
-                .stream()
-                .forEach(
-                        x -> {
-                          insert.value(x.getKey(), x.getValue());
-                        });
-        batchStatement.add(insert);
-      }
-      resultSet = session.execute(batchStatement);
+      session.execute(getLoggedBatchStatement(keyspaceName, tableName, records));
       response.put(Constants.RESPONSE, Constants.SUCCESS);
     } catch (QueryExecutionException
             | QueryValidationException
             | NoHostAvailableException
             | IllegalStateException e) {
       logger.error(requestContext, "Cassandra Batch Insert Failed." + e.getMessage(), e);
-      if (e instanceof WriteTimeoutException && writeType.contains(((WriteTimeoutException) e).getWriteType().name()))
+      if (isPartialWrite(e))
         response.put(Constants.RESPONSE, Constants.SUCCESS);
       else {
         logger.error(requestContext, e.getMessage(), e);
@@ -772,4 +916,56 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     return response;
   }
 
+  @Override
+  public CompletionStage<Response> batchInsertLoggedAsync(
+          RequestContext requestContext, String keyspaceName, String tableName, List<Map<String, Object>> records) {
+    long startTime = System.currentTimeMillis();
+    logger.info(requestContext,
+            "Cassandra Service batchInsertLoggedAsync method started at ==" + startTime);
+    BatchStatement batchStatement;
+    try {
+      batchStatement = getLoggedBatchStatement(keyspaceName, tableName, records);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(getBatchInsertException(requestContext, e));
+    }
+    return executeAsync(keyspaceName, batchStatement)
+        .handle(
+            (resultSet, e) -> {
+              if (e != null) {
+                Throwable cause = unwrap(e);
+                if (!isPartialWrite(cause)) {
+                  throw getBatchInsertException(requestContext, cause);
+                }
+                logger.error(requestContext, "Cassandra Batch Insert Failed." + cause.getMessage(), cause);
+              }
+              logQueryElapseTime("batchInsertLoggedAsync", startTime);
+              return getSuccessResponse();
+            });
+  }
+
+  private ProjectCommonException getBatchInsertException(
+      RequestContext requestContext, Throwable e) {
+    logger.error(requestContext, "Cassandra Batch Insert Failed." + e.getMessage(), e);
+    return new ProjectCommonException(
+        ResponseCode.SERVER_ERROR.getErrorCode(),
+        ResponseCode.SERVER_ERROR.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+
+  private BatchStatement getLoggedBatchStatement(
+          String keyspaceName, String tableName, List<Map<String, Object>> records) {
+    BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.LOGGED);
+    batchStatement.setConsistencyLevel(CassandraConnectionManagerImpl.getConsistencyLevel());
+    for (Map<String, Object> map : records) {
+      String query = CassandraUtil.getPreparedStatement(keyspaceName, tableName, map);
+      batchStatement.add(bindStatement(keyspaceName, query, map.values().toArray()));
+    }
+    return batchStatement;
+  }
+
+  private boolean isPartialWrite(Throwable e) {
+    return e instanceof WriteTimeoutException
+        && writeType.contains(((WriteTimeoutException) e).getWriteType().name());
+  }
+
 }
@@ -1,8 +1,14 @@
 package org.sunbird.common;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select.Where;
 import com.datastax.driver.core.querybuilder.Update;
@@ -16,8 +22,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.sunbird.cassandraannotation.ClusteringKey;
 import org.sunbird.cassandraannotation.PartitioningKey;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -61,7 +67,7 @@ public final class CassandraUtil {
       }
     }
     query.append(commaSepValueBuilder + Constants.CLOSING_BRACE);
-    logger.info(null, query.toString());
+    logger.debug(null, query.toString());
     return query.toString();
   }
 
@@ -74,30 +80,69 @@ public final class CassandraUtil {
   public static Response createResponse(ResultSet results) {
     Response response = new Response();
     List<Map<String, Object>> responseList = new ArrayList<>();
-    Map<String, String> columnsMapping = fetchColumnsMapping(results);
-    Iterator<Row> rowIterator = results.iterator();
-    rowIterator.forEachRemaining(
-        row -> {
-          Map<String, Object> rowMap = new HashMap<>();
-          columnsMapping
-              .entrySet()
-              .stream()
-              .forEach(entry -> rowMap.put(entry.getKey(), row.getObject(entry.getValue())));
-          responseList.add(rowMap);
-        });
-    logger.info(null, "Total rows fetched from cassandra: " + responseList.size());
+    ColumnMapping columnMapping = ColumnMapping.of(results.getColumnDefinitions());
+    for (Row row : results) {
+      responseList.add(columnMapping.map(row));
+    }
+    logger.debug(null, "Total rows fetched from cassandra: " + responseList.size());
     response.put(Constants.RESPONSE, responseList);
     return response;
   }
 
+  /**
+   * @desc Creates the response from the rows of the current page only, i.e. without fetching the
+   *     following pages. The paging state of the next page is put under pagingState, it is null
+   *     once the last page is read.
+   * @param results ResultSet
+   * @return Response Response
+   */
+  public static Response createPagedResponse(ResultSet results) {
+    Response response = new Response();
+    ColumnMapping columnMapping = ColumnMapping.of(results.getColumnDefinitions());
+    int available = results.getAvailableWithoutFetching();
+    List<Map<String, Object>> responseList = new ArrayList<>(available);
+    for (int i = 0; i < available; i++) {
+      responseList.add(columnMapping.map(results.one()));
+    }
+    PagingState pagingState = results.getExecutionInfo().getPagingState();
+    response.put(Constants.RESPONSE, responseList);
+    response.put(Constants.PAGING_STATE, null != pagingState ? pagingState.toString() : null);
+    return response;
+  }
+
+  /**
+   * @desc Returns an iterator over the rows of the result set mapped to property names. Rows are
+   *     mapped lazily and the next page is requested in the background once half of the current
+   *     page is consumed, so at most two pages are held in memory.
+   * @param results ResultSet
+   * @return Iterator of row maps
+   */
+  public static Iterator<Map<String, Object>> createResponseIterator(ResultSet results) {
+    ColumnMapping columnMapping = ColumnMapping.of(results.getColumnDefinitions());
+    int prefetchThreshold = Math.max(1, results.getAvailableWithoutFetching() / 2);
+    return new Iterator<Map<String, Object>>() {
+      @Override
+      public boolean hasNext() {
+        return !results.isExhausted();
+      }
+
+      @Override
+      public Map<String, Object> next() {
+        if (results.getAvailableWithoutFetching() == prefetchThreshold
+            && !results.isFullyFetched()) {
+          results.fetchMoreResults();
+        }
+        Row row = results.one();
+        if (null == row) {
+          throw new NoSuchElementException();
+        }
+        return columnMapping.map(row);
+      }
+    };
+  }
+
   public static Map<String, String> fetchColumnsMapping(ResultSet results) {
-    return results
-        .getColumnDefinitions()
-        .asList()
-        .stream()
-        .collect(
-            Collectors.toMap(
-                d -> propertiesCache.readProperty(d.getName()).trim(), d -> d.getName()));
+    return ColumnMapping.of(results.getColumnDefinitions()).getPropertyToColumn();
   }
 
   /**
@@ -146,7 +191,7 @@ public final class CassandraUtil {
     return query.toString();
   }
 
-  public static String processExceptionForUnknownIdentifier(Exception e) {
+  public static String processExceptionForUnknownIdentifier(Throwable e) {
     // Unknown identifier
     return ProjectUtil.formatMessage(
             ResponseCode.invalidPropertyError.getErrorMessage(),
@@ -318,6 +363,38 @@ public final class CassandraUtil {
     return where;
   }
 
+  /**
+   * Method to create the cassandra update query with bind markers, the values to bind are appended
+   * to the given list in the order of the markers.
+   *
+   * @param primaryKey map representing the composite primary key.
+   * @param nonPKRecord map contains the fields that has to update.
+   * @param keyspaceName cassandra keyspace name.
+   * @param tableName cassandra table name.
+   * @param bindValues list collecting the values for the bind markers.
+   * @return RegularStatement.
+   */
+  public static RegularStatement createUpdateQuery(
+      Map<String, Object> primaryKey,
+      Map<String, Object> nonPKRecord,
+      String keyspaceName,
+      String tableName,
+      List<Object> bindValues) {
+
+    Update update = QueryBuilder.update(keyspaceName, tableName);
+    Assignments assignments = update.with();
+    Update.Where where = update.where();
+    for (Map.Entry<String, Object> x : nonPKRecord.entrySet()) {
+      assignments.and(QueryBuilder.set(x.getKey(), QueryBuilder.bindMarker()));
+      bindValues.add(x.getValue());
+    }
+    for (Map.Entry<String, Object> x : primaryKey.entrySet()) {
+      where.and(QueryBuilder.eq(x.getKey(), QueryBuilder.bindMarker()));
+      bindValues.add(x.getValue());
+    }
+    return where;
+  }
+
   public static void createQuery(String key, Object value, Where where) {
     if (value instanceof Map) {
       Map<String, Object> map = (Map<String, Object>) value;
@@ -342,6 +419,97 @@ public final class CassandraUtil {
     }
   }
 
+  /**
+   * Method to create the where clause with bind markers instead of inline values. The values to
+   * bind are appended to the given list in the order of the markers.
+   *
+   * @param key represents the column name.
+   * @param value represents the column value.
+   * @param bindValues list collecting the values for the bind markers.
+   * @return Clause for the column.
+   */
+  public static Clause createBindClause(String key, Object value, List<Object> bindValues) {
+    bindValues.add(value);
+    if (value instanceof List) {
+      return QueryBuilder.in(key, QueryBuilder.bindMarker());
+    }
+    return QueryBuilder.eq(key, QueryBuilder.bindMarker());
+  }
+
+  /**
+   * Method to create the where clause with bind markers, supporting range queries where the value
+   * is a map of operator and value.
+   *
+   * @param key represents the column name.
+   * @param value represents the column value.
+   * @param where where clause.
+   * @param bindValues list collecting the values for the bind markers.
+   */
+  public static void createBindQuery(
+      String key, Object value, Where where, List<Object> bindValues) {
+    if (value instanceof Map) {
+      Map<String, Object> map = (Map<String, Object>) value;
+      for (Map.Entry<String, Object> x : map.entrySet()) {
+        if (Constants.LTE.equalsIgnoreCase(x.getKey())) {
+          where.and(QueryBuilder.lte(key, QueryBuilder.bindMarker()));
+        } else if (Constants.LT.equalsIgnoreCase(x.getKey())) {
+          where.and(QueryBuilder.lt(key, QueryBuilder.bindMarker()));
+        } else if (Constants.GTE.equalsIgnoreCase(x.getKey())) {
+          where.and(QueryBuilder.gte(key, QueryBuilder.bindMarker()));
+        } else if (Constants.GT.equalsIgnoreCase(x.getKey())) {
+          where.and(QueryBuilder.gt(key, QueryBuilder.bindMarker()));
+        } else {
+          continue;
+        }
+        bindValues.add(x.getValue());
+      }
+    } else {
+      where.and(createBindClause(key, value, bindValues));
+    }
+  }
+
+  /**
+   * Method to bind the values to a prepared statement. Numeric values are converted to the java
+   * type of the column, as bound values are not coerced by the driver the way inline values are.
+   *
+   * @param statement prepared statement.
+   * @param values values in the order of the bind markers.
+   * @return BoundStatement.
+   */
+  public static BoundStatement bind(PreparedStatement statement, Object... values) {
+    ColumnDefinitions variables = statement.getVariables();
+    Object[] boundValues = new Object[values.length];
+    for (int i = 0; i < values.length; i++) {
+      boundValues[i] =
+          i < variables.size() ? convertNumber(variables.getType(i), values[i]) : values[i];
+    }
+    return statement.bind(boundValues);
+  }
+
+  private static Object convertNumber(DataType dataType, Object value) {
+    if (!(value instanceof Number)) {
+      return value;
+    }
+    Number number = (Number) value;
+    switch (dataType.getName()) {
+      case INT:
+        return number instanceof Integer ? number : number.intValue();
+      case BIGINT:
+      case COUNTER:
+        return number instanceof Long ? number : number.longValue();
+      case DOUBLE:
+        return number instanceof Double ? number : number.doubleValue();
+      case FLOAT:
+        return number instanceof Float ? number : number.floatValue();
+      case SMALLINT:
+        return number instanceof Short ? number : number.shortValue();
+      case TINYINT:
+        return number instanceof Byte ? number : number.byteValue();
+      default:
+        return value;
+    }
+  }
+
   public static Map<String, Object> changeCassandraColumnMapping(Map<String, Object> map) {
     Map<String, Object> newMap = new HashMap<>();
     map.entrySet().forEach(entry -> newMap.put(propertiesCache.readPropertyValue(entry.getKey()), entry.getValue()));
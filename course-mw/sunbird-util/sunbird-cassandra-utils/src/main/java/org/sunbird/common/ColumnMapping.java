@@ -0,0 +1,75 @@
+package org.sunbird.common;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.sunbird.common.models.util.CassandraPropertyReader;
+
+/**
+ * Mapping of the selected cassandra columns to their property names (cassandratablecolumn
+ * properties). The mapping only depends on the table and the selected columns, so it is computed
+ * once per table and column set and reused for every result set of that shape.
+ */
+public final class ColumnMapping {
+
+  private static final CassandraPropertyReader propertiesCache =
+      CassandraPropertyReader.getInstance();
+  private static final Map<String, ColumnMapping> mappings = new ConcurrentHashMap<>();
+
+  private final String[] properties;
+  private final Map<String, String> propertyToColumn;
+
+  private ColumnMapping(ColumnDefinitions definitions) {
+    properties = new String[definitions.size()];
+    Map<String, String> columns = new LinkedHashMap<>();
+    for (int i = 0; i < definitions.size(); i++) {
+      String column = definitions.getName(i);
+      properties[i] = propertiesCache.readProperty(column).trim();
+      columns.put(properties[i], column);
+    }
+    propertyToColumn = Collections.unmodifiableMap(columns);
+  }
+
+  /**
+   * Returns the cached mapping for the table and columns of the given result metadata.
+   *
+   * @param definitions Column definitions of a result set
+   * @return ColumnMapping
+   */
+  public static ColumnMapping of(ColumnDefinitions definitions) {
+    if (definitions.size() == 0) {
+      return new ColumnMapping(definitions);
+    }
+    StringBuilder key =
+        new StringBuilder(definitions.getKeyspace(0))
+            .append('.')
+            .append(definitions.getTable(0));
+    for (int i = 0; i < definitions.size(); i++) {
+      key.append(':').append(definitions.getName(i));
+    }
+    return mappings.computeIfAbsent(key.toString(), k -> new ColumnMapping(definitions));
+  }
+
+  /**
+   * Converts the row into a map of property name and column value.
+   *
+   * @param row Row of a result set with this mapping
+   * @return Map of property name and value
+   */
+  public Map<String, Object> map(Row row) {
+    Map<String, Object> rowMap = new HashMap<>(properties.length * 4 / 3 + 1);
+    for (int i = 0; i < properties.length; i++) {
+      rowMap.put(properties[i], row.getObject(i));
+    }
+    return rowMap;
+  }
+
+  /** @return Unmodifiable map of property name and column name */
+  public Map<String, String> getPropertyToColumn() {
+    return propertyToColumn;
+  }
+}
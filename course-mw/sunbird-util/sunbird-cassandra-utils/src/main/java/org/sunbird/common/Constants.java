@@ -18,6 +18,8 @@ public interface Constants {
   public static final String PORT = "port";
   public static final String QUERY_LOGGER_THRESHOLD = "queryLoggerConstantThreshold";
   public static final String CASSANDRA_PROPERTIES_FILE = "cassandra.config.properties";
+  public static final String PREPARED_STATEMENT_CACHE_SIZE = "preparedStatementCacheSize";
+  public static final String FETCH_SIZE = "fetchSize";
 
   // CONSTANT
   public static final String COURSE_ID = "courseId";
@@ -26,6 +28,7 @@ public interface Constants {
   public static final String IDENTIFIER = "id";
   public static final String SUCCESS = "SUCCESS";
   public static final String RESPONSE = "response";
+  public static final String PAGING_STATE = "pagingState";
   public static final String SESSION_IS_NULL = "cassandra session is null for this ";
   public static final String CLUSTER_IS_NULL = "cassandra cluster value is null for this ";
   public static final String QUE_MARK = "?";
@@ -0,0 +1,124 @@
+package org.sunbird.helper;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Constants;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.common.util.StatsRegistry;
+
+/**
+ * Bounded cache of prepared statements, maintained separately for every cassandra session. The
+ * query string is used as cache key, it already carries the keyspace, table and column set of the
+ * statement, so a statement is prepared once per node instead of once per request.
+ */
+public final class PreparedStatementCache {
+
+  private static final long DEFAULT_MAX_SIZE = 1000;
+  private static LoggerUtil logger = new LoggerUtil(PreparedStatementCache.class);
+  private static volatile PreparedStatementCache instance = null;
+
+  private final long maxSize;
+  private final Map<Session, Cache<String, PreparedStatement>> sessionCaches =
+      new ConcurrentHashMap<>(2);
+
+  PreparedStatementCache(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public static PreparedStatementCache getInstance() {
+    if (null == instance) {
+      synchronized (PreparedStatementCache.class) {
+        if (null == instance) {
+          instance = new PreparedStatementCache(getConfiguredMaxSize());
+          StatsRegistry.register("cassandra-prepared-statements", instance::getStats);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the prepared statement for the given query, preparing it on the session only on a
+   * cache miss.
+   *
+   * @param session Cassandra session the statement belongs to
+   * @param query CQL query string with bind markers
+   * @return Prepared statement
+   */
+  public PreparedStatement getPreparedStatement(Session session, String query) {
+    Cache<String, PreparedStatement> cache =
+        sessionCaches.computeIfAbsent(session, s -> createCache());
+    try {
+      return cache.get(query, () -> session.prepare(query));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Aggregated hit, miss, eviction and size metrics of the statement caches of all sessions.
+   *
+   * @return Map of metric name and value
+   */
+  public Map<String, Object> getStats() {
+    long hitCount = 0;
+    long missCount = 0;
+    long evictionCount = 0;
+    long size = 0;
+    for (Cache<String, PreparedStatement> cache : sessionCaches.values()) {
+      CacheStats stats = cache.stats();
+      hitCount += stats.hitCount();
+      missCount += stats.missCount();
+      evictionCount += stats.evictionCount();
+      size += cache.size();
+    }
+    long requestCount = hitCount + missCount;
+    Map<String, Object> result = new HashMap<>();
+    result.put("hitCount", hitCount);
+    result.put("missCount", missCount);
+    result.put("evictionCount", evictionCount);
+    result.put("size", size);
+    result.put("maxSize", maxSize);
+    result.put("hitRate", requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+    return result;
+  }
+
+  /** Drops all cached statements, e.g. after a schema change. */
+  public void invalidateAll() {
+    sessionCaches.values().forEach(Cache::invalidateAll);
+  }
+
+  private Cache<String, PreparedStatement> createCache() {
+    return CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  private static long getConfiguredMaxSize() {
+    String value = PropertiesCache.getInstance().readProperty(Constants.PREPARED_STATEMENT_CACHE_SIZE);
+    if (StringUtils.isNotBlank(value)) {
+      try {
+        return Long.parseLong(value.trim());
+      } catch (NumberFormatException e) {
+        logger.info(
+            null,
+            "PreparedStatementCache: invalid value for "
+                + Constants.PREPARED_STATEMENT_CACHE_SIZE
+                + " : "
+                + value);
+      }
+    }
+    return DEFAULT_MAX_SIZE;
+  }
+}
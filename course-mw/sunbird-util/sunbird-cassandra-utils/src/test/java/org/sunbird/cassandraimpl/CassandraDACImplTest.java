@@ -17,6 +17,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.sunbird.BaseTest;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectUtil;
@@ -32,6 +33,8 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({CassandraConnectionMngrFactory.class, CassandraConnectionManagerImpl.class})
@@ -119,6 +122,44 @@ public class CassandraDACImplTest extends BaseTest {
         Assert.assertEquals(response.getResponseCode(), ResponseCode.OK);
     }
 
+    @Test
+    public void testGetRecordsAsync() throws Exception {
+        Request request = getRequest();
+        Map<String, Object> filters = new HashMap<String, Object>() {
+            {
+                put("user_id", "user_001");
+                put("course_id", "course_001");
+                put("batch_id", "batch_001");
+            }
+        };
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionMngrFactory.class, "getInstance")).toReturn(connectionManager);
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionManagerImpl.class, "getSession")).toReturn(session);
+        Response response = cassandraOperation.getRecordsAsync(request.getRequestContext(), keyspace, table, filters, null)
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(response.getResponseCode(), ResponseCode.OK);
+        Assert.assertEquals("attempt_001", ((ArrayList<Map<String, Object>>) response.getResult().get("response")).get(0).get("attemptId"));
+    }
+
+    @Test
+    public void testBatchInsertLoggedAsync() throws Exception {
+        Request request = getRequest();
+        ArrayList<Map<String, Object>> records = new ArrayList<Map<String, Object>>() {
+            {
+                add(new HashMap<String, Object>() {{
+                    put("userId", "user_002");
+                    put("courseId", "course_001");
+                    put("batchId", "batch_001");
+                    put("contentId", "content_001");
+                }});
+            }
+        };
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionMngrFactory.class, "getInstance")).toReturn(connectionManager);
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionManagerImpl.class, "getSession")).toReturn(session);
+        Response response = cassandraOperation.batchInsertLoggedAsync(request.getRequestContext(), keyspace, user_consumption_table, records)
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(response.getResponseCode(), ResponseCode.OK);
+    }
+
     @Test(expected = InvalidQueryException.class)
     public void testBatchInsertLoggedException() {
         Request request = getRequest();
@@ -138,6 +179,32 @@ public class CassandraDACImplTest extends BaseTest {
         cassandraOperation.batchInsertLogged(request.getRequestContext(), keyspace, user_consumption_table, records);
     }
 
+    @Test
+    public void testBatchInsertLoggedAsyncException() throws Exception {
+        Request request = getRequest();
+        ArrayList<Map<String, Object>> records = new ArrayList<Map<String, Object>>() {
+            {
+                add(new HashMap<String, Object>() {{
+                    put("courseId", "course_001");
+                    put("batchId", "batch_001");
+                    put("contentId", new ArrayList<String>() {{
+                        add("content_001");
+                    }});
+                }});
+            }
+        };
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionMngrFactory.class, "getInstance")).toReturn(connectionManager);
+        PowerMockito.stub(PowerMockito.method(CassandraConnectionManagerImpl.class, "getSession")).toReturn(session);
+        try {
+            cassandraOperation.batchInsertLoggedAsync(request.getRequestContext(), keyspace, user_consumption_table, records)
+                    .toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ProjectCommonException);
+            Assert.assertEquals(ResponseCode.SERVER_ERROR.getResponseCode(), ((ProjectCommonException) e.getCause()).getResponseCode());
+        }
+    }
+
     @Test
     @Ignore
     public void testBatchInsertLoggedPartialWrite() {
@@ -0,0 +1,72 @@
+package org.sunbird.common;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CassandraUtilTest {
+
+  private static ColumnDefinitions getColumnDefinitions(String table) {
+    ColumnDefinitions definitions = Mockito.mock(ColumnDefinitions.class);
+    Mockito.when(definitions.size()).thenReturn(2);
+    Mockito.when(definitions.getKeyspace(0)).thenReturn("sunbird_courses");
+    Mockito.when(definitions.getTable(0)).thenReturn(table);
+    Mockito.when(definitions.getName(0)).thenReturn("batchid");
+    Mockito.when(definitions.getName(1)).thenReturn("userid");
+    return definitions;
+  }
+
+  private static Row getRow(String batchId, String userId) {
+    Row row = Mockito.mock(Row.class);
+    Mockito.when(row.getObject(0)).thenReturn(batchId);
+    Mockito.when(row.getObject(1)).thenReturn(userId);
+    return row;
+  }
+
+  @Test
+  public void testColumnMappingCachedPerTable() {
+    ColumnMapping mapping = ColumnMapping.of(getColumnDefinitions("user_enrolments"));
+    Assert.assertSame(mapping, ColumnMapping.of(getColumnDefinitions("user_enrolments")));
+    Assert.assertNotSame(mapping, ColumnMapping.of(getColumnDefinitions("course_batch")));
+    Assert.assertEquals("batchid", mapping.getPropertyToColumn().get("batchId"));
+    Map<String, Object> record = mapping.map(getRow("batch-1", "user-1"));
+    Assert.assertEquals("batch-1", record.get("batchId"));
+    Assert.assertEquals("user-1", record.get("userId"));
+  }
+
+  @Test
+  public void testCreateResponseIterator() {
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    ColumnDefinitions definitions = getColumnDefinitions("user_enrolments");
+    Mockito.when(resultSet.getColumnDefinitions()).thenReturn(definitions);
+    Mockito.when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 2, 1);
+    Mockito.when(resultSet.isFullyFetched()).thenReturn(true);
+    Mockito.when(resultSet.isExhausted()).thenReturn(false, false, true);
+    Row first = getRow("batch-1", "user-1");
+    Row second = getRow("batch-1", "user-2");
+    Mockito.when(resultSet.one()).thenReturn(first, second, null);
+
+    Iterator<Map<String, Object>> iterator = CassandraUtil.createResponseIterator(resultSet);
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals("user-1", iterator.next().get("userId"));
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals("user-2", iterator.next().get("userId"));
+    Assert.assertFalse(iterator.hasNext());
+    Mockito.verify(resultSet, Mockito.never()).fetchMoreResults();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testCreateResponseIteratorExhausted() {
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    ColumnDefinitions definitions = getColumnDefinitions("user_enrolments");
+    Mockito.when(resultSet.getColumnDefinitions()).thenReturn(definitions);
+    Mockito.when(resultSet.isFullyFetched()).thenReturn(true);
+    CassandraUtil.createResponseIterator(resultSet).next();
+  }
+}
@@ -0,0 +1,65 @@
+package org.sunbird.helper;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class PreparedStatementCacheTest {
+
+  private static final String QUERY = "SELECT * FROM sunbird.course_batch WHERE id=?;";
+
+  @Test
+  public void testGetPreparedStatementPreparesOnce() {
+    PreparedStatementCache cache = new PreparedStatementCache(10);
+    Session session = Mockito.mock(Session.class);
+    PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+    Mockito.when(session.prepare(QUERY)).thenReturn(statement);
+
+    Assert.assertSame(statement, cache.getPreparedStatement(session, QUERY));
+    Assert.assertSame(statement, cache.getPreparedStatement(session, QUERY));
+    Mockito.verify(session, Mockito.times(1)).prepare(QUERY);
+
+    Map<String, Object> stats = cache.getStats();
+    Assert.assertEquals(1L, stats.get("hitCount"));
+    Assert.assertEquals(1L, stats.get("missCount"));
+    Assert.assertEquals(1L, stats.get("size"));
+  }
+
+  @Test
+  public void testGetPreparedStatementPerSession() {
+    PreparedStatementCache cache = new PreparedStatementCache(10);
+    Session session = Mockito.mock(Session.class);
+    Session otherSession = Mockito.mock(Session.class);
+    Mockito.when(session.prepare(QUERY)).thenReturn(Mockito.mock(PreparedStatement.class));
+    Mockito.when(otherSession.prepare(QUERY)).thenReturn(Mockito.mock(PreparedStatement.class));
+
+    Assert.assertNotSame(
+        cache.getPreparedStatement(session, QUERY),
+        cache.getPreparedStatement(otherSession, QUERY));
+    Assert.assertEquals(2L, cache.getStats().get("size"));
+  }
+
+  @Test
+  public void testGetPreparedStatementBounded() {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+    Session session = Mockito.mock(Session.class);
+    Mockito.when(session.prepare(Mockito.anyString()))
+        .thenReturn(Mockito.mock(PreparedStatement.class));
+    for (int i = 0; i < 5; i++) {
+      cache.getPreparedStatement(session, QUERY + i);
+    }
+    Assert.assertEquals(2L, cache.getStats().get("size"));
+  }
+
+  @Test(expected = InvalidQueryException.class)
+  public void testGetPreparedStatementFailure() {
+    PreparedStatementCache cache = new PreparedStatementCache(10);
+    Session session = Mockito.mock(Session.class);
+    Mockito.when(session.prepare(QUERY)).thenThrow(new InvalidQueryException("Undefined column"));
+    cache.getPreparedStatement(session, QUERY);
+  }
+}
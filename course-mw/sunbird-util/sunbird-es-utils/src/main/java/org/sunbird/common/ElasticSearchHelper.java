@@ -1,10 +1,16 @@
 package org.sunbird.common;
 
+import org.apache.pekko.actor.Scheduler;
+import org.apache.pekko.dispatch.Futures;
+import org.apache.pekko.dispatch.Recover;
+import org.apache.pekko.pattern.Patterns;
 import org.apache.pekko.util.Timeout;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.typesafe.config.Config;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -18,17 +24,28 @@ import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms.Bucket;
 import org.elasticsearch.search.sort.SortOrder;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.util.ConfigUtil;
 import org.sunbird.dto.SearchDTO;
 import scala.concurrent.Await;
+import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+import scala.concurrent.duration.FiniteDuration;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.text.MessageFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static org.sunbird.common.models.util.ProjectUtil.isNotNull;
@@ -60,7 +77,10 @@ public class ElasticSearchHelper {
   public static final List<String> upsertResults =
       new ArrayList<>(Arrays.asList("CREATED", "UPDATED", "NOOP"));
   private static final String _DOC = "_doc";
+  private static final String WAIT_TIME_KEY = "sunbird_es_wait_time";
+  private static final Map<String, Long> waitTimes = new ConcurrentHashMap<>();
   private static LoggerUtil logger = new LoggerUtil(ElasticSearchHelper.class);
+  private static ObjectMapper mapper = new ObjectMapper();
 
   private ElasticSearchHelper() {}
 
@@ -82,6 +102,112 @@ public class ElasticSearchHelper {
     return null;
   }
 
+  /**
+   * This method will return the object after getting complete future, waiting at most the wait time
+   * of the given call site. It is meant for the callers outside of request processing (background
+   * jobs, health checks), actors should compose the future with {@link #withTimeout}.
+   *
+   * @param future
+   * @param callSite Name of the caller, see {@link #getWaitTime(String)}
+   * @return Object which future inherits, null on failure or timeout
+   */
+  public static Object getResponseFromFuture(Future future, String callSite) {
+    try {
+      return Await.result(future, Duration.create(getWaitTime(callSite), TimeUnit.SECONDS));
+    } catch (Exception e) {
+      logger.error(
+          null, "ElasticSearchHelper:getResponseFromFuture: error occured for " + callSite, e);
+    }
+    return null;
+  }
+
+  /**
+   * Returns a future which completes as the given future, or fails with an operation timeout error
+   * if it does not complete within the wait time of the call site. No thread waits meanwhile.
+   *
+   * @param future Future of the elasticsearch call
+   * @param callSite Name of the caller, see {@link #getWaitTime(String)}
+   * @param scheduler Scheduler of the timeout, usually the one of the actor system
+   * @param ec Execution context
+   * @return Future of the result
+   */
+  public static <T> Future<T> withTimeout(
+      Future<T> future, String callSite, Scheduler scheduler, ExecutionContext ec) {
+    FiniteDuration waitTime = Duration.create(getWaitTime(callSite), TimeUnit.SECONDS);
+    Future<T> timeoutF =
+        Patterns.after(
+            waitTime,
+            scheduler,
+            ec,
+            () ->
+                Futures.failed(
+                    new ProjectCommonException(
+                        ResponseCode.operationTimeout.getErrorCode(),
+                        ResponseCode.operationTimeout.getErrorMessage(),
+                        ResponseCode.SERVER_ERROR.getResponseCode())));
+    return Futures.firstCompletedOf(Arrays.asList(future, timeoutF), ec);
+  }
+
+  /**
+   * Returns a future which completes as the given future, or with the ProjectCommonException of its
+   * failure, so that an actor piping it to the sender replies with an error response rather than a
+   * failure status. A timeout is an operation timeout server error, any other error which is not a
+   * ProjectCommonException is a server error.
+   *
+   * @param future Future of the reply
+   * @param callSite Name of the caller, used in the error log
+   * @param ec Execution context
+   * @return Future of the reply or of the error
+   */
+  public static <T> Future<Object> recoverWithError(
+      Future<T> future, String callSite, ExecutionContext ec) {
+    return future.recover(
+        new Recover<Object>() {
+          @Override
+          public Object recover(Throwable error) {
+            logger.error(null, "ElasticSearchHelper:recoverWithError: error occured for " + callSite, error);
+            return toProjectCommonException(error);
+          }
+        },
+        ec);
+  }
+
+  /**
+   * @param error Failure of an elasticsearch call
+   * @return The error if it is a ProjectCommonException, else the server error to reply
+   */
+  public static ProjectCommonException toProjectCommonException(Throwable error) {
+    Throwable cause =
+        error instanceof CompletionException && null != error.getCause() ? error.getCause() : error;
+    if (cause instanceof ProjectCommonException) {
+      return (ProjectCommonException) cause;
+    }
+    ResponseCode responseCode =
+        cause instanceof TimeoutException
+            ? ResponseCode.operationTimeout
+            : ResponseCode.internalError;
+    return new ProjectCommonException(
+        responseCode.getErrorCode(),
+        responseCode.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+
+  /**
+   * Returns the wait time in seconds for elasticsearch calls of the given call site. It is read from
+   * sunbird_es_wait_time_{callSite}, then from sunbird_es_wait_time, else it is WAIT_TIME.
+   *
+   * @param callSite Name of the caller, e.g. batch_search
+   * @return Wait time in seconds
+   */
+  public static long getWaitTime(String callSite) {
+    return waitTimes.computeIfAbsent(
+        StringUtils.defaultString(callSite),
+        key ->
+            NumberUtils.toLong(
+                ProjectUtil.getConfigValue(WAIT_TIME_KEY + "_" + key),
+                NumberUtils.toLong(ProjectUtil.getConfigValue(WAIT_TIME_KEY), WAIT_TIME)));
+  }
+
   /**
    * This method adds aggregations to the incoming SearchRequestBuilder object
    *
@@ -726,6 +852,45 @@ public class ElasticSearchHelper {
     return responseMap;
   }
 
+  /**
+   * Encodes the sort values of the last hit of a page as the cursor of the next page.
+   *
+   * @param sortValues Sort values of the last hit
+   * @return Opaque url safe cursor
+   */
+  public static String encodeCursor(Object[] sortValues) {
+    try {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(mapper.writeValueAsBytes(sortValues));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Decodes a cursor returned by a previous search into the search_after values of the next page.
+   *
+   * @param cursor Cursor of the page
+   * @return Sort values to search after
+   * @throws ProjectCommonException if the cursor was not returned by a search
+   */
+  public static Object[] decodeCursor(String cursor) {
+    try {
+      Object[] sortValues = mapper.readValue(Base64.getUrlDecoder().decode(cursor), Object[].class);
+      if (null != sortValues && sortValues.length > 0) {
+        return sortValues;
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      logger.debug(null, "ElasticSearchHelper:decodeCursor: invalid cursor " + cursor);
+    }
+    throw new ProjectCommonException(
+        ResponseCode.invalidParameterValue.getErrorCode(),
+        MessageFormat.format(
+            ResponseCode.invalidParameterValue.getErrorMessage(), cursor, JsonKey.CURSOR),
+        ResponseCode.CLIENT_ERROR.getResponseCode());
+  }
+
   private static List getFinalFacetList(
       SearchResponse response, SearchDTO searchDTO, List finalFacetList) {
     if (null != searchDTO.getFacets() && !searchDTO.getFacets().isEmpty()) {
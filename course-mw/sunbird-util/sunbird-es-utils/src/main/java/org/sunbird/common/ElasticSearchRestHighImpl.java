@@ -1,6 +1,8 @@
 package org.sunbird.common;
 
+import org.apache.pekko.dispatch.ExecutionContexts;
 import org.apache.pekko.dispatch.Futures;
+import org.apache.pekko.dispatch.Mapper;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -27,9 +29,12 @@ import org.elasticsearch.index.query.SimpleQueryStringBuilder;
 import org.elasticsearch.index.query.TermQueryBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortMode;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
@@ -39,10 +44,13 @@ import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ConnectionManager;
+import org.sunbird.helper.EsSearchMetrics;
+import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 import scala.concurrent.Promise;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +61,10 @@ import java.util.stream.Collectors;
 public class ElasticSearchRestHighImpl implements ElasticSearchService {
   private static final String ERROR = "ERROR";
   private static LoggerUtil logger = new LoggerUtil(ElasticSearchRestHighImpl.class);
+  private static final String CHANNEL = getChannel();
+  // runs the mapping of a result on the thread of the rest client which completes it, like the
+  // listeners completing the other futures of this class
+  private static final ExecutionContext CALLER_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
 
   /**
    * This method will put a new data entry inside Elastic search. identifier value becomes _id
@@ -291,11 +303,11 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     BoolQueryBuilder query = new BoolQueryBuilder();
 
     // add channel field as mandatory
-    String channel = PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_ES_CHANNEL);
-    if (!(StringUtils.isBlank(channel) || JsonKey.SUNBIRD_ES_CHANNEL.equals(channel))) {
+    if (null != CHANNEL) {
       query.must(
-          ElasticSearchHelper.createMatchQuery(JsonKey.CHANNEL, channel, constraintsMap.get(JsonKey.CHANNEL)));
+          ElasticSearchHelper.createMatchQuery(JsonKey.CHANNEL, CHANNEL, constraintsMap.get(JsonKey.CHANNEL)));
     }
+    SearchQueryTemplate template = SearchQueryTemplate.of(index, searchDTO);
 
     // apply simple query string
     if (!StringUtils.isBlank(searchDTO.getQuery())) {
@@ -350,8 +362,22 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     if (searchDTO.getLimit() != null) {
       searchSourceBuilder.size(searchDTO.getLimit());
     }
+    // page by cursor, the id breaks ties of the sort so each page starts after the last hit
+    if (null != searchDTO.getCursor()) {
+      searchSourceBuilder.from(0);
+      searchSourceBuilder.sort(JsonKey.ID + ElasticSearchHelper.RAW_APPEND, SortOrder.ASC);
+      if (StringUtils.isNotBlank(searchDTO.getCursor())) {
+        try {
+          searchSourceBuilder.searchAfter(ElasticSearchHelper.decodeCursor(searchDTO.getCursor()));
+        } catch (ProjectCommonException e) {
+          return Futures.failed(e);
+        }
+      }
+    }
     // apply additional properties
-    if (searchDTO.getAdditionalProperties() != null
+    if (null != template) {
+      template.bind(query, searchDTO);
+    } else if (searchDTO.getAdditionalProperties() != null
         && searchDTO.getAdditionalProperties().size() > 0) {
       for (Map.Entry<String, Object> entry : searchDTO.getAdditionalProperties().entrySet()) {
         ElasticSearchHelper.addAdditionalProperties(query, entry, constraintsMap);
@@ -365,17 +391,22 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     if (null != searchDTO.getFacets() && !searchDTO.getFacets().isEmpty()) {
       searchSourceBuilder = addAggregations(requestContext, searchSourceBuilder, searchDTO.getFacets());
     }
-    logger.info(requestContext, "ElasticSearchRestHighImpl:search: calling search builder======"
-            + searchSourceBuilder.toString());
+    SearchSourceBuilder finalSearchSourceBuilder = searchSourceBuilder;
+    logger.debug(requestContext, () -> "ElasticSearchRestHighImpl:search: calling search builder======"
+            + finalSearchSourceBuilder.toString());
 
     searchRequest.source(searchSourceBuilder);
     Promise<Map<String, Object>> promise = Futures.promise();
+    boolean templated = null != template;
+    long searchStartTime = System.nanoTime();
 
     ActionListener<SearchResponse> listener =
         new ActionListener<SearchResponse>() {
           @Override
           public void onResponse(SearchResponse response) {
-            logger.debug(requestContext, "ElasticSearchRestHighImpl:search:onResponse  response1 = " + response);
+            logger.debug(requestContext, () -> "ElasticSearchRestHighImpl:search:onResponse  response1 = " + response);
+            EsSearchMetrics.getInstance().recordSuccess(
+                index, searchLatency(searchStartTime), response.getHits() == null ? 0 : response.getHits().getHits().length, templated);
             if (response.getHits() == null || response.getHits().getTotalHits().value == 0) {
 
               Map<String, Object> responseMap = new HashMap<>();
@@ -385,6 +416,10 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
               promise.success(responseMap);
             } else {
               Map<String, Object> responseMap = ElasticSearchHelper.getSearchResponseMap(response, searchDTO, finalFacetList);
+              SearchHit[] hits = response.getHits().getHits();
+              if (null != searchDTO.getCursor() && hits.length > 0 && hits.length == finalSearchSourceBuilder.size()) {
+                responseMap.put(JsonKey.CURSOR, ElasticSearchHelper.encodeCursor(hits[hits.length - 1].getSortValues()));
+              }
               logger.debug(requestContext, "ElasticSearchRestHighImpl:search: method end "
                       + " ,Total time elapsed = " + calculateEndTime(startTime));
               promise.success(responseMap);
@@ -393,6 +428,7 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
 
           @Override
           public void onFailure(Exception e) {
+            EsSearchMetrics.getInstance().recordFailure(index, searchLatency(searchStartTime), templated);
             promise.failure(e);
 
             logger.debug(requestContext, "ElasticSearchRestHighImpl:search: method end   for Index " + index
@@ -491,6 +527,19 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     return System.currentTimeMillis() - startTime;
   }
 
+  private static long searchLatency(long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  /** @return Channel all searches are restricted to, read once as it is not reloaded */
+  private static String getChannel() {
+    String channel = PropertiesCache.getInstance().getProperty(JsonKey.SUNBIRD_ES_CHANNEL);
+    if (StringUtils.isBlank(channel) || JsonKey.SUNBIRD_ES_CHANNEL.equals(channel)) {
+      return null;
+    }
+    return channel;
+  }
+
   private static SearchSourceBuilder addAggregations(RequestContext requestContext,
                                                      SearchSourceBuilder searchSourceBuilder, List<Map<String, String>> facets) {
     long startTime = System.currentTimeMillis();
@@ -588,18 +637,17 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     searchDTO.setFields(fields);
 
     Future<Map<String, Object>> resultF = search(requestContext, searchDTO, index);
-    Map<String, Object> result = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
-    List<Map<String, Object>> esContent = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
-    Promise<Map<String, Map<String, Object>>> promise = Futures.promise();
-    promise.success(
-        esContent
-            .stream()
-            .collect(Collectors.toMap(obj -> {
-                      return (String) obj.get("id");
-                    },
-                    val -> val)));
-    logger.info(requestContext, "ElasticSearchRestHighImpl:getEsResultByListOfIds: method ended for index " + index);
-
-    return promise.future();
+    return resultF.map(
+        new Mapper<Map<String, Object>, Map<String, Map<String, Object>>>() {
+          @Override
+          public Map<String, Map<String, Object>> apply(Map<String, Object> result) {
+            List<Map<String, Object>> esContent = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+            logger.info(requestContext, "ElasticSearchRestHighImpl:getEsResultByListOfIds: method ended for index " + index);
+            return esContent
+                .stream()
+                .collect(Collectors.toMap(obj -> (String) obj.get("id"), val -> val));
+          }
+        },
+        CALLER_THREAD);
   }
 }
@@ -0,0 +1,234 @@
+package org.sunbird.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.util.StatsRegistry;
+import org.sunbird.helper.ConnectionManager;
+
+/**
+ * Buffers document writes of the node and sends them to elasticsearch as bulk requests. A bulk is
+ * sent when it has sunbird_es_bulk_actions documents, sunbird_es_bulk_size_mb megabytes or is
+ * sunbird_es_bulk_flush_interval seconds old. At most sunbird_es_bulk_concurrent_requests bulks
+ * are in flight, the writers wait in {@link #index} and {@link #update} beyond that. Documents
+ * rejected with 429 are retried with exponential backoff (sunbird_es_bulk_retry_backoff
+ * milliseconds, sunbird_es_bulk_max_retries times). The future of each document tells whether it
+ * was written, the failure of a document is logged with its id.
+ */
+public final class EsBulkIndexer {
+
+  private static LoggerUtil logger = new LoggerUtil(EsBulkIndexer.class);
+  private static volatile EsBulkIndexer instance = null;
+
+  private final BulkProcessor processor;
+  private final Map<DocWriteRequest<?>, Pending> pending =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+  private final LongAdder itemCount = new LongAdder();
+  private final LongAdder failedItemCount = new LongAdder();
+  private final LongAdder bulkCount = new LongAdder();
+  private final LongAdder failedBulkCount = new LongAdder();
+
+  EsBulkIndexer(
+      BiConsumer<BulkRequest, ActionListener<BulkResponse>> consumer,
+      int bulkActions,
+      long bulkSizeMb,
+      long flushIntervalSeconds,
+      int concurrentRequests,
+      long retryBackoffMillis,
+      int maxRetries) {
+    processor =
+        BulkProcessor.builder(consumer, new Listener())
+            .setBulkActions(bulkActions)
+            .setBulkSize(new ByteSizeValue(bulkSizeMb, ByteSizeUnit.MB))
+            .setFlushInterval(TimeValue.timeValueSeconds(flushIntervalSeconds))
+            .setConcurrentRequests(concurrentRequests)
+            .setBackoffPolicy(
+                BackoffPolicy.exponentialBackoff(
+                    TimeValue.timeValueMillis(retryBackoffMillis), maxRetries))
+            .build();
+  }
+
+  public static EsBulkIndexer getInstance() {
+    if (null == instance) {
+      synchronized (EsBulkIndexer.class) {
+        if (null == instance) {
+          instance =
+              new EsBulkIndexer(
+                  (request, listener) ->
+                      ConnectionManager.getRestClient()
+                          .bulkAsync(request, RequestOptions.DEFAULT, listener),
+                  getConfig("sunbird_es_bulk_actions", 500),
+                  getConfig("sunbird_es_bulk_size_mb", 5),
+                  getConfig("sunbird_es_bulk_flush_interval", 1),
+                  getConfig("sunbird_es_bulk_concurrent_requests", 2),
+                  getConfig("sunbird_es_bulk_retry_backoff", 100),
+                  getConfig("sunbird_es_bulk_max_retries", 3));
+          Runtime.getRuntime().addShutdownHook(new Thread(instance::close));
+          StatsRegistry.register("es-bulk-indexer", instance::getStats);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Adds the document, replacing the existing document with the same id.
+   *
+   * @param requestContext Context of the request for the failure log
+   * @param index Index of the document
+   * @param identifier Id of the document
+   * @param document Document
+   * @return Future completed with true once the document is written, false if it failed
+   */
+  public CompletableFuture<Boolean> index(
+      RequestContext requestContext, String index, String identifier, Map<String, Object> document) {
+    return add(requestContext, new IndexRequest(index).id(identifier).source(document));
+  }
+
+  /**
+   * Adds a partial update of an existing document.
+   *
+   * @param requestContext Context of the request for the failure log
+   * @param index Index of the document
+   * @param identifier Id of the document
+   * @param document Fields to update
+   * @return Future completed with true once the document is written, false if it failed
+   */
+  public CompletableFuture<Boolean> update(
+      RequestContext requestContext, String index, String identifier, Map<String, Object> document) {
+    return add(requestContext, new UpdateRequest(index, identifier).doc(document));
+  }
+
+  /** Sends the buffered documents without waiting for the flush interval. */
+  public void flush() {
+    processor.flush();
+  }
+
+  /** @return Counts of documents and bulks written and failed, and documents in flight */
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("itemCount", itemCount.sum());
+    stats.put("failedItemCount", failedItemCount.sum());
+    stats.put("bulkCount", bulkCount.sum());
+    stats.put("failedBulkCount", failedBulkCount.sum());
+    stats.put("pendingItemCount", pending.size());
+    return stats;
+  }
+
+  void close() {
+    try {
+      processor.awaitClose(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private CompletableFuture<Boolean> add(RequestContext requestContext, DocWriteRequest<?> request) {
+    Pending item = new Pending(requestContext);
+    pending.put(request, item);
+    try {
+      processor.add(request);
+    } catch (RuntimeException e) {
+      pending.remove(request);
+      logger.error(requestContext, "EsBulkIndexer:add: failed to add document " + request.id(), e);
+      item.future.complete(false);
+    }
+    return item.future;
+  }
+
+  private static int getConfig(String key, int defaultValue) {
+    return NumberUtils.toInt(ProjectUtil.getConfigValue(key), defaultValue);
+  }
+
+  private static class Pending {
+    private final RequestContext requestContext;
+    private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+    private Pending(RequestContext requestContext) {
+      this.requestContext = requestContext;
+    }
+  }
+
+  private class Listener implements BulkProcessor.Listener {
+
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      bulkCount.increment();
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      // responses of retried bulks are not in the order of the request, match them by document id,
+      // not by index since a response has the concrete index of a request made to an alias
+      Map<String, LinkedList<BulkItemResponse>> responses = new HashMap<>();
+      for (BulkItemResponse itemResponse : response) {
+        responses.computeIfAbsent(itemResponse.getId(), k -> new LinkedList<>()).add(itemResponse);
+      }
+      for (DocWriteRequest<?> itemRequest : request.requests()) {
+        LinkedList<BulkItemResponse> itemResponses = responses.get(itemRequest.id());
+        BulkItemResponse itemResponse = null == itemResponses ? null : itemResponses.poll();
+        String failure =
+            null == itemResponse
+                ? "no response"
+                : (itemResponse.isFailed() ? itemResponse.getFailureMessage() : null);
+        complete(itemRequest, failure);
+      }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      failedBulkCount.increment();
+      logger.error(
+          null,
+          "EsBulkIndexer:afterBulk: bulk of " + request.numberOfActions() + " documents failed",
+          failure);
+      for (DocWriteRequest<?> itemRequest : new ArrayList<>(request.requests())) {
+        complete(itemRequest, failure.getMessage());
+      }
+    }
+
+    private void complete(DocWriteRequest<?> itemRequest, String failure) {
+      itemCount.increment();
+      Pending item = pending.remove(itemRequest);
+      if (null != failure) {
+        failedItemCount.increment();
+        logger.error(
+            null == item ? null : item.requestContext,
+            "EsBulkIndexer:afterBulk: failed to write document "
+                + itemRequest.index()
+                + "/"
+                + itemRequest.id()
+                + " "
+                + failure,
+            null);
+      }
+      if (null != item) {
+        item.future.complete(null == failure);
+      }
+    }
+  }
+}
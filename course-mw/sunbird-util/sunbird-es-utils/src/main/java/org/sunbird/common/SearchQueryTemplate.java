@@ -0,0 +1,164 @@
+package org.sunbird.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.dto.SearchDTO;
+
+/**
+ * Query of a search which only has term filters, like the batches by ids or the enrolments of a
+ * user. The field names and kind of query of each filter are resolved once per shape (index and
+ * filter keys with the type of their values), a search of a known shape only binds the values.
+ * The query is the same as the one built by {@link ElasticSearchHelper#addAdditionalProperties},
+ * except that the string values of the request are not lower cased in place.
+ */
+final class SearchQueryTemplate {
+
+  private static final int MAX_TEMPLATES = 256;
+  private static final Map<String, SearchQueryTemplate> templates = new ConcurrentHashMap<>();
+
+  private static final char TERM = 'T';
+  private static final char TERM_LOWER_CASE = 'S';
+  private static final char TERMS = 'N';
+  private static final char TERMS_LOWER_CASE = 'L';
+  private static final char SKIP = 'E';
+
+  private final String[] keys;
+  private final String[] fields;
+  private final char[] kinds;
+
+  private SearchQueryTemplate(String[] keys, char[] kinds) {
+    this.keys = keys;
+    this.kinds = kinds;
+    this.fields = new String[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      fields[i] = kinds[i] == TERMS ? keys[i] : keys[i] + ElasticSearchHelper.RAW_APPEND;
+    }
+  }
+
+  /**
+   * Returns the template of the search, or null if the search has a query, sort, facets, soft
+   * constraints or a filter other than a term filter.
+   *
+   * @param index Index of the search
+   * @param searchDTO Search request
+   * @return Template of the search or null
+   */
+  @SuppressWarnings("unchecked")
+  static SearchQueryTemplate of(String index, SearchDTO searchDTO) {
+    if (StringUtils.isNotBlank(searchDTO.getQuery())
+        || MapUtils.isNotEmpty(searchDTO.getSortBy())
+        || (null != searchDTO.getFacets() && !searchDTO.getFacets().isEmpty())
+        || MapUtils.isNotEmpty(searchDTO.getSoftConstraints())) {
+      return null;
+    }
+    Map<String, Object> additionalProperties = searchDTO.getAdditionalProperties();
+    if (null == additionalProperties || additionalProperties.size() != 1) {
+      return null;
+    }
+    Map.Entry<String, Object> entry = additionalProperties.entrySet().iterator().next();
+    if (!JsonKey.FILTERS.equalsIgnoreCase(entry.getKey()) || !(entry.getValue() instanceof Map)) {
+      return null;
+    }
+    Map<String, Object> filters = (Map<String, Object>) entry.getValue();
+    String[] keys = new String[filters.size()];
+    char[] kinds = new char[filters.size()];
+    StringBuilder shape = new StringBuilder(index);
+    int i = 0;
+    for (Map.Entry<String, Object> filter : filters.entrySet()) {
+      char kind = kindOf(filter.getKey(), filter.getValue());
+      if (kind == 0) {
+        return null;
+      }
+      keys[i] = filter.getKey();
+      kinds[i++] = kind;
+      shape.append('|').append(filter.getKey()).append(':').append(kind);
+    }
+    String key = shape.toString();
+    SearchQueryTemplate template = templates.get(key);
+    if (null == template) {
+      template = new SearchQueryTemplate(keys, kinds);
+      if (templates.size() < MAX_TEMPLATES) {
+        templates.putIfAbsent(key, template);
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Adds the filters of the search to the query.
+   *
+   * @param query Query of the search
+   * @param searchDTO Search request of the shape of this template
+   */
+  @SuppressWarnings("unchecked")
+  void bind(BoolQueryBuilder query, SearchDTO searchDTO) {
+    Map<String, Object> filters =
+        (Map<String, Object>) searchDTO.getAdditionalProperties().values().iterator().next();
+    for (int i = 0; i < keys.length; i++) {
+      Object value = filters.get(keys[i]);
+      switch (kinds[i]) {
+        case TERM_LOWER_CASE:
+          query.must(QueryBuilders.termQuery(fields[i], ((String) value).toLowerCase()));
+          break;
+        case TERM:
+          query.must(QueryBuilders.termQuery(fields[i], value));
+          break;
+        case TERMS_LOWER_CASE:
+          List<Object> strings = (List<Object>) value;
+          Object[] values = new Object[strings.size()];
+          for (int j = 0; j < values.length; j++) {
+            values[j] = ((String) strings.get(j)).toLowerCase();
+          }
+          query.must(QueryBuilders.termsQuery(fields[i], values));
+          break;
+        case TERMS:
+          query.must(QueryBuilders.termsQuery(fields[i], ((List<Object>) value).toArray()));
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  static void clear() {
+    templates.clear();
+  }
+
+  static int size() {
+    return templates.size();
+  }
+
+  private static char kindOf(String key, Object value) {
+    if (null == value || JsonKey.ES_OR_OPERATION.equalsIgnoreCase(key)) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return TERM_LOWER_CASE;
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      return TERM;
+    }
+    if (value instanceof List) {
+      List<?> values = (List<?>) value;
+      if (values.isEmpty()) {
+        return SKIP;
+      }
+      if (values.get(0) instanceof String) {
+        for (Object item : values) {
+          if (!(item instanceof String)) {
+            return 0;
+          }
+        }
+        return TERMS_LOWER_CASE;
+      }
+      return TERMS;
+    }
+    return 0;
+  }
+}
@@ -72,7 +72,8 @@ public interface ElasticSearchService {
   /**
    * Method to perform the elastic search on the basis of SearchDTO . SearchDTO contains the search
    * criteria like fields, facets, sort by , filters etc. here user can pass single type to search
-   * or multiple type or null
+   * or multiple type or null. If the cursor of SearchDTO is set the search pages with search_after
+   * instead of offset, the result has the cursor of the next page unless it is the last page.
    *
    * @param type var arg of String
    * @param requestContext
@@ -32,6 +32,9 @@ public class SearchDTO {
   private Map<String, Integer> softConstraints = new HashMap<>();
   private List<Map<String, Object>> groupQuery = new ArrayList<>();
   private List<String> mode = new ArrayList<>();
+  // cursor of the page to read with search_after, empty for the first page and null to page by
+  // offset
+  private String cursor;
 
   public List<Map<String, Object>> getGroupQuery() {
     return groupQuery;
@@ -174,4 +177,12 @@ public class SearchDTO {
   public void setQueryFields(List<String> queryFields) {
     this.queryFields = queryFields;
   }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
 }
@@ -5,14 +5,24 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.elasticsearch.client.Node;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.util.StatsRegistry;
 
 /**
  * This class will manage connection.
@@ -22,6 +32,8 @@ import org.sunbird.common.models.util.ProjectLogger;
 public class ConnectionManager {
 
   private static RestHighLevelClient restClient = null;
+  private static EsNodeSniffer sniffer = null;
+  private static final EsClientMetrics metrics = new EsClientMetrics();
   private static List<String> host = new ArrayList<>();
   private static List<Integer> ports = new ArrayList<>();
   public static LoggerUtil logger = new LoggerUtil(ConnectionManager.class);
@@ -30,6 +42,7 @@ public class ConnectionManager {
     System.setProperty("es.set.netty.runtime.available.processors", "false");
     initialiseRestClientConnection();
     registerShutDownHook();
+    StatsRegistry.register("es-client", ConnectionManager::getStats);
   }
 
   private ConnectionManager() {}
@@ -84,7 +97,9 @@ public class ConnectionManager {
   }
 
   /**
-   * This method will create the client instance for elastic search.
+   * This method will create the client instance for elastic search. The connection pool, the I/O
+   * threads, the timeouts, compression and sniffing of the cluster nodes are read from the
+   * sunbird_es_* configuration.
    *
    * @param clusterName String
    * @param host List<String>
@@ -92,16 +107,93 @@ public class ConnectionManager {
    * @throws UnknownHostException
    */
   private static boolean createRestClient(String clusterName, List<String> host) {
+    int port = getConfig("sunbird_es_http_port", 9200);
     HttpHost[] httpHost = new HttpHost[host.size()];
     for (int i = 0; i < host.size(); i++) {
-      httpHost[i] = new HttpHost(host.get(i), 9200);
+      httpHost[i] = new HttpHost(host.get(i), port);
+    }
+    PoolingNHttpClientConnectionManager connectionManager;
+    try {
+      connectionManager = createConnectionManager();
+    } catch (IOReactorException e) {
+      logger.error(null, "ConnectionManager:createRestClient: failed to create the connection pool", e);
+      return false;
+    }
+    metrics.setConnectionManager(connectionManager);
+    int keepAlive = getConfig("sunbird_es_keep_alive", 60000);
+    RestClientBuilder builder =
+        RestClient.builder(httpHost)
+            .setCompressionEnabled(
+                Boolean.parseBoolean(ProjectUtil.getConfigValue("sunbird_es_compression")))
+            .setRequestConfigCallback(
+                requestConfig ->
+                    requestConfig
+                        .setConnectTimeout(getConfig("sunbird_es_connect_timeout", 1000))
+                        .setSocketTimeout(getConfig("sunbird_es_socket_timeout", 30000))
+                        .setConnectionRequestTimeout(
+                            getConfig("sunbird_es_connection_request_timeout", 5000)))
+            .setHttpClientConfigCallback(
+                httpClient -> {
+                  httpClient
+                      .setConnectionManager(connectionManager)
+                      .addInterceptorLast(metrics.requestInterceptor())
+                      .addInterceptorFirst(metrics.responseInterceptor());
+                  if (keepAlive > 0) {
+                    httpClient.setKeepAliveStrategy((response, context) -> keepAlive);
+                  }
+                  return httpClient;
+                })
+            .setFailureListener(
+                new RestClient.FailureListener() {
+                  @Override
+                  public void onFailure(Node node) {
+                    metrics.recordNodeFailure();
+                    logger.info(null, "ConnectionManager: request failed on node " + node.getHost());
+                  }
+                });
+    restClient = new RestHighLevelClient(builder);
+    int sniffInterval = getConfig("sunbird_es_sniff_interval", 0);
+    if (sniffInterval > 0) {
+      sniffer =
+          new EsNodeSniffer(
+              restClient.getLowLevelClient(), httpHost[0].getSchemeName(), sniffInterval);
     }
-    restClient = new RestHighLevelClient(RestClient.builder(httpHost));
     logger.info(null,
         "ConnectionManager:createRestClient client initialisation done. ");
     return true;
   }
 
+  /**
+   * Pool of the client connections, created here instead of by the client so its utilization can be
+   * read. The I/O reactor settings are the ones the client would use otherwise.
+   */
+  private static PoolingNHttpClientConnectionManager createConnectionManager()
+      throws IOReactorException {
+    int ioThreads = getConfig("sunbird_es_io_threads", 0);
+    IOReactorConfig ioReactorConfig =
+        IOReactorConfig.custom()
+            .setIoThreadCount(
+                ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors())
+            .setConnectTimeout(getConfig("sunbird_es_connect_timeout", 1000))
+            .setSoTimeout(getConfig("sunbird_es_socket_timeout", 30000))
+            .setSoKeepAlive(true)
+            .build();
+    PoolingNHttpClientConnectionManager connectionManager =
+        new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+    connectionManager.setMaxTotal(getConfig("sunbird_es_max_conn_total", 128));
+    connectionManager.setDefaultMaxPerRoute(getConfig("sunbird_es_max_conn_per_route", 64));
+    return connectionManager;
+  }
+
+  private static int getConfig(String key, int defaultValue) {
+    return NumberUtils.toInt(ProjectUtil.getConfigValue(key), defaultValue);
+  }
+
+  /** @return Connection pool utilization and request latency of the client */
+  public static Map<String, Object> getStats() {
+    return metrics.getStats();
+  }
+
   /**
    * This class will be called by registerShutDownHook to register the call inside jvm , when jvm
    * terminate it will call the run method to clean up the resource.
@@ -112,6 +204,9 @@ public class ConnectionManager {
     @Override
     public void run() {
       try {
+        if (null != sniffer) {
+          sniffer.close();
+        }
         restClient.close();
       } catch (IOException e) {
         e.printStackTrace();
@@ -0,0 +1,86 @@
+package org.sunbird.helper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Metrics of the elasticsearch rest client: utilization of the connection pool and latency of the
+ * requests, measured by the interceptors of the http client from sending the request until its
+ * response is received.
+ */
+public class EsClientMetrics {
+
+  private static final String START_TIME = "sunbird.es.startTime";
+
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder serverErrorCount = new LongAdder();
+  private final LongAdder nodeFailureCount = new LongAdder();
+  private final LongAdder totalLatency = new LongAdder();
+  private final LongAccumulator maxLatency = new LongAccumulator(Long::max, 0);
+  private final EsHistogram latencyHistogram = new EsHistogram(10, 50, 100, 250, 500, 1000, 5000);
+  private volatile PoolingNHttpClientConnectionManager connectionManager;
+
+  void setConnectionManager(PoolingNHttpClientConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
+  HttpRequestInterceptor requestInterceptor() {
+    return (request, context) -> context.setAttribute(START_TIME, System.nanoTime());
+  }
+
+  HttpResponseInterceptor responseInterceptor() {
+    return (response, context) -> {
+      Object startTime = context.getAttribute(START_TIME);
+      if (startTime instanceof Long) {
+        record(
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) startTime),
+            response.getStatusLine().getStatusCode());
+      }
+    };
+  }
+
+  void recordNodeFailure() {
+    nodeFailureCount.increment();
+  }
+
+  void record(long latencyMillis, int statusCode) {
+    requestCount.increment();
+    if (statusCode >= 500) {
+      serverErrorCount.increment();
+    }
+    totalLatency.add(latencyMillis);
+    maxLatency.accumulate(latencyMillis);
+    latencyHistogram.record(latencyMillis);
+  }
+
+  /** @return Request counts, latency in milliseconds with its histogram and the pool utilization */
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    long requests = requestCount.sum();
+    stats.put("requestCount", requests);
+    stats.put("serverErrorCount", serverErrorCount.sum());
+    stats.put("nodeFailureCount", nodeFailureCount.sum());
+    stats.put("avgLatency", requests == 0 ? 0.0 : (double) totalLatency.sum() / requests);
+    stats.put("maxLatency", maxLatency.get());
+    stats.put("latencyHistogram", latencyHistogram.toMap());
+    PoolingNHttpClientConnectionManager manager = connectionManager;
+    if (null != manager) {
+      PoolStats poolStats = manager.getTotalStats();
+      stats.put("poolLeased", poolStats.getLeased());
+      stats.put("poolPending", poolStats.getPending());
+      stats.put("poolAvailable", poolStats.getAvailable());
+      stats.put("poolMax", poolStats.getMax());
+      stats.put(
+          "poolUtilization",
+          poolStats.getMax() == 0 ? 0.0 : (double) poolStats.getLeased() / poolStats.getMax());
+    }
+    return stats;
+  }
+}
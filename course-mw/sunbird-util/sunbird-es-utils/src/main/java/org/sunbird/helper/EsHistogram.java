@@ -0,0 +1,38 @@
+package org.sunbird.helper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts of recorded values per bucket, a value falls in the first bucket whose bound is not less. */
+class EsHistogram {
+
+  private final long[] bounds;
+  private final LongAdder[] buckets;
+
+  EsHistogram(long... bounds) {
+    this.bounds = bounds;
+    this.buckets = new LongAdder[bounds.length + 1];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  void record(long value) {
+    int bucket = 0;
+    while (bucket < bounds.length && value > bounds[bucket]) {
+      bucket++;
+    }
+    buckets[bucket].increment();
+  }
+
+  /** @return Map of le<bound> and gt<last bound> and its count */
+  Map<String, Long> toMap() {
+    Map<String, Long> histogram = new LinkedHashMap<>();
+    for (int i = 0; i < bounds.length; i++) {
+      histogram.put("le" + bounds[i], buckets[i].sum());
+    }
+    histogram.put("gt" + bounds[bounds.length - 1], buckets[bounds.length].sum());
+    return histogram;
+  }
+}
@@ -0,0 +1,85 @@
+package org.sunbird.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.sunbird.common.models.util.LoggerUtil;
+
+/**
+ * Refreshes the nodes of the rest client with the http nodes of the cluster at a fixed interval, so
+ * requests are spread over all data nodes and not only the configured hosts. The configured hosts
+ * are kept if the cluster returns no node.
+ */
+public class EsNodeSniffer {
+
+  private static LoggerUtil logger = new LoggerUtil(EsNodeSniffer.class);
+  private static ObjectMapper mapper = new ObjectMapper();
+
+  private final RestClient restClient;
+  private final String scheme;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "es-node-sniffer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  EsNodeSniffer(RestClient restClient, String scheme, long intervalSeconds) {
+    this.restClient = restClient;
+    this.scheme = scheme;
+    scheduler.scheduleWithFixedDelay(
+        this::sniff, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  void sniff() {
+    try {
+      Response response = restClient.performRequest(new Request("GET", "/_nodes/http"));
+      List<Node> nodes;
+      try (InputStream content = response.getEntity().getContent()) {
+        nodes = readNodes(mapper.readTree(content), scheme);
+      }
+      if (!nodes.isEmpty()) {
+        restClient.setNodes(nodes);
+        logger.debug(null, "EsNodeSniffer:sniff: nodes updated to " + nodes);
+      }
+    } catch (Exception e) {
+      logger.error(null, "EsNodeSniffer:sniff: failed to read the nodes of the cluster", e);
+    }
+  }
+
+  static List<Node> readNodes(JsonNode nodesInfo, String scheme) {
+    List<Node> nodes = new ArrayList<>();
+    Iterator<JsonNode> iterator = nodesInfo.path("nodes").elements();
+    while (iterator.hasNext()) {
+      // publish_address is host:port or hostname/ip:port
+      String address = iterator.next().path("http").path("publish_address").asText();
+      if (StringUtils.isBlank(address) || !address.contains(":")) {
+        continue;
+      }
+      String host = StringUtils.substringBeforeLast(address, ":");
+      if (host.contains("/")) {
+        host = StringUtils.substringAfter(host, "/");
+      }
+      int port = Integer.parseInt(StringUtils.substringAfterLast(address, ":"));
+      nodes.add(new Node(new HttpHost(host, port, scheme)));
+    }
+    return nodes;
+  }
+
+  void close() {
+    scheduler.shutdownNow();
+  }
+}
@@ -0,0 +1,73 @@
+package org.sunbird.helper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.sunbird.common.util.StatsRegistry;
+
+/**
+ * Metrics of the searches per index: latency from sending the search until its response is
+ * received, number of documents returned and number of searches built from a query template.
+ */
+public class EsSearchMetrics {
+
+  private static final EsSearchMetrics instance = new EsSearchMetrics();
+
+  static {
+    StatsRegistry.register("es-search", instance::getStats);
+  }
+
+  private final Map<String, IndexMetrics> indexMetrics = new ConcurrentHashMap<>();
+
+  EsSearchMetrics() {}
+
+  public static EsSearchMetrics getInstance() {
+    return instance;
+  }
+
+  public void recordSuccess(String index, long latencyMillis, int resultSize, boolean templated) {
+    IndexMetrics metrics = getIndexMetrics(index, templated);
+    metrics.latency.record(latencyMillis);
+    metrics.resultSize.record(resultSize);
+  }
+
+  public void recordFailure(String index, long latencyMillis, boolean templated) {
+    IndexMetrics metrics = getIndexMetrics(index, templated);
+    metrics.failureCount.increment();
+    metrics.latency.record(latencyMillis);
+  }
+
+  /** @return Map of index and its search counts, latency and result size histograms */
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    indexMetrics.forEach(
+        (index, metrics) -> {
+          Map<String, Object> indexStats = new HashMap<>();
+          indexStats.put("searchCount", metrics.searchCount.sum());
+          indexStats.put("templatedCount", metrics.templatedCount.sum());
+          indexStats.put("failureCount", metrics.failureCount.sum());
+          indexStats.put("latencyHistogram", metrics.latency.toMap());
+          indexStats.put("resultSizeHistogram", metrics.resultSize.toMap());
+          stats.put(index, indexStats);
+        });
+    return stats;
+  }
+
+  private IndexMetrics getIndexMetrics(String index, boolean templated) {
+    IndexMetrics metrics = indexMetrics.computeIfAbsent(index, k -> new IndexMetrics());
+    metrics.searchCount.increment();
+    if (templated) {
+      metrics.templatedCount.increment();
+    }
+    return metrics;
+  }
+
+  private static class IndexMetrics {
+    private final LongAdder searchCount = new LongAdder();
+    private final LongAdder templatedCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final EsHistogram latency = new EsHistogram(10, 50, 100, 250, 500, 1000, 5000);
+    private final EsHistogram resultSize = new EsHistogram(0, 1, 10, 100, 1000, 10000);
+  }
+}
@@ -0,0 +1,34 @@
+package org.sunbird.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+
+public class ElasticSearchCursorTest {
+
+  @Test
+  public void testCursorRoundTrip() {
+    String cursor = ElasticSearchHelper.encodeCursor(new Object[] {1589932800000L, "0130", 2});
+    Object[] sortValues = ElasticSearchHelper.decodeCursor(cursor);
+
+    Assert.assertEquals(3, sortValues.length);
+    Assert.assertEquals(1589932800000L, ((Number) sortValues[0]).longValue());
+    Assert.assertEquals("0130", sortValues[1]);
+    Assert.assertEquals(2, ((Number) sortValues[2]).intValue());
+    Assert.assertFalse(cursor.contains("="));
+  }
+
+  @Test
+  public void testDecodeInvalidCursor() {
+    for (String cursor : new String[] {"not a cursor", "bnVsbA", "W10"}) {
+      try {
+        ElasticSearchHelper.decodeCursor(cursor);
+        Assert.fail("invalid cursor must be rejected: " + cursor);
+      } catch (ProjectCommonException e) {
+        Assert.assertEquals(ResponseCode.invalidParameterValue.getErrorCode(), e.getCode());
+        Assert.assertEquals(ResponseCode.CLIENT_ERROR.getResponseCode(), e.getResponseCode());
+      }
+    }
+  }
+}
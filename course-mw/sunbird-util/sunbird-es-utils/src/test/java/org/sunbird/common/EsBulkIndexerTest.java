@@ -0,0 +1,165 @@
+package org.sunbird.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EsBulkIndexerTest {
+
+  private static Map<String, Object> document(String id) {
+    Map<String, Object> document = new HashMap<>();
+    document.put("id", id);
+    return document;
+  }
+
+  private static BulkItemResponse success(int itemId, DocWriteRequest<?> request) {
+    return new BulkItemResponse(
+        itemId,
+        request.opType(),
+        new IndexResponse(new ShardId(request.index(), "uuid", 0), "_doc", request.id(), 1, 1, 1, true));
+  }
+
+  private static BulkItemResponse failure(int itemId, DocWriteRequest<?> request, RestStatus status) {
+    return new BulkItemResponse(
+        itemId,
+        request.opType(),
+        new BulkItemResponse.Failure(
+            request.index(), "_doc", request.id(), new Exception(status.name()), status));
+  }
+
+  @Test
+  public void testDocumentWrittenThroughAlias() throws Exception {
+    EsBulkIndexer indexer =
+        new EsBulkIndexer(
+            (request, listener) -> {
+              DocWriteRequest<?> item = request.requests().get(0);
+              BulkItemResponse response =
+                  new BulkItemResponse(
+                      0,
+                      item.opType(),
+                      new IndexResponse(
+                          new ShardId("usercourses_v2", "uuid", 0), "_doc", item.id(), 1, 1, 1, true));
+              listener.onResponse(new BulkResponse(new BulkItemResponse[] {response}, 1));
+            },
+            1,
+            5,
+            60,
+            0,
+            1,
+            3);
+    CompletableFuture<Boolean> future = indexer.index(null, "usercourses", "1", document("1"));
+    Assert.assertTrue(future.get(1, TimeUnit.SECONDS));
+    Assert.assertEquals(0L, indexer.getStats().get("failedItemCount"));
+  }
+
+  @Test
+  public void testDocumentsAreSentInBulks() throws Exception {
+    List<Integer> bulkSizes = new ArrayList<>();
+    EsBulkIndexer indexer =
+        new EsBulkIndexer(
+            (request, listener) -> {
+              bulkSizes.add(request.numberOfActions());
+              BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+              for (int i = 0; i < items.length; i++) {
+                DocWriteRequest<?> item = request.requests().get(i);
+                items[i] =
+                    "bad".equals(item.id())
+                        ? failure(i, item, RestStatus.BAD_REQUEST)
+                        : success(i, item);
+              }
+              listener.onResponse(new BulkResponse(items, 1));
+            },
+            3,
+            5,
+            60,
+            0,
+            1,
+            3);
+    List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+    for (String id : new String[] {"1", "bad", "3", "4"}) {
+      futures.add(indexer.index(null, "usercourses", id, document(id)));
+    }
+    Assert.assertFalse(futures.get(3).isDone());
+    indexer.flush();
+
+    Assert.assertEquals(2, bulkSizes.size());
+    Assert.assertEquals(3, (int) bulkSizes.get(0));
+    Assert.assertTrue(futures.get(0).get(1, TimeUnit.SECONDS));
+    Assert.assertFalse(futures.get(1).get(1, TimeUnit.SECONDS));
+    Assert.assertTrue(futures.get(3).get(1, TimeUnit.SECONDS));
+    Map<String, Object> stats = indexer.getStats();
+    Assert.assertEquals(4L, stats.get("itemCount"));
+    Assert.assertEquals(1L, stats.get("failedItemCount"));
+    Assert.assertEquals(2L, stats.get("bulkCount"));
+    Assert.assertEquals(0, stats.get("pendingItemCount"));
+    indexer.close();
+  }
+
+  @Test
+  public void testRejectedDocumentsAreRetried() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    EsBulkIndexer indexer =
+        new EsBulkIndexer(
+            (request, listener) -> {
+              boolean rejected = attempts.incrementAndGet() == 1;
+              BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+              for (int i = 0; i < items.length; i++) {
+                DocWriteRequest<?> item = request.requests().get(i);
+                items[i] =
+                    rejected && "2".equals(item.id())
+                        ? failure(i, item, RestStatus.TOO_MANY_REQUESTS)
+                        : success(i, item);
+              }
+              listener.onResponse(new BulkResponse(items, 1));
+            },
+            10,
+            5,
+            60,
+            1,
+            1,
+            3);
+    CompletableFuture<Boolean> first = indexer.update(null, "usercourses", "1", document("1"));
+    CompletableFuture<Boolean> second = indexer.update(null, "usercourses", "2", document("2"));
+    indexer.flush();
+
+    Assert.assertTrue(first.get(5, TimeUnit.SECONDS));
+    Assert.assertTrue(second.get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(2, attempts.get());
+    Assert.assertEquals(0L, indexer.getStats().get("failedItemCount"));
+    indexer.close();
+  }
+
+  @Test
+  public void testFailedBulkFailsAllDocuments() throws Exception {
+    EsBulkIndexer indexer =
+        new EsBulkIndexer(
+            (request, listener) -> listener.onFailure(new Exception("connection refused")),
+            10,
+            5,
+            60,
+            0,
+            1,
+            0);
+    CompletableFuture<Boolean> first = indexer.index(null, "course-batch", "1", document("1"));
+    CompletableFuture<Boolean> second = indexer.index(null, "course-batch", "2", document("2"));
+    indexer.flush();
+
+    Assert.assertFalse(first.get(1, TimeUnit.SECONDS));
+    Assert.assertFalse(second.get(1, TimeUnit.SECONDS));
+    Assert.assertEquals(1L, indexer.getStats().get("failedBulkCount"));
+    indexer.close();
+  }
+}
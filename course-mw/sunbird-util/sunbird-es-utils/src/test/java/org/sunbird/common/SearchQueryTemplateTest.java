@@ -0,0 +1,84 @@
+package org.sunbird.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.dto.SearchDTO;
+
+public class SearchQueryTemplateTest {
+
+  @Before
+  public void setUp() {
+    SearchQueryTemplate.clear();
+  }
+
+  private static SearchDTO search(Map<String, Object> filters) {
+    SearchDTO searchDTO = new SearchDTO();
+    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
+    return searchDTO;
+  }
+
+  private static String genericQuery(SearchDTO searchDTO) {
+    BoolQueryBuilder query = new BoolQueryBuilder();
+    for (Map.Entry<String, Object> entry : searchDTO.getAdditionalProperties().entrySet()) {
+      ElasticSearchHelper.addAdditionalProperties(query, entry, new HashMap<>());
+    }
+    return query.toString();
+  }
+
+  @Test
+  public void testTemplateQueryMatchesGenericQuery() {
+    Map<String, Object> filters = new LinkedHashMap<>();
+    filters.put(JsonKey.USER_ID, "User-1");
+    filters.put(JsonKey.ACTIVE, true);
+    filters.put(JsonKey.BATCH_ID, new ArrayList<>(Arrays.asList("B1", "b2")));
+    filters.put(JsonKey.STATUS, Arrays.asList(1, 2));
+    filters.put(JsonKey.COURSE_ID, new ArrayList<>());
+    SearchDTO searchDTO = search(filters);
+
+    SearchQueryTemplate template = SearchQueryTemplate.of("usercourses", searchDTO);
+    Assert.assertNotNull(template);
+    BoolQueryBuilder query = new BoolQueryBuilder();
+    template.bind(query, searchDTO);
+
+    Assert.assertEquals(genericQuery(searchDTO), query.toString());
+  }
+
+  @Test
+  public void testTemplateIsCompiledOncePerShape() {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.ID, Arrays.asList("0123"));
+    SearchQueryTemplate first = SearchQueryTemplate.of("course-batch", search(filters));
+    filters.put(JsonKey.ID, Arrays.asList("0456", "0789"));
+    SearchQueryTemplate second = SearchQueryTemplate.of("course-batch", search(filters));
+    SearchQueryTemplate otherIndex = SearchQueryTemplate.of("usercourses", search(filters));
+
+    Assert.assertSame(first, second);
+    Assert.assertNotSame(first, otherIndex);
+    Assert.assertEquals(2, SearchQueryTemplate.size());
+  }
+
+  @Test
+  public void testSearchWithoutTemplate() {
+    Map<String, Object> range = new HashMap<>();
+    range.put(JsonKey.START_DATE, new HashMap<>());
+    Assert.assertNull(SearchQueryTemplate.of("course-batch", search(range)));
+
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.ID, "0123");
+    SearchDTO sorted = search(filters);
+    sorted.getSortBy().put(JsonKey.CREATED_DATE, "desc");
+    Assert.assertNull(SearchQueryTemplate.of("course-batch", sorted));
+
+    SearchDTO withQuery = search(filters);
+    withQuery.setQuery("java");
+    Assert.assertNull(SearchQueryTemplate.of("course-batch", withQuery));
+  }
+}
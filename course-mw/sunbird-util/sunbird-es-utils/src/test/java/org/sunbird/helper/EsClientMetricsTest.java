@@ -0,0 +1,65 @@
+package org.sunbird.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.client.Node;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EsClientMetricsTest {
+
+  @Test
+  public void testRecordLatency() {
+    EsClientMetrics metrics = new EsClientMetrics();
+    metrics.record(5, 200);
+    metrics.record(120, 200);
+    metrics.record(7000, 503);
+    metrics.recordNodeFailure();
+
+    Map<String, Object> stats = metrics.getStats();
+    Assert.assertEquals(3L, stats.get("requestCount"));
+    Assert.assertEquals(1L, stats.get("serverErrorCount"));
+    Assert.assertEquals(1L, stats.get("nodeFailureCount"));
+    Assert.assertEquals(7000L, stats.get("maxLatency"));
+    Map<String, Long> histogram = (Map<String, Long>) stats.get("latencyHistogram");
+    Assert.assertEquals(1L, (long) histogram.get("le10"));
+    Assert.assertEquals(1L, (long) histogram.get("le250"));
+    Assert.assertEquals(1L, (long) histogram.get("gt5000"));
+    Assert.assertFalse(stats.containsKey("poolMax"));
+  }
+
+  @Test
+  public void testRecordSearch() {
+    EsSearchMetrics metrics = new EsSearchMetrics();
+    metrics.recordSuccess("course-batch", 20, 0, true);
+    metrics.recordSuccess("course-batch", 300, 25, false);
+    metrics.recordFailure("course-batch", 6000, true);
+
+    Map<String, Object> stats = (Map<String, Object>) metrics.getStats().get("course-batch");
+    Assert.assertEquals(3L, stats.get("searchCount"));
+    Assert.assertEquals(2L, stats.get("templatedCount"));
+    Assert.assertEquals(1L, stats.get("failureCount"));
+    Map<String, Long> latency = (Map<String, Long>) stats.get("latencyHistogram");
+    Assert.assertEquals(1L, (long) latency.get("le50"));
+    Assert.assertEquals(1L, (long) latency.get("le500"));
+    Assert.assertEquals(1L, (long) latency.get("gt5000"));
+    Map<String, Long> resultSize = (Map<String, Long>) stats.get("resultSizeHistogram");
+    Assert.assertEquals(1L, (long) resultSize.get("le0"));
+    Assert.assertEquals(1L, (long) resultSize.get("le100"));
+  }
+
+  @Test
+  public void testReadNodes() throws Exception {
+    String nodesInfo =
+        "{\"nodes\":{"
+            + "\"n1\":{\"http\":{\"publish_address\":\"10.0.0.1:9200\"}},"
+            + "\"n2\":{\"http\":{\"publish_address\":\"es-2/10.0.0.2:9201\"}},"
+            + "\"n3\":{\"roles\":[\"master\"]}}}";
+    List<Node> nodes = EsNodeSniffer.readNodes(new ObjectMapper().readTree(nodesInfo), "http");
+
+    Assert.assertEquals(2, nodes.size());
+    Assert.assertEquals("http://10.0.0.1:9200", nodes.get(0).getHost().toURI());
+    Assert.assertEquals("http://10.0.0.2:9201", nodes.get(1).getHost().toURI());
+  }
+}
@@ -124,7 +124,7 @@ public class OrganisationClientImpl implements OrganisationClient {
     Future<Map<String, Object>> esResponseF =
         esUtil.search(null, searchDto, ProjectUtil.EsType.organisation.getTypeName());
     Map<String, Object> esResponse =
-        (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(esResponseF);
+        (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(esResponseF, "org_client");
     List<Map<String, Object>> list = (List<Map<String, Object>>) esResponse.get(JsonKey.CONTENT);
     if (!list.isEmpty()) {
       map = list.get(0);
@@ -140,7 +140,7 @@ public class OrganisationClientImpl implements OrganisationClient {
     Future<Map<String, Object>> mapF =
         esUtil.getDataByIdentifier(null, ProjectUtil.EsType.organisation.getTypeName(), id);
 
-    map = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(mapF);
+    map = (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(mapF, "org_client");
     if (MapUtils.isEmpty(map)) {
       return null;
     } else {
@@ -162,7 +162,7 @@ public class OrganisationClientImpl implements OrganisationClient {
     Future<Map<String, Object>> resultF =
         esUtil.search(null, searchDto, ProjectUtil.EsType.organisation.getTypeName());
     Map<String, Object> result =
-        (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF);
+        (Map<String, Object>) ElasticSearchHelper.getResponseFromFuture(resultF, "org_client");
 
     List<Map<String, Object>> orgMapList = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
     if (CollectionUtils.isNotEmpty(orgMapList)) {
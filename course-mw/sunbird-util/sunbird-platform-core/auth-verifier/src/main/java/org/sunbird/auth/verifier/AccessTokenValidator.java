@@ -1,14 +1,18 @@
 package org.sunbird.auth.verifier;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.keycloak.common.util.Time;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.KeyCloakConnectionProvider;
 import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.util.StatsRegistry;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Map;
 
@@ -16,31 +20,56 @@ public class AccessTokenValidator {
 
     private static ObjectMapper mapper = new ObjectMapper();
     private static LoggerUtil logger = new LoggerUtil(AccessTokenValidator.class);
+    static final VerifiedTokenCache tokenCache =
+            new VerifiedTokenCache(
+                    NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_access_token_cache_size"), 10000));
 
-    private static Map<String, Object> validateToken(String token, boolean checkActive) throws JsonProcessingException {
+    static {
+        StatsRegistry.register("access-token-cache", tokenCache::getStats);
+    }
+
+    /**
+     * Verifies the signature of the token and returns its body. A token already verified and not
+     * expired is returned from the cache of verified tokens, without verifying its signature again.
+     */
+    private static Map<String, Object> validateToken(String token, boolean checkActive) throws IOException {
+        ByteBuffer cacheKey = tokenCache.key(token);
+        Map<String, Object> cachedBody = tokenCache.get(cacheKey, Time.currentTime());
+        if (null != cachedBody) {
+            return cachedBody;
+        }
         String[] tokenElements = token.split("\\.");
         String header = tokenElements[0];
         String body = tokenElements[1];
         String signature = tokenElements[2];
         String payLoad = header + JsonKey.DOT_SEPARATOR + body;
         Map<Object, Object> headerData =
-                mapper.readValue(new String(decodeFromBase64(header)), Map.class);
+                mapper.readValue(decodeFromBase64(header), Map.class);
         String keyId = headerData.get("kid").toString();
+        KeyData keyData = KeyManager.getPublicKey(keyId);
+        if (null == keyData) {
+            logger.info(null, "AccessTokenValidator: no public key of kid " + keyId);
+            return Collections.EMPTY_MAP;
+        }
         boolean isValid =
                 CryptoUtil.verifyRSASign(
                         payLoad,
                         decodeFromBase64(signature),
-                        KeyManager.getPublicKey(keyId).getPublicKey(),
+                        keyData.getPublicKey(),
                         JsonKey.SHA_256_WITH_RSA);
         if (isValid) {
             Map<String, Object> tokenBody =
-                    mapper.readValue(new String(decodeFromBase64(body)), Map.class);
+                    mapper.readValue(decodeFromBase64(body), Map.class);
+            Object exp = tokenBody.get("exp");
             if(checkActive) {
-                boolean isExp = isExpired((Integer) tokenBody.get("exp"));
+                boolean isExp = isExpired((Integer) exp);
                 if (isExp) {
                     return Collections.EMPTY_MAP;
                 }
             }
+            if (exp instanceof Number && !isExpired(((Number) exp).intValue())) {
+                return tokenCache.put(cacheKey, keyId, tokenBody, ((Number) exp).longValue());
+            }
             return tokenBody;
         }
         return Collections.EMPTY_MAP;
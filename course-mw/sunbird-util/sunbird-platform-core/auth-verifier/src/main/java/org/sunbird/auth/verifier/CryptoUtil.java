@@ -2,24 +2,57 @@ package org.sunbird.auth.verifier;
 
 import java.nio.charset.Charset;
 import java.security.*;
+import java.util.HashMap;
+import java.util.Map;
 
 public class CryptoUtil {
     private static final Charset US_ASCII = Charset.forName("US-ASCII");
 
+    /**
+     * Signature instances of the thread, by algorithm. An instance stays initialized with the last
+     * key it verified, it is initialized again only when the key changes.
+     */
+    private static final ThreadLocal<Map<String, Verifier>> verifiers =
+            ThreadLocal.withInitial(HashMap::new);
+
     public static boolean verifyRSASign(String payLoad, byte[] signature, PublicKey key, String algorithm) {
-        Signature sign;
+        Map<String, Verifier> threadVerifiers = verifiers.get();
         try {
-            sign = Signature.getInstance(algorithm);
-            sign.initVerify(key);
+            Verifier verifier = threadVerifiers.get(algorithm);
+            if (null == verifier) {
+                verifier = new Verifier(Signature.getInstance(algorithm));
+                threadVerifiers.put(algorithm, verifier);
+            }
+            Signature sign = verifier.init(key);
             sign.update(payLoad.getBytes(US_ASCII));
             return sign.verify(signature);
         } catch (NoSuchAlgorithmException e) {
             return false;
         } catch (InvalidKeyException e){
+            threadVerifiers.remove(algorithm);
             return false;
         } catch (SignatureException e){
+            threadVerifiers.remove(algorithm);
             return false;
         }
     }
 
+    private static class Verifier {
+        private final Signature sign;
+        private PublicKey key;
+
+        private Verifier(Signature sign) {
+            this.sign = sign;
+        }
+
+        private Signature init(PublicKey key) throws InvalidKeyException {
+            if (key != this.key) {
+                this.key = null;
+                sign.initVerify(key);
+                this.key = key;
+            }
+            return sign;
+        }
+    }
+
 }
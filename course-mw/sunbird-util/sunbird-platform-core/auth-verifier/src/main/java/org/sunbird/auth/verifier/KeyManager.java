@@ -1,62 +1,70 @@
 package org.sunbird.auth.verifier;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.common.models.util.JsonKey;
-import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.LoggerUtil;
 
-import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.common.util.StatsRegistry;
 
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class KeyManager {
 
     private static PropertiesCache propertiesCache = PropertiesCache.getInstance();
 
-    private static Map<String, KeyData> keyMap = new HashMap<String, KeyData>();
+    private static final long MIN_RELOAD_INTERVAL = 10000;
+    private static volatile PublicKeyRegistry registry;
     private static LoggerUtil logger = new LoggerUtil(KeyManager.class);
 
-    public static void init() {
+    /**
+     * Loads the public keys of the key directory and reloads them every
+     * sunbird_access_token_keys_reload_interval seconds, so rotated keys are used without a restart.
+     */
+    public static synchronized void init() {
         String basePath = propertiesCache.getProperty(JsonKey.ACCESS_TOKEN_PUBLICKEY_BASEPATH);
-        try (Stream<Path> walk = Files.walk(Paths.get(basePath))) {
-            List<String> result =
-                    walk.filter(Files::isRegularFile).map(x -> x.toString()).collect(Collectors.toList());
-            result.forEach(
-                    file -> {
-                        try {
-                            StringBuilder contentBuilder = new StringBuilder();
-                            Path path = Paths.get(file);
-                            Files.lines(path, StandardCharsets.UTF_8)
-                                    .forEach(
-                                            x -> {
-                                                contentBuilder.append(x);
-                                            });
-                            KeyData keyData =
-                                    new KeyData(
-                                            path.getFileName().toString(), loadPublicKey(contentBuilder.toString()));
-                            keyMap.put(path.getFileName().toString(), keyData);
-                        } catch (Exception e) {
-                            logger.error(null,"KeyManager:init: exception in reading public keys ", e);
-                        }
-                    });
+        try {
+            long reloadInterval =
+                    NumberUtils.toLong(
+                            ProjectUtil.getConfigValue("sunbird_access_token_keys_reload_interval"), 60);
+            PublicKeyRegistry keyRegistry =
+                    new PublicKeyRegistry(
+                            Paths.get(basePath),
+                            reloadInterval * 1000,
+                            MIN_RELOAD_INTERVAL,
+                            AccessTokenValidator.tokenCache::invalidate);
+            keyRegistry.reload();
+            keyRegistry.start();
+            if (null != registry) {
+                registry.close();
+            }
+            registry = keyRegistry;
+            StatsRegistry.register("access-token-keys", KeyManager::getStats);
         } catch (Exception e) {
             logger.error(null,"KeyManager:init: exception in loading publickeys ", e);
         }
     }
 
+    /**
+     * @param keyId Key id of the token
+     * @return Public key, null if there is no key of the id
+     */
     public static KeyData getPublicKey(String keyId) {
-        return keyMap.get(keyId);
+        PublicKeyRegistry keyRegistry = registry;
+        return null == keyRegistry ? null : keyRegistry.get(keyId);
+    }
+
+    /** @return Key count, reload counts and lookups of unknown key ids */
+    public static Map<String, Object> getStats() {
+        PublicKeyRegistry keyRegistry = registry;
+        return null == keyRegistry ? Collections.emptyMap() : keyRegistry.getStats();
     }
 
     public static PublicKey loadPublicKey(String key) throws Exception {
@@ -0,0 +1,180 @@
+package org.sunbird.auth.verifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.sunbird.common.models.util.LoggerUtil;
+
+/**
+ * Public keys of the access tokens, one file per key id in the key directory. The keys are read
+ * into a read only snapshot which a background thread replaces every reload interval, so a lookup
+ * never waits and a rotated key is picked up without a restart. A key whose file is unchanged is
+ * kept as it is. A key id missing from the snapshot triggers an early reload, at most once per
+ * minimum reload interval; the id is then remembered as unknown until the next reload, so repeated
+ * tokens of an unknown key id are rejected without another reload.
+ */
+final class PublicKeyRegistry {
+
+    private static LoggerUtil logger = new LoggerUtil(PublicKeyRegistry.class);
+    private static final int MAX_UNKNOWN_KEYS = 1000;
+
+    private final Path dir;
+    private final long reloadIntervalMillis;
+    private final long minReloadIntervalMillis;
+    private final Consumer<String> keyRemovedListener;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Set<String> unknownKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder failedReloadCount = new LongAdder();
+    private final LongAdder unknownKeyCount = new LongAdder();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "public-key-registry");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private volatile Map<String, Key> keys = Collections.emptyMap();
+    private volatile long lastReloadTime;
+    private volatile long lastReloadAttemptTime;
+
+    /**
+     * @param dir Key directory
+     * @param reloadIntervalMillis Interval between two reloads
+     * @param minReloadIntervalMillis Minimum interval between two reloads of unknown key ids
+     * @param keyRemovedListener Called with the id of each key removed or changed by a reload
+     */
+    PublicKeyRegistry(
+            Path dir,
+            long reloadIntervalMillis,
+            long minReloadIntervalMillis,
+            Consumer<String> keyRemovedListener) {
+        this.dir = dir;
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        this.minReloadIntervalMillis = minReloadIntervalMillis;
+        this.keyRemovedListener = keyRemovedListener;
+    }
+
+    /** Reloads the keys every reload interval, the first reload is done by the caller. */
+    void start() {
+        scheduler.scheduleWithFixedDelay(
+                this::reload, reloadIntervalMillis, reloadIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param keyId Key id
+     * @return Key, null if the last reload has no key of the id
+     */
+    KeyData get(String keyId) {
+        Key key = keys.get(keyId);
+        if (null != key) {
+            return key.keyData;
+        }
+        unknownKeyCount.increment();
+        if (unknownKeys.size() < MAX_UNKNOWN_KEYS && unknownKeys.add(keyId)) {
+            requestReload();
+        }
+        return null;
+    }
+
+    void reload() {
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+        lastReloadAttemptTime = System.currentTimeMillis();
+        try {
+            Map<String, Key> current = keys;
+            Map<String, Key> loaded = new HashMap<>();
+            for (Path path : listFiles()) {
+                String keyId = path.getFileName().toString();
+                Key previous = current.get(keyId);
+                try {
+                    String content =
+                            Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                                    .collect(Collectors.joining());
+                    if (null != previous && previous.content.equals(content)) {
+                        loaded.put(keyId, previous);
+                    } else {
+                        loaded.put(
+                                keyId,
+                                new Key(content, new KeyData(keyId, KeyManager.loadPublicKey(content))));
+                    }
+                } catch (Exception e) {
+                    logger.error(null, "PublicKeyRegistry:reload: exception in reading public key " + path, e);
+                    if (null != previous) {
+                        loaded.put(keyId, previous);
+                    }
+                }
+            }
+            keys = Collections.unmodifiableMap(loaded);
+            unknownKeys.clear();
+            lastReloadTime = System.currentTimeMillis();
+            reloadCount.increment();
+            for (Map.Entry<String, Key> entry : current.entrySet()) {
+                if (loaded.get(entry.getKey()) != entry.getValue()) {
+                    logger.info(null, "PublicKeyRegistry:reload: public key " + entry.getKey() + " is replaced");
+                    keyRemovedListener.accept(entry.getKey());
+                }
+            }
+        } catch (Exception e) {
+            failedReloadCount.increment();
+            logger.error(null, "PublicKeyRegistry:reload: exception in loading public keys from " + dir, e);
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /** @return Key count, age of the keys in milliseconds, reload counts and unknown key lookups */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("keyCount", keys.size());
+        stats.put("reloadAge", 0 == lastReloadTime ? -1L : System.currentTimeMillis() - lastReloadTime);
+        stats.put("reloadCount", reloadCount.sum());
+        stats.put("failedReloadCount", failedReloadCount.sum());
+        stats.put("unknownKeyCount", unknownKeyCount.sum());
+        return stats;
+    }
+
+    void close() {
+        scheduler.shutdownNow();
+    }
+
+    private List<Path> listFiles() throws Exception {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    private void requestReload() {
+        long now = System.currentTimeMillis();
+        if (now - lastReloadAttemptTime < minReloadIntervalMillis || reloading.get()) {
+            return;
+        }
+        lastReloadAttemptTime = now;
+        scheduler.execute(this::reload);
+    }
+
+    private static class Key {
+        private final String content;
+        private final KeyData keyData;
+
+        private Key(String content, KeyData keyData) {
+            this.content = content;
+            this.keyData = keyData;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.sunbird.auth.verifier;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bodies of the access tokens whose signature is verified, so a token sent again is not verified
+ * again. A token is looked up by the SHA-256 hash of the whole token, header, body and signature,
+ * and stays in the cache until its exp. Once the cache holds its maximum number of tokens, the
+ * expired tokens are removed, at most once a second, and otherwise any other token is evicted.
+ */
+final class VerifiedTokenCache {
+
+    private static final long PURGE_INTERVAL_MILLIS = 1000;
+    private static final ThreadLocal<MessageDigest> digest =
+            ThreadLocal.withInitial(
+                    () -> {
+                        try {
+                            return MessageDigest.getInstance("SHA-256");
+                        } catch (NoSuchAlgorithmException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private volatile long lastPurgeTime;
+
+    /** @param maxSize Maximum number of tokens, 0 to disable the cache */
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param token Access token
+     * @return Key of the token in the cache
+     */
+    ByteBuffer key(String token) {
+        return ByteBuffer.wrap(digest.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * @param key Key of the token
+     * @param now Current time in seconds
+     * @return Body of the token, null if the token is not verified yet or is expired
+     */
+    Map<String, Object> get(ByteBuffer key, long now) {
+        Entry entry = entries.get(key);
+        if (null == entry || entry.expiry < now) {
+            if (null != entry) {
+                entries.remove(key, entry);
+            }
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.body;
+    }
+
+    /**
+     * @param key Key of the token
+     * @param keyId Id of the key which verified the token
+     * @param body Body of the token
+     * @param expiry exp of the token in seconds
+     * @return The body as it is cached, read only
+     */
+    Map<String, Object> put(ByteBuffer key, String keyId, Map<String, Object> body, long expiry) {
+        Map<String, Object> cachedBody = Collections.unmodifiableMap(body);
+        if (maxSize <= 0) {
+            return cachedBody;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry(keyId, cachedBody, expiry));
+        return cachedBody;
+    }
+
+    /**
+     * Removes the tokens verified by the key, once it is replaced or removed.
+     *
+     * @param keyId Id of the key
+     */
+    void invalidate(String keyId) {
+        entries.values().removeIf(entry -> entry.keyId.equals(keyId));
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /** @return Number of tokens and counts of the lookups found, missed and of evicted tokens */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hitCount", hitCount.sum());
+        stats.put("missCount", missCount.sum());
+        stats.put("evictedCount", evictedCount.sum());
+        return stats;
+    }
+
+    private void evict() {
+        long time = System.currentTimeMillis();
+        if (time - lastPurgeTime >= PURGE_INTERVAL_MILLIS) {
+            lastPurgeTime = time;
+            long now = time / 1000;
+            entries.values().removeIf(entry -> entry.expiry < now);
+        }
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictedCount.increment();
+        }
+    }
+
+    private static class Entry {
+        private final String keyId;
+        private final Map<String, Object> body;
+        private final long expiry;
+
+        private Entry(String keyId, Map<String, Object> body, long expiry) {
+            this.keyId = keyId;
+            this.body = body;
+            this.expiry = expiry;
+        }
+    }
+}
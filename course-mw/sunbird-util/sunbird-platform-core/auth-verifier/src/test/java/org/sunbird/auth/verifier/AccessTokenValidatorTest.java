@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.security.PublicKey;
 import java.util.HashMap;
 import java.util.Map;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.keycloak.common.util.Time;
@@ -15,11 +16,17 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.models.util.JsonKey;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({CryptoUtil.class, KeyManager.class, Base64Util.class})
 @PowerMockIgnore({"javax.management.*"})
 public class AccessTokenValidatorTest {
+    @Before
+    public void setUp() {
+        AccessTokenValidator.tokenCache.clear();
+    }
+
     @Test
     public void verifyUserAccessToken() throws JsonProcessingException {
         PowerMockito.mockStatic(CryptoUtil.class);
@@ -167,4 +174,43 @@ public class AccessTokenValidatorTest {
             assertNotNull(e);
         }
     }
+
+    @Test
+    public void verifyUserAccessTokenFromCache() throws JsonProcessingException {
+        PowerMockito.mockStatic(CryptoUtil.class);
+        PowerMockito.mockStatic(Base64Util.class);
+        PowerMockito.mockStatic(KeyManager.class);
+        KeyData keyData = PowerMockito.mock(KeyData.class);
+        Mockito.when(KeyManager.getPublicKey(Mockito.anyString())).thenReturn(keyData);
+        PublicKey publicKey = PowerMockito.mock(PublicKey.class);
+        Mockito.when(keyData.getPublicKey()).thenReturn(publicKey);
+        Map<String, Object> payload = new HashMap<>();
+        int expTime = Time.currentTime() + 3600;
+        payload.put("exp", expTime);
+        payload.put("iss", "nullrealms/null");
+        payload.put("kid", "kid");
+        payload.put("sub", "f:ca00376d-395f-aee687d7c8ad:10cca27c-2a13-443c-9e2b-c7d9589c1f5f");
+        ObjectMapper mapper = new ObjectMapper();
+        Mockito.when(Base64Util.decode(Mockito.any(String.class), Mockito.anyInt()))
+                .thenReturn(mapper.writeValueAsString(payload).getBytes());
+        Mockito.when(
+                CryptoUtil.verifyRSASign(
+                        Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+        String token = "header.body.signature";
+        assertEquals(
+                "10cca27c-2a13-443c-9e2b-c7d9589c1f5f",
+                AccessTokenValidator.verifyUserToken(token, true));
+        assertEquals(
+                "10cca27c-2a13-443c-9e2b-c7d9589c1f5f",
+                AccessTokenValidator.verifyUserToken(token, true));
+        PowerMockito.verifyStatic(CryptoUtil.class, Mockito.times(1));
+        CryptoUtil.verifyRSASign(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.when(
+                CryptoUtil.verifyRSASign(
+                        Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(false);
+        assertEquals(
+                JsonKey.UNAUTHORIZED, AccessTokenValidator.verifyUserToken(token + "x", true));
+    }
 }
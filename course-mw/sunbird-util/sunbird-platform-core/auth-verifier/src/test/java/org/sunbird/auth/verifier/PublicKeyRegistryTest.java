@@ -0,0 +1,73 @@
+package org.sunbird.auth.verifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PublicKeyRegistryTest {
+
+    private static final String PUBLIC_KEY =
+            "MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAysH/wWtg0IjBL1JZZDYvUJC42JCxVobalckr2/3d3eEiWkk7Zh/4DAPYOs4UPjAevTs5VMUjq9EZu/u4H5hNzoVmYNvhtxbhWNY3n4mxpA4Lgt4sNGiGYNNGrN34ML+7+TR3Z1dlrhA271PiuanHI11YymskQRPhBfuwK923Kl/lgI4rS9OQ4GnkvwkUPvMUIRfNt8wL9uTbWm3V9p8VTcmQbW+pPw9QhO9v95NOgXQrLnT8xwnzQE6UCTY2al3B0fc3ULmcxvK+7P1R3/0w1qJLEKSiHl0xnv4WNEfS+2UmN+8jfdSCfoyVIglQl5/tb05j89nfZZp8k24AWLxIJQIDAQAB";
+
+    @Test
+    public void testReloadRotatedKeys() throws Exception {
+        Path dir = Files.createTempDirectory("public-keys");
+        Files.write(dir.resolve("kid1"), PUBLIC_KEY.getBytes(StandardCharsets.UTF_8));
+        List<String> removed = new ArrayList<>();
+        PublicKeyRegistry registry = new PublicKeyRegistry(dir, 60000, 60000, removed::add);
+        registry.reload();
+        KeyData key = registry.get("kid1");
+        assertNotNull(key);
+        assertNull(registry.get("kid2"));
+
+        Files.write(dir.resolve("kid2"), PUBLIC_KEY.getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("kid3"), "invalid".getBytes(StandardCharsets.UTF_8));
+        registry.reload();
+        assertSame(key, registry.get("kid1"));
+        assertNotNull(registry.get("kid2"));
+        assertNull(registry.get("kid3"));
+
+        Files.delete(dir.resolve("kid1"));
+        registry.reload();
+        assertNull(registry.get("kid1"));
+        assertEquals(1, removed.size());
+        assertEquals("kid1", removed.get(0));
+        assertEquals(1, registry.getStats().get("keyCount"));
+        assertEquals(3L, registry.getStats().get("reloadCount"));
+        assertEquals(3L, registry.getStats().get("unknownKeyCount"));
+        registry.close();
+    }
+
+    @Test
+    public void testUnknownKeyTriggersReload() throws Exception {
+        Path dir = Files.createTempDirectory("public-keys");
+        PublicKeyRegistry registry = new PublicKeyRegistry(dir, 60000, 0, kid -> {});
+        registry.reload();
+        Files.write(dir.resolve("kid1"), PUBLIC_KEY.getBytes(StandardCharsets.UTF_8));
+        assertNull(registry.get("kid1"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (null == registry.get("kid1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(registry.get("kid1"));
+        registry.close();
+    }
+
+    @Test
+    public void testMissingDirectory() throws Exception {
+        Path dir = Files.createTempDirectory("public-keys").resolve("missing");
+        PublicKeyRegistry registry = new PublicKeyRegistry(dir, 60000, 60000, kid -> {});
+        registry.reload();
+        assertNull(registry.get("kid1"));
+        assertEquals(1L, registry.getStats().get("failedReloadCount"));
+        registry.close();
+    }
+}
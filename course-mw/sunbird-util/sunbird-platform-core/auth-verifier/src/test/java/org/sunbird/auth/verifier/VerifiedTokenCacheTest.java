@@ -0,0 +1,52 @@
+package org.sunbird.auth.verifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class VerifiedTokenCacheTest {
+
+    @Test
+    public void testGetUntilExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        ByteBuffer key = cache.key("header.body.signature");
+        assertNull(cache.get(key, 100));
+        Map<String, Object> body = new HashMap<>();
+        body.put("sub", "userId");
+        cache.put(key, "kid", body, 200);
+        assertEquals("userId", cache.get(cache.key("header.body.signature"), 150).get("sub"));
+        assertNull(cache.get(cache.key("header.body.signaturf"), 150));
+        assertNull(cache.get(key, 201));
+        assertNull(cache.get(key, 150));
+        assertEquals(1L, cache.getStats().get("hitCount"));
+        assertEquals(4L, cache.getStats().get("missCount"));
+    }
+
+    @Test
+    public void testEvictAndInvalidate() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        long expiry = System.currentTimeMillis() / 1000 + 3600;
+        cache.put(cache.key("a"), "kid1", new HashMap<>(), expiry);
+        cache.put(cache.key("b"), "kid2", new HashMap<>(), expiry);
+        cache.put(cache.key("c"), "kid2", new HashMap<>(), expiry);
+        assertEquals(2, cache.getStats().get("size"));
+        assertEquals(1L, cache.getStats().get("evictedCount"));
+        assertNotNull(cache.get(cache.key("c"), 0));
+        cache.invalidate("kid2");
+        assertNull(cache.get(cache.key("c"), 0));
+        assertNull(cache.get(cache.key("b"), 0));
+    }
+
+    @Test
+    public void testDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        ByteBuffer key = cache.key("token");
+        cache.put(key, "kid", new HashMap<>(), Long.MAX_VALUE);
+        assertNull(cache.get(key, 0));
+    }
+}
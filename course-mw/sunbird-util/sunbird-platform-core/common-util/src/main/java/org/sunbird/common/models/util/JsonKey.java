@@ -96,6 +96,7 @@ public final class JsonKey {
   public static final String CREATED_DATE = "createdDate";
   public static final String CRITERIA = "criteria";
   public static final String CURRENT_LOGIN_TIME = "currentLoginTime";
+  public static final String CURSOR = "cursor";
   public static final String CURRENT_STATE = "CURRENT_STATE";
   public static final String DASHBOARD = "dashboard";
   public static final String DATA = "data";
@@ -522,6 +523,7 @@ public final class JsonKey {
   public static final String NESTED_NOT_EXISTS = "nested_not_exists";
   public static final String CREATOR_DETAILS_FIELDS = "sunbird_user_search_cretordetails_fields";
   public static final String SUNBIRD_QRCODE_COURSES_LIMIT ="sunbird_user_qrcode_courses_limit";
+  public static final String SUNBIRD_BATCH_PARTICIPANTS_MAX_LIMIT = "sunbird_batch_participants_max_limit";
   public static final String ACCESS_TOKEN_PUBLICKEY_BASEPATH = "accesstoken.publickey.basepath";
   public static final String ACCESS_TOKEN_PUBLICKEY_KEYPREFIX = "accesstoken.publickey.keyprefix";
   public static final String ACCESS_TOKEN_PUBLICKEY_KEYCOUNT = "accesstoken.publickey.keycount";
@@ -13,6 +13,7 @@ import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryWriter;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class LoggerUtil {
 
@@ -51,6 +52,13 @@ public class LoggerUtil {
         debug(requestContext, message, null, null);
     }
 
+    /** Builds the message only if it is logged, for messages which are costly to render. */
+    public void debug(RequestContext requestContext, Supplier<String> message) {
+        if (isDebugEnabled(requestContext) || defaultLogger.isDebugEnabled()) {
+            debug(requestContext, message.get(), null, null);
+        }
+    }
+
     public void error(RequestContext requestContext, String message, Map<String, Object> object, Map<String, Object> param, Throwable e) {
         if (requestContext != null) {
             requestContext.setLoggerLevel(errorLevel);
@@ -21,6 +21,9 @@ import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
@@ -40,6 +43,9 @@ public class ProjectUtil {
   public static final long BACKGROUND_ACTOR_WAIT_TIME = 30;
   public static final String ELASTIC_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
   public static final String YEAR_MONTH_DATE_FORMAT = "yyyy-MM-dd";
+  public static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss:SSSZ";
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern(DATE_TIME_PATTERN).withZone(ZoneId.systemDefault());
   private static final int randomPasswordLength = 9;
   private static LoggerUtil logger = new LoggerUtil(ProjectUtil.class);
 
@@ -266,7 +272,7 @@ public class ProjectUtil {
    * @return
    */
   public static String getFormattedDate() {
-    return getDateFormatter().format(new Date());
+    return getDateTimeFormatter(ZoneId.systemDefault()).format(Instant.now());
   }
 
   /**
@@ -284,7 +290,8 @@ public class ProjectUtil {
    * @return
    */
   public static String formatDate(Date date) {
-    if (null != date) return getDateFormatter().format(date);
+    if (null != date)
+      return getDateTimeFormatter(ZoneId.systemDefault()).format(Instant.ofEpochMilli(date.getTime()));
     else return null;
   }
   /**
@@ -492,7 +499,18 @@ public class ProjectUtil {
   }
 
   public static SimpleDateFormat getDateFormatter() {
-    return getDateFormatter("yyyy-MM-dd HH:mm:ss:SSSZ");
+    return getDateFormatter(DATE_TIME_PATTERN);
+  }
+
+  /**
+   * Immutable, thread safe formatter of the yyyy-MM-dd HH:mm:ss:SSSZ pattern in the given zone. It can
+   * be shared, unlike the SimpleDateFormat of getDateFormatter which has to be created per use.
+   *
+   * @param zone Zone used for formatting, parsed values carry their own offset
+   * @return DateTimeFormatter
+   */
+  public static DateTimeFormatter getDateTimeFormatter(ZoneId zone) {
+    return DATE_TIME_FORMATTER.withZone(zone);
   }
 
   public static SimpleDateFormat getDateFormatter(String pattern) {
@@ -2,6 +2,7 @@ package org.sunbird.common.util;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
@@ -32,8 +33,10 @@ public class JsonUtil {
 	}
 
 	// pass @dateFormat with timezone for serialization of dateType variables
+	// the format is applied per call through an immutable writer, jackson works on a copy of it
 	public static <T> T convertWithDateFormat(Object value, Class<T> clazz, SimpleDateFormat dateFormat) throws Exception {
-		mapperWithDateFormat.setDateFormat(dateFormat);
-		return mapperWithDateFormat.convertValue(value, clazz);
+		TokenBuffer buffer = new TokenBuffer(mapperWithDateFormat, false);
+		mapperWithDateFormat.writer(dateFormat).writeValue(buffer, value);
+		return mapperWithDateFormat.readValue(buffer.asParser(), clazz);
 	}
 }
@@ -0,0 +1,77 @@
+package org.sunbird.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+
+/**
+ * Stats of the caches, clients and queues of the service, registered by name by the component
+ * which creates them. All the stats are logged as one line every sunbird_stats_log_interval
+ * seconds, the log is disabled with 0.
+ */
+public final class StatsRegistry {
+
+  private static LoggerUtil logger = new LoggerUtil(StatsRegistry.class);
+  private static final Map<String, Supplier<Map<String, Object>>> sources =
+      new ConcurrentSkipListMap<>();
+  private static ScheduledExecutorService scheduler;
+
+  private StatsRegistry() {}
+
+  /**
+   * Registers the stats of a component, a later registration of the same name replaces it.
+   *
+   * @param name Name of the component in the stats
+   * @param stats Supplier of the current stats of the component
+   */
+  public static void register(String name, Supplier<Map<String, Object>> stats) {
+    sources.put(name, stats);
+    startLog();
+  }
+
+  /** @return Current stats of the registered components by name, an error message if they failed */
+  public static Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    for (Map.Entry<String, Supplier<Map<String, Object>>> source : sources.entrySet()) {
+      try {
+        stats.put(source.getKey(), source.getValue().get());
+      } catch (Exception e) {
+        stats.put(source.getKey(), "failed: " + e.getMessage());
+      }
+    }
+    return stats;
+  }
+
+  private static synchronized void startLog() {
+    if (null != scheduler) {
+      return;
+    }
+    long interval = NumberUtils.toLong(ProjectUtil.getConfigValue("sunbird_stats_log_interval"), 300);
+    if (interval <= 0) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "stats-log");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(StatsRegistry::log, interval, interval, TimeUnit.SECONDS);
+  }
+
+  private static void log() {
+    try {
+      logger.info(null, "StatsRegistry:log: " + JsonUtil.serialize(getStats()));
+    } catch (Exception e) {
+      logger.error(null, "StatsRegistry:log: failed to log the stats", e);
+    }
+  }
+}
@@ -1,17 +1,36 @@
 package org.sunbird.kafka.client;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import org.apache.kafka.clients.consumer.Consumer;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.util.LoggerEnum;
@@ -19,24 +38,50 @@ import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.StatsRegistry;
 
 /**
- * Helper class for creating a Kafka consumer and producer.
+ * Helper class for creating a Kafka producer. The topics of the events are validated against the
+ * topics listed in the background every kafka_topics_refresh_interval seconds.
+ *
+ * <p>With kafka_spill_enabled, the events the producer cannot accept or fails to deliver are
+ * spilled to local disk and replayed in order. The spilled events keep their order among
+ * themselves and to the events sent after them, not to the events which were already handed to the
+ * producer when the delivery of a spilled event failed: those may be delivered before it.
  *
  * @author Pradyumna
  */
 public class KafkaClient {
 
   private static final String BOOTSTRAP_SERVERS = ProjectUtil.getConfigValue("kafka_urls");
-  private static Producer<String, String> producer;
-  private static Consumer<String, String> consumer;
-  private static volatile Map<String, List<PartitionInfo>> topics;
+  private static Producer<String, byte[]> producer;
+  private static final long MIN_TOPICS_REFRESH_INTERVAL = 10000;
+  private static final String TOPICS_LIST_TIMEOUT = "15000";
+  private static KafkaTopicCache topicCache;
+  private static final int SPILL_REPLAY_BATCH_SIZE = 500;
+  private static final long SPILL_REPLAY_TIMEOUT = 30;
+  private static KafkaSpillQueue spillQueue;
+  private static Metric bufferAvailable;
   public static LoggerUtil logger = new LoggerUtil(KafkaClient.class);
+  private static final String PRODUCER_METRICS_GROUP = "producer-metrics";
+  private static final List<String> PRODUCER_METRICS =
+      Arrays.asList(
+          "record-send-rate",
+          "record-error-rate",
+          "record-retry-rate",
+          "batch-size-avg",
+          "records-per-request-avg",
+          "compression-rate-avg",
+          "record-queue-time-avg",
+          "request-latency-avg",
+          "buffer-available-bytes");
+  private static final LongAdder failedSendCount = new LongAdder();
 
   static {
     loadProducerProperties();
-    loadConsumerProperties();
-    loadTopics();
+    loadTopicCache();
+    loadSpillQueue();
+    StatsRegistry.register("kafka-producer", KafkaClient::getMetrics);
   }
 
   private static void loadProducerProperties() {
@@ -44,69 +89,273 @@ public class KafkaClient {
     props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
     props.put(ProducerConfig.CLIENT_ID_CONFIG, "KafkaClientProducer");
     props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-    props.put(ProducerConfig.LINGER_MS_CONFIG, ProjectUtil.getConfigValue("kafka_linger_ms"));
-    producer = new KafkaProducer<String, String>(props);
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+    putConfig(props, ProducerConfig.LINGER_MS_CONFIG, "kafka_linger_ms");
+    putConfig(props, ProducerConfig.BATCH_SIZE_CONFIG, "kafka_producer_batch_size");
+    putConfig(props, ProducerConfig.BUFFER_MEMORY_CONFIG, "kafka_producer_buffer_memory");
+    putConfig(props, ProducerConfig.COMPRESSION_TYPE_CONFIG, "kafka_producer_compression_type");
+    putConfig(props, ProducerConfig.ACKS_CONFIG, "kafka_producer_acks");
+    putConfig(props, ProducerConfig.RETRIES_CONFIG, "kafka_producer_retries");
+    putConfig(
+        props,
+        ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+        "kafka_producer_max_in_flight_requests");
+    putConfig(props, ProducerConfig.MAX_BLOCK_MS_CONFIG, "kafka_producer_max_block_ms");
+    putConfig(props, ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, "kafka_producer_request_timeout_ms");
+    producer = new KafkaProducer<String, byte[]>(props);
   }
 
-  private static void loadTopics() {
-    if (consumer == null) {
-      loadConsumerProperties();
+  /** Sets the producer config from the sunbird config key, the kafka default is kept if not set. */
+  private static void putConfig(Properties props, String producerConfig, String key) {
+    String value = ProjectUtil.getConfigValue(key);
+    if (StringUtils.isNotBlank(value)) {
+      props.put(producerConfig, value.trim());
+    }
+  }
+
+  private static void loadTopicCache() {
+    long refreshInterval =
+        NumberUtils.toLong(ProjectUtil.getConfigValue("kafka_topics_refresh_interval"), 60);
+    topicCache =
+        new KafkaTopicCache(
+            KafkaClient::listTopics,
+            TimeUnit.SECONDS.toMillis(refreshInterval),
+            MIN_TOPICS_REFRESH_INTERVAL);
+    topicCache.start();
+  }
+
+  private static void loadSpillQueue() {
+    if (!Boolean.parseBoolean(ProjectUtil.getConfigValue("kafka_spill_enabled"))) {
+      return;
+    }
+    String dir = ProjectUtil.getConfigValue("kafka_spill_dir");
+    if (StringUtils.isBlank(dir)) {
+      dir = System.getProperty("java.io.tmpdir") + "/sunbird-kafka-spill";
+    }
+    long segmentSize =
+        NumberUtils.toLong(ProjectUtil.getConfigValue("kafka_spill_segment_size_mb"), 16);
+    long maxSize = NumberUtils.toLong(ProjectUtil.getConfigValue("kafka_spill_max_size_mb"), 256);
+    long replayInterval =
+        NumberUtils.toLong(ProjectUtil.getConfigValue("kafka_spill_replay_interval"), 1);
+    try {
+      spillQueue =
+          new KafkaSpillQueue(Paths.get(dir.trim()), (int) (segmentSize << 20), maxSize << 20);
+    } catch (IOException e) {
+      logger.error(
+          null, "KafkaClient:loadSpillQueue: spill queue disabled, failed to open " + dir, e);
+      return;
+    }
+    for (Map.Entry<MetricName, ? extends Metric> metric : producer.metrics().entrySet()) {
+      if (PRODUCER_METRICS_GROUP.equals(metric.getKey().group())
+          && "buffer-available-bytes".equals(metric.getKey().name())) {
+        bufferAvailable = metric.getValue();
+      }
     }
-    topics = consumer.listTopics();
-    logger.info(null,
-        "KafkaClient:loadTopics Kafka topic infos =>" + topics);
+    ScheduledExecutorService replayer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "kafka-spill-replay");
+              thread.setDaemon(true);
+              return thread;
+            });
+    replayer.scheduleWithFixedDelay(
+        KafkaClient::replaySpilled, replayInterval, replayInterval, TimeUnit.SECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(spillQueue::close));
   }
 
-  private static void loadConsumerProperties() {
+  /** Lists the topics with a consumer which is closed right after, it is only used for metadata. */
+  private static Set<String> listTopics() {
     Properties props = new Properties();
     props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
-    props.put(ConsumerConfig.CLIENT_ID_CONFIG, "KafkaClientConsumer");
+    props.put(ConsumerConfig.CLIENT_ID_CONFIG, "KafkaClientTopics");
+    props.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, TOPICS_LIST_TIMEOUT);
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
     props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-    consumer = new KafkaConsumer<>(props);
+    try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
+      return new HashSet<>(consumer.listTopics().keySet());
+    }
   }
 
-  public static Producer<String, String> getProducer() {
+  public static Producer<String, byte[]> getProducer() {
     return producer;
   }
 
-  public static Consumer<String, String> getConsumer() {
-    return consumer;
+  public static void send(String event, String topic) throws Exception {
+    send(null, event, topic);
   }
 
-  public static void send(String event, String topic) throws Exception {
+  /**
+   * Sends the event without waiting for its delivery, a failed delivery is logged.
+   *
+   * @param key Key of the event, null to spread the events over the partitions
+   * @param event Event
+   * @param topic Topic
+   * @throws ProjectCommonException if the topic does not exist
+   */
+  public static void send(String key, String event, String topic) throws Exception {
+    send(key, null == event ? null : event.getBytes(StandardCharsets.UTF_8), topic);
+  }
+
+  /**
+   * Sends the event written as UTF-8 json, see {@link KafkaEventWriter}, without waiting for its
+   * delivery, a failed delivery is logged.
+   *
+   * @param key Key of the event, null to spread the events over the partitions
+   * @param event Event
+   * @param topic Topic
+   * @throws ProjectCommonException if the topic does not exist
+   */
+  public static void send(String key, byte[] event, String topic) throws Exception {
     if (validate(topic)) {
-      final Producer<String, String> producer = getProducer();
-      ProducerRecord<String, String> record = new ProducerRecord<String, String>(topic, event);
-      producer.send(record);
+      publish(new ProducerRecord<String, byte[]>(topic, key, event));
     } else {
-      logger.error(null, "Topic id: " + topic + ", does not exists.", null);
-      throw new ProjectCommonException(
-          "TOPIC_NOT_EXISTS_EXCEPTION",
-          "Topic id: " + topic + ", does not exists.",
-          ResponseCode.CLIENT_ERROR.getResponseCode());
+      throw topicNotExists(topic);
     }
   }
 
-  public static void send(String key, String event, String topic) throws Exception {
-    if (validate(topic)) {
-      final Producer<String, String> producer = getProducer();
-      ProducerRecord<String, String> record = new ProducerRecord<String, String>(topic, key, event);
-      producer.send(record);
+  /**
+   * Sends the event, the returned stage completes when the event is acknowledged by the broker as
+   * per kafka_producer_acks, or fails with the delivery failure. It completes with null metadata
+   * when the event is spilled to disk to be sent later.
+   *
+   * @param key Key of the event, null to spread the events over the partitions
+   * @param event Event
+   * @param topic Topic
+   * @return Stage of the partition and offset of the event
+   */
+  public static CompletionStage<RecordMetadata> sendAsync(String key, byte[] event, String topic) {
+    try {
+      if (validate(topic)) {
+        return publish(new ProducerRecord<String, byte[]>(topic, key, event));
+      }
+      return failed(topicNotExists(topic));
+    } catch (Exception e) {
+      return failed(e);
+    }
+  }
+
+  /**
+   * @return Send rate, batch size, compression, error and retry rates of the producer and the
+   *     failed sends
+   */
+  public static Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    for (Map.Entry<MetricName, ? extends Metric> metric : producer.metrics().entrySet()) {
+      MetricName name = metric.getKey();
+      if (PRODUCER_METRICS_GROUP.equals(name.group())
+          && PRODUCER_METRICS.contains(name.name())) {
+        metrics.put(name.name(), metric.getValue().value());
+      }
+    }
+    metrics.put("failed-send-total", failedSendCount.sum());
+    metrics.put("topic-cache", topicCache.getStats());
+    if (null != spillQueue) {
+      metrics.put("spill-queue", spillQueue.getStats());
+    }
+    return metrics;
+  }
+
+  /**
+   * Sends the event to the producer. With the spill queue enabled, the event is spilled instead
+   * while older events are waiting in the spill queue or the producer buffer has no room for it,
+   * so the caller is not blocked for max.block.ms. An event the producer fails to deliver is
+   * spilled too, the events sent after it then go to the spill queue until it is drained, but the
+   * events already in the producer buffer are delivered before it.
+   */
+  private static CompletableFuture<RecordMetadata> publish(ProducerRecord<String, byte[]> record) {
+    CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+    if (null != spillQueue && (!spillQueue.isEmpty() || isBufferFull(record))) {
+      spill(record, future, null);
+      return future;
+    }
+    try {
+      getProducer()
+          .send(
+              record,
+              (metadata, exception) -> {
+                if (null != exception) {
+                  failedSendCount.increment();
+                  logger.error(
+                      null,
+                      "KafkaClient:send: failed to deliver event to topic " + record.topic(),
+                      exception);
+                  spill(record, future, exception);
+                } else {
+                  future.complete(metadata);
+                }
+              });
+    } catch (RuntimeException e) {
+      // the buffer stayed full for max.block.ms or the event could not be serialized
+      failedSendCount.increment();
+      logger.error(null, "KafkaClient:send: failed to send event to topic " + record.topic(), e);
+      spill(record, future, e);
+    }
+    return future;
+  }
+
+  private static void spill(
+      ProducerRecord<String, byte[]> record,
+      CompletableFuture<RecordMetadata> future,
+      Exception cause) {
+    if (null != spillQueue && spillQueue.append(record)) {
+      future.complete(null);
+    } else if (null != cause) {
+      future.completeExceptionally(cause);
     } else {
-      logger.error(null, "Topic id: " + topic + ", does not exists.", null);
-      throw new ProjectCommonException(
-          "TOPIC_NOT_EXISTS_EXCEPTION",
-          "Topic id: " + topic + ", does not exists.",
-          ResponseCode.CLIENT_ERROR.getResponseCode());
+      logger.info(
+          null, "KafkaClient:spill: spill queue is full, event to " + record.topic() + " dropped");
+      future.completeExceptionally(new IllegalStateException("Kafka spill queue is full"));
     }
   }
 
-  private static boolean validate(String topic) throws Exception {
-    if (topics == null) {
-      loadTopics();
+  private static boolean isBufferFull(ProducerRecord<String, byte[]> record) {
+    return null != bufferAvailable
+        && bufferAvailable.value() < (null == record.value() ? 0 : record.value().length);
+  }
+
+  /** Sends the spilled events in order, stops at the first event which is not delivered. */
+  private static void replaySpilled() {
+    try {
+      List<ProducerRecord<String, byte[]>> records;
+      while (!(records = spillQueue.peek(SPILL_REPLAY_BATCH_SIZE)).isEmpty()) {
+        List<Future<RecordMetadata>> sent = new ArrayList<>(records.size());
+        for (ProducerRecord<String, byte[]> record : records) {
+          sent.add(getProducer().send(record));
+        }
+        int delivered = 0;
+        try {
+          for (Future<RecordMetadata> result : sent) {
+            result.get(SPILL_REPLAY_TIMEOUT, TimeUnit.SECONDS);
+            delivered++;
+          }
+        } finally {
+          spillQueue.remove(delivered);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.info(null, "KafkaClient:replaySpilled: broker not available yet " + e.getMessage());
+    } finally {
+      spillQueue.force();
     }
-    return topics.keySet().contains(topic);
+  }
+
+  private static ProjectCommonException topicNotExists(String topic) {
+    logger.error(null, "Topic id: " + topic + ", does not exists.", null);
+    return new ProjectCommonException(
+        "TOPIC_NOT_EXISTS_EXCEPTION",
+        "Topic id: " + topic + ", does not exists.",
+        ResponseCode.CLIENT_ERROR.getResponseCode());
+  }
+
+  private static CompletableFuture<RecordMetadata> failed(Throwable e) {
+    CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
+  private static boolean validate(String topic) {
+    return topicCache.contains(topic);
   }
 }
@@ -0,0 +1,176 @@
+package org.sunbird.kafka.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Writes the kafka events as UTF-8 json bytes, streamed by a json generator straight from the
+ * values of the caller, without building the maps and the string of the event. The bytes are sent
+ * as they are by {@link KafkaClient}.
+ */
+public final class KafkaEventWriter {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final ObjectWriter writer = mapper.writer();
+
+  private static final String BE_JOB_REQUEST = "BE_JOB_REQUEST";
+  private static final String DEFAULT_ACTOR_ID = "Sunbird LMS Samza Job";
+  private static final String DEFAULT_ACTOR_TYPE = "System";
+  private static final String PDATA_ID = "org.sunbird.platform";
+  private static final String PDATA_VERSION = "1.0";
+  private static final int ITERATION = 1;
+
+  private KafkaEventWriter() {}
+
+  /** Writes the fields of an object of the event. */
+  @FunctionalInterface
+  public interface FieldWriter {
+    void write(JsonGenerator generator) throws IOException;
+  }
+
+  /**
+   * Writes a BE_JOB_REQUEST instruction event.
+   *
+   * @param actorId Id of the actor
+   * @param actorType Type of the actor
+   * @param objectId Id of the object
+   * @param objectType Type of the object
+   * @param action Action of the job, written in the edata with the iteration
+   * @param edata Writer of the other fields of the edata
+   * @return Event
+   */
+  public static byte[] writeInstructionEvent(
+      String actorId,
+      String actorType,
+      String objectId,
+      String objectType,
+      String action,
+      FieldWriter edata) {
+    return write(
+        generator -> {
+          writeEnvelope(generator);
+          generator.writeObjectFieldStart("actor");
+          generator.writeStringField("id", actorId);
+          generator.writeStringField("type", actorType);
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("context");
+          writePdata(generator);
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("object");
+          generator.writeStringField("id", objectId);
+          generator.writeStringField("type", objectType);
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("edata");
+          edata.write(generator);
+          generator.writeStringField("action", action);
+          generator.writeNumberField("iteration", ITERATION);
+          generator.writeEndObject();
+        });
+  }
+
+  /**
+   * Writes a BE_JOB_REQUEST instruction event from the actor, context, object, edata and action of
+   * the data. The default actor is used if the data has none and the pdata of the platform is added
+   * to the context.
+   *
+   * @param data Data of the event
+   * @return Event
+   */
+  @SuppressWarnings("unchecked")
+  public static byte[] writeInstructionEvent(Map<String, Object> data) {
+    Map<String, Object> actor = (Map<String, Object>) data.get("actor");
+    Map<String, Object> context = (Map<String, Object>) data.get("context");
+    Map<String, Object> object = (Map<String, Object>) data.get("object");
+    Map<String, Object> edata = (Map<String, Object>) data.get("edata");
+    String action = (String) data.get("action");
+    return write(
+        generator -> {
+          writeEnvelope(generator);
+          generator.writeObjectFieldStart("actor");
+          if (MapUtils.isNotEmpty(actor)) {
+            writeFields(generator, actor, null, null);
+          } else {
+            generator.writeStringField("id", DEFAULT_ACTOR_ID);
+            generator.writeStringField("type", DEFAULT_ACTOR_TYPE);
+          }
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("context");
+          writeFields(generator, context, "pdata", null);
+          writePdata(generator);
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("object");
+          writeFields(generator, object, null, null);
+          generator.writeEndObject();
+          generator.writeObjectFieldStart("edata");
+          boolean hasAction = StringUtils.isNotBlank(action);
+          writeFields(generator, edata, "iteration", hasAction ? "action" : null);
+          if (hasAction) {
+            generator.writeStringField("action", action);
+          }
+          generator.writeNumberField("iteration", ITERATION);
+          generator.writeEndObject();
+        });
+  }
+
+  /**
+   * @param value Value of the event
+   * @return Value as json
+   */
+  public static byte[] writeValue(Object value) {
+    try {
+      return writer.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] write(FieldWriter event) {
+    ByteArrayBuilder bytes = new ByteArrayBuilder(512);
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(bytes, JsonEncoding.UTF8)) {
+      generator.writeStartObject();
+      event.write(generator);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeEnvelope(JsonGenerator generator) throws IOException {
+    long ets = System.currentTimeMillis();
+    generator.writeStringField("eid", BE_JOB_REQUEST);
+    generator.writeNumberField("ets", ets);
+    generator.writeStringField("mid", "LP." + ets + "." + UUID.randomUUID());
+  }
+
+  private static void writePdata(JsonGenerator generator) throws IOException {
+    generator.writeObjectFieldStart("pdata");
+    generator.writeStringField("id", PDATA_ID);
+    generator.writeStringField("ver", PDATA_VERSION);
+    generator.writeEndObject();
+  }
+
+  /** Writes the entries of the map, except the ones replaced by the writer. */
+  private static void writeFields(
+      JsonGenerator generator, Map<String, Object> fields, String skip, String otherSkip)
+      throws IOException {
+    if (null == fields) {
+      return;
+    }
+    for (Map.Entry<String, Object> field : fields.entrySet()) {
+      if (!field.getKey().equals(skip) && !field.getKey().equals(otherSkip)) {
+        generator.writeFieldName(field.getKey());
+        writer.writeValue(generator, field.getValue());
+      }
+    }
+  }
+}
@@ -0,0 +1,337 @@
+package org.sunbird.kafka.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.sunbird.common.models.util.LoggerUtil;
+
+/**
+ * Append-only log of kafka events on local disk, for the events the producer cannot accept. The
+ * log is a list of memory-mapped segment files of a fixed size, spill-&lt;sequence&gt;.log, and the
+ * position of the next event to replay is kept in spill.offset, so the events survive a restart.
+ * Each event is written as its length, its crc and the topic, key and value; the length is written
+ * last and a torn write is dropped when the segment is read again. A null key or value, e.g. of a
+ * tombstone, is written with the length -1. A segment is deleted once all
+ * its events are replayed. An event is rejected when the segments would exceed the maximum size.
+ */
+final class KafkaSpillQueue {
+
+  private static LoggerUtil logger = new LoggerUtil(KafkaSpillQueue.class);
+  private static final String SEGMENT_PREFIX = "spill-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String OFFSET_FILE = "spill.offset";
+  private static final int HEADER_SIZE = 8;
+
+  private final Path dir;
+  private final int segmentSize;
+  private final long maxSize;
+  private final LinkedList<Segment> segments = new LinkedList<>();
+  private final MappedByteBuffer offset;
+  private final FileChannel offsetChannel;
+  private int readPosition;
+  private long pendingCount;
+  private long spilledCount;
+  private long replayedCount;
+  private long rejectedCount;
+
+  KafkaSpillQueue(Path dir, int segmentSize, long maxSize) throws IOException {
+    this.dir = Files.createDirectories(dir);
+    this.segmentSize = segmentSize;
+    this.maxSize = maxSize;
+    offsetChannel =
+        FileChannel.open(
+            dir.resolve(OFFSET_FILE),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    offset = offsetChannel.map(FileChannel.MapMode.READ_WRITE, 0, 12);
+    load();
+  }
+
+  /**
+   * @param record Event
+   * @return false if the event is rejected as the spill queue is full
+   */
+  synchronized boolean append(ProducerRecord<String, byte[]> record) {
+    byte[] payload = encode(record);
+    int size = HEADER_SIZE + payload.length;
+    dropReadSegments();
+    Segment tail = segments.peekLast();
+    try {
+      if (null == tail || tail.writePosition + size > segmentSize) {
+        if (size > segmentSize || (long) (segments.size() + 1) * segmentSize > maxSize) {
+          rejectedCount++;
+          return false;
+        }
+        if (null != tail) {
+          tail.buffer.force();
+        }
+        tail = new Segment(null == tail ? 0 : tail.sequence + 1, true);
+        segments.add(tail);
+      }
+    } catch (IOException e) {
+      logger.error(null, "KafkaSpillQueue:append: failed to create segment in " + dir, e);
+      rejectedCount++;
+      return false;
+    }
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    ByteBuffer buffer = tail.buffer;
+    buffer.putInt(tail.writePosition + 4, (int) crc.getValue());
+    ByteBuffer target = buffer.duplicate();
+    target.position(tail.writePosition + HEADER_SIZE);
+    target.put(payload);
+    buffer.putInt(tail.writePosition, payload.length);
+    tail.writePosition += size;
+    pendingCount++;
+    spilledCount++;
+    return true;
+  }
+
+  synchronized boolean isEmpty() {
+    return pendingCount == 0;
+  }
+
+  /**
+   * @param max Maximum number of events
+   * @return The oldest events which are not replayed yet, in the order they were appended
+   */
+  synchronized List<ProducerRecord<String, byte[]>> peek(int max) {
+    List<ProducerRecord<String, byte[]>> records = new ArrayList<>();
+    int position = readPosition;
+    for (Segment segment : segments) {
+      while (records.size() < max && position < segment.writePosition) {
+        int length = segment.buffer.getInt(position);
+        records.add(decode(segment.buffer, position + HEADER_SIZE, length));
+        position += HEADER_SIZE + length;
+      }
+      if (records.size() == max) {
+        break;
+      }
+      position = 0;
+    }
+    return records;
+  }
+
+  /**
+   * Marks the oldest events as replayed and deletes the segments which have no event left.
+   *
+   * @param count Number of events, at most the number of events returned by the last peek
+   */
+  synchronized void remove(int count) {
+    for (int i = 0; i < count && pendingCount > 0; i++) {
+      dropReadSegments();
+      Segment head = segments.peekFirst();
+      readPosition += HEADER_SIZE + head.buffer.getInt(readPosition);
+      pendingCount--;
+      replayedCount++;
+    }
+    dropReadSegments();
+    Segment head = segments.peekFirst();
+    offset.putLong(0, null == head ? 0 : head.sequence);
+    offset.putInt(8, readPosition);
+  }
+
+  /** Writes the appended events and the replay position to the disk. */
+  synchronized void force() {
+    Segment tail = segments.peekLast();
+    if (null != tail) {
+      tail.buffer.force();
+    }
+    offset.force();
+  }
+
+  /** @return Events waiting to be replayed, counts of spilled, replayed and rejected events */
+  synchronized Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("pendingCount", pendingCount);
+    stats.put("spilledCount", spilledCount);
+    stats.put("replayedCount", replayedCount);
+    stats.put("rejectedCount", rejectedCount);
+    stats.put("segmentCount", segments.size());
+    stats.put("diskBytes", (long) segments.size() * segmentSize);
+    return stats;
+  }
+
+  synchronized void close() {
+    force();
+    for (Segment segment : segments) {
+      segment.close();
+    }
+    try {
+      offsetChannel.close();
+    } catch (IOException e) {
+      logger.error(null, "KafkaSpillQueue:close: failed to close " + OFFSET_FILE, e);
+    }
+  }
+
+  private void load() throws IOException {
+    List<Long> sequences = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*")) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(SEGMENT_SUFFIX)) {
+          sequences.add(
+              Long.parseLong(
+                  name.substring(
+                      SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+        }
+      }
+    }
+    sequences.sort(null);
+    long readSequence = offset.getLong(0);
+    for (long sequence : sequences) {
+      Segment segment = new Segment(sequence, false);
+      if (sequence < readSequence) {
+        segment.delete();
+        continue;
+      }
+      int position = sequence == readSequence ? offset.getInt(8) : 0;
+      if (segments.isEmpty()) {
+        readPosition = position;
+      } else {
+        position = 0;
+      }
+      while (position < segment.writePosition) {
+        position += HEADER_SIZE + segment.buffer.getInt(position);
+        pendingCount++;
+      }
+      segments.add(segment);
+    }
+    if (pendingCount > 0) {
+      logger.info(null, "KafkaSpillQueue:load: " + pendingCount + " events to replay in " + dir);
+    }
+  }
+
+  private void dropReadSegments() {
+    while (segments.size() > 1 && readPosition >= segments.peekFirst().writePosition) {
+      segments.removeFirst().delete();
+      readPosition = 0;
+    }
+  }
+
+  private static byte[] encode(ProducerRecord<String, byte[]> record) {
+    byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+    byte[] key = null == record.key() ? null : record.key().getBytes(StandardCharsets.UTF_8);
+    byte[] value = record.value();
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            2
+                + topic.length
+                + 4
+                + (null == key ? 0 : key.length)
+                + 4
+                + (null == value ? 0 : value.length));
+    buffer.putShort((short) topic.length).put(topic);
+    putBytes(buffer, key);
+    putBytes(buffer, value);
+    return buffer.array();
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    buffer.putInt(null == bytes ? -1 : bytes.length);
+    if (null != bytes) {
+      buffer.put(bytes);
+    }
+  }
+
+  private static ProducerRecord<String, byte[]> decode(ByteBuffer segment, int from, int length) {
+    ByteBuffer buffer = segment.duplicate();
+    buffer.position(from);
+    buffer.limit(from + length);
+    String topic = readString(buffer, buffer.getShort());
+    int keyLength = buffer.getInt();
+    String key = keyLength < 0 ? null : readString(buffer, keyLength);
+    int valueLength = buffer.getInt();
+    byte[] value = null;
+    if (valueLength >= 0) {
+      value = new byte[valueLength];
+      buffer.get(value);
+    }
+    return new ProducerRecord<>(topic, key, value);
+  }
+
+  private static String readString(ByteBuffer buffer, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private class Segment {
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+
+    private Segment(long sequence, boolean create) throws IOException {
+      this.sequence = sequence;
+      this.path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+      this.channel =
+          create
+              ? FileChannel.open(
+                  path,
+                  StandardOpenOption.CREATE_NEW,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE)
+              : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      if (!create) {
+        writePosition = recover();
+      }
+    }
+
+    /** @return Position after the last complete event of the segment */
+    private int recover() {
+      int position = 0;
+      while (position + HEADER_SIZE <= segmentSize) {
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > segmentSize) {
+          break;
+        }
+        byte[] payload = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position + HEADER_SIZE);
+        source.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+          logger.info(null, "KafkaSpillQueue:recover: torn event at " + position + " of " + path);
+          break;
+        }
+        position += HEADER_SIZE + length;
+      }
+      return position;
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        logger.error(null, "KafkaSpillQueue:close: failed to close " + path, e);
+      }
+    }
+
+    private void delete() {
+      close();
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        logger.error(null, "KafkaSpillQueue:delete: failed to delete " + path, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package org.sunbird.kafka.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.sunbird.common.models.util.LoggerUtil;
+
+/**
+ * Topics of the cluster, listed by a background thread every refresh interval. A lookup only reads
+ * the last listing and never waits for the cluster. A topic missing from the listing triggers an
+ * early refresh, at most once per minimum refresh interval, so a topic created after startup is
+ * accepted without a restart. Until the first listing succeeds every topic is accepted and the
+ * producer reports the ones which do not exist.
+ */
+final class KafkaTopicCache {
+
+  private static LoggerUtil logger = new LoggerUtil(KafkaTopicCache.class);
+
+  private final Callable<Set<String>> topicLister;
+  private final long refreshIntervalMillis;
+  private final long minRefreshIntervalMillis;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private final LongAdder refreshCount = new LongAdder();
+  private final LongAdder failedRefreshCount = new LongAdder();
+  private final LongAdder unknownTopicCount = new LongAdder();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "kafka-topic-cache");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private volatile Set<String> topics;
+  private volatile long lastRefreshTime;
+  private volatile long lastRefreshAttemptTime;
+
+  KafkaTopicCache(
+      Callable<Set<String>> topicLister, long refreshIntervalMillis, long minRefreshIntervalMillis) {
+    this.topicLister = topicLister;
+    this.refreshIntervalMillis = refreshIntervalMillis;
+    this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+  }
+
+  /** Lists the topics now and then every refresh interval. */
+  void start() {
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @param topic Topic
+   * @return false if the last listing does not have the topic, true otherwise
+   */
+  boolean contains(String topic) {
+    Set<String> current = topics;
+    if (null == current) {
+      requestRefresh();
+      return true;
+    }
+    if (current.contains(topic)) {
+      return true;
+    }
+    unknownTopicCount.increment();
+    requestRefresh();
+    return false;
+  }
+
+  void refresh() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    lastRefreshAttemptTime = System.currentTimeMillis();
+    try {
+      Set<String> listed = topicLister.call();
+      topics = Collections.unmodifiableSet(listed);
+      lastRefreshTime = System.currentTimeMillis();
+      refreshCount.increment();
+      logger.debug(null, "KafkaTopicCache:refresh: topics " + listed);
+    } catch (Exception e) {
+      failedRefreshCount.increment();
+      logger.error(null, "KafkaTopicCache:refresh: failed to list the topics", e);
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  /** @return Topic count, age of the listing in milliseconds and refresh counts */
+  Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    Set<String> current = topics;
+    stats.put("topicCount", null == current ? 0 : current.size());
+    stats.put(
+        "refreshAge", null == current ? -1L : System.currentTimeMillis() - lastRefreshTime);
+    stats.put("refreshCount", refreshCount.sum());
+    stats.put("failedRefreshCount", failedRefreshCount.sum());
+    stats.put("unknownTopicCount", unknownTopicCount.sum());
+    return stats;
+  }
+
+  void close() {
+    scheduler.shutdownNow();
+  }
+
+  private void requestRefresh() {
+    long now = System.currentTimeMillis();
+    if (now - lastRefreshAttemptTime < minRefreshIntervalMillis || refreshing.get()) {
+      return;
+    }
+    lastRefreshAttemptTime = now;
+    scheduler.execute(this::refresh);
+  }
+}
@@ -1,6 +1,7 @@
 package org.sunbird.telemetry.collector;
 
 import java.util.Map;
+import org.sunbird.telemetry.dto.Telemetry;
 
 /** Created by arvind on 16/1/18. */
 public interface TelemetryDataAssembler {
@@ -12,4 +13,12 @@ public interface TelemetryDataAssembler {
   public String log(Map<String, Object> context, Map<String, Object> params);
 
   public String error(Map<String, Object> context, Map<String, Object> params);
+
+  public Telemetry auditEvent(Map<String, Object> context, Map<String, Object> params);
+
+  public Telemetry searchEvent(Map<String, Object> context, Map<String, Object> params);
+
+  public Telemetry logEvent(Map<String, Object> context, Map<String, Object> params);
+
+  public Telemetry errorEvent(Map<String, Object> context, Map<String, Object> params);
 }
@@ -1,6 +1,7 @@
 package org.sunbird.telemetry.collector;
 
 import java.util.Map;
+import org.sunbird.telemetry.dto.Telemetry;
 import org.sunbird.telemetry.util.TelemetryGenerator;
 
 /** Created by arvind on 5/1/18. */
@@ -25,4 +26,24 @@ public class TelemetryDataAssemblerImpl implements TelemetryDataAssembler {
   public String error(Map<String, Object> context, Map<String, Object> params) {
     return TelemetryGenerator.error(context, params);
   }
+
+  @Override
+  public Telemetry auditEvent(Map<String, Object> context, Map<String, Object> params) {
+    return TelemetryGenerator.auditEvent(context, params);
+  }
+
+  @Override
+  public Telemetry searchEvent(Map<String, Object> context, Map<String, Object> params) {
+    return TelemetryGenerator.searchEvent(context, params);
+  }
+
+  @Override
+  public Telemetry logEvent(Map<String, Object> context, Map<String, Object> params) {
+    return TelemetryGenerator.logEvent(context, params);
+  }
+
+  @Override
+  public Telemetry errorEvent(Map<String, Object> context, Map<String, Object> params) {
+    return TelemetryGenerator.errorEvent(context, params);
+  }
 }
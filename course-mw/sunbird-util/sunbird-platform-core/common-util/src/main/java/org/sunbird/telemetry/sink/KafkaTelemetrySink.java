@@ -0,0 +1,21 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.List;
+import org.sunbird.kafka.client.KafkaClient;
+
+/** Sends the telemetry events to a kafka topic. */
+public class KafkaTelemetrySink implements TelemetrySink {
+
+  private final String topic;
+
+  public KafkaTelemetrySink(String topic) {
+    this.topic = topic;
+  }
+
+  @Override
+  public void write(List<String> events) throws Exception {
+    for (String event : events) {
+      KafkaClient.send(event, topic);
+    }
+  }
+}
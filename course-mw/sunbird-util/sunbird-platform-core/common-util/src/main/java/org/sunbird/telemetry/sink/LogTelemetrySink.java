@@ -0,0 +1,18 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Writes the telemetry events to the TelemetryEventLogger log appender. */
+public class LogTelemetrySink implements TelemetrySink {
+
+  private static Logger telemetryEventLogger = LoggerFactory.getLogger("TelemetryEventLogger");
+
+  @Override
+  public void write(List<String> events) {
+    for (String event : events) {
+      telemetryEventLogger.info(event);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.List;
+
+/** Destination of the telemetry events written by the telemetry pipeline. */
+public interface TelemetrySink {
+
+  /**
+   * Writes a batch of events, called by a single background thread.
+   *
+   * @param events Events as json
+   * @throws Exception if the events could not be written, the batch is dropped
+   */
+  void write(List<String> events) throws Exception;
+}
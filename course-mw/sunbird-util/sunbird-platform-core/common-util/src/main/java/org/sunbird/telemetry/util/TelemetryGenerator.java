@@ -39,8 +39,18 @@ public class TelemetryGenerator {
    * @return Telemetry event
    */
   public static String audit(Map<String, Object> context, Map<String, Object> params) {
+    Telemetry telemetry = auditEvent(context, params);
+    return null == telemetry ? "" : getTelemetry(telemetry);
+  }
+
+  /**
+   * Same as {@link #audit(Map, Map)}, without the serialization of the event.
+   *
+   * @return Telemetry event, null if the context or the params are empty
+   */
+  public static Telemetry auditEvent(Map<String, Object> context, Map<String, Object> params) {
     if (!validateRequest(context, params)) {
-      return "";
+      return null;
     }
     String actorId = (String) context.get(JsonKey.ACTOR_ID);
     String actorType = (String) context.get(JsonKey.ACTOR_TYPE);
@@ -67,7 +77,7 @@ public class TelemetryGenerator {
     Telemetry telemetry =
         new Telemetry(TelemetryEvents.AUDIT.getName(), actor, eventContext, edata, targetObject);
     telemetry.setMid(reqId);
-    return getTelemetry(telemetry);
+    return telemetry;
   }
 
   private static void setCorrelatedDataToContext(Object correlatedObjects, Context eventContext) {
@@ -199,9 +209,19 @@ public class TelemetryGenerator {
    * @return Search Telemetry event
    */
   public static String search(Map<String, Object> context, Map<String, Object> params) {
+    Telemetry telemetry = searchEvent(context, params);
+    return null == telemetry ? "" : getTelemetry(telemetry);
+  }
+
+  /**
+   * Same as {@link #search(Map, Map)}, without the serialization of the event.
+   *
+   * @return Telemetry event, null if the context or the params are empty
+   */
+  public static Telemetry searchEvent(Map<String, Object> context, Map<String, Object> params) {
 
     if (!validateRequest(context, params)) {
-      return "";
+      return null;
     }
     String actorId = (String) context.get(JsonKey.ACTOR_ID);
     String actorType = (String) context.get(JsonKey.ACTOR_TYPE);
@@ -220,7 +240,7 @@ public class TelemetryGenerator {
     Telemetry telemetry =
         new Telemetry(TelemetryEvents.SEARCH.getName(), actor, eventContext, edata);
     telemetry.setMid(reqId);
-    return getTelemetry(telemetry);
+    return telemetry;
   }
 
   private static Map<String, Object> generateSearchEdata(Map<String, Object> params) {
@@ -252,9 +272,19 @@ public class TelemetryGenerator {
    * @return Search Telemetry event
    */
   public static String log(Map<String, Object> context, Map<String, Object> params) {
+    Telemetry telemetry = logEvent(context, params);
+    return null == telemetry ? "" : getTelemetry(telemetry);
+  }
+
+  /**
+   * Same as {@link #log(Map, Map)}, without the serialization of the event.
+   *
+   * @return Telemetry event, null if the context or the params are empty
+   */
+  public static Telemetry logEvent(Map<String, Object> context, Map<String, Object> params) {
 
     if (!validateRequest(context, params)) {
-      return "";
+      return null;
     }
     String actorId = (String) context.get(JsonKey.ACTOR_ID);
     String actorType = (String) context.get(JsonKey.ACTOR_TYPE);
@@ -274,7 +304,7 @@ public class TelemetryGenerator {
     Map<String, Object> edata = generateLogEdata(params);
     Telemetry telemetry = new Telemetry(TelemetryEvents.LOG.getName(), actor, eventContext, edata);
     telemetry.setMid(reqId);
-    return getTelemetry(telemetry);
+    return telemetry;
   }
 
   private static Map<String, Object> generateLogEdata(Map<String, Object> params) {
@@ -317,9 +347,19 @@ public class TelemetryGenerator {
    * @return Search Telemetry event
    */
   public static String error(Map<String, Object> context, Map<String, Object> params) {
+    Telemetry telemetry = errorEvent(context, params);
+    return null == telemetry ? "" : getTelemetry(telemetry);
+  }
+
+  /**
+   * Same as {@link #error(Map, Map)}, without the serialization of the event.
+   *
+   * @return Telemetry event, null if the context or the params are empty
+   */
+  public static Telemetry errorEvent(Map<String, Object> context, Map<String, Object> params) {
 
     if (!validateRequest(context, params)) {
-      return "";
+      return null;
     }
     String actorId = (String) context.get(JsonKey.ACTOR_ID);
     String actorType = (String) context.get(JsonKey.ACTOR_TYPE);
@@ -340,7 +380,7 @@ public class TelemetryGenerator {
     Telemetry telemetry =
         new Telemetry(TelemetryEvents.ERROR.getName(), actor, eventContext, edata);
     telemetry.setMid(reqId);
-    return getTelemetry(telemetry);
+    return telemetry;
   }
 
   private static Map<String, Object> generateErrorEdata(Map<String, Object> params) {
@@ -0,0 +1,218 @@
+package org.sunbird.telemetry.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.models.util.LoggerEnum;
+import org.sunbird.common.models.util.ProjectLogger;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.util.StatsRegistry;
+import org.sunbird.telemetry.dto.Telemetry;
+import org.sunbird.telemetry.sink.KafkaTelemetrySink;
+import org.sunbird.telemetry.sink.LogTelemetrySink;
+import org.sunbird.telemetry.sink.TelemetrySink;
+import org.sunbird.telemetry.validator.TelemetryObjectValidator;
+import org.sunbird.telemetry.validator.TelemetryObjectValidatorV3;
+
+/**
+ * Writes the telemetry events off the request thread. The events are published to a bounded ring
+ * buffer of sunbird_telemetry_buffer_size events, without locks, and a background thread validates
+ * them, serializes them and writes them to the sink in batches of at most
+ * sunbird_telemetry_batch_size events. The sink is the TelemetryEventLogger log appender or, with
+ * sunbird_telemetry_sink=kafka, the topic sunbird_telemetry_kafka_topic. An event is dropped and
+ * counted when the buffer is full, it is never waited for.
+ */
+public final class TelemetryPipeline {
+
+  private static volatile TelemetryPipeline instance = null;
+  private static final EventTranslatorOneArg<TelemetryEvent, Telemetry> TRANSLATOR =
+      (event, sequence, telemetry) -> event.telemetry = telemetry;
+
+  private final Disruptor<TelemetryEvent> disruptor;
+  private final RingBuffer<TelemetryEvent> ringBuffer;
+  private final ExecutorService executor;
+  private final LongAdder overflowCount = new LongAdder();
+  private final LongAdder invalidCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder writtenCount = new LongAdder();
+
+  TelemetryPipeline(
+      TelemetrySink sink, TelemetryObjectValidator validator, int bufferSize, int batchSize) {
+    executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "telemetry-writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    disruptor =
+        new Disruptor<>(
+            TelemetryEvent::new,
+            powerOfTwo(bufferSize),
+            executor,
+            ProducerType.MULTI,
+            new SleepingWaitStrategy());
+    disruptor.handleEventsWith(new BatchWriter(sink, validator, batchSize));
+    disruptor.handleExceptionsWith(new LoggingExceptionHandler());
+    ringBuffer = disruptor.start();
+  }
+
+  public static TelemetryPipeline getInstance() {
+    if (null == instance) {
+      synchronized (TelemetryPipeline.class) {
+        if (null == instance) {
+          instance =
+              new TelemetryPipeline(
+                  getSink(),
+                  new TelemetryObjectValidatorV3(),
+                  NumberUtils.toInt(
+                      ProjectUtil.getConfigValue("sunbird_telemetry_buffer_size"), 8192),
+                  NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_telemetry_batch_size"), 100));
+          Runtime.getRuntime().addShutdownHook(new Thread(instance::close));
+          StatsRegistry.register("telemetry-pipeline", instance::getStats);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Publishes the event, it is written later by the background thread.
+   *
+   * @param telemetry Telemetry event
+   * @return false if the buffer is full and the event is dropped
+   */
+  public boolean offer(Telemetry telemetry) {
+    if (ringBuffer.tryPublishEvent(TRANSLATOR, telemetry)) {
+      return true;
+    }
+    overflowCount.increment();
+    return false;
+  }
+
+  /**
+   * @return Counts of the events written, dropped as the buffer was full, invalid or failed in the
+   *     sink, and of the events waiting in the buffer
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("writtenCount", writtenCount.sum());
+    stats.put("overflowCount", overflowCount.sum());
+    stats.put("invalidCount", invalidCount.sum());
+    stats.put("droppedCount", droppedCount.sum());
+    stats.put("pendingCount", ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+    return stats;
+  }
+
+  /** Writes the events in the buffer, waiting at most 5 seconds, and stops the writer thread. */
+  void close() {
+    try {
+      disruptor.shutdown(5, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      disruptor.halt();
+    }
+    executor.shutdown();
+  }
+
+  private static TelemetrySink getSink() {
+    String topic = ProjectUtil.getConfigValue("sunbird_telemetry_kafka_topic");
+    if ("kafka".equalsIgnoreCase(ProjectUtil.getConfigValue("sunbird_telemetry_sink"))
+        && StringUtils.isNotBlank(topic)) {
+      return new KafkaTelemetrySink(topic);
+    }
+    return new LogTelemetrySink();
+  }
+
+  private static int powerOfTwo(int size) {
+    int capacity = 1;
+    while (capacity < size) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static class TelemetryEvent {
+    private Telemetry telemetry;
+  }
+
+  private class BatchWriter implements EventHandler<TelemetryEvent> {
+
+    private final ObjectWriter writer = new ObjectMapper().writerFor(Telemetry.class);
+    private final TelemetrySink sink;
+    private final TelemetryObjectValidator validator;
+    private final int batchSize;
+    private final List<String> batch;
+
+    private BatchWriter(TelemetrySink sink, TelemetryObjectValidator validator, int batchSize) {
+      this.sink = sink;
+      this.validator = validator;
+      this.batchSize = batchSize;
+      this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void onEvent(TelemetryEvent event, long sequence, boolean endOfBatch) {
+      Telemetry telemetry = event.telemetry;
+      event.telemetry = null;
+      try {
+        if (validator.validate(telemetry)) {
+          batch.add(writer.writeValueAsString(telemetry));
+        } else {
+          invalidCount.increment();
+        }
+      } catch (Exception e) {
+        invalidCount.increment();
+        ProjectLogger.log(
+            "TelemetryPipeline:onEvent: failed to serialize " + telemetry.getEid() + " event " + e,
+            LoggerEnum.ERROR.name());
+      }
+      if (!batch.isEmpty() && (endOfBatch || batch.size() >= batchSize)) {
+        try {
+          sink.write(batch);
+          writtenCount.add(batch.size());
+        } catch (Exception e) {
+          droppedCount.add(batch.size());
+          ProjectLogger.log(
+              "TelemetryPipeline:onEvent: failed to write " + batch.size() + " events " + e,
+              LoggerEnum.ERROR.name());
+        }
+        batch.clear();
+      }
+    }
+  }
+
+  private static class LoggingExceptionHandler implements ExceptionHandler {
+
+    @Override
+    public void handleEventException(Throwable ex, long sequence, Object event) {
+      ProjectLogger.log("TelemetryPipeline: failed to process event " + ex, LoggerEnum.ERROR.name());
+    }
+
+    @Override
+    public void handleOnStartException(Throwable ex) {
+      ProjectLogger.log("TelemetryPipeline: failed to start " + ex, LoggerEnum.ERROR.name());
+    }
+
+    @Override
+    public void handleOnShutdownException(Throwable ex) {
+      ProjectLogger.log("TelemetryPipeline: failed to shut down " + ex, LoggerEnum.ERROR.name());
+    }
+  }
+}
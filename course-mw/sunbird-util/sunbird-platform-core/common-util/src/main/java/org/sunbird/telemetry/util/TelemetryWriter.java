@@ -2,37 +2,43 @@ package org.sunbird.telemetry.util;
 
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
 import org.sunbird.telemetry.collector.TelemetryAssemblerFactory;
 import org.sunbird.telemetry.collector.TelemetryDataAssembler;
-import org.sunbird.telemetry.validator.TelemetryObjectValidator;
-import org.sunbird.telemetry.validator.TelemetryObjectValidatorV3;
+import org.sunbird.telemetry.dto.Telemetry;
 
+/**
+ * Builds the telemetry event of the request on the caller thread and hands it to the {@link
+ * TelemetryPipeline}, which validates, serializes and writes it in the background.
+ */
 public class TelemetryWriter {
 
   private static TelemetryDataAssembler telemetryDataAssembler = TelemetryAssemblerFactory.get();
-  private static TelemetryObjectValidator telemetryObjectValidator =
-      new TelemetryObjectValidatorV3();
-  private static Logger telemetryEventLogger = LoggerFactory.getLogger("TelemetryEventLogger");
 
   public static void write(Request request) {
     try {
       String eventType = (String) request.getRequest().get(JsonKey.TELEMETRY_EVENT_TYPE);
-
+      Telemetry telemetry = null;
       if (TelemetryEvents.AUDIT.getName().equalsIgnoreCase(eventType)) {
-        processAuditEvent(request);
+        telemetry = processAuditEvent(request);
       } else if (TelemetryEvents.SEARCH.getName().equalsIgnoreCase(eventType)) {
-        processSearchEvent(request);
+        telemetry = processSearchEvent(request);
       } else if (TelemetryEvents.ERROR.getName().equalsIgnoreCase(eventType)) {
-        processErrorEvent(request);
+        telemetry = processErrorEvent(request);
       } else if (TelemetryEvents.LOG.getName().equalsIgnoreCase(eventType)) {
-        processLogEvent(request);
+        telemetry = processLogEvent(request);
+      } else {
+        return;
+      }
+      if (null != telemetry) {
+        TelemetryPipeline.getInstance().offer(telemetry);
+      } else {
+        ProjectLogger.log(
+            "TelemetryWriter:write: " + eventType + " Telemetry validation failed: no context",
+            LoggerEnum.ERROR.name());
       }
     } catch (Exception ex) {
       ProjectLogger.log(
@@ -43,49 +49,25 @@ public class TelemetryWriter {
     }
   }
 
-  private static void processLogEvent(Request request) {
+  private static Telemetry processLogEvent(Request request) {
     Map<String, Object> context = (Map<String, Object>) request.getRequest().get(JsonKey.CONTEXT);
     Map<String, Object> params = (Map<String, Object>) request.getRequest().get(JsonKey.PARAMS);
-    String telemetry = telemetryDataAssembler.log(context, params);
-    if (StringUtils.isNotBlank(telemetry) && telemetryObjectValidator.validateLog(telemetry)) {
-      telemetryEventLogger.info(telemetry);
-    } else {
-      ProjectLogger.log(
-          "TelemetryWriter:processLogEvent: Audit Telemetry validation failed: ",
-          telemetry,
-          LoggerEnum.ERROR.name());
-    }
+    return telemetryDataAssembler.logEvent(context, params);
   }
 
-  private static void processErrorEvent(Request request) {
+  private static Telemetry processErrorEvent(Request request) {
     Map<String, Object> context = (Map<String, Object>) request.get(JsonKey.CONTEXT);
     Map<String, Object> params = (Map<String, Object>) request.get(JsonKey.PARAMS);
-    String telemetry = telemetryDataAssembler.error(context, params);
-    if (StringUtils.isNotBlank(telemetry) && telemetryObjectValidator.validateError(telemetry)) {
-      telemetryEventLogger.info(telemetry);
-    } else {
-      ProjectLogger.log(
-          "TelemetryWriter:processLogEvent: Error Telemetry validation failed: ",
-          telemetry,
-          LoggerEnum.ERROR.name());
-    }
+    return telemetryDataAssembler.errorEvent(context, params);
   }
 
-  private static void processSearchEvent(Request request) {
+  private static Telemetry processSearchEvent(Request request) {
     Map<String, Object> context = (Map<String, Object>) request.get(JsonKey.CONTEXT);
     Map<String, Object> params = (Map<String, Object>) request.get(JsonKey.PARAMS);
-    String telemetry = telemetryDataAssembler.search(context, params);
-    if (StringUtils.isNotBlank(telemetry) && telemetryObjectValidator.validateSearch(telemetry)) {
-      telemetryEventLogger.info(telemetry);
-    } else {
-      ProjectLogger.log(
-          "TelemetryWriter:processLogEvent: Search Telemetry validation failed: ",
-          telemetry,
-          LoggerEnum.ERROR.name());
-    }
+    return telemetryDataAssembler.searchEvent(context, params);
   }
 
-  private static void processAuditEvent(Request request) {
+  private static Telemetry processAuditEvent(Request request) {
     Map<String, Object> context = (Map<String, Object>) request.get(JsonKey.CONTEXT);
     Map<String, Object> targetObject = (Map<String, Object>) request.get(JsonKey.TARGET_OBJECT);
     List<Map<String, Object>> correlatedObjects =
@@ -93,14 +75,6 @@ public class TelemetryWriter {
     Map<String, Object> params = (Map<String, Object>) request.get(JsonKey.PARAMS);
     params.put(JsonKey.TARGET_OBJECT, targetObject);
     params.put(JsonKey.CORRELATED_OBJECTS, correlatedObjects);
-    String telemetry = telemetryDataAssembler.audit(context, params);
-    if (StringUtils.isNotBlank(telemetry) && telemetryObjectValidator.validateAudit(telemetry)) {
-      telemetryEventLogger.info(telemetry);
-    } else {
-      ProjectLogger.log(
-          "TelemetryWriter:processLogEvent: Audit Telemetry validation failed: ",
-          telemetry,
-          LoggerEnum.ERROR.name());
-    }
+    return telemetryDataAssembler.auditEvent(context, params);
   }
 }
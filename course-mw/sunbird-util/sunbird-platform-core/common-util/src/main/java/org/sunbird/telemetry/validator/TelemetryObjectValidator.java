@@ -1,8 +1,18 @@
 package org.sunbird.telemetry.validator;
 
+import org.sunbird.telemetry.dto.Telemetry;
+
 /** @author arvind */
 public interface TelemetryObjectValidator {
 
+  /**
+   * Validates the event as per its eid, without serializing it.
+   *
+   * @param telemetry Telemetry event
+   * @return true if the event has the required fields
+   */
+  public boolean validate(Telemetry telemetry);
+
   public boolean validateAudit(String jsonString);
 
   public boolean validateSearch(String jsonString);
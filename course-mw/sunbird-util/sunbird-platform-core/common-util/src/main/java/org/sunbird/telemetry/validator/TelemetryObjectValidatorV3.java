@@ -17,53 +17,50 @@ public class TelemetryObjectValidatorV3 implements TelemetryObjectValidator {
   ObjectMapper mapper = new ObjectMapper();
 
   @Override
-  public boolean validateAudit(String jsonString) {
+  public boolean validate(Telemetry telemetry) {
+    return validate(telemetry, telemetry.getEid());
+  }
 
-    boolean validationSuccess = true;
-    List<String> missingFields = new ArrayList<>();
-    Telemetry telemetryObj = null;
+  private boolean validate(String jsonString, String eventName) {
     try {
-      telemetryObj = mapper.readValue(jsonString, Telemetry.class);
-      validateBasics(telemetryObj, missingFields);
-      validateAuditEventData(telemetryObj.getEdata(), missingFields);
-      if (!missingFields.isEmpty()) {
-        ProjectLogger.log(
-            "Telemetry Object Creation Error for event : "
-                + TelemetryEvents.AUDIT.getName()
-                + "  missing required fields :"
-                + String.join(",", missingFields));
-        validationSuccess = false;
-      }
+      return validate(mapper.readValue(jsonString, Telemetry.class), eventName);
     } catch (IOException e) {
-      validationSuccess = false;
       ProjectLogger.log(e.getMessage(), e);
+      return false;
     }
-    return validationSuccess;
   }
 
-  @Override
-  public boolean validateSearch(String jsonString) {
-
-    boolean validationSuccess = true;
+  private boolean validate(Telemetry telemetryObj, String eventName) {
     List<String> missingFields = new ArrayList<>();
-    Telemetry telemetryObj = null;
-    try {
-      telemetryObj = mapper.readValue(jsonString, Telemetry.class);
-      validateBasics(telemetryObj, missingFields);
+    validateBasics(telemetryObj, missingFields);
+    if (TelemetryEvents.AUDIT.getName().equals(eventName)) {
+      validateAuditEventData(telemetryObj.getEdata(), missingFields);
+    } else if (TelemetryEvents.SEARCH.getName().equals(eventName)) {
       validateSearchEventData(telemetryObj.getEdata(), missingFields);
-      if (!missingFields.isEmpty()) {
-        ProjectLogger.log(
-            "Telemetry Object Creation Error for event : "
-                + TelemetryEvents.SEARCH.getName()
-                + "  missing required fields :"
-                + String.join(",", missingFields));
-        validationSuccess = false;
-      }
-    } catch (IOException e) {
-      validationSuccess = false;
-      ProjectLogger.log(e.getMessage(), e);
+    } else if (TelemetryEvents.LOG.getName().equals(eventName)) {
+      validateLogEventData(telemetryObj.getEdata(), missingFields);
+    } else if (TelemetryEvents.ERROR.getName().equals(eventName)) {
+      validateErrorEventData(telemetryObj.getEdata(), missingFields);
     }
-    return validationSuccess;
+    if (!missingFields.isEmpty()) {
+      ProjectLogger.log(
+          "Telemetry Object Creation Error for event : "
+              + eventName
+              + "  missing required fields :"
+              + String.join(",", missingFields));
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean validateAudit(String jsonString) {
+    return validate(jsonString, TelemetryEvents.AUDIT.getName());
+  }
+
+  @Override
+  public boolean validateSearch(String jsonString) {
+    return validate(jsonString, TelemetryEvents.SEARCH.getName());
   }
 
   private void validateSearchEventData(Map<String, Object> edata, List<String> missingFields) {
@@ -126,27 +123,7 @@ public class TelemetryObjectValidatorV3 implements TelemetryObjectValidator {
 
   @Override
   public boolean validateLog(String jsonString) {
-
-    boolean validationSuccess = true;
-    List<String> missingFields = new ArrayList<>();
-    Telemetry telemetryObj = null;
-    try {
-      telemetryObj = mapper.readValue(jsonString, Telemetry.class);
-      validateBasics(telemetryObj, missingFields);
-      validateLogEventData(telemetryObj.getEdata(), missingFields);
-      if (!missingFields.isEmpty()) {
-        ProjectLogger.log(
-            "Telemetry Object Creation Error for event : "
-                + TelemetryEvents.LOG.getName()
-                + "  missing required fields :"
-                + String.join(",", missingFields));
-        validationSuccess = false;
-      }
-    } catch (IOException e) {
-      validationSuccess = false;
-      ProjectLogger.log(e.getMessage(), e);
-    }
-    return validationSuccess;
+    return validate(jsonString, TelemetryEvents.LOG.getName());
   }
 
   private void validateLogEventData(Map<String, Object> edata, List<String> missingFields) {
@@ -168,27 +145,7 @@ public class TelemetryObjectValidatorV3 implements TelemetryObjectValidator {
 
   @Override
   public boolean validateError(String jsonString) {
-
-    boolean validationSuccess = true;
-    List<String> missingFields = new ArrayList<>();
-    Telemetry telemetryObj = null;
-    try {
-      telemetryObj = mapper.readValue(jsonString, Telemetry.class);
-      validateBasics(telemetryObj, missingFields);
-      validateErrorEventData(telemetryObj.getEdata(), missingFields);
-      if (!missingFields.isEmpty()) {
-        ProjectLogger.log(
-            "Telemetry Object Creation Error for event : "
-                + TelemetryEvents.ERROR.getName()
-                + "  missing required fields :"
-                + String.join(",", missingFields));
-        validationSuccess = false;
-      }
-    } catch (IOException e) {
-      validationSuccess = false;
-      ProjectLogger.log(e.getMessage(), e);
-    }
-    return validationSuccess;
+    return validate(jsonString, TelemetryEvents.ERROR.getName());
   }
 
   private void validateErrorEventData(Map<String, Object> edata, List<String> missingFields) {
@@ -8,7 +8,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
@@ -57,6 +60,18 @@ public class ProjectUtilTest extends BaseHttpTest {
     assertEquals(false, context.internalContainsKey(JsonKey.NAME));
   }
 
+  @Test
+  public void testFormatDateSameAsDateFormatter() throws Exception {
+    Date date = new Date(1609495200123L);
+    assertEquals(ProjectUtil.getDateFormatter().format(date), ProjectUtil.formatDate(date));
+    assertNotNull(ProjectUtil.getDateFormatter().parse(ProjectUtil.getFormattedDate()));
+    Instant parsed =
+        Instant.from(
+            ProjectUtil.getDateTimeFormatter(ZoneId.of("Asia/Kolkata"))
+                .parse("2021-01-01 10:00:00:123+0000"));
+    assertEquals(ProjectUtil.getDateFormatter().parse("2021-01-01 10:00:00:123+0000").toInstant(), parsed);
+  }
+
   @Test
   public void testGetContextFailureWithoutActionUrl() {
 
@@ -0,0 +1,26 @@
+package org.sunbird.common.util;
+
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatsRegistryTest {
+
+  @Test
+  public void testGetStatsOfRegisteredComponents() {
+    StatsRegistry.register("test-cache", () -> Collections.singletonMap("hits", 1L));
+    Map<String, Object> stats = StatsRegistry.getStats();
+    Assert.assertEquals(Collections.singletonMap("hits", 1L), stats.get("test-cache"));
+  }
+
+  @Test
+  public void testGetStatsWithFailingComponent() {
+    StatsRegistry.register(
+        "test-failing",
+        () -> {
+          throw new IllegalStateException("closed");
+        });
+    Assert.assertEquals("failed: closed", StatsRegistry.getStats().get("test-failing"));
+  }
+}
@@ -0,0 +1,71 @@
+package org.sunbird.kafka.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KafkaEventWriterTest {
+
+  private static ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void testWriteInstructionEventFromData() throws Exception {
+    Map<String, Object> object = new HashMap<>();
+    object.put("id", "batch_user");
+    object.put("type", "CourseBatchEnrolment");
+    Map<String, Object> edata = new HashMap<>();
+    edata.put("userId", "user");
+    edata.put("iteration", 5);
+    edata.put("contents", Arrays.asList(new HashMap<>(), "c"));
+    Map<String, Object> context = new HashMap<>();
+    context.put("channel", "in.ekstep");
+    Map<String, Object> data = new HashMap<>();
+    data.put("object", object);
+    data.put("edata", edata);
+    data.put("context", context);
+    data.put("action", "batch-user-state-update");
+
+    JsonNode event = mapper.readTree(KafkaEventWriter.writeInstructionEvent(data));
+    Assert.assertEquals("BE_JOB_REQUEST", event.get("eid").asText());
+    Assert.assertTrue(event.get("mid").asText().startsWith("LP." + event.get("ets").asLong()));
+    Assert.assertEquals("Sunbird LMS Samza Job", event.at("/actor/id").asText());
+    Assert.assertEquals("System", event.at("/actor/type").asText());
+    Assert.assertEquals("in.ekstep", event.at("/context/channel").asText());
+    Assert.assertEquals("org.sunbird.platform", event.at("/context/pdata/id").asText());
+    Assert.assertEquals("1.0", event.at("/context/pdata/ver").asText());
+    Assert.assertEquals("batch_user", event.at("/object/id").asText());
+    Assert.assertEquals("user", event.at("/edata/userId").asText());
+    Assert.assertEquals("c", event.at("/edata/contents/1").asText());
+    Assert.assertEquals("batch-user-state-update", event.at("/edata/action").asText());
+    Assert.assertEquals(1, event.at("/edata/iteration").asInt());
+    Assert.assertEquals(4, event.get("edata").size());
+  }
+
+  @Test
+  public void testWriteTypedInstructionEvent() throws Exception {
+    byte[] bytes =
+        KafkaEventWriter.writeInstructionEvent(
+            "Course Batch Updater",
+            "System",
+            "batch_user",
+            "CourseBatchEnrolment",
+            "user-enrolment-sync",
+            generator -> {
+              generator.writeStringField("batchId", "batch");
+              generator.writeObjectField("status", 2);
+            });
+
+    JsonNode event = mapper.readTree(bytes);
+    Assert.assertEquals("Course Batch Updater", event.at("/actor/id").asText());
+    Assert.assertEquals("org.sunbird.platform", event.at("/context/pdata/id").asText());
+    Assert.assertEquals("CourseBatchEnrolment", event.at("/object/type").asText());
+    Assert.assertEquals("batch", event.at("/edata/batchId").asText());
+    Assert.assertEquals(2, event.at("/edata/status").asInt());
+    Assert.assertEquals("user-enrolment-sync", event.at("/edata/action").asText());
+    Assert.assertEquals(1, event.at("/edata/iteration").asInt());
+  }
+}
@@ -0,0 +1,120 @@
+package org.sunbird.kafka.client;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KafkaSpillQueueTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testReplayInOrderAcrossSegments() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    KafkaSpillQueue queue = new KafkaSpillQueue(dir, 128, 1024);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertTrue(
+          queue.append(new ProducerRecord<>("topic", i % 2 == 0 ? null : "k", bytes("e" + i))));
+    }
+    List<ProducerRecord<String, byte[]>> records = queue.peek(4);
+    Assert.assertEquals(4, records.size());
+    Assert.assertEquals("e0", new String(records.get(0).value(), StandardCharsets.UTF_8));
+    Assert.assertNull(records.get(0).key());
+    Assert.assertEquals("k", records.get(1).key());
+    Assert.assertEquals("topic", records.get(3).topic());
+    queue.remove(4);
+
+    records = queue.peek(100);
+    Assert.assertEquals(6, records.size());
+    Assert.assertEquals("e4", new String(records.get(0).value(), StandardCharsets.UTF_8));
+    Assert.assertEquals("e9", new String(records.get(5).value(), StandardCharsets.UTF_8));
+    queue.remove(6);
+    Assert.assertTrue(queue.isEmpty());
+    Map<String, Object> stats = queue.getStats();
+    Assert.assertEquals(10L, stats.get("spilledCount"));
+    Assert.assertEquals(10L, stats.get("replayedCount"));
+    Assert.assertEquals(1, stats.get("segmentCount"));
+    queue.close();
+  }
+
+  @Test
+  public void testRejectWhenFull() throws Exception {
+    KafkaSpillQueue queue = new KafkaSpillQueue(folder.getRoot().toPath(), 64, 128);
+    int appended = 0;
+    while (queue.append(new ProducerRecord<>("topic", bytes("event-" + appended)))) {
+      appended++;
+    }
+    Assert.assertEquals(4, appended);
+    Assert.assertEquals(1L, queue.getStats().get("rejectedCount"));
+    Assert.assertFalse(queue.append(new ProducerRecord<>("topic", new byte[100])));
+    queue.close();
+  }
+
+  @Test
+  public void testReloadAfterRestart() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    KafkaSpillQueue queue = new KafkaSpillQueue(dir, 128, 1024);
+    for (int i = 0; i < 5; i++) {
+      queue.append(new ProducerRecord<>("topic", "k" + i, bytes("e" + i)));
+    }
+    queue.peek(2);
+    queue.remove(2);
+    queue.close();
+
+    queue = new KafkaSpillQueue(dir, 128, 1024);
+    List<ProducerRecord<String, byte[]>> records = queue.peek(100);
+    Assert.assertEquals(3, records.size());
+    Assert.assertEquals("e2", new String(records.get(0).value(), StandardCharsets.UTF_8));
+    Assert.assertEquals("k4", records.get(2).key());
+    queue.close();
+  }
+
+  @Test
+  public void testTornWriteDropped() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    KafkaSpillQueue queue = new KafkaSpillQueue(dir, 128, 1024);
+    queue.append(new ProducerRecord<>("topic", bytes("e0")));
+    queue.append(new ProducerRecord<>("topic", bytes("e1")));
+    queue.close();
+    Path segment = dir.resolve(String.format("spill-%020d.log", 0));
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      // each event is 25 bytes, corrupt the value of the second one
+      file.seek(2 * 25 - 1);
+      file.write('x');
+    }
+
+    queue = new KafkaSpillQueue(dir, 128, 1024);
+    List<ProducerRecord<String, byte[]>> records = queue.peek(100);
+    Assert.assertEquals(1, records.size());
+    Assert.assertEquals("e0", new String(records.get(0).value(), StandardCharsets.UTF_8));
+    queue.close();
+  }
+
+  @Test
+  public void testNullValue() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    KafkaSpillQueue queue = new KafkaSpillQueue(dir, 128, 1024);
+    Assert.assertTrue(queue.append(new ProducerRecord<>("topic", "k", null)));
+    Assert.assertTrue(queue.append(new ProducerRecord<>("topic", "k", new byte[0])));
+    queue.close();
+
+    queue = new KafkaSpillQueue(dir, 128, 1024);
+    List<ProducerRecord<String, byte[]>> records = queue.peek(100);
+    Assert.assertEquals(2, records.size());
+    Assert.assertEquals("k", records.get(0).key());
+    Assert.assertNull(records.get(0).value());
+    Assert.assertEquals(0, records.get(1).value().length);
+    queue.close();
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
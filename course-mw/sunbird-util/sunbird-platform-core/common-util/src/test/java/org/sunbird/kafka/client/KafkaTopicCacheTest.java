@@ -0,0 +1,75 @@
+package org.sunbird.kafka.client;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KafkaTopicCacheTest {
+
+  @Test
+  public void testContainsBeforeFirstListing() {
+    KafkaTopicCache cache =
+        new KafkaTopicCache(
+            () -> {
+              throw new IllegalStateException("broker down");
+            },
+            60000,
+            60000);
+    try {
+      cache.refresh();
+      Assert.assertTrue(cache.contains("local.coursebatch.job.request"));
+      Assert.assertEquals(1L, cache.getStats().get("failedRefreshCount"));
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testContainsAfterListing() {
+    KafkaTopicCache cache =
+        new KafkaTopicCache(() -> new HashSet<>(Arrays.asList("a", "b")), 60000, 60000);
+    try {
+      cache.refresh();
+      Assert.assertTrue(cache.contains("a"));
+      Assert.assertFalse(cache.contains("c"));
+      Map<String, Object> stats = cache.getStats();
+      Assert.assertEquals(2, stats.get("topicCount"));
+      Assert.assertEquals(1L, stats.get("unknownTopicCount"));
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testUnknownTopicTriggersRefresh() throws Exception {
+    AtomicReference<Set<String>> listed = new AtomicReference<>(new HashSet<>(Arrays.asList("a")));
+    CountDownLatch refreshed = new CountDownLatch(2);
+    KafkaTopicCache cache =
+        new KafkaTopicCache(
+            () -> {
+              refreshed.countDown();
+              return listed.get();
+            },
+            60000,
+            0);
+    try {
+      cache.refresh();
+      listed.set(new HashSet<>(Arrays.asList("a", "b")));
+      Assert.assertFalse(cache.contains("b"));
+      Assert.assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+      long deadline = System.currentTimeMillis() + 5000;
+      while (!cache.contains("b") && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      Assert.assertTrue(cache.contains("b"));
+    } finally {
+      cache.close();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package org.sunbird.telemetry.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.telemetry.dto.Actor;
+import org.sunbird.telemetry.dto.Context;
+import org.sunbird.telemetry.dto.Telemetry;
+import org.sunbird.telemetry.validator.TelemetryObjectValidatorV3;
+
+public class TelemetryPipelineTest {
+
+  @Test
+  public void testWriteValidEvents() throws Exception {
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(2);
+    TelemetryPipeline pipeline =
+        new TelemetryPipeline(
+            events -> {
+              written.addAll(events);
+              for (int i = 0; i < events.size(); i++) {
+                latch.countDown();
+              }
+            },
+            new TelemetryObjectValidatorV3(),
+            16,
+            10);
+    try {
+      Assert.assertTrue(pipeline.offer(audit("1")));
+      Assert.assertTrue(pipeline.offer(audit(null)));
+      Assert.assertTrue(pipeline.offer(audit("2")));
+      Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+      Assert.assertEquals(2, written.size());
+      Assert.assertTrue(written.get(0).contains("\"eid\":\"AUDIT\""));
+      Assert.assertTrue(written.get(1).contains("\"id\":\"2\""));
+    } finally {
+      pipeline.close();
+    }
+    Map<String, Object> stats = pipeline.getStats();
+    Assert.assertEquals(2L, stats.get("writtenCount"));
+    Assert.assertEquals(1L, stats.get("invalidCount"));
+    Assert.assertEquals(0L, stats.get("pendingCount"));
+  }
+
+  @Test
+  public void testOverflowAndSinkFailure() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TelemetryPipeline pipeline =
+        new TelemetryPipeline(
+            events -> {
+              blocked.countDown();
+              release.await();
+              throw new IllegalStateException("sink down");
+            },
+            new TelemetryObjectValidatorV3(),
+            4,
+            10);
+    try {
+      Assert.assertTrue(pipeline.offer(audit("1")));
+      Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+      int offered = 0;
+      while (pipeline.offer(audit("2"))) {
+        offered++;
+      }
+      // the slot of the event being written is not free yet
+      Assert.assertEquals(3, offered);
+      Assert.assertEquals(1L, pipeline.getStats().get("overflowCount"));
+      release.countDown();
+    } finally {
+      pipeline.close();
+    }
+    Assert.assertEquals(4L, pipeline.getStats().get("droppedCount"));
+    Assert.assertEquals(0L, pipeline.getStats().get("writtenCount"));
+  }
+
+  private static Telemetry audit(String actorId) {
+    Context context = new Context();
+    context.setEnv(JsonKey.ORGANISATION);
+    context.setChannel("channel");
+    Map<String, Object> edata = new HashMap<>();
+    edata.put(JsonKey.PROPS, Collections.singletonList("name"));
+    Telemetry telemetry =
+        new Telemetry(
+            TelemetryEvents.AUDIT.getName(), new Actor(actorId, JsonKey.USER), context, edata);
+    telemetry.setMid("mid");
+    return telemetry;
+  }
+}
@@ -4,7 +4,6 @@ import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.ActorSelection;
 import org.apache.pekko.pattern.PatternsCS;
 import org.apache.pekko.util.Timeout;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import modules.ApplicationStart;
@@ -31,6 +30,7 @@ import play.mvc.Result;
 import play.mvc.Results;
 import util.Attrs;
 import util.AuthenticationHelper;
+import util.RequestInfo;
 
 import java.io.File;
 import java.io.UnsupportedEncodingException;
@@ -52,7 +52,6 @@ import java.util.function.Function;
  */
 public class BaseController extends Controller {
   
-  private static ObjectMapper objectMapper = new ObjectMapper();
   private static final String version = "v1";
   public static final int PEKKO_WAIT_TIME = 30;
   protected Timeout timeout = new Timeout(PEKKO_WAIT_TIME, TimeUnit.SECONDS);
@@ -669,10 +668,7 @@ public class BaseController extends Controller {
   private static Map<String, Object> genarateTelemetryInfoForError(Http.Request request) {
     try{
       Map<String, Object> map = new HashMap<>();
-      String reqContext = request.attrs().getOptional(Attrs.CONTEXT).orElse(null);
-      Map<String, Object> requestInfo =
-              objectMapper.readValue(reqContext, new TypeReference<Map<String, Object>>() {});
-      Map<String, Object> contextInfo = (Map<String, Object>) requestInfo.getOrDefault(JsonKey.CONTEXT, new HashMap<String, Object>());
+      Map<String, Object> contextInfo = request.attrs().get(Attrs.CONTEXT).getContext();
       Map<String, Object> params = new HashMap<>();
       params.put(JsonKey.ERR_TYPE, JsonKey.API_ACCESS);
 
@@ -803,12 +799,10 @@ public class BaseController extends Controller {
 
   public void setContextData(Http.Request httpReq, org.sunbird.common.request.Request reqObj) {
     try {
-      String reqContext = httpReq.attrs().get(Attrs.CONTEXT);
-      Map<String, Object> requestInfo =
-              objectMapper.readValue(reqContext, new TypeReference<Map<String, Object>>() {});
+      RequestInfo requestInfo = httpReq.attrs().get(Attrs.CONTEXT);
       reqObj.setRequestId(httpReq.attrs().getOptional(Attrs.REQUEST_ID).orElse(null));
-      reqObj.getContext().putAll((Map<String, Object>) requestInfo.get(JsonKey.CONTEXT));
-      reqObj.getContext().putAll((Map<String, Object>) requestInfo.get(JsonKey.ADDITIONAL_INFO));
+      reqObj.getContext().putAll(requestInfo.getContext());
+      reqObj.getContext().putAll(requestInfo.getAdditionalInfo());
     } catch (Exception ex) {
       ProjectCommonException.throwServerErrorException(ResponseCode.SERVER_ERROR);
     }
@@ -816,10 +810,9 @@ public class BaseController extends Controller {
 
   private void generateExceptionTelemetry(Request request, ProjectCommonException exception) {
     try {
-      String reqContext = request.attrs().get(Attrs.CONTEXT);
-      Map<String, Object> requestInfo = objectMapper.readValue(reqContext, new TypeReference<Map<String, Object>>() {});
+      RequestInfo requestInfo = request.attrs().get(Attrs.CONTEXT);
       org.sunbird.common.request.Request reqForTelemetry = new org.sunbird.common.request.Request();
-      Map<String, Object> params = (Map<String, Object>) requestInfo.getOrDefault(JsonKey.ADDITIONAL_INFO, new HashMap<>());
+      Map<String, Object> params = requestInfo.getAdditionalInfo();
       params.put(JsonKey.LOG_TYPE, JsonKey.API_ACCESS);
       params.put(JsonKey.MESSAGE, "");
       params.put(JsonKey.METHOD, request.method());
@@ -835,7 +828,7 @@ public class BaseController extends Controller {
               generateTelemetryRequestForController(
                       TelemetryEvents.ERROR.getName(),
                       params,
-                      (Map<String, Object>) requestInfo.get(JsonKey.CONTEXT)));
+                      requestInfo.getContext()));
       TelemetryWriter.write(reqForTelemetry);
     } catch (Exception ex) {
       ex.printStackTrace();
@@ -1,9 +1,6 @@
 package filters;
 
 import org.apache.pekko.util.ByteString;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.telemetry.util.TelemetryEvents;
@@ -13,17 +10,18 @@ import play.mvc.EssentialAction;
 import play.mvc.EssentialFilter;
 import play.mvc.Result;
 import util.Attrs;
+import util.RequestInfo;
 
 import javax.inject.Inject;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.WeakHashMap;
 import java.util.concurrent.Executor;
 
 public class AccessLogFilter extends EssentialFilter {
 
     private final Executor executor;
-    private ObjectMapper objectMapper = new ObjectMapper();
     public LoggerUtil logger = new LoggerUtil(this.getClass());
 
     @Inject
@@ -53,16 +51,13 @@ public class AccessLogFilter extends EssentialFilter {
                                     params.put(JsonKey.DURATION, requestTime);
                                     params.put(JsonKey.STATUS, result.status());
                                     params.put(JsonKey.LOG_LEVEL, JsonKey.INFO);
-                                    String contextDetails = request.attrs().getOptional(Attrs.CONTEXT).orElse("");
-                                    if(StringUtils.isNotBlank(contextDetails)) {
-                                        Map<String, Object> context =
-                                                objectMapper.readValue(
-                                                        contextDetails, new TypeReference<Map<String, Object>>() {});
+                                    Optional<RequestInfo> requestInfo = request.attrs().getOptional(Attrs.CONTEXT);
+                                    if(requestInfo.isPresent()) {
                                         req.setRequest(
                                                 generateTelemetryRequestForController(
                                                         TelemetryEvents.LOG.getName(),
                                                         params,
-                                                        (Map<String, Object>) context.get(JsonKey.CONTEXT)));
+                                                        requestInfo.get().getContext()));
                                         TelemetryWriter.write(req);
                                     }
                                 } catch (Exception ex) {
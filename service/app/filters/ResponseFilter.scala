@@ -1,35 +1,37 @@
 package filters
 
 import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.Source
 import org.apache.pekko.util.ByteString
 import org.apache.commons.lang.StringUtils
 import org.sunbird.common.models.util.JsonKey
 import org.sunbird.common.models.util.JsonKey.{CLOUD_STORAGE_CNAME_URL, CLOUD_STORE_BASE_PATH, CONTENT_CLOUD_STORAGE_CONTAINER}
 import org.sunbird.common.models.util.ProjectUtil.getConfigValue
-import play.api.Logging
-import play.api.http.HttpEntity.Strict
+import play.api.http.{HttpChunk, HttpEntity}
+import play.api.http.HttpEntity.{Chunked, Streamed, Strict}
 import play.api.mvc.{Filter, RequestHeader, Result}
+import util.PlaceholderReplacer
 
 import javax.inject.Inject
 import scala.concurrent.{ExecutionContext, Future}
 
-class ResponseFilter  @Inject()(implicit val mat: Materializer, ec: ExecutionContext) extends Filter with Logging {
-
-  override def apply(nextFilter: (RequestHeader) => Future[Result])(rh: RequestHeader) =
-    nextFilter(rh) flatMap { result =>
-      if (null != result.body && !result.body.isKnownEmpty){
-        val contentType = result.body.contentType
-        val updatedBody = result.body.consumeData.map { x =>
-          val y = x.utf8String.replaceAll(getConfigValue(JsonKey.CLOUD_STORE_BASE_PATH_PLACEHOLDER), getBaseUrl + "/" + getConfigValue(CONTENT_CLOUD_STORAGE_CONTAINER))
-          logger.info("updated body: " + y)
-          y
-        }
-        updatedBody map { x =>
-          result.copy(body = Strict(ByteString(x), contentType))
-        }
-      } else {
-        Future(result)
-      }
+/**
+ * Replaces the cloud storage placeholder in the response bodies by the base url of the content
+ * container. Strict bodies are replaced in place and streamed or chunked bodies chunk by chunk, so
+ * a body is neither buffered nor decoded. Bodies whose content type is not textual are left as is.
+ */
+class ResponseFilter  @Inject()(implicit val mat: Materializer, ec: ExecutionContext) extends Filter {
+
+  private val replacer: Option[PlaceholderReplacer] = {
+    val placeholder = getConfigValue(JsonKey.CLOUD_STORE_BASE_PATH_PLACEHOLDER)
+    if (StringUtils.isEmpty(placeholder)) None
+    else Some(new PlaceholderReplacer(placeholder, getBaseUrl + "/" + getConfigValue(CONTENT_CLOUD_STORAGE_CONTAINER)))
+  }
+
+  override def apply(nextFilter: (RequestHeader) => Future[Result])(rh: RequestHeader): Future[Result] =
+    replacer match {
+      case Some(r) => nextFilter(rh) map { result => result.copy(body = replace(r, result.body)) }
+      case None => nextFilter(rh)
     }
 
   def getBaseUrl: String = {
@@ -37,4 +39,42 @@ class ResponseFilter  @Inject()(implicit val mat: Materializer, ec: ExecutionCon
     if (StringUtils.isEmpty(baseUrl)) baseUrl = getConfigValue(CLOUD_STORE_BASE_PATH)
     baseUrl
   }
-}
\ No newline at end of file
+
+  private def replace(r: PlaceholderReplacer, body: HttpEntity): HttpEntity = {
+    if (null == body || body.isKnownEmpty || !body.contentType.forall(isTextual)) body
+    else body match {
+      case Strict(data, contentType) => Strict(r.replaceAll(data), contentType)
+      case Streamed(data, _, contentType) => Streamed(replaceData(r, data), None, contentType)
+      case Chunked(chunks, contentType) => Chunked(replaceChunks(r, chunks), contentType)
+    }
+  }
+
+  private def replaceData(r: PlaceholderReplacer, data: Source[ByteString, _]): Source[ByteString, _] =
+    data.map(Option(_)).concat(Source.single(None)).statefulMapConcat { () =>
+      val session = r.newSession()
+
+      {
+        case Some(bytes) => nonEmpty(session.next(bytes))
+        case None => nonEmpty(session.finish())
+      }
+    }
+
+  private def replaceChunks(r: PlaceholderReplacer, chunks: Source[HttpChunk, _]): Source[HttpChunk, _] =
+    chunks.map(Option(_)).concat(Source.single(None)).statefulMapConcat { () =>
+      val session = r.newSession()
+
+      {
+        case Some(HttpChunk.Chunk(bytes)) => nonEmpty(session.next(bytes)).map(HttpChunk.Chunk(_))
+        case Some(last: HttpChunk.LastChunk) => nonEmpty(session.finish()).map(HttpChunk.Chunk(_)) :+ last
+        case None => nonEmpty(session.finish()).map(HttpChunk.Chunk(_))
+      }
+    }
+
+  // an empty chunk would end a chunked response
+  private def nonEmpty(bytes: ByteString): List[ByteString] = if (bytes.isEmpty) Nil else List(bytes)
+
+  private def isTextual(contentType: String): Boolean = {
+    val mediaType = contentType.toLowerCase
+    mediaType.startsWith("text/") || mediaType.contains("json") || mediaType.contains("xml") || mediaType.contains("javascript")
+  }
+}
@@ -0,0 +1,105 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.pekko.util.ByteString;
+
+/**
+ * Replaces a literal placeholder in response bodies, chunk by chunk, without decoding the bytes.
+ * The output is made of slices of the input and of the replacement, so a chunk is not copied. A
+ * placeholder split across two chunks is found by keeping the end of the chunk which starts the
+ * placeholder until the next chunk is read. The placeholder and the replacement are UTF-8, whose
+ * multi-byte characters never contain an ASCII byte, so a match is always on a character boundary.
+ */
+public class PlaceholderReplacer {
+
+  private final byte[] placeholder;
+  private final ByteString replacement;
+
+  /**
+   * @param placeholder Placeholder, not empty
+   * @param replacement Value of the placeholder
+   */
+  public PlaceholderReplacer(String placeholder, String replacement) {
+    if (placeholder.isEmpty()) {
+      throw new IllegalArgumentException("placeholder is empty");
+    }
+    this.placeholder = placeholder.getBytes(StandardCharsets.UTF_8);
+    this.replacement = ByteString.fromString(replacement);
+  }
+
+  /**
+   * @param data Whole body
+   * @return Body with the placeholders replaced
+   */
+  public ByteString replaceAll(ByteString data) {
+    Session session = newSession();
+    return session.next(data).concat(session.finish());
+  }
+
+  /** @return Replacement state of one body, to be used by one stream */
+  public Session newSession() {
+    return new Session();
+  }
+
+  public class Session {
+
+    private ByteString carry = ByteString.emptyByteString();
+
+    private Session() {}
+
+    /**
+     * @param chunk Next chunk of the body
+     * @return Replaced bytes, without the end of the chunk which may start a placeholder
+     */
+    public ByteString next(ByteString chunk) {
+      ByteString data = carry.isEmpty() ? chunk : carry.concat(chunk);
+      int length = data.length();
+      ByteString out = ByteString.emptyByteString();
+      int from = 0;
+      for (int match = indexOf(data, from); match >= 0; match = indexOf(data, from)) {
+        out = out.concat(data.slice(from, match)).concat(replacement);
+        from = match + placeholder.length;
+      }
+      int tail = partialMatch(data, Math.max(from, length - placeholder.length + 1));
+      carry = data.slice(tail, length);
+      return out.concat(data.slice(from, tail));
+    }
+
+    /** @return Bytes kept back from the last chunk, once the body has no more chunk */
+    public ByteString finish() {
+      ByteString rest = carry;
+      carry = ByteString.emptyByteString();
+      return rest;
+    }
+  }
+
+  private int indexOf(ByteString data, int from) {
+    int last = data.length() - placeholder.length;
+    for (int i = from; i <= last; i++) {
+      if (data.apply(i) == placeholder[0] && matches(data, i, placeholder.length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** @return Start of the longest end of the data from start on which begins the placeholder */
+  private int partialMatch(ByteString data, int start) {
+    int length = data.length();
+    for (int i = start; i < length; i++) {
+      if (data.apply(i) == placeholder[0] && matches(data, i, length - i)) {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  private boolean matches(ByteString data, int at, int count) {
+    for (int i = 1; i < count; i++) {
+      if (data.apply(at + i) != placeholder[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
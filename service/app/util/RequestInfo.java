@@ -0,0 +1,150 @@
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Telemetry context of a request, set as the {@link Attrs#CONTEXT} attribute by OnRequestHandler
+ * and read by the controllers and filters, so the context is not written to and read back from a
+ * json string for every request.
+ */
+public class RequestInfo {
+
+    private String signupType;
+    private String requestSource;
+    private String channel;
+    private String env;
+    private String requestId;
+    private String appId;
+    private String deviceId;
+    private String actorId;
+    private String actorType;
+    private String url;
+    private String method;
+    private long startTime;
+
+    /** @return Telemetry context of the request, a new map the caller may change */
+    public Map<String, Object> getContext() {
+        Map<String, Object> context = new HashMap<>();
+        context.put(JsonKey.SIGNUP_TYPE, signupType);
+        context.put(JsonKey.REQUEST_SOURCE, requestSource);
+        context.put(JsonKey.CHANNEL, channel);
+        context.put(JsonKey.ENV, env);
+        context.put(JsonKey.REQUEST_ID, requestId);
+        if (null != appId) {
+            context.put(JsonKey.APP_ID, appId);
+        }
+        if (null != deviceId) {
+            context.put(JsonKey.DEVICE_ID, deviceId);
+        }
+        context.put(JsonKey.ACTOR_ID, actorId);
+        context.put(JsonKey.ACTOR_TYPE, actorType);
+        return context;
+    }
+
+    /** @return Url, method and start time of the request, a new map the caller may change */
+    public Map<String, Object> getAdditionalInfo() {
+        Map<String, Object> additionalInfo = new HashMap<>();
+        additionalInfo.put(JsonKey.URL, url);
+        additionalInfo.put(JsonKey.METHOD, method);
+        additionalInfo.put(JsonKey.START_TIME, startTime);
+        return additionalInfo;
+    }
+
+    public String getSignupType() {
+        return signupType;
+    }
+
+    public void setSignupType(String signupType) {
+        this.signupType = signupType;
+    }
+
+    public String getRequestSource() {
+        return requestSource;
+    }
+
+    public void setRequestSource(String requestSource) {
+        this.requestSource = requestSource;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getEnv() {
+        return env;
+    }
+
+    public void setEnv(String env) {
+        this.env = env;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getAppId() {
+        return appId;
+    }
+
+    public void setAppId(String appId) {
+        this.appId = appId;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(String actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getActorType() {
+        return actorType;
+    }
+
+    public void setActorType(String actorType) {
+        this.actorType = actorType;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+}
@@ -21,6 +21,7 @@ public class RequestInterceptor {
 
   public static List<String> restrictedUriList = null;
   private static ConcurrentHashMap<String, Short> apiHeaderIgnoreMap = new ConcurrentHashMap<>();
+  private static UrlClassifier urlClassifier = null;
   private static LoggerUtil logger =  new LoggerUtil(RequestInterceptor.class);
 
   private RequestInterceptor() {}
@@ -44,6 +45,8 @@ public class RequestInterceptor {
     apiHeaderIgnoreMap.put("/v1/course/create", var);
     apiHeaderIgnoreMap.put("/v2/user/courses/list", var);
     apiHeaderIgnoreMap.put("/v1/collection/summary", var);
+    urlClassifier =
+        new UrlClassifier(apiHeaderIgnoreMap.keySet(), restrictedUriList, JsonKey.PRIVATE);
   }
 
   /**
@@ -101,45 +104,26 @@ public class RequestInterceptor {
   }
 
   private static boolean isRequestPrivate(String path) {
-    return path.contains(JsonKey.PRIVATE);
+    return urlClassifier.isPrivate(path);
   }
 
   /**
-   * Checks if request URL is in excluded (i.e. public) URL list or not
+   * Checks if request URL needs the user of the request to be authorized for the request
    *
    * @param requestUrl Request URL
-   * @return True if URL is in excluded (public) URLs. Otherwise, returns false
+   * @return True if URL contains one of the restricted URLs. Otherwise, returns false
    */
-  public static boolean isRequestInExcludeList(String requestUrl) {
-    boolean resp = false;
-    if (!StringUtils.isBlank(requestUrl)) {
-      if (apiHeaderIgnoreMap.containsKey(requestUrl)) {
-        resp = true;
-      } else {
-        String[] splitPath = requestUrl.split("[/]");
-        String urlWithoutPathParam = removeLastValue(splitPath);
-        if (apiHeaderIgnoreMap.containsKey(urlWithoutPathParam)) {
-          resp = true;
-        }
-      }
-    }
-    return resp;
+  public static boolean isRequestRestricted(String requestUrl) {
+    return urlClassifier.isRestricted(requestUrl);
   }
 
   /**
-   * Returns URL without path and query parameters.
+   * Checks if request URL is in excluded (i.e. public) URL list or not
    *
-   * @param splitPath URL path split on slash (i.e. /)
-   * @return URL without path and query parameters
+   * @param requestUrl Request URL
+   * @return True if URL is in excluded (public) URLs. Otherwise, returns false
    */
-  private static String removeLastValue(String splitPath[]) {
-
-    StringBuilder builder = new StringBuilder();
-    if (splitPath != null && splitPath.length > 0) {
-      for (int i = 1; i < splitPath.length - 1; i++) {
-        builder.append("/" + splitPath[i]);
-      }
-    }
-    return builder.toString();
+  public static boolean isRequestInExcludeList(String requestUrl) {
+    return !StringUtils.isBlank(requestUrl) && urlClassifier.isPublic(requestUrl);
   }
 }
@@ -0,0 +1,113 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Classifies the request paths against path lists fixed at startup, without splitting or copying
+ * the path. The public paths are kept in a character trie; a path is public when it is one of them
+ * or when the path without its last segment is one of them, which is looked up with one walk over
+ * the path. A path is restricted or private when it contains one of the restricted fragments or
+ * the private fragment.
+ */
+public class UrlClassifier {
+
+  private final Node publicPaths = new Node();
+  private final String[] restrictedFragments;
+  private final String privateFragment;
+
+  public UrlClassifier(
+      Collection<String> publicPaths,
+      Collection<String> restrictedFragments,
+      String privateFragment) {
+    for (String path : publicPaths) {
+      if (!path.isEmpty()) {
+        this.publicPaths.add(path);
+      }
+    }
+    this.restrictedFragments = restrictedFragments.toArray(new String[0]);
+    this.privateFragment = privateFragment;
+  }
+
+  /**
+   * @param path Request path
+   * @return True if the path, or the path without its last segment, is a public path
+   */
+  public boolean isPublic(String path) {
+    if (null == path || path.isEmpty()) {
+      return false;
+    }
+    if (publicPaths.contains(path, 0, path.length())) {
+      return true;
+    }
+    // parent of the last non empty segment, from the first separator on
+    int end = path.length();
+    while (end > 0 && path.charAt(end - 1) == '/') {
+      end--;
+    }
+    int first = path.indexOf('/');
+    int last = end > 0 ? path.lastIndexOf('/', end - 1) : -1;
+    return first >= 0 && first < last && publicPaths.contains(path, first, last);
+  }
+
+  /**
+   * @param path Request path
+   * @return True if the path contains one of the restricted fragments
+   */
+  public boolean isRestricted(String path) {
+    for (String fragment : restrictedFragments) {
+      if (path.contains(fragment)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param path Request path
+   * @return True if the path contains the private fragment
+   */
+  public boolean isPrivate(String path) {
+    return path.contains(privateFragment);
+  }
+
+  private static class Node {
+    private char[] keys = new char[0];
+    private Node[] children = new Node[0];
+    private boolean terminal;
+
+    private void add(String path) {
+      Node node = this;
+      for (int i = 0; i < path.length(); i++) {
+        Node child = node.child(path.charAt(i));
+        if (null == child) {
+          child = new Node();
+          int size = node.keys.length;
+          node.keys = Arrays.copyOf(node.keys, size + 1);
+          node.children = Arrays.copyOf(node.children, size + 1);
+          node.keys[size] = path.charAt(i);
+          node.children[size] = child;
+        }
+        node = child;
+      }
+      node.terminal = true;
+    }
+
+    private boolean contains(String path, int from, int to) {
+      Node node = this;
+      for (int i = from; i < to && null != node; i++) {
+        node = node.child(path.charAt(i));
+      }
+      return null != node && node.terminal;
+    }
+
+    private Node child(char key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == key) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package util;
+
+import org.apache.pekko.util.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlaceholderReplacerTest {
+
+  private final PlaceholderReplacer replacer =
+      new PlaceholderReplacer("CLOUD_BASE_PATH", "https://cdn.example.com/content");
+
+  @Test
+  public void testReplaceAll() {
+    String body =
+        "{\"appIcon\":\"CLOUD_BASE_PATH/icon.png\",\"name\":\"CLOUD_BASE\",\"url\":\"CLOUD_BASE_PATHCLOUD_BASE_PATH\",\"\u00e9\":\"CCLOUD_BASE_PATH\"}";
+    Assert.assertEquals(
+        body.replace("CLOUD_BASE_PATH", "https://cdn.example.com/content"),
+        replacer.replaceAll(ByteString.fromString(body)).utf8String());
+  }
+
+  @Test
+  public void testReplaceAcrossChunks() {
+    String body = "[\"CLOUD_BASE_PATH/a\",\"CLOUD_BASE_PAT\",\"CCLOUD_BASE_PATH\",\"CLOUD_BASE_PATH\"]";
+    String expected = body.replace("CLOUD_BASE_PATH", "https://cdn.example.com/content");
+    for (int size = 1; size <= body.length(); size++) {
+      PlaceholderReplacer.Session session = replacer.newSession();
+      ByteString out = ByteString.emptyByteString();
+      for (int from = 0; from < body.length(); from += size) {
+        out = out.concat(
+            session.next(ByteString.fromString(body.substring(from, Math.min(body.length(), from + size)))));
+      }
+      out = out.concat(session.finish());
+      Assert.assertEquals("chunk size " + size, expected, out.utf8String());
+    }
+  }
+
+  @Test
+  public void testNoPlaceholder() {
+    ByteString body = ByteString.fromString("{\"id\":\"do_1234\",\"status\":2}");
+    Assert.assertEquals(body, replacer.replaceAll(body));
+  }
+}
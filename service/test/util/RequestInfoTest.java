@@ -0,0 +1,41 @@
+package util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+import java.util.Map;
+
+public class RequestInfoTest {
+
+  @Test
+  public void testGetContext() {
+    RequestInfo requestInfo = new RequestInfo();
+    requestInfo.setChannel("channel");
+    requestInfo.setEnv(JsonKey.BATCH);
+    requestInfo.setRequestId("requestId");
+    requestInfo.setActorId("userId");
+    requestInfo.setActorType("User");
+    requestInfo.setSignupType("");
+    requestInfo.setRequestSource("");
+    Map<String, Object> context = requestInfo.getContext();
+    Assert.assertEquals("channel", context.get(JsonKey.CHANNEL));
+    Assert.assertEquals("userId", context.get(JsonKey.ACTOR_ID));
+    Assert.assertFalse(context.containsKey(JsonKey.APP_ID));
+    Assert.assertFalse(context.containsKey(JsonKey.DEVICE_ID));
+    context.put(JsonKey.CHANNEL, "other");
+    Assert.assertEquals("channel", requestInfo.getContext().get(JsonKey.CHANNEL));
+  }
+
+  @Test
+  public void testGetAdditionalInfo() {
+    RequestInfo requestInfo = new RequestInfo();
+    requestInfo.setUrl("/v1/course/batch/read/batchId");
+    requestInfo.setMethod("GET");
+    requestInfo.setStartTime(1000L);
+    Map<String, Object> additionalInfo = requestInfo.getAdditionalInfo();
+    Assert.assertEquals("/v1/course/batch/read/batchId", additionalInfo.get(JsonKey.URL));
+    Assert.assertEquals("GET", additionalInfo.get(JsonKey.METHOD));
+    Assert.assertEquals(1000L, additionalInfo.get(JsonKey.START_TIME));
+  }
+}
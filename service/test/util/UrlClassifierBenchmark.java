@@ -0,0 +1,98 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the time to classify request paths with {@link UrlClassifier} and with the split and
+ * rebuild lookup it replaces. Run with java util.UrlClassifierBenchmark [iterations] from the test
+ * classpath. It is a main method runner, its name is outside the surefire includes.
+ */
+public class UrlClassifierBenchmark {
+
+  private static final List<String> PUBLIC_PATHS =
+      Arrays.asList(
+          "/service/health", "/v1/page/assemble", "/v1/dial/assemble", "/health", "/v1/data/sync",
+          "/v1/content/link", "/v1/content/unlink", "/v1/content/link/search",
+          "/v1/course/batch/search", "/v1/cache/clear", "/private/v1/course/batch/create",
+          "/v1/course/create", "/v2/user/courses/list", "/v1/collection/summary");
+  private static final List<String> RESTRICTED_PATHS =
+      Collections.singletonList("/v1/content/state/update");
+  private static final String[] PATHS = {
+    "/v1/course/batch/search",
+    "/v1/page/assemble/5f1d0d2b-3c47-4a8b-9c0e-4e1b6b1c7a11",
+    "/v1/course/enroll",
+    "/v1/content/state/update",
+    "/v2/user/courses/list/8454cb21-3ce9-4e30-85b5-fade097880d8",
+    "/private/v1/course/batch/create",
+    "/v1/course/batch/read/0130271504402432000",
+    "/health"
+  };
+  private static final ConcurrentHashMap<String, Short> ignoreMap = new ConcurrentHashMap<>();
+
+  public static void main(String[] args) {
+    for (String path : PUBLIC_PATHS) {
+      ignoreMap.put(path, (short) 1);
+    }
+    UrlClassifier classifier = new UrlClassifier(PUBLIC_PATHS, RESTRICTED_PATHS, "private");
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    for (int round = 0; round < 5; round++) {
+      long legacy = time(() -> legacy(iterations));
+      long indexed = time(() -> indexed(classifier, iterations));
+      System.out.printf(
+          "round %d: legacy %d ns/path, classifier %d ns/path%n",
+          round, legacy / (iterations * PATHS.length), indexed / (iterations * PATHS.length));
+    }
+  }
+
+  private static long time(Runnable runnable) {
+    long start = System.nanoTime();
+    runnable.run();
+    return System.nanoTime() - start;
+  }
+
+  private static int sink;
+
+  private static void legacy(int iterations) {
+    int count = 0;
+    for (int i = 0; i < iterations; i++) {
+      for (String path : PATHS) {
+        if (legacyIsPublic(path)) count++;
+        if (path.contains("private")) count++;
+        for (String uri : RESTRICTED_PATHS) {
+          if (path.contains(uri)) {
+            count++;
+            break;
+          }
+        }
+      }
+    }
+    sink += count;
+  }
+
+  private static void indexed(UrlClassifier classifier, int iterations) {
+    int count = 0;
+    for (int i = 0; i < iterations; i++) {
+      for (String path : PATHS) {
+        if (classifier.isPublic(path)) count++;
+        if (classifier.isPrivate(path)) count++;
+        if (classifier.isRestricted(path)) count++;
+      }
+    }
+    sink += count;
+  }
+
+  private static boolean legacyIsPublic(String requestUrl) {
+    if (ignoreMap.containsKey(requestUrl)) {
+      return true;
+    }
+    String[] splitPath = requestUrl.split("[/]");
+    StringBuilder builder = new StringBuilder();
+    for (int i = 1; i < splitPath.length - 1; i++) {
+      builder.append("/" + splitPath[i]);
+    }
+    return ignoreMap.containsKey(builder.toString());
+  }
+}
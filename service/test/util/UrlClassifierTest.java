@@ -0,0 +1,40 @@
+package util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class UrlClassifierTest {
+
+  private final UrlClassifier classifier =
+      new UrlClassifier(
+          Arrays.asList("/health", "/v1/page/assemble", "/v1/course/batch/search"),
+          Collections.singletonList("/v1/content/state/update"),
+          JsonKey.PRIVATE);
+
+  @Test
+  public void testIsPublic() {
+    Assert.assertTrue(classifier.isPublic("/health"));
+    Assert.assertTrue(classifier.isPublic("/v1/page/assemble"));
+    Assert.assertTrue(classifier.isPublic("/v1/page/assemble/pageId"));
+    Assert.assertTrue(classifier.isPublic("/v1/page/assemble/pageId/"));
+    Assert.assertFalse(classifier.isPublic("/v1/course/batch/search/"));
+    Assert.assertFalse(classifier.isPublic("/v1/page"));
+    Assert.assertFalse(classifier.isPublic("/v1/page/assembled"));
+    Assert.assertFalse(classifier.isPublic("/v1/page/assemble/pageId/section"));
+    Assert.assertFalse(classifier.isPublic("/health/"));
+    Assert.assertFalse(classifier.isPublic("/"));
+    Assert.assertFalse(classifier.isPublic(""));
+  }
+
+  @Test
+  public void testIsRestrictedAndPrivate() {
+    Assert.assertTrue(classifier.isRestricted("/v1/content/state/update"));
+    Assert.assertFalse(classifier.isRestricted("/v1/content/state/read"));
+    Assert.assertTrue(classifier.isPrivate("/private/v1/course/batch/create"));
+    Assert.assertFalse(classifier.isPrivate("/v1/course/batch/create"));
+  }
+}